@@ -8,49 +8,89 @@ const uint8_t DRMCollector::WIDEVINE_UUID[] = {
     0xa3, 0xc8, 0x27, 0xdc, 0xd5, 0x1d, 0x21, 0xed
 };
 
-std::string DRMCollector::CollectDrmInfo() {
+std::mutex DRMCollector::sMutex;
+DRMCollector::Identity DRMCollector::sIdentity;
+
+void DRMCollector::SetIdentity(const uint8_t* data, size_t length, const std::string& securityLevel) {
+    if (data == nullptr || length == 0) {
+        return;
+    }
+    std::lock_guard<std::mutex> lock(sMutex);
+    sIdentity.deviceId.assign(data, data + length);
+    sIdentity.securityLevel = securityLevel;
+    sIdentity.error.clear();
+    sIdentity.loaded = true;
+}
+
+void DRMCollector::LoadIdentityLocked() {
+    sIdentity.loaded = true;
+
+    // 检查是否支持Widevine
+    if (!AMediaDrm_isCryptoSchemeSupported(WIDEVINE_UUID, nullptr)) {
+        sIdentity.error = "Widevine DRM not supported on this device\n";
+        return;
+    }
+
     AMediaDrm* mediaDrm = AMediaDrm_createByUUID(WIDEVINE_UUID);
     if (mediaDrm == nullptr) {
-        return "\n=== DRM Info ===\nWidevine DRM not supported on this device\n";
+        sIdentity.error = "Widevine DRM not supported on this device\n";
+        return;
     }
-    
+
+    // 获取deviceUniqueId
+    AMediaDrmByteArray byteArray;
+    media_status_t status = AMediaDrm_getPropertyByteArray(
+        mediaDrm, 
+        PROPERTY_DEVICE_UNIQUE_ID, 
+        &byteArray
+    );
+
+    if (status == AMEDIA_OK && byteArray.ptr != nullptr && byteArray.length > 0) {
+        // byteArray 指向的内存归 mediaDrm 所有，释放前复制
+        sIdentity.deviceId.assign(byteArray.ptr, byteArray.ptr + byteArray.length);
+
+        const char* level = nullptr;
+        if (AMediaDrm_getPropertyString(mediaDrm, "securityLevel", &level) == AMEDIA_OK && level != nullptr) {
+            sIdentity.securityLevel = level;
+        }
+    } else {
+        sIdentity.error = "Failed to get Device Unique ID\n";
+        sIdentity.error += "Status: " + std::to_string(status) + "\n";
+    }
+
+    AMediaDrm_release(mediaDrm);
+}
+
+std::string DRMCollector::CollectDrmInfo() {
     std::string result = "\n=== DRM Info ===\n";
     
     try {
-        // 检查是否支持Widevine
-        if (!AMediaDrm_isCryptoSchemeSupported(WIDEVINE_UUID, nullptr)) {
-            AMediaDrm_release(mediaDrm);
-            return result + "Widevine DRM not supported on this device\n";
+        std::lock_guard<std::mutex> lock(sMutex);
+        if (!sIdentity.loaded) {
+            LoadIdentityLocked();
         }
-        
-        // 获取deviceUniqueId
-        AMediaDrmByteArray byteArray;
-        media_status_t status = AMediaDrm_getPropertyByteArray(
-            mediaDrm, 
-            PROPERTY_DEVICE_UNIQUE_ID, 
-            &byteArray
-        );
-        
-        if (status == AMEDIA_OK && byteArray.ptr != nullptr && byteArray.length > 0) {
-            // 转换为Base64
-            std::string base64 = Base64Utils::Encode(byteArray.ptr, byteArray.length);
-            // 转换为十六进制
-            std::string hex = Base64Utils::ToHexString(byteArray.ptr, byteArray.length);
-            
-            result += "MediaDrm Device Unique ID (Base64): " + base64 + "\n";
-            result += "MediaDrm Device Unique ID (Hex): " + hex + "\n";
-            result += "Length: " + std::to_string(byteArray.length) + " bytes\n";
-        } else {
-            result += "Failed to get Device Unique ID\n";
-            result += "Status: " + std::to_string(status) + "\n";
+
+        if (sIdentity.deviceId.empty()) {
+            return result + sIdentity.error;
         }
+
+        const uint8_t* data = sIdentity.deviceId.data();
+        size_t length = sIdentity.deviceId.size();
+        // 转换为Base64
+        std::string base64 = Base64Utils::Encode(data, length);
+        // 转换为十六进制
+        std::string hex = Base64Utils::ToHexString(data, length);
         
-        AMediaDrm_release(mediaDrm);
+        result += "MediaDrm Device Unique ID (Base64): " + base64 + "\n";
+        result += "MediaDrm Device Unique ID (Hex): " + hex + "\n";
+        result += "Length: " + std::to_string(length) + " bytes\n";
+        if (!sIdentity.securityLevel.empty()) {
+            result += "Security Level: " + sIdentity.securityLevel + "\n";
+        }
     } catch (const std::exception& e) {
         result += "Exception occurred: ";
         result += e.what();
         result += "\n";
-        AMediaDrm_release(mediaDrm);
     }
     
     return result;
@@ -2,10 +2,14 @@
 #define SPHUNTER_DRMCOLLECTOR_H
 
 #include <string>
+#include <vector>
+#include <mutex>
+#include <cstdint>
 
 /**
  * DRM信息收集器
  * 负责收集Widevine DRM相关信息
+ * 设备标识每个进程只获取一次：优先使用 Java 层注入的结果，否则自行打开一次 AMediaDrm 并缓存
  */
 class DRMCollector {
 public:
@@ -14,11 +18,36 @@ public:
      * @return 格式化的DRM信息字符串
      */
     static std::string CollectDrmInfo();
+
+    /**
+     * 注入 Java 层已获取的 Widevine 标识，避免重复打开 DRM 会话
+     * @param data deviceUniqueId 字节
+     * @param length 字节长度
+     * @param securityLevel 安全级别（可为空）
+     */
+    static void SetIdentity(const uint8_t* data, size_t length, const std::string& securityLevel);
     
 private:
+    /**
+     * 进程级缓存的 DRM 标识
+     */
+    struct Identity {
+        bool loaded = false;
+        std::vector<uint8_t> deviceId;
+        std::string securityLevel;
+        std::string error;
+    };
+
+    /**
+     * 通过 AMediaDrm 获取标识（调用方持有锁）
+     */
+    static void LoadIdentityLocked();
+
     // Widevine UUID
     static const uint8_t WIDEVINE_UUID[];
+
+    static std::mutex sMutex;
+    static Identity sIdentity;
 };
 
 #endif // SPHUNTER_DRMCOLLECTOR_H
-
@@ -1,6 +1,7 @@
 #include "JNIRegistry.h"
 #include "FingerprintCollector.h"
 #include "../collectors/MacAddressCollector.h"
+#include "../collectors/DRMCollector.h"
 #include "../utils/Log.h"
 
 // JNI方法实现
@@ -14,6 +15,28 @@ static jstring getMacAddress(JNIEnv* env, jobject thiz) {
     return env->NewStringUTF(result.c_str());
 }
 
+static void setDrmIdentity(JNIEnv* env, jobject thiz, jbyteArray deviceId, jstring securityLevel) {
+    if (deviceId == nullptr) {
+        return;
+    }
+    jsize length = env->GetArrayLength(deviceId);
+    if (length <= 0) {
+        return;
+    }
+    std::vector<uint8_t> bytes(static_cast<size_t>(length));
+    env->GetByteArrayRegion(deviceId, 0, length, reinterpret_cast<jbyte*>(bytes.data()));
+
+    std::string level;
+    if (securityLevel != nullptr) {
+        const char* chars = env->GetStringUTFChars(securityLevel, nullptr);
+        if (chars != nullptr) {
+            level = chars;
+            env->ReleaseStringUTFChars(securityLevel, chars);
+        }
+    }
+    DRMCollector::SetIdentity(bytes.data(), bytes.size(), level);
+}
+
 // JNIRegistry实现
 jint JNIRegistry::RegisterNativeMethods(
     JNIEnv* env, 
@@ -49,6 +72,11 @@ jint JNIRegistry::RegisterFingerprintMethods(JNIEnv* env) {
             "getMacAddress",
             "()Ljava/lang/String;",
             reinterpret_cast<void*>(getMacAddress)
+        },
+        {
+            "setDrmIdentity",
+            "([BLjava/lang/String;)V",
+            reinterpret_cast<void*>(setDrmIdentity)
         }
     };
     
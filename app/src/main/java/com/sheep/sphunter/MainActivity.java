@@ -9,6 +9,7 @@ import androidx.appcompat.app.AppCompatActivity;
 import com.sheep.sphunter.analyse.HunterAnalysis;
 import com.sheep.sphunter.analyse.NativeHunterAnalysis;
 import com.sheep.sphunter.databinding.ActivityMainBinding;
+import com.sheep.sphunter.fingerprint.FingerprintDataCleaner;
 import com.sheep.sphunter.fingerprint.FingerprintService;
 import com.sheep.sphunter.model.FingerprintResult;
 
@@ -71,7 +72,8 @@ public class MainActivity extends AppCompatActivity {
             // 3. 显示结果
             StringBuilder output = new StringBuilder();
 
-            HunterAnalysis.Result resultFromAnalysis = HunterAnalysis.analyze(fingerprintService.getCleanedFingerprintString());
+            // 直接分析清洗结果对象，不再序列化后重新解析
+            HunterAnalysis.Result resultFromAnalysis = HunterAnalysis.analyze(cleanedData);
 
             output.append("══════════════════════\n");
             output.append("📱 数据评估\n");
@@ -84,7 +86,7 @@ public class MainActivity extends AppCompatActivity {
             // output.append("✨ 清洗后的指纹数据（结构化）\n");
             output.append("📱 Java 层指纹信息\n");
             output.append("══════════════════════\n\n");
-            output.append(fingerprintService.getCleanedFingerprintString());
+            output.append(FingerprintDataCleaner.formatCleanedData(cleanedData));
         //    output.append(result.toString());
             output.append("\n\n");
 
@@ -110,7 +112,7 @@ public class MainActivity extends AppCompatActivity {
             JSONObject cleanedNativeData = fingerprintService.getCleanedNativeFingerprint();
             
             // 3. 使用 NativeHunterAnalysis 分析数据
-            NativeHunterAnalysis.Result analysisResult = NativeHunterAnalysis.analyze(cleanedNativeData.toString());
+            NativeHunterAnalysis.Result analysisResult = NativeHunterAnalysis.analyze(cleanedNativeData);
             
             StringBuilder output = new StringBuilder();
             
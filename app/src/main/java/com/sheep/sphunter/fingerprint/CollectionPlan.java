@@ -0,0 +1,155 @@
+package com.sheep.sphunter.fingerprint;
+
+import android.Manifest;
+import android.content.Context;
+import android.content.pm.PackageManager;
+import android.os.Build;
+
+import androidx.annotation.NonNull;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 采集计划
+ * 每次采集开始时检查一次已授予的权限和 targetSdk，预先决定哪些受限 API 可以调用；
+ * 不允许的调用直接跳过并记录原因，避免依赖 SecurityException 做流程控制（ART 上抛异常填充栈帧开销较大）
+ */
+public final class CollectionPlan {
+    // 权限状态位，同时作为反射负缓存的权限状态
+    public static final int PERM_READ_PHONE_STATE = 1;
+    public static final int PERM_READ_PRIVILEGED_PHONE_STATE = 1 << 1;
+    public static final int PERM_READ_PHONE_NUMBERS = 1 << 2;
+    public static final int PERM_GET_ACCOUNTS = 1 << 3;
+
+    private final int sdkInt;
+    private final int targetSdk;
+    private final int permissionState;
+    private final Map<String, String> skippedFields = new LinkedHashMap<>();
+
+    private CollectionPlan(int sdkInt, int targetSdk, int permissionState) {
+        this.sdkInt = sdkInt;
+        this.targetSdk = targetSdk;
+        this.permissionState = permissionState;
+    }
+
+    /**
+     * 根据当前权限授予状态生成采集计划
+     *
+     * @param context 上下文
+     * @return 本次采集使用的计划
+     */
+    @NonNull
+    public static CollectionPlan create(@NonNull Context context) {
+        int targetSdk = Build.VERSION.SDK_INT;
+        try {
+            targetSdk = context.getApplicationInfo().targetSdkVersion;
+        } catch (Exception e) {
+            // 获取失败时按当前系统版本处理
+        }
+
+        int state = 0;
+        if (isGranted(context, Manifest.permission.READ_PHONE_STATE)) {
+            state |= PERM_READ_PHONE_STATE;
+        }
+        if (isGranted(context, Manifest.permission.READ_PRIVILEGED_PHONE_STATE)) {
+            state |= PERM_READ_PRIVILEGED_PHONE_STATE;
+        }
+        if (isGranted(context, Manifest.permission.READ_PHONE_NUMBERS)) {
+            state |= PERM_READ_PHONE_NUMBERS;
+        }
+        if (isGranted(context, Manifest.permission.GET_ACCOUNTS)) {
+            state |= PERM_GET_ACCOUNTS;
+        }
+        return new CollectionPlan(Build.VERSION.SDK_INT, targetSdk, state);
+    }
+
+    private static boolean isGranted(Context context, String permission) {
+        try {
+            return context.checkSelfPermission(permission) == PackageManager.PERMISSION_GRANTED;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    public int getSdkInt() {
+        return sdkInt;
+    }
+
+    public int getTargetSdk() {
+        return targetSdk;
+    }
+
+    /**
+     * 权限状态位掩码，权限变化后反射缓存中的"被拒绝"记录自动失效
+     */
+    public int getPermissionState() {
+        return permissionState;
+    }
+
+    public boolean has(int permissionBit) {
+        return (permissionState & permissionBit) != 0;
+    }
+
+    /**
+     * READ_PHONE_STATE 保护的普通电话信息（VoiceMailNumber、CarrierConfig、DataNetworkType 等）
+     */
+    public boolean canReadPhoneState() {
+        return has(PERM_READ_PHONE_STATE);
+    }
+
+    /**
+     * 电话号码：READ_PHONE_NUMBERS 或 READ_PHONE_STATE 任一即可
+     */
+    public boolean canReadPhoneNumbers() {
+        return has(PERM_READ_PHONE_NUMBERS) || has(PERM_READ_PHONE_STATE);
+    }
+
+    /**
+     * 不可重置的设备标识（IMEI、MEID、IMSI、ICCID、序列号）
+     * Android 10+ 只授予持有 READ_PRIVILEGED_PHONE_STATE 的系统应用
+     */
+    public boolean canReadDeviceIdentifiers() {
+        if (sdkInt >= Build.VERSION_CODES.Q) {
+            return has(PERM_READ_PRIVILEGED_PHONE_STATE);
+        }
+        return has(PERM_READ_PHONE_STATE);
+    }
+
+    /**
+     * 账户列表：Android 8.0+ 不再抛出异常，只返回对本应用可见的账户
+     */
+    public boolean canReadAccounts() {
+        return sdkInt >= Build.VERSION_CODES.O || has(PERM_GET_ACCOUNTS);
+    }
+
+    /**
+     * 设备标识不可读时的原因
+     */
+    @NonNull
+    public String deviceIdentifierDenialReason() {
+        if (sdkInt >= Build.VERSION_CODES.Q) {
+            return "requires READ_PRIVILEGED_PHONE_STATE (system apps only since Android 10)";
+        }
+        return "missing READ_PHONE_STATE";
+    }
+
+    /**
+     * 记录被跳过的字段及原因
+     *
+     * @param field  字段名
+     * @param reason 跳过原因
+     */
+    public synchronized void skip(@NonNull String field, @NonNull String reason) {
+        skippedFields.put(field, reason);
+    }
+
+    /**
+     * 获取被跳过的字段（按记录顺序）
+     */
+    @NonNull
+    public synchronized Map<String, String> getSkippedFields() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(skippedFields));
+    }
+}
@@ -5,16 +5,30 @@ import android.content.Context;
 import androidx.annotation.NonNull;
 
 import com.sheep.sphunter.fingerprint.jni.NativeFingerprint;
+import com.sheep.sphunter.model.BatteryRecord;
+import com.sheep.sphunter.model.BuildPropertiesRecord;
 import com.sheep.sphunter.model.FingerprintResult;
+import com.sheep.sphunter.model.GpuRecord;
+import com.sheep.sphunter.model.MemoryRecord;
+import com.sheep.sphunter.model.Outcome;
+import com.sheep.sphunter.model.SensorRecord;
+import com.sheep.sphunter.model.SettingsRecord;
 import com.sheep.sphunter.fingerprint.device.*;
+import com.sheep.sphunter.util.AndroidLogSink;
 
 import org.json.JSONObject;
 
+import java.io.IOException;
+import java.util.List;
+
 /**
  * 指纹采集服务
  * 统一管理所有指纹采集功能
  */
 public class FingerprintService {
+    // 等待 Widevine 标识预取完成的最长时间
+    private static final long DRM_IDENTITY_TIMEOUT_MS = 5000;
+
     private static Context context;
     private final SettingsCollector settingsCollector;
     private final BluetoothCollector bluetoothCollector;
@@ -28,9 +42,18 @@ public class FingerprintService {
     private final glendererCollector glendererCollector;
     private final batteryCollector batteryCollector;
     private final MemoryCollector memoryCollector;
+    // 周期采集时复用上一次的 Native 清洗结果
+    private final CleaningCache cleaningCache = new CleaningCache();
+
+    static {
+        // 清洗和分析代码位于 core 模块，日志接入 Logcat
+        AndroidLogSink.install();
+    }
 
     public FingerprintService(@NonNull Context context) {
         this.context = context;
+        // 应用启动时即在后台打开一次 Widevine 会话，Java 层和 Native 层共用结果
+        WidevineIdentity.getInstance().prefetch();
         this.settingsCollector = new SettingsCollector(context);
         this.bluetoothCollector = new BluetoothCollector(context);
         this.serialNumberCollector = new SerialNumberCollector(context);
@@ -40,7 +63,7 @@ public class FingerprintService {
         this.mediaCollector = new MediaCollector(context);
         this.sensorCollector = new SensorCollector(context);
         this.nativeFingerprint = new NativeFingerprint();
-        this.glendererCollector = new glendererCollector();
+        this.glendererCollector = new glendererCollector(context);
         this.batteryCollector = new batteryCollector();
         this.memoryCollector = new MemoryCollector(context);
     }
@@ -53,20 +76,39 @@ public class FingerprintService {
     @NonNull
     public FingerprintResult collectJavaFingerprint() {
         FingerprintResult result = new FingerprintResult();
+        // 每次采集只检查一次权限和 targetSdk
+        CollectionPlan plan = CollectionPlan.create(context);
 
-        result.setSettings(settingsCollector.collectSettings());
-        result.setAndroidId(settingsCollector.getAndroidId());
-        result.setBluetoothAddress(bluetoothCollector.getBluetoothAddress());
-        result.setSerialNumber(serialNumberCollector.getSerialNumber());
-        result.setPhoneInfo(phoneInfoCollector.getPhoneInfo());
-        result.setBuildInfo(buildInfoCollector.getBuildInfo());
-        result.setAccountInfo(accountCollector.getAccountInfo());
-        result.setVolumeInfo(mediaCollector.getVolumeInfo());
-        result.setSensorInfo(sensorCollector.getSensorInfo());
-        result.setDrmInfo(mediaCollector.getDRMInfo());
-        result.setGlendererInfo(glendererCollector.getGlendererInfo());
-        result.setBatteryInfo(batteryCollector.getBatteryInfo(context));
-        result.setMemoryInfo(memoryCollector.getMemoryInfo());
+        // 结构化记录只采集一次，展示文本由记录生成，清洗时直接读取记录
+        SettingsRecord settingsRecord = settingsCollector.getSettingsRecord();
+        result.setSettingsRecord(settingsRecord);
+        result.setSettings(SettingsCollector.formatSettings(settingsRecord));
+        // 各字段以 Outcome 记录采集状态，清洗时按类型分支
+        result.setAndroidIdOutcome(settingsCollector.getAndroidIdOutcome());
+        result.setBluetoothAddressOutcome(bluetoothCollector.getBluetoothAddressOutcome());
+        result.setSerialNumberOutcome(serialNumberCollector.getSerialNumberOutcome(plan));
+        result.setPhoneInfoOutcome(phoneInfoCollector.getPhoneInfoOutcome(plan));
+        BuildPropertiesRecord buildProperties = buildInfoCollector.getBuildProperties(plan);
+        result.setBuildProperties(buildProperties);
+        result.setBuildInfo(buildProperties.toString());
+        result.setAccountInfoOutcome(accountCollector.getAccountInfoOutcome(plan));
+        result.setVolumeInfoOutcome(mediaCollector.getVolumeInfoOutcome());
+        // 传感器只枚举一次，展示文本由结构化记录生成
+        Outcome<List<SensorRecord>> sensors = sensorCollector.getSensorOutcome();
+        result.setSensorsOutcome(sensors);
+        result.setSensorInfo(sensors.isValue()
+                ? SensorCollector.formatSensorInfo(sensors.getValue()) : sensors.toString());
+        result.setDrmInfoOutcome(mediaCollector.getDRMInfoOutcome());
+        Outcome<GpuRecord> gpu = glendererCollector.getGpuOutcome();
+        result.setGpuOutcome(gpu);
+        result.setGlendererInfo(gpu.toString());
+        Outcome<BatteryRecord> battery = batteryCollector.getBatteryOutcome(context);
+        result.setBatteryOutcome(battery);
+        result.setBatteryInfo(battery.toString());
+        MemoryRecord memory = memoryCollector.getMemoryRecord();
+        result.setMemory(memory);
+        result.setMemoryInfo(memory.toString());
+        result.setSkippedFields(plan.getSkippedFields());
         return result;
     }
 
@@ -78,11 +120,27 @@ public class FingerprintService {
     @NonNull
     public FingerprintResult collectNativeFingerprint() {
         FingerprintResult result = new FingerprintResult();
+        injectDrmIdentity();
         String nativeInfo = nativeFingerprint.getCFingerprint();
         result.setNativeBuildInfo(nativeInfo);
         return result;
     }
 
+    /**
+     * 将共享的 Widevine 标识注入 Native 层
+     * 超时或获取失败时不注入，Native 层会自行获取一次并缓存
+     */
+    private void injectDrmIdentity() {
+        WidevineIdentity identity = WidevineIdentity.getInstance();
+        if (!identity.await(DRM_IDENTITY_TIMEOUT_MS)) {
+            return;
+        }
+        byte[] deviceId = identity.getDeviceId();
+        if (deviceId != null) {
+            nativeFingerprint.setDrmIdentity(deviceId, identity.getSecurityLevel());
+        }
+    }
+
     /**
      * 获取 MAC 地址（Native 层）
      *
@@ -115,8 +173,8 @@ public class FingerprintService {
      */
     @NonNull
     public String getCleanedFingerprintString() {
-        JSONObject cleanedData = collectAndCleanJavaFingerprint();
-        return FingerprintDataCleaner.formatCleanedData(cleanedData);
+        // 只需要文本，直接流式输出，不构建 JSONObject 树
+        return FingerprintDataCleaner.formatFingerprint(collectJavaFingerprint());
     }
 
     /**
@@ -136,8 +194,33 @@ public class FingerprintService {
         // 3. 合并结果
         javaResult.setNativeBuildInfo(nativeResult.getNativeBuildInfo());
         
-        // 4. 清洗并结构化数据
-        return FingerprintDataCleaner.cleanFingerprint(javaResult);
+        // 4. 清洗并结构化数据（Native 数据较大时各分段并行清洗，未变化的 section 复用上次结果）
+        return FingerprintDataCleaner.cleanFingerprint(javaResult, true, cleaningCache);
+    }
+
+    /**
+     * 采集并清洗完整的指纹信息，以 JSON 文本直接写入 out，不构建 JSONObject 树
+     * 用于上报或落盘等只需要文本的场景，例如包装了 OutputStream 的 Writer
+     *
+     * @param out    输出目标
+     * @param indent 缩进空格数，0 表示紧凑格式
+     * @throws IOException 写入失败
+     */
+    public void writeAllFingerprint(@NonNull Appendable out, int indent) throws IOException {
+        FingerprintResult javaResult = collectJavaFingerprint();
+        javaResult.setNativeBuildInfo(collectNativeFingerprint().getNativeBuildInfo());
+        FingerprintDataCleaner.writeFingerprint(javaResult, out, indent);
+    }
+
+    /**
+     * 采集并清洗完整的指纹信息，编码为二进制快照
+     * 用于本地存储和批量上报，使用 FingerprintSnapshotCodec.decode 还原
+     *
+     * @return 二进制快照
+     */
+    @NonNull
+    public byte[] collectAllFingerprintSnapshot() {
+        return FingerprintSnapshotCodec.encode(collectAndCleanAllFingerprint());
     }
 
     /**
@@ -151,7 +234,7 @@ public class FingerprintService {
         String nativeInfo = nativeResult.getNativeBuildInfo();
         
         if (nativeInfo != null && !nativeInfo.trim().isEmpty()) {
-            return NativeFileDataCleaner.cleanNativeFingerprint(nativeInfo);
+            return NativeFileDataCleaner.cleanNativeFingerprint(nativeInfo, true, cleaningCache);
         }
         
         return new JSONObject();
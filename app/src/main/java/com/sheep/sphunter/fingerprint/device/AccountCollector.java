@@ -5,6 +5,9 @@ import android.content.Context;
 
 import androidx.annotation.NonNull;
 
+import com.sheep.sphunter.fingerprint.CollectionPlan;
+import com.sheep.sphunter.model.Outcome;
+
 /**
  * 账户信息采集器
  */
@@ -22,19 +25,48 @@ public class AccountCollector {
      */
     @NonNull
     public String getAccountInfo() {
+        if (context == null) {
+            return "Context is null";
+        }
+        return getAccountInfo(CollectionPlan.create(context));
+    }
+
+    /**
+     * 按采集计划获取账户信息，没有权限时直接跳过而不触发 SecurityException
+     *
+     * @param plan 采集计划
+     * @return 账户信息字符串
+     */
+    @NonNull
+    public String getAccountInfo(@NonNull CollectionPlan plan) {
+        return getAccountInfoOutcome(plan).toString();
+    }
+
+    /**
+     * 按采集计划获取账户信息（带采集状态）
+     *
+     * @param plan 采集计划
+     * @return 账户信息字符串；计划不允许时为 DENIED
+     */
+    @NonNull
+    public Outcome<String> getAccountInfoOutcome(@NonNull CollectionPlan plan) {
+        if (!plan.canReadAccounts()) {
+            plan.skip("account.account_info", "missing GET_ACCOUNTS");
+            return Outcome.denied("missing GET_ACCOUNTS");
+        }
         try {
             if (context == null) {
-                return "Context is null";
+                return Outcome.failed("Context is null");
             }
 
             AccountManager accountManager = (AccountManager) context.getSystemService(Context.ACCOUNT_SERVICE);
             if (accountManager == null) {
-                return "AccountManager is null";
+                return Outcome.unsupported("AccountManager is null");
             }
 
             android.accounts.Account[] accounts = accountManager.getAccounts();
             if (accounts.length == 0) {
-                return "No accounts found";
+                return Outcome.value("No accounts found");
             }
 
             StringBuilder result = new StringBuilder();
@@ -50,12 +82,9 @@ public class AccountCollector {
                 }
             }
 
-            return result.toString();
-        } catch (SecurityException e) {
-            return "SecurityException: " + e.getMessage() + "\n" +
-                   "(Note: GET_ACCOUNTS permission is required on Android 6.0+)";
+            return Outcome.value(result.toString());
         } catch (Exception e) {
-            return "Exception: " + e.getMessage();
+            return Outcome.failed(e);
         }
     }
 }
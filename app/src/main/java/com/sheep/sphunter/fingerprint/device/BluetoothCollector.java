@@ -5,6 +5,8 @@ import android.content.Context;
 
 import androidx.annotation.NonNull;
 
+import com.sheep.sphunter.model.Outcome;
+
 /**
  * 蓝牙信息采集器
  */
@@ -22,16 +24,25 @@ public class BluetoothCollector {
      */
     @NonNull
     public String getBluetoothAddress() {
+        Outcome<String> outcome = getBluetoothAddressOutcome();
+        return outcome.isValue() ? outcome.getValue() : "null";
+    }
+
+    /**
+     * 获取蓝牙MAC地址（带采集状态）
+     *
+     * @return 蓝牙MAC地址；无蓝牙适配器时为 UNSUPPORTED，缺少权限时为 DENIED
+     */
+    @NonNull
+    public Outcome<String> getBluetoothAddressOutcome() {
         try {
             BluetoothAdapter bluetoothAdapter = BluetoothAdapter.getDefaultAdapter();
             if (bluetoothAdapter == null) {
-                return "null";
+                return Outcome.unsupported("no Bluetooth adapter");
             }
-            String bluetoothAddress = bluetoothAdapter.getAddress();
-            return bluetoothAddress != null ? bluetoothAddress : "null";
+            return Outcome.value(bluetoothAdapter.getAddress());
         } catch (Exception e) {
-            e.printStackTrace();
-            return "null";
+            return Outcome.failed(e);
         }
     }
 }
@@ -5,6 +5,9 @@ import android.os.Build;
 
 import androidx.annotation.NonNull;
 
+import com.sheep.sphunter.fingerprint.CollectionPlan;
+import com.sheep.sphunter.model.BuildPropertiesRecord;
+
 import java.lang.reflect.Method;
 
 /**
@@ -43,30 +46,29 @@ public class BuildInfoCollector {
 
     /**
      * 安全地获取系统属性（字符串），优先使用 Android API
-     * 对于序列号等敏感属性，优先使用 Build API
+     * 对于序列号等敏感属性，采集计划允许时优先使用 Build API，否则直接回退到系统属性
      *
      * @param key 属性键名
      * @param defaultValue 默认值
+     * @param plan 采集计划
      * @return 属性值
      */
-    private String getSystemPropertySafe(String key, String defaultValue) {
+    private String getSystemPropertySafe(String key, String defaultValue, CollectionPlan plan) {
         // 对于序列号，优先使用 Build API
         if ("ro.boot.serialno".equals(key) || "ro.serialno".equals(key)) {
-            try {
-                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O) {
+                if (Build.SERIAL != null && !Build.SERIAL.isEmpty() && !Build.SERIAL.equals("unknown")) {
+                    return Build.SERIAL;
+                }
+            } else if (plan.canReadDeviceIdentifiers()) {
+                try {
                     String serial = Build.getSerial();
                     if (serial != null && !serial.isEmpty() && !serial.equals("unknown")) {
                         return serial;
                     }
-                } else {
-                    if (Build.SERIAL != null && !Build.SERIAL.isEmpty() && !Build.SERIAL.equals("unknown")) {
-                        return Build.SERIAL;
-                    }
+                } catch (Exception e) {
+                    // 其他异常，继续尝试系统属性
                 }
-            } catch (SecurityException e) {
-                // 没有权限，继续尝试系统属性
-            } catch (Exception e) {
-                // 其他异常，继续尝试系统属性
             }
         }
         // 回退到系统属性
@@ -131,130 +133,152 @@ public class BuildInfoCollector {
      */
     @NonNull
     public String getBuildInfo() {
-        StringBuilder result = new StringBuilder();
+        return getBuildInfo(CollectionPlan.create(context));
+    }
+
+    /**
+     * 按采集计划获取 Build 相关的系统属性信息
+     *
+     * @param plan 采集计划
+     * @return 包含所有 Build 相关属性的字符串
+     */
+    @NonNull
+    public String getBuildInfo(@NonNull CollectionPlan plan) {
+        return getBuildProperties(plan).toString();
+    }
+
+    /**
+     * 按采集计划获取结构化的 Build 系统属性
+     *
+     * @param plan 采集计划
+     * @return 按分组保存的 Build 属性记录
+     */
+    @NonNull
+    public BuildPropertiesRecord getBuildProperties(@NonNull CollectionPlan plan) {
+        BuildPropertiesRecord record = new BuildPropertiesRecord();
 
         // USB 相关配置
-        result.append("=== USB Config ===\n");
-        result.append("sys.usb.config = ").append(getSystemProperty(com.sheep.sphunter.util.Constants.SystemProperties.SYS_USB_CONFIG, "null")).append("\n");
-        result.append("sys.usb.state = ").append(getSystemProperty(com.sheep.sphunter.util.Constants.SystemProperties.SYS_USB_STATE, "null")).append("\n");
-        result.append("persist.sys.usb.config = ").append(getSystemProperty(com.sheep.sphunter.util.Constants.SystemProperties.PERSIST_SYS_USB_CONFIG, "null")).append("\n");
-        result.append("persist.sys.usb.qmmi.func = ").append(getSystemProperty(com.sheep.sphunter.util.Constants.SystemProperties.PERSIST_SYS_USB_QMMI_FUNC, "null")).append("\n");
+        record.beginSection("USB Config");
+        record.put("sys.usb.config", getSystemProperty(com.sheep.sphunter.util.Constants.SystemProperties.SYS_USB_CONFIG, null));
+        record.put("sys.usb.state", getSystemProperty(com.sheep.sphunter.util.Constants.SystemProperties.SYS_USB_STATE, null));
+        record.put("persist.sys.usb.config", getSystemProperty(com.sheep.sphunter.util.Constants.SystemProperties.PERSIST_SYS_USB_CONFIG, null));
+        record.put("persist.sys.usb.qmmi.func", getSystemProperty(com.sheep.sphunter.util.Constants.SystemProperties.PERSIST_SYS_USB_QMMI_FUNC, null));
 
         String vendorUsbMimode = getSystemProperty(com.sheep.sphunter.util.Constants.SystemProperties.VENDOR_USB_MIMODE, null);
         if (vendorUsbMimode != null) {
-            result.append("vendor.usb.mimode = ").append(vendorUsbMimode).append("\n");
+            record.put("vendor.usb.mimode", vendorUsbMimode);
         }
         String persistVendorUsbConfig = getSystemProperty(com.sheep.sphunter.util.Constants.SystemProperties.PERSIST_VENDOR_USB_CONFIG, null);
         if (persistVendorUsbConfig != null) {
-            result.append("persist.vendor.usb.config = ").append(persistVendorUsbConfig).append("\n");
+            record.put("persist.vendor.usb.config", persistVendorUsbConfig);
         }
 
         // 安全相关
-        result.append("\n=== Security ===\n");
-        result.append("ro.debuggable = ").append(getSystemProperty(com.sheep.sphunter.util.Constants.SystemProperties.RO_DEBUGGABLE, "null")).append("\n");
-        result.append("init.svc.adbd = ").append(getSystemProperty(com.sheep.sphunter.util.Constants.SystemProperties.INIT_SVC_ADBD, "null")).append("\n");
-        result.append("ro.secure = ").append(getSystemProperty(com.sheep.sphunter.util.Constants.SystemProperties.RO_SECURE, "null")).append("\n");
-        result.append("ro.boot.flash.locked = ").append(getSystemProperty(com.sheep.sphunter.util.Constants.SystemProperties.RO_BOOT_FLASH_LOCKED, "null")).append("\n");
-        result.append("sys.oem_unlock_allowed = ").append(getSystemProperty(com.sheep.sphunter.util.Constants.SystemProperties.SYS_OEM_UNLOCK_ALLOWED, "null")).append("\n");
+        record.beginSection("Security");
+        record.put("ro.debuggable", getSystemProperty(com.sheep.sphunter.util.Constants.SystemProperties.RO_DEBUGGABLE, null));
+        record.put("init.svc.adbd", getSystemProperty(com.sheep.sphunter.util.Constants.SystemProperties.INIT_SVC_ADBD, null));
+        record.put("ro.secure", getSystemProperty(com.sheep.sphunter.util.Constants.SystemProperties.RO_SECURE, null));
+        record.put("ro.boot.flash.locked", getSystemProperty(com.sheep.sphunter.util.Constants.SystemProperties.RO_BOOT_FLASH_LOCKED, null));
+        record.put("sys.oem_unlock_allowed", getSystemProperty(com.sheep.sphunter.util.Constants.SystemProperties.SYS_OEM_UNLOCK_ALLOWED, null));
 
         // Build ID 相关
-        result.append("\n=== Build ID ===\n");
-        appendBuildProperty(result, "ro.build.id");
-        appendBuildProperty(result, "ro.build.build.id");
-        appendBuildProperty(result, "ro.bootimage.build.id");
-        appendBuildProperty(result, "ro.odm.build.id");
-        appendBuildProperty(result, "ro.product.build.id");
-        appendBuildProperty(result, "ro.system_ext.build.id");
-        appendBuildProperty(result, "ro.system.build.id");
-        appendBuildProperty(result, "ro.vendor.build.id");
+        record.beginSection("Build ID");
+        appendBuildProperty(record, "ro.build.id");
+        appendBuildProperty(record, "ro.build.build.id");
+        appendBuildProperty(record, "ro.bootimage.build.id");
+        appendBuildProperty(record, "ro.odm.build.id");
+        appendBuildProperty(record, "ro.product.build.id");
+        appendBuildProperty(record, "ro.system_ext.build.id");
+        appendBuildProperty(record, "ro.system.build.id");
+        appendBuildProperty(record, "ro.vendor.build.id");
 
         // 安全补丁
-        result.append("\n=== Security Patch ===\n");
-        result.append("ro.build.version.security_patch = ").append(getSystemProperty("ro.build.version.security_patch", "null")).append("\n");
+        record.beginSection("Security Patch");
+        record.put("ro.build.version.security_patch", getSystemProperty("ro.build.version.security_patch", null));
 
         // 其他系统信息
-        result.append("\n=== Other System Info ===\n");
-        result.append("ro.boot.vbmeta.digest = ").append(getSystemProperty("ro.boot.vbmeta.digest", "null")).append("\n");
-        result.append("ro.netflix.bsp_rev = ").append(getSystemProperty("ro.netflix.bsp_rev", "null")).append("\n");
-        result.append("gsm.version.baseband = ").append(getSystemProperty("gsm.version.baseband", "null")).append("\n");
+        record.beginSection("Other System Info");
+        record.put("ro.boot.vbmeta.digest", getSystemProperty("ro.boot.vbmeta.digest", null));
+        record.put("ro.netflix.bsp_rev", getSystemProperty("ro.netflix.bsp_rev", null));
+        record.put("gsm.version.baseband", getSystemProperty("gsm.version.baseband", null));
 
         // Build Date UTC
-        result.append("\n=== Build Date UTC ===\n");
-        appendBuildProperty(result, "ro.build.date.utc");
-        appendBuildProperty(result, "ro.build.build.date.utc");
-        appendBuildProperty(result, "ro.bootimage.build.date.utc");
-        appendBuildProperty(result, "ro.odm.build.date.utc");
-        appendBuildProperty(result, "ro.product.build.date.utc");
-        appendBuildProperty(result, "ro.system_ext.build.date.utc");
-        appendBuildProperty(result, "ro.system.build.date.utc");
-        appendBuildProperty(result, "ro.vendor.build.date.utc");
+        record.beginSection("Build Date UTC");
+        appendBuildProperty(record, "ro.build.date.utc");
+        appendBuildProperty(record, "ro.build.build.date.utc");
+        appendBuildProperty(record, "ro.bootimage.build.date.utc");
+        appendBuildProperty(record, "ro.odm.build.date.utc");
+        appendBuildProperty(record, "ro.product.build.date.utc");
+        appendBuildProperty(record, "ro.system_ext.build.date.utc");
+        appendBuildProperty(record, "ro.system.build.date.utc");
+        appendBuildProperty(record, "ro.vendor.build.date.utc");
 
         // Display ID 和 Tags
-        result.append("\n=== Display ID and Tags ===\n");
-        result.append("ro.build.display.id = ").append(getSystemProperty("ro.build.display.id", "null")).append("\n");
-        appendBuildProperty(result, "ro.build.tags");
-        appendBuildProperty(result, "ro.build.build.tags");
-        appendBuildProperty(result, "ro.bootimage.build.tags");
-        appendBuildProperty(result, "ro.odm.build.tags");
-        appendBuildProperty(result, "ro.product.build.tags");
-        appendBuildProperty(result, "ro.system_ext.build.tags");
-        appendBuildProperty(result, "ro.system.build.tags");
-        appendBuildProperty(result, "ro.vendor.build.tags");
+        record.beginSection("Display ID and Tags");
+        record.put("ro.build.display.id", getSystemProperty("ro.build.display.id", null));
+        appendBuildProperty(record, "ro.build.tags");
+        appendBuildProperty(record, "ro.build.build.tags");
+        appendBuildProperty(record, "ro.bootimage.build.tags");
+        appendBuildProperty(record, "ro.odm.build.tags");
+        appendBuildProperty(record, "ro.product.build.tags");
+        appendBuildProperty(record, "ro.system_ext.build.tags");
+        appendBuildProperty(record, "ro.system.build.tags");
+        appendBuildProperty(record, "ro.vendor.build.tags");
 
         // Build Host 和 User
-        result.append("\n=== Build Host and User ===\n");
-        result.append("ro.build.host = ").append(getSystemProperty("ro.build.host", "null")).append("\n");
-        result.append("ro.build.user = ").append(getSystemProperty("ro.build.user", "null")).append("\n");
-        result.append("ro.config.ringtone = ").append(getSystemProperty("ro.config.ringtone", "null")).append("\n");
-        result.append("ro.miui.ui.version.name = ").append(getSystemProperty("ro.miui.ui.version.name", "null")).append("\n");
+        record.beginSection("Build Host and User");
+        record.put("ro.build.host", getSystemProperty("ro.build.host", null));
+        record.put("ro.build.user", getSystemProperty("ro.build.user", null));
+        record.put("ro.config.ringtone", getSystemProperty("ro.config.ringtone", null));
+        record.put("ro.miui.ui.version.name", getSystemProperty("ro.miui.ui.version.name", null));
 
         // Build Version Incremental
-        result.append("\n=== Build Version Incremental ===\n");
-        appendBuildProperty(result, "ro.build.version.incremental");
-        appendBuildProperty(result, "ro.build.build.version.incremental");
-        appendBuildProperty(result, "ro.bootimage.build.version.incremental");
-        appendBuildProperty(result, "ro.odm.build.version.incremental");
-        appendBuildProperty(result, "ro.product.build.version.incremental");
-        appendBuildProperty(result, "ro.system_ext.build.version.incremental");
-        appendBuildProperty(result, "ro.system.build.version.incremental");
-        appendBuildProperty(result, "ro.vendor.build.version.incremental");
+        record.beginSection("Build Version Incremental");
+        appendBuildProperty(record, "ro.build.version.incremental");
+        appendBuildProperty(record, "ro.build.build.version.incremental");
+        appendBuildProperty(record, "ro.bootimage.build.version.incremental");
+        appendBuildProperty(record, "ro.odm.build.version.incremental");
+        appendBuildProperty(record, "ro.product.build.version.incremental");
+        appendBuildProperty(record, "ro.system_ext.build.version.incremental");
+        appendBuildProperty(record, "ro.system.build.version.incremental");
+        appendBuildProperty(record, "ro.vendor.build.version.incremental");
 
         // Build Description
-        result.append("\n=== Build Description ===\n");
-        result.append("ro.build.description = ").append(getSystemProperty("ro.build.description", "null")).append("\n");
+        record.beginSection("Build Description");
+        record.put("ro.build.description", getSystemProperty("ro.build.description", null));
 
         // Build Fingerprint
-        result.append("\n=== Build Fingerprint ===\n");
-        appendBuildProperty(result, "ro.build.fingerprint");
-        appendBuildProperty(result, "ro.build.build.fingerprint");
-        appendBuildProperty(result, "ro.bootimage.build.fingerprint");
-        appendBuildProperty(result, "ro.odm.build.fingerprint");
-        appendBuildProperty(result, "ro.product.build.fingerprint");
-        appendBuildProperty(result, "ro.system_ext.build.fingerprint");
-        appendBuildProperty(result, "ro.system.build.fingerprint");
-        appendBuildProperty(result, "ro.vendor.build.fingerprint");
+        record.beginSection("Build Fingerprint");
+        appendBuildProperty(record, "ro.build.fingerprint");
+        appendBuildProperty(record, "ro.build.build.fingerprint");
+        appendBuildProperty(record, "ro.bootimage.build.fingerprint");
+        appendBuildProperty(record, "ro.odm.build.fingerprint");
+        appendBuildProperty(record, "ro.product.build.fingerprint");
+        appendBuildProperty(record, "ro.system_ext.build.fingerprint");
+        appendBuildProperty(record, "ro.system.build.fingerprint");
+        appendBuildProperty(record, "ro.vendor.build.fingerprint");
 
         // 序列号和硬件信息
-        result.append("\n=== Serial Number & Hardware ===\n");
+        record.beginSection("Serial Number & Hardware");
         // 使用安全方法获取序列号，优先使用 Build API，避免访问受限的系统属性
-        String bootSerial = getSystemPropertySafe("ro.boot.serialno", "null");
-        String serial = getSystemPropertySafe("ro.serialno", "null");
-        result.append("ro.boot.serialno = ").append(bootSerial).append("\n");
-        result.append("ro.serialno = ").append(serial).append("\n");
-        result.append("ro.boot.hardware = ").append(getSystemProperty("ro.boot.hardware", "null")).append("\n");
-        result.append("ro.hardware = ").append(getSystemProperty("ro.hardware", "null")).append("\n");
+        String bootSerial = getSystemPropertySafe("ro.boot.serialno", null, plan);
+        String serial = getSystemPropertySafe("ro.serialno", null, plan);
+        record.put("ro.boot.serialno", bootSerial);
+        record.put("ro.serialno", serial);
+        record.put("ro.boot.hardware", getSystemProperty("ro.boot.hardware", null));
+        record.put("ro.hardware", getSystemProperty("ro.hardware", null));
 
         // CPU ABI 信息
-        result.append("\n=== CPU ABI ===\n");
-        result.append("ro.product.cpu.abilist = ").append(getSystemProperty("ro.product.cpu.abilist", "null")).append("\n");
-        result.append("ro.product.cpu.abilist32 = ").append(getSystemProperty("ro.product.cpu.abilist32", "null")).append("\n");
-        result.append("ro.product.cpu.abilist64 = ").append(getSystemProperty("ro.product.cpu.abilist64", "null")).append("\n");
+        record.beginSection("CPU ABI");
+        record.put("ro.product.cpu.abilist", getSystemProperty("ro.product.cpu.abilist", null));
+        record.put("ro.product.cpu.abilist32", getSystemProperty("ro.product.cpu.abilist32", null));
+        record.put("ro.product.cpu.abilist64", getSystemProperty("ro.product.cpu.abilist64", null));
 
-        return result.toString();
+        return record;
     }
 
-    private void appendBuildProperty(StringBuilder result, String key) {
-        result.append(key).append(" = ").append(getSystemProperty(key, "null")).append("\n");
+    private void appendBuildProperty(BuildPropertiesRecord record, String key) {
+        record.put(key, getSystemProperty(key, null));
     }
 }
 
@@ -2,17 +2,17 @@ package com.sheep.sphunter.fingerprint.device;
 
 import android.content.Context;
 import android.media.AudioManager;
-import android.media.MediaDrm;
-import android.media.UnsupportedSchemeException;
 
 import androidx.annotation.NonNull;
 
-import java.util.UUID;
+import com.sheep.sphunter.model.Outcome;
 
 /**
  * 媒体信息采集器（音量、DRM等）
  */
 public class MediaCollector {
+    private static final long DRM_TIMEOUT_MS = 5000;
+
     private final Context context;
 
     public MediaCollector(@NonNull Context context) {
@@ -26,69 +26,61 @@ public class MediaCollector {
      */
     @NonNull
     public String getVolumeInfo() {
+        return getVolumeInfoOutcome().toString();
+    }
+
+    /**
+     * 获取音量相关信息（带采集状态）
+     */
+    @NonNull
+    public Outcome<String> getVolumeInfoOutcome() {
         try {
             AudioManager audioManager = (AudioManager) context.getSystemService(Context.AUDIO_SERVICE);
             if (audioManager == null) {
-                return "AudioManager is null";
+                return Outcome.unsupported("AudioManager is null");
             }
-            return "VolumeInfo: " + audioManager.getStreamVolume(AudioManager.STREAM_MUSIC);
+            return Outcome.value("VolumeInfo: " + audioManager.getStreamVolume(AudioManager.STREAM_MUSIC));
         } catch (Exception e) {
-            return "VolumeInfo: Error - " + e.getMessage();
+            return Outcome.failed(e);
         }
     }
 
     /**
      * 获取DRM相关信息
+     * 使用进程级共享的 Widevine 标识，不再每次打开 MediaDrm 会话
      *
      * @return DRM相关信息字符串
      */
     @NonNull
     public String getDRMInfo() {
-        MediaDrm mediaDrm = null;
-
-        // Widevine UUID
-        UUID widevineUuid = new UUID(0xedef8ba979d64aceL, 0xa3c827dcd51d21edL);
+        return getDRMInfoOutcome().toString();
+    }
 
-        if (!MediaDrm.isCryptoSchemeSupported(widevineUuid)) {
-            return "Widevine DRM not supported on this device";
+    /**
+     * 获取DRM相关信息（带采集状态）
+     *
+     * @return DRM相关信息字符串；预取未完成时为 TIMEOUT，不支持 Widevine 时为 UNSUPPORTED
+     */
+    @NonNull
+    public Outcome<String> getDRMInfoOutcome() {
+        WidevineIdentity identity = WidevineIdentity.getInstance();
+        if (!identity.await(DRM_TIMEOUT_MS)) {
+            return Outcome.timeout("Widevine identity not ready after " + DRM_TIMEOUT_MS + " ms");
         }
 
-        try {
-            mediaDrm = new MediaDrm(widevineUuid);
-
-            byte[] deviceId = mediaDrm.getPropertyByteArray(MediaDrm.PROPERTY_DEVICE_UNIQUE_ID);
-
-            if (deviceId == null || deviceId.length == 0) {
-                return "Device Unique ID is null or empty";
-            }
-
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : deviceId) {
-                hexString.append(String.format("%02x", b & 0xff));
-            }
-
-            return "MediaDrm Device Unique ID: " + hexString.toString() +
-                "\nLength: " + deviceId.length + " bytes";
+        String hex = identity.getHex();
+        if (hex == null) {
+            String error = identity.getError() != null ? identity.getError() : "Device Unique ID is null or empty";
+            return identity.isUnsupported() ? Outcome.unsupported(error) : Outcome.failed(error);
+        }
 
-        } catch (MediaDrm.MediaDrmStateException e) {
-            return "MediaDrmStateException: " + e.getMessage() +
-                "\nDiagnostic Info: " + e.getDiagnosticInfo();
-        } catch (IllegalArgumentException e) {
-            return "IllegalArgumentException: " + e.getMessage() +
-                "\n(Property may not be available for this DRM scheme)";
-        } catch (UnsupportedSchemeException e) {
-            return "UnsupportedSchemeException: " + e.getMessage();
-        } catch (Exception e) {
-            return "Exception: " + e.getClass().getSimpleName() + " - " + e.getMessage();
-        } finally {
-            if (mediaDrm != null) {
-                try {
-                    mediaDrm.release();
-                } catch (Exception e) {
-                    // 忽略释放错误
-                }
-            }
+        StringBuilder result = new StringBuilder();
+        result.append("MediaDrm Device Unique ID: ").append(hex)
+            .append("\nLength: ").append(hex.length() / 2).append(" bytes");
+        String securityLevel = identity.getSecurityLevel();
+        if (securityLevel != null && !securityLevel.isEmpty()) {
+            result.append("\nSecurity Level: ").append(securityLevel);
         }
+        return Outcome.value(result.toString());
     }
 }
-
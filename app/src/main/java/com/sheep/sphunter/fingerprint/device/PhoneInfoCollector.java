@@ -8,7 +8,9 @@ import android.telephony.TelephonyManager;
 
 import androidx.annotation.NonNull;
 
-import java.lang.reflect.Method;
+import com.sheep.sphunter.fingerprint.CollectionPlan;
+import com.sheep.sphunter.model.Outcome;
+import com.sheep.sphunter.util.ReflectiveAccessorCache;
 
 /**
  * 电话信息采集器
@@ -16,7 +18,13 @@ import java.lang.reflect.Method;
  * 但是基本都收集不到数据，因为普通应用没有权限获取这些信息（如果有获取这些数据的方法，请多指教）
  */
 public class PhoneInfoCollector {
+    private static final Class<?>[] NO_PARAMS = new Class<?>[0];
+    private static final Class<?>[] INT_PARAM = new Class<?>[]{int.class};
+    private static final String FIELD_PREFIX = "system.phone_info.";
+    private static final String REASON_NO_PHONE_STATE = "missing READ_PHONE_STATE";
+
     private final Context context;
+    private final ReflectiveAccessorCache accessors = ReflectiveAccessorCache.getInstance();
 
     public PhoneInfoCollector(@NonNull Context context) {
         this.context = context;
@@ -28,47 +36,76 @@ public class PhoneInfoCollector {
      *
      * @return 电话信息字符串
      */
-    @SuppressLint("HardwareIds")
     @NonNull
     public String getPhoneInfo() {
+        return getPhoneInfo(CollectionPlan.create(context));
+    }
+
+    /**
+     * 按采集计划获取电话信息，计划不允许的调用直接跳过并记录原因
+     *
+     * @param plan 采集计划
+     * @return 电话信息字符串
+     */
+    @NonNull
+    public String getPhoneInfo(@NonNull CollectionPlan plan) {
+        Outcome<String> outcome = getPhoneInfoOutcome(plan);
+        return outcome.isValue() ? outcome.getValue() : "";
+    }
+
+    /**
+     * 按采集计划获取电话信息（带采集状态）
+     *
+     * @param plan 采集计划
+     * @return 电话信息字符串；无 TelephonyManager 或没有任何可读字段时为 UNSUPPORTED
+     */
+    @NonNull
+    public Outcome<String> getPhoneInfoOutcome(@NonNull CollectionPlan plan) {
         TelephonyManager tm = getTelephonyManager();
         if (tm == null) {
-            return "";
+            return Outcome.unsupported("TelephonyManager is null");
+        }
+        String info = collectPhoneInfo(tm, plan);
+        if (info.isEmpty()) {
+            return Outcome.unsupported("no readable telephony fields");
         }
+        return Outcome.value(info);
+    }
 
+    @SuppressLint({"HardwareIds", "MissingPermission"})
+    @NonNull
+    private String collectPhoneInfo(@NonNull TelephonyManager tm, @NonNull CollectionPlan plan) {
         StringBuilder str = new StringBuilder();
+        int permissionState = plan.getPermissionState();
+        boolean phoneState = plan.canReadPhoneState();
+        boolean identifiers = plan.canReadDeviceIdentifiers();
+        String identifierReason = plan.deviceIdentifierDenialReason();
 
         // DeviceId(IMEI) - Android 10+ 需要特殊权限，普通应用无法获取
-        try {
-            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-                // Android 8.0+ 使用 getImei()，但需要 READ_PHONE_STATE 权限
-                // Android 10+ 普通应用无法获取 IMEI，跳过
-                if (Build.VERSION.SDK_INT < Build.VERSION_CODES.Q) {
-                    try {
-                        String deviceId = tm.getImei();
-                        if (deviceId != null && !deviceId.isEmpty()) {
-                            appendIfValid(str, "DeviceId(IMEI)", deviceId);
-                        }
-                    } catch (SecurityException e) {
-                        // 权限不足，跳过
-                    }
-                }
-            } else {
-                // Android 8.0 以下使用 getDeviceId()
-                String deviceId = tm.getDeviceId();
-                if (deviceId != null && !deviceId.isEmpty()) {
-                    appendIfValid(str, "DeviceId(IMEI)", deviceId);
-                }
+        if (identifiers) {
+            try {
+                String deviceId = Build.VERSION.SDK_INT >= Build.VERSION_CODES.O ? tm.getImei() : tm.getDeviceId();
+                appendIfValid(str, "DeviceId(IMEI)", deviceId);
+            } catch (Exception e) {
+                // 发生异常，跳过
             }
-        } catch (Exception e) {
-            // 发生异常，跳过
+        } else {
+            plan.skip(FIELD_PREFIX + "DeviceId(IMEI)", identifierReason);
         }
 
         // DeviceSoftwareVersion
-        appendInfoClean(str, "DeviceSoftwareVersion", () -> tm.getDeviceSoftwareVersion());
+        if (phoneState) {
+            appendInfoClean(str, "DeviceSoftwareVersion", () -> tm.getDeviceSoftwareVersion());
+        } else {
+            plan.skip(FIELD_PREFIX + "DeviceSoftwareVersion", REASON_NO_PHONE_STATE);
+        }
 
         // Line1Number
-        appendInfoCleanWithSecurity(str, "Line1Number", () -> tm.getLine1Number());
+        if (plan.canReadPhoneNumbers()) {
+            appendInfoClean(str, "Line1Number", () -> tm.getLine1Number());
+        } else {
+            plan.skip(FIELD_PREFIX + "Line1Number", "missing READ_PHONE_NUMBERS / READ_PHONE_STATE");
+        }
 
         // NetworkCountryIso
         appendInfoClean(str, "NetworkCountryIso", () -> tm.getNetworkCountryIso());
@@ -79,8 +116,12 @@ public class PhoneInfoCollector {
         // NetworkOperatorName
         appendInfoClean(str, "NetworkOperatorName", () -> tm.getNetworkOperatorName());
 
-        // NetworkType
-        appendInfoClean(str, "NetworkType", () -> String.valueOf(tm.getNetworkType()));
+        // NetworkType（targetSdk 30+ 需要 READ_PHONE_STATE）
+        if (phoneState || plan.getTargetSdk() < Build.VERSION_CODES.R) {
+            appendInfoClean(str, "NetworkType", () -> String.valueOf(tm.getNetworkType()));
+        } else {
+            plan.skip(FIELD_PREFIX + "NetworkType", REASON_NO_PHONE_STATE);
+        }
 
         // PhoneType
         appendInfoClean(str, "PhoneType", () -> String.valueOf(tm.getPhoneType()));
@@ -95,63 +136,102 @@ public class PhoneInfoCollector {
         appendInfoClean(str, "SimOperatorName", () -> tm.getSimOperatorName());
 
         // SimSerialNumber
-        appendInfoCleanWithSecurity(str, "SimSerialNumber", () -> tm.getSimSerialNumber());
+        if (identifiers) {
+            appendInfoClean(str, "SimSerialNumber", () -> tm.getSimSerialNumber());
+        } else {
+            plan.skip(FIELD_PREFIX + "SimSerialNumber", identifierReason);
+        }
 
         // SimState
         appendInfoClean(str, "SimState", () -> String.valueOf(tm.getSimState()));
 
         // SubscriberId(IMSI)
-        appendInfoCleanWithSecurity(str, "SubscriberId(IMSI)", () -> tm.getSubscriberId());
+        if (identifiers) {
+            appendInfoClean(str, "SubscriberId(IMSI)", () -> tm.getSubscriberId());
+        } else {
+            plan.skip(FIELD_PREFIX + "SubscriberId(IMSI)", identifierReason);
+        }
 
         // VoiceMailNumber
-        try {
-            String voiceMailNumber = tm.getVoiceMailNumber();
-            if (voiceMailNumber != null && !voiceMailNumber.isEmpty()) {
-                appendIfValid(str, "VoiceMailNumber", voiceMailNumber);
-            }
-        } catch (Exception e) {
-            // 发生异常，跳过
+        if (phoneState) {
+            appendInfoClean(str, "VoiceMailNumber", () -> tm.getVoiceMailNumber());
+        } else {
+            plan.skip(FIELD_PREFIX + "VoiceMailNumber", REASON_NO_PHONE_STATE);
         }
 
         // ==================== Hidden API 部分 (通过反射调用) ====================
         // 只收集成功的数据，不输出错误信息
 
-        // MEID (适用于 CDMA 设备) - Android 8.0+
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-            appendReflectionInfoClean(str, "MEID", tm, "getMeid");
+        // 设备标识类 hidden 方法（MEID、NAI、多卡 IMEI/DeviceId/MEID/IMSI）
+        if (identifiers) {
+            appendIdentifierReflectionInfo(str, tm, permissionState);
+        } else {
+            plan.skip(FIELD_PREFIX + "MEID", identifierReason);
+            plan.skip(FIELD_PREFIX + "NAI", identifierReason);
+            plan.skip(FIELD_PREFIX + "IMEI[Slot*]", identifierReason);
+            plan.skip(FIELD_PREFIX + "DeviceId[Slot*]", identifierReason);
+            plan.skip(FIELD_PREFIX + "MEID[Slot*]", identifierReason);
+            plan.skip(FIELD_PREFIX + "SubscriberId[SubId*]", identifierReason);
         }
 
-        // Network Access Identifier
-        appendReflectionInfoClean(str, "NAI", tm, "getNai");
-
         // Data Network Type
-        appendReflectionInfoClean(str, "DataNetworkType", tm, "getDataNetworkType");
+        if (phoneState) {
+            appendReflectionInfoClean(str, "DataNetworkType", tm, "getDataNetworkType", permissionState);
+        } else {
+            plan.skip(FIELD_PREFIX + "DataNetworkType", REASON_NO_PHONE_STATE);
+        }
         
         // 尝试获取 Phone Count (双卡设备数量)
-        appendReflectionInfoClean(str, "PhoneCount", tm, "getPhoneCount");
+        appendReflectionInfoClean(str, "PhoneCount", tm, "getPhoneCount", permissionState);
         
         // 尝试获取 Active Modem Count
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
-            appendReflectionInfoClean(str, "ActiveModemCount", tm, "getActiveModemCount");
+            appendReflectionInfoClean(str, "ActiveModemCount", tm, "getActiveModemCount", permissionState);
+        }
+
+        // 运营商配置信息
+        if (phoneState) {
+            appendCarrierConfigClean(str, tm, permissionState);
+        } else {
+            plan.skip(FIELD_PREFIX + "CarrierConfig", REASON_NO_PHONE_STATE);
         }
 
+        return str.toString();
+    }
+
+    /**
+     * 通过反射获取设备标识类 hidden 信息（调用前已确认计划允许读取设备标识）
+     *
+     * @param str             字符串构建器
+     * @param tm              TelephonyManager 实例
+     * @param permissionState 当前权限状态
+     */
+    private void appendIdentifierReflectionInfo(StringBuilder str, TelephonyManager tm, int permissionState) {
+        // MEID (适用于 CDMA 设备) - Android 8.0+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            appendReflectionInfoClean(str, "MEID", tm, "getMeid", permissionState);
+        }
+
+        // Network Access Identifier
+        appendReflectionInfoClean(str, "NAI", tm, "getNai", permissionState);
+
         // 多卡设备信息
         // 尝试获取双卡 IMEI (slotIndex 0 和 1) - Android 8.0+
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
             for (int slot = 0; slot < 2; slot++) {
-                appendReflectionInfoWithParamClean(str, "IMEI[Slot" + slot + "]", tm, "getImei", int.class, slot);
+                appendReflectionInfoWithParamClean(str, "IMEI[Slot" + slot + "]", tm, "getImei", slot, permissionState);
             }
         }
 
         // 尝试获取双卡 DeviceId (slotIndex 0 和 1)
         for (int slot = 0; slot < 2; slot++) {
-            appendReflectionInfoWithParamClean(str, "DeviceId[Slot" + slot + "]", tm, "getDeviceId", int.class, slot);
+            appendReflectionInfoWithParamClean(str, "DeviceId[Slot" + slot + "]", tm, "getDeviceId", slot, permissionState);
         }
         
         // 尝试获取双卡 MEID (slotIndex 0 和 1) - Android 8.0+
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
             for (int slot = 0; slot < 2; slot++) {
-                appendReflectionInfoWithParamClean(str, "MEID[Slot" + slot + "]", tm, "getMeid", int.class, slot);
+                appendReflectionInfoWithParamClean(str, "MEID[Slot" + slot + "]", tm, "getMeid", slot, permissionState);
             }
         }
 
@@ -159,14 +239,9 @@ public class PhoneInfoCollector {
         for (int subId = 0; subId < 2; subId++) {
             appendMultipleMethodAttemptsClean(str, "SubscriberId[SubId" + subId + "]", tm, 
                 new String[]{"getSubscriberId"}, 
-                new Class[][]{new Class[]{int.class}}, 
-                new Object[][]{new Object[]{subId}});
+                new Class[][]{INT_PARAM}, 
+                new Object[][]{new Object[]{subId}}, permissionState);
         }
-
-        // 运营商配置信息
-        appendCarrierConfigClean(str, tm);
-
-        return str.toString();
     }
 
     /**
@@ -178,24 +253,22 @@ public class PhoneInfoCollector {
      * @param methodNames 要尝试的方法名数组
      * @param paramTypes  每个方法对应的参数类型数组
      * @param paramValues 每个方法对应的参数值数组
+     * @param permissionState 当前权限状态
      */
     private void appendMultipleMethodAttemptsClean(StringBuilder str, String label, TelephonyManager tm,
-                                                    String[] methodNames, Class<?>[][] paramTypes, Object[][] paramValues) {
+                                                    String[] methodNames, Class<?>[][] paramTypes, Object[][] paramValues,
+                                                    int permissionState) {
         for (int i = 0; i < methodNames.length; i++) {
-            try {
-                Method method = TelephonyManager.class.getDeclaredMethod(methodNames[i], paramTypes[i]);
-                method.setAccessible(true);
-                Object result = method.invoke(tm, paramValues[i]);
-                if (result != null) {
-                    String value = result.toString();
-                    if (!value.isEmpty() && !value.equals("null")) {
-                        str.append(label).append(" = ").append(value).append("\n");
-                        return; // 成功获取，退出
-                    }
+            Object result = accessors.invoke(TelephonyManager.class, tm, methodNames[i],
+                    permissionState, paramTypes[i], paramValues[i]);
+            if (result != null) {
+                String value = result.toString();
+                if (!value.isEmpty() && !value.equals("null")) {
+                    str.append(label).append(" = ").append(value).append("\n");
+                    return; // 成功获取，退出
                 }
-            } catch (Exception e) {
-                // 继续尝试下一个方法
             }
+            // 继续尝试下一个方法
         }
         // 所有方法都失败，不添加任何内容
     }
@@ -240,22 +313,6 @@ public class PhoneInfoCollector {
         }
     }
 
-    /**
-     * 清洗版本：只在成功获取有效数据时才添加（带安全异常处理）
-     */
-    private void appendInfoCleanWithSecurity(StringBuilder str, String label, InfoProvider provider) {
-        try {
-            String value = provider.get();
-            if (value != null && !value.isEmpty() && !value.equals("null")) {
-                str.append(label).append(" = ").append(value).append("\n");
-            }
-        } catch (SecurityException e) {
-            // 权限不足，不添加任何内容
-        } catch (Exception e) {
-            // 发生异常，不添加任何内容
-        }
-    }
-
     /**
      * 通过反射调用无参数的 hidden 方法（清洗版本：只返回成功的数据）
      *
@@ -263,49 +320,39 @@ public class PhoneInfoCollector {
      * @param label      标签
      * @param tm         TelephonyManager 实例
      * @param methodName 方法名
+     * @param permissionState 当前权限状态
      */
-    private void appendReflectionInfoClean(StringBuilder str, String label, TelephonyManager tm, String methodName) {
-        try {
-            // 使用 getDeclaredMethod 来访问 hidden API
-            Method method = TelephonyManager.class.getDeclaredMethod(methodName);
-            method.setAccessible(true);  // 设置可访问
-            Object result = method.invoke(tm);
-            if (result != null) {
-                String value = result.toString();
-                if (!value.isEmpty() && !value.equals("null")) {
-                    str.append(label).append(" = ").append(value).append("\n");
-                }
+    private void appendReflectionInfoClean(StringBuilder str, String label, TelephonyManager tm, String methodName,
+                                           int permissionState) {
+        // 通过进程级缓存访问 hidden API，方法只解析一次
+        Object result = accessors.invoke(TelephonyManager.class, tm, methodName, permissionState, NO_PARAMS);
+        if (result != null) {
+            String value = result.toString();
+            if (!value.isEmpty() && !value.equals("null")) {
+                str.append(label).append(" = ").append(value).append("\n");
             }
-        } catch (Exception e) {
-            // 发生任何异常，不添加任何内容（静默失败）
         }
     }
 
     /**
-     * 通过反射调用带单个参数的 hidden 方法（清洗版本：只返回成功的数据）
+     * 通过反射调用带单个 int 参数（slotIndex）的 hidden 方法（清洗版本：只返回成功的数据）
      *
      * @param str        字符串构建器
      * @param label      标签
      * @param tm         TelephonyManager 实例
      * @param methodName 方法名
-     * @param paramType  参数类型
-     * @param paramValue 参数值
+     * @param slotIndex  参数值
+     * @param permissionState 当前权限状态
      */
     private void appendReflectionInfoWithParamClean(StringBuilder str, String label, TelephonyManager tm,
-                                                     String methodName, Class<?> paramType, Object paramValue) {
-        try {
-            // 使用 getDeclaredMethod 来访问 hidden API
-            Method method = TelephonyManager.class.getDeclaredMethod(methodName, paramType);
-            method.setAccessible(true);  // 设置可访问
-            Object result = method.invoke(tm, paramValue);
-            if (result != null) {
-                String value = result.toString();
-                if (!value.isEmpty() && !value.equals("null")) {
-                    str.append(label).append(" = ").append(value).append("\n");
-                }
+                                                     String methodName, int slotIndex, int permissionState) {
+        // 同一方法在不同 slot 间共享一个缓存条目
+        Object result = accessors.invoke(TelephonyManager.class, tm, methodName, permissionState, INT_PARAM, slotIndex);
+        if (result != null) {
+            String value = result.toString();
+            if (!value.isEmpty() && !value.equals("null")) {
+                str.append(label).append(" = ").append(value).append("\n");
             }
-        } catch (Exception e) {
-            // 发生任何异常，不添加任何内容（静默失败）
         }
     }
 
@@ -314,14 +361,12 @@ public class PhoneInfoCollector {
      *
      * @param str 字符串构建器
      * @param tm  TelephonyManager 实例
+     * @param permissionState 当前权限状态
      */
     @SuppressLint("MissingPermission")
-    private void appendCarrierConfigClean(StringBuilder str, TelephonyManager tm) {
+    private void appendCarrierConfigClean(StringBuilder str, TelephonyManager tm, int permissionState) {
         try {
-            // 使用 getDeclaredMethod 来访问 hidden API
-            Method method = TelephonyManager.class.getDeclaredMethod("getCarrierConfig");
-            method.setAccessible(true);
-            Object result = method.invoke(tm);
+            Object result = accessors.invoke(TelephonyManager.class, tm, "getCarrierConfig", permissionState, NO_PARAMS);
             
             if (result instanceof PersistableBundle) {
                 PersistableBundle bundle = (PersistableBundle) result;
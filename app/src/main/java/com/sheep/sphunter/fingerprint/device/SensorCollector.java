@@ -6,6 +6,13 @@ import android.hardware.SensorManager;
 
 import androidx.annotation.NonNull;
 
+import com.sheep.sphunter.model.Outcome;
+import com.sheep.sphunter.model.SensorRecord;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * 传感器信息采集器
  */
@@ -28,7 +35,7 @@ public class SensorCollector {
             if (sensorManager == null) {
                 return "SensorManager is null";
             }
-            java.util.List<Sensor> sensors = sensorManager.getSensorList(Sensor.TYPE_ALL);
+            List<Sensor> sensors = sensorManager.getSensorList(Sensor.TYPE_ALL);
             StringBuilder result = new StringBuilder();
             for (Sensor sensor : sensors) {
                 result.append("Sensor: ").append(sensor.toString()).append("\n");
@@ -38,5 +45,63 @@ public class SensorCollector {
             return "SensorInfo: Error - " + e.getMessage();
         }
     }
+
+    /**
+     * 获取结构化的传感器信息
+     * 直接读取 Sensor 的 getter，不经过 toString() 文本
+     *
+     * @return 传感器记录列表，失败时返回空列表
+     */
+    @NonNull
+    public List<SensorRecord> getSensorRecords() {
+        Outcome<List<SensorRecord>> outcome = getSensorOutcome();
+        return outcome.isValue() ? outcome.getValue() : Collections.emptyList();
+    }
+
+    /**
+     * 获取结构化的传感器信息（带采集状态）
+     *
+     * @return 传感器记录列表；无 SensorManager 时为 UNSUPPORTED
+     */
+    @NonNull
+    public Outcome<List<SensorRecord>> getSensorOutcome() {
+        try {
+            SensorManager sensorManager = (SensorManager) context.getSystemService(Context.SENSOR_SERVICE);
+            if (sensorManager == null) {
+                return Outcome.unsupported("SensorManager is null");
+            }
+            List<Sensor> sensors = sensorManager.getSensorList(Sensor.TYPE_ALL);
+            List<SensorRecord> records = new ArrayList<>(sensors.size());
+            for (Sensor sensor : sensors) {
+                records.add(new SensorRecord(
+                        sensor.getName() != null ? sensor.getName() : "",
+                        sensor.getVendor() != null ? sensor.getVendor() : "",
+                        sensor.getType(),
+                        sensor.getVersion(),
+                        sensor.getMaximumRange(),
+                        sensor.getPower(),
+                        sensor.getMinDelay(),
+                        sensor.getFifoMaxEventCount()));
+            }
+            return Outcome.value(records);
+        } catch (Exception e) {
+            return Outcome.failed(e);
+        }
+    }
+
+    /**
+     * 将传感器记录格式化为展示用字符串（与 getSensorInfo 格式一致）
+     *
+     * @param records 传感器记录
+     * @return 传感器相关信息字符串
+     */
+    @NonNull
+    public static String formatSensorInfo(@NonNull List<SensorRecord> records) {
+        StringBuilder result = new StringBuilder();
+        for (SensorRecord record : records) {
+            result.append("Sensor: ").append(record.toString()).append("\n");
+        }
+        return result.toString();
+    }
 }
 
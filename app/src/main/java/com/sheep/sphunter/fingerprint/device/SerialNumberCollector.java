@@ -5,6 +5,9 @@ import android.os.Build;
 
 import androidx.annotation.NonNull;
 
+import com.sheep.sphunter.fingerprint.CollectionPlan;
+import com.sheep.sphunter.model.Outcome;
+
 /**
  * 序列号采集器
  */
@@ -17,32 +20,53 @@ public class SerialNumberCollector {
 
     /**
      * 获取serial number
-     * 注意：Android 8.0+ 需要 READ_PHONE_STATE 权限，且普通应用可能无法获取
+     * 注意：Android 8.0+ 需要 READ_PHONE_STATE 权限，Android 10+ 普通应用无法获取
      *
      * @return serial number，如果无法获取则返回 "null"
      */
     @NonNull
     public String getSerialNumber() {
+        return getSerialNumber(CollectionPlan.create(context));
+    }
+
+    /**
+     * 按采集计划获取 serial number，没有权限时直接跳过而不触发 SecurityException
+     *
+     * @param plan 采集计划
+     * @return serial number，如果无法获取则返回 "null"
+     */
+    @NonNull
+    public String getSerialNumber(@NonNull CollectionPlan plan) {
+        Outcome<String> outcome = getSerialNumberOutcome(plan);
+        return outcome.isValue() ? outcome.getValue() : "null";
+    }
+
+    /**
+     * 按采集计划获取 serial number（带采集状态）
+     *
+     * @param plan 采集计划
+     * @return serial number；计划不允许时为 DENIED，系统返回 "unknown" 时为 UNSUPPORTED
+     */
+    @NonNull
+    public Outcome<String> getSerialNumberOutcome(@NonNull CollectionPlan plan) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O) {
+            // Android 8.0 以下版本
+            return Outcome.value(Build.SERIAL);
+        }
+        if (!plan.canReadDeviceIdentifiers()) {
+            String reason = plan.deviceIdentifierDenialReason();
+            plan.skip("identity.serial_number", reason);
+            return Outcome.denied(reason);
+        }
         try {
-            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-                // Android 8.0+ 需要 READ_PHONE_STATE 权限
-                String serial = Build.getSerial();
-                // 如果返回 "unknown" 或空字符串，也视为失败
-                if (serial == null || serial.isEmpty() || serial.equals("unknown")) {
-                    return "null";
-                }
-                return serial;
-            } else {
-                // Android 8.0 以下版本
-                return Build.SERIAL != null ? Build.SERIAL : "null";
+            String serial = Build.getSerial();
+            // 如果返回 "unknown" 或空字符串，也视为不可用
+            if (serial == null || serial.isEmpty() || serial.equals(Build.UNKNOWN)) {
+                return Outcome.unsupported("Build.getSerial() returned unknown");
             }
-        } catch (SecurityException e) {
-            // Android 8.0+ 如果没有 READ_PHONE_STATE 权限会抛出 SecurityException
-            e.printStackTrace();
-            return "null";
+            return Outcome.value(serial);
         } catch (Exception e) {
-            e.printStackTrace();
-            return "null";
+            return Outcome.failed(e);
         }
     }
 }
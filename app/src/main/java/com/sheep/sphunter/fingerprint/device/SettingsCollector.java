@@ -6,8 +6,13 @@ import android.provider.Settings;
 
 import androidx.annotation.NonNull;
 
+import com.sheep.sphunter.model.Outcome;
+import com.sheep.sphunter.model.SettingsRecord;
+
 import org.json.JSONObject;
 
+import java.util.Map;
+
 /**
  * Settings 信息采集器
  */
@@ -22,6 +27,15 @@ public class SettingsCollector {
      * 获取 Android ID
      */
     public String getAndroidId() {
+        Outcome<String> outcome = getAndroidIdOutcome();
+        return outcome.isValue() ? outcome.getValue() : "null";
+    }
+
+    /**
+     * 获取 Android ID（带采集状态）
+     */
+    @NonNull
+    public Outcome<String> getAndroidIdOutcome() {
         try {
             android.os.Bundle callResult = context.getContentResolver().call(
                     android.net.Uri.parse("content://settings/secure"), 
@@ -29,11 +43,12 @@ public class SettingsCollector {
                     "android_id", 
                     new android.os.Bundle()
             );
-            String androidIdValue = callResult.getString("value");
-            return androidIdValue != null ? androidIdValue : "null";
+            if (callResult == null) {
+                return Outcome.unsupported("settings provider returned no result");
+            }
+            return Outcome.value(callResult.getString("value"));
         } catch (Exception e) {
-            e.printStackTrace();
-            return "null";
+            return Outcome.failed(e);
         }
     }
 
@@ -44,16 +59,45 @@ public class SettingsCollector {
      */
     @NonNull
     public String collectSettings() {
+        return formatSettings(getSettingsRecord());
+    }
+
+    /**
+     * 将 Settings 记录格式化为 JSON 字符串（未获取到的字段写为 "null"）
+     *
+     * @param record Settings 字段记录
+     * @return JSON 字符串
+     */
+    @NonNull
+    public static String formatSettings(@NonNull SettingsRecord record) {
+        JSONObject settingsData = new JSONObject();
+        try {
+            for (Map.Entry<String, String> entry : record.getValues().entrySet()) {
+                settingsData.put(entry.getKey(), entry.getValue() != null ? entry.getValue() : "null");
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return settingsData.toString();
+    }
+
+    /**
+     * 采集 Settings 中的指纹信息（结构化）
+     * 未获取到的字段值为 null
+     *
+     * @return Settings 字段记录
+     */
+    @NonNull
+    public SettingsRecord getSettingsRecord() {
+        SettingsRecord record = new SettingsRecord();
         if (context == null) {
-            return "{}";
+            return record;
         }
 
         ContentResolver resolver = context.getContentResolver();
-        JSONObject settingsData = new JSONObject();
 
         try {
-            String androidId = Settings.Secure.getString(resolver, Settings.Secure.ANDROID_ID);
-            settingsData.put("android_id", androidId != null ? androidId : "null");
+            record.put("android_id", Settings.Secure.getString(resolver, Settings.Secure.ANDROID_ID));
 
             String[] globalKeys = {
                     com.sheep.sphunter.util.Constants.SettingsKeys.MI_HEALTH_ID,
@@ -65,23 +109,20 @@ public class SettingsCollector {
             };
 
             for (String key : globalKeys) {
-                String value = "null";
+                String value = null;
                 try {
-                    String fetchedValue = Settings.Global.getString(resolver, key);
-                    if (fetchedValue != null) {
-                        value = fetchedValue;
-                    }
+                    value = Settings.Global.getString(resolver, key);
                 } catch (Exception e) {
                     // 忽略单个键的错误
                 }
-                settingsData.put(key, value);
+                record.put(key, value);
             }
 
         } catch (Exception e) {
             e.printStackTrace();
         }
 
-        return settingsData.toString();
+        return record;
     }
 }
 
@@ -0,0 +1,180 @@
+package com.sheep.sphunter.fingerprint.device;
+
+import android.media.MediaDrm;
+import android.media.UnsupportedSchemeException;
+import android.util.Base64;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Widevine 设备标识提供者
+ * 每个进程只打开一次 Widevine MediaDrm 会话（应用启动时后台预取），
+ * 缓存 deviceUniqueId 的字节、十六进制、Base64 形式以及安全级别，供 Java 层和 Native 层共用
+ */
+public final class WidevineIdentity {
+    // Widevine UUID
+    public static final UUID WIDEVINE_UUID = new UUID(0xedef8ba979d64aceL, 0xa3c827dcd51d21edL);
+
+    private static final WidevineIdentity INSTANCE = new WidevineIdentity();
+
+    private final CountDownLatch loaded = new CountDownLatch(1);
+    private volatile boolean started;
+
+    // 以下字段在 loaded 计数归零前写入，之后只读
+    private byte[] deviceId;
+    private String hex;
+    private String base64;
+    private String securityLevel;
+    private String error;
+    private boolean unsupported;
+
+    private WidevineIdentity() {
+    }
+
+    @NonNull
+    public static WidevineIdentity getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 在后台线程预取 DRM 标识，重复调用无副作用
+     */
+    public void prefetch() {
+        if (started) {
+            return;
+        }
+        synchronized (this) {
+            if (started) {
+                return;
+            }
+            started = true;
+        }
+        Thread thread = new Thread(this::load, "sphunter-drm-prefetch");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 等待预取完成（未预取时在当前线程加载）
+     *
+     * @param timeoutMs 最长等待时间（毫秒）
+     * @return 是否已加载完成
+     */
+    public boolean await(long timeoutMs) {
+        if (!started) {
+            synchronized (this) {
+                if (!started) {
+                    started = true;
+                    load();
+                    return true;
+                }
+            }
+        }
+        try {
+            return loaded.await(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded.getCount() == 0;
+    }
+
+    /**
+     * @return deviceUniqueId 副本，未获取到时返回 null
+     */
+    @Nullable
+    public byte[] getDeviceId() {
+        return isLoaded() && deviceId != null ? deviceId.clone() : null;
+    }
+
+    @Nullable
+    public String getHex() {
+        return isLoaded() ? hex : null;
+    }
+
+    @Nullable
+    public String getBase64() {
+        return isLoaded() ? base64 : null;
+    }
+
+    @Nullable
+    public String getSecurityLevel() {
+        return isLoaded() ? securityLevel : null;
+    }
+
+    /**
+     * @return 设备不支持 Widevine 时为 true
+     */
+    public boolean isUnsupported() {
+        return isLoaded() && unsupported;
+    }
+
+    /**
+     * @return 获取失败时的错误描述，成功时为 null
+     */
+    @Nullable
+    public String getError() {
+        return isLoaded() ? error : null;
+    }
+
+    private void load() {
+        MediaDrm mediaDrm = null;
+        try {
+            if (!MediaDrm.isCryptoSchemeSupported(WIDEVINE_UUID)) {
+                error = "Widevine DRM not supported on this device";
+                unsupported = true;
+                return;
+            }
+
+            mediaDrm = new MediaDrm(WIDEVINE_UUID);
+            byte[] id = mediaDrm.getPropertyByteArray(MediaDrm.PROPERTY_DEVICE_UNIQUE_ID);
+            if (id == null || id.length == 0) {
+                error = "Device Unique ID is null or empty";
+                return;
+            }
+
+            try {
+                securityLevel = mediaDrm.getPropertyString("securityLevel");
+            } catch (Exception e) {
+                // 部分设备不提供该属性
+            }
+
+            StringBuilder hexString = new StringBuilder(id.length * 2);
+            for (byte b : id) {
+                hexString.append(Character.forDigit((b >> 4) & 0xf, 16));
+                hexString.append(Character.forDigit(b & 0xf, 16));
+            }
+            hex = hexString.toString();
+            base64 = Base64.encodeToString(id, Base64.NO_WRAP);
+            deviceId = id;
+        } catch (MediaDrm.MediaDrmStateException e) {
+            error = "MediaDrmStateException: " + e.getMessage() +
+                "\nDiagnostic Info: " + e.getDiagnosticInfo();
+        } catch (IllegalArgumentException e) {
+            error = "IllegalArgumentException: " + e.getMessage() +
+                "\n(Property may not be available for this DRM scheme)";
+        } catch (UnsupportedSchemeException e) {
+            error = "UnsupportedSchemeException: " + e.getMessage();
+            unsupported = true;
+        } catch (Exception e) {
+            error = "Exception: " + e.getClass().getSimpleName() + " - " + e.getMessage();
+        } finally {
+            if (mediaDrm != null) {
+                try {
+                    mediaDrm.release();
+                } catch (Exception e) {
+                    // 忽略释放错误
+                }
+            }
+            loaded.countDown();
+        }
+    }
+}
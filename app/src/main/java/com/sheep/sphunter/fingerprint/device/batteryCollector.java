@@ -6,6 +6,10 @@ import android.content.IntentFilter;
 import android.os.BatteryManager;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.sheep.sphunter.model.BatteryRecord;
+import com.sheep.sphunter.model.Outcome;
 
 /**
  * 电池信息采集器
@@ -22,6 +26,28 @@ public class batteryCollector {
      */
     @NonNull
     public String getBatteryInfo(@NonNull Context context) {
+        return getBatteryOutcome(context).toString();
+    }
+
+    /**
+     * 获取结构化的电池信息
+     *
+     * @param context 上下文对象
+     * @return 电池信息记录，无法获取时返回 null
+     */
+    @Nullable
+    public BatteryRecord getBatteryRecord(@NonNull Context context) {
+        return getBatteryOutcome(context).getValue();
+    }
+
+    /**
+     * 获取结构化的电池信息（带采集状态）
+     *
+     * @param context 上下文对象
+     * @return 电池信息记录；没有电池状态广播时为 UNSUPPORTED
+     */
+    @NonNull
+    public Outcome<BatteryRecord> getBatteryOutcome(@NonNull Context context) {
         try {
             // 1. 构建 IntentFilter
             IntentFilter filter = new IntentFilter(Intent.ACTION_BATTERY_CHANGED);
@@ -31,123 +57,27 @@ public class batteryCollector {
             Intent batteryStatus = context.registerReceiver(null, filter);
 
             if (batteryStatus == null) {
-                return "Battery info not available";
+                return Outcome.unsupported("no ACTION_BATTERY_CHANGED sticky broadcast");
             }
 
             // 3. 解析 Intent 获取电池信息
-            // 当前电量
-            int level = batteryStatus.getIntExtra(BatteryManager.EXTRA_LEVEL, -1);
-            // 总刻度（通常是100）
-            int scale = batteryStatus.getIntExtra(BatteryManager.EXTRA_SCALE, -1);
-            // 充电状态 (2=Charging, 3=Discharging, 5=Full 等)
-            int status = batteryStatus.getIntExtra(BatteryManager.EXTRA_STATUS, -1);
-            // 插拔状态 (0=未插, 1=AC, 2=USB, 4=Wireless)
-            int plugged = batteryStatus.getIntExtra(BatteryManager.EXTRA_PLUGGED, -1);
-            // 健康状态
-            int health = batteryStatus.getIntExtra(BatteryManager.EXTRA_HEALTH, -1);
-            // 电压（毫伏）
-            int voltage = batteryStatus.getIntExtra(BatteryManager.EXTRA_VOLTAGE, -1);
-            // 温度（单位：0.1摄氏度）
-            int temperature = batteryStatus.getIntExtra(BatteryManager.EXTRA_TEMPERATURE, -1);
-
-            // 4. 计算电量百分比
-            float batteryPct = -1;
-            if (level != -1 && scale != -1) {
-                batteryPct = (level * 100f) / scale;
-            }
-
-            // 5. 格式化返回结果
-            StringBuilder result = new StringBuilder();
-            result.append("Battery Level: ").append(String.format("%.1f%%", batteryPct))
-                    .append(" (").append(level).append("/").append(scale).append(")");
-
-            // 充电状态
-            result.append("\nStatus: ").append(getStatusString(status));
-
-            // 插拔状态
-            result.append("\nPlugged: ").append(getPluggedString(plugged));
-
-            // 健康状态
-            result.append("\nHealth: ").append(getHealthString(health));
-
-            // 电压
-            if (voltage != -1) {
-                result.append("\nVoltage: ").append(voltage).append(" mV");
-            }
-
-            // 温度
-            if (temperature != -1) {
-                float tempCelsius = temperature / 10f;
-                result.append("\nTemperature: ").append(String.format("%.1f°C", tempCelsius));
-            }
-
-            return result.toString();
-
+            return Outcome.value(new BatteryRecord(
+                    // 当前电量
+                    batteryStatus.getIntExtra(BatteryManager.EXTRA_LEVEL, -1),
+                    // 总刻度（通常是100）
+                    batteryStatus.getIntExtra(BatteryManager.EXTRA_SCALE, -1),
+                    // 充电状态 (2=Charging, 3=Discharging, 5=Full 等)
+                    batteryStatus.getIntExtra(BatteryManager.EXTRA_STATUS, -1),
+                    // 插拔状态 (0=未插, 1=AC, 2=USB, 4=Wireless)
+                    batteryStatus.getIntExtra(BatteryManager.EXTRA_PLUGGED, -1),
+                    // 健康状态
+                    batteryStatus.getIntExtra(BatteryManager.EXTRA_HEALTH, -1),
+                    // 电压（毫伏）
+                    batteryStatus.getIntExtra(BatteryManager.EXTRA_VOLTAGE, -1),
+                    // 温度（单位：0.1摄氏度）
+                    batteryStatus.getIntExtra(BatteryManager.EXTRA_TEMPERATURE, -1)));
         } catch (Exception e) {
-            return "Battery info error: " + e.getMessage();
-        }
-    }
-
-    /**
-     * 获取充电状态描述
-     */
-    @NonNull
-    private String getStatusString(int status) {
-        switch (status) {
-            case BatteryManager.BATTERY_STATUS_CHARGING:
-                return "Charging";
-            case BatteryManager.BATTERY_STATUS_DISCHARGING:
-                return "Discharging";
-            case BatteryManager.BATTERY_STATUS_FULL:
-                return "Full";
-            case BatteryManager.BATTERY_STATUS_NOT_CHARGING:
-                return "Not Charging";
-            case BatteryManager.BATTERY_STATUS_UNKNOWN:
-            default:
-                return "Unknown";
-        }
-    }
-
-    /**
-     * 获取插拔状态描述
-     */
-    @NonNull
-    private String getPluggedString(int plugged) {
-        switch (plugged) {
-            case BatteryManager.BATTERY_PLUGGED_AC:
-                return "AC Adapter";
-            case BatteryManager.BATTERY_PLUGGED_USB:
-                return "USB";
-            case BatteryManager.BATTERY_PLUGGED_WIRELESS:
-                return "Wireless";
-            case 0:
-                return "Unplugged";
-            default:
-                return "Unknown";
-        }
-    }
-
-    /**
-     * 获取健康状态描述
-     */
-    @NonNull
-    private String getHealthString(int health) {
-        switch (health) {
-            case BatteryManager.BATTERY_HEALTH_GOOD:
-                return "Good";
-            case BatteryManager.BATTERY_HEALTH_OVERHEAT:
-                return "Overheat";
-            case BatteryManager.BATTERY_HEALTH_DEAD:
-                return "Dead";
-            case BatteryManager.BATTERY_HEALTH_OVER_VOLTAGE:
-                return "Over Voltage";
-            case BatteryManager.BATTERY_HEALTH_UNSPECIFIED_FAILURE:
-                return "Unspecified Failure";
-            case BatteryManager.BATTERY_HEALTH_COLD:
-                return "Cold";
-            case BatteryManager.BATTERY_HEALTH_UNKNOWN:
-            default:
-                return "Unknown";
+            return Outcome.failed(e);
         }
     }
-}
\ No newline at end of file
+}
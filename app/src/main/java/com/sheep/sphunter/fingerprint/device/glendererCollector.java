@@ -1,37 +1,254 @@
 package com.sheep.sphunter.fingerprint.device;
 
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.content.pm.PackageInfo;
 import android.opengl.EGL14;
 import android.opengl.EGLConfig;
 import android.opengl.EGLContext;
 import android.opengl.EGLDisplay;
 import android.opengl.EGLSurface;
 import android.opengl.GLES20;
+import android.os.Build;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.sheep.sphunter.model.GpuRecord;
+import com.sheep.sphunter.model.Outcome;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * GPU 渲染器信息采集器
+ * Renderer / Vendor / Version 只会随系统或驱动更新而变化，因此结果按
+ * ro.build.fingerprint + GPU 驱动包版本持久化缓存；缓存未命中时在专用 GL 线程上探测一次，
+ * 该线程持有的 EGL 上下文常驻，不在调用线程上创建或销毁 EGL 环境
+ */
 public class glendererCollector {
-    
+    private static final String PREFS_NAME = "sphunter_gl_renderer";
+    private static final String PREF_KEY = "cache_key";
+    private static final String PREF_RENDERER = "renderer";
+    private static final String PREF_VENDOR = "vendor";
+    private static final String PREF_VERSION = "version";
+    private static final long PROBE_TIMEOUT_MS = 3000;
+
+    // 进程内缓存，避免重复读取 SharedPreferences
+    private static volatile String memoryKey;
+    private static volatile GpuRecord memoryRecord;
+
+    private final Context context;
+
+    public glendererCollector() {
+        this(null);
+    }
+
+    public glendererCollector(@Nullable Context context) {
+        this.context = context != null ? context.getApplicationContext() : null;
+    }
+
     /**
      * 获取 OpenGL 渲染器信息 (GL_RENDERER)
-     * 通过创建离屏渲染上下文来获取显卡信息
+     * 优先读取缓存，未命中时由专用 GL 线程探测
      * @return 格式: "Renderer: xxx | Vendor: xxx | Version: xxx"
      */
+    @NonNull
     public String getGlendererInfo() {
-        EGLDisplay eglDisplay = null;
-        EGLContext eglContext = null;
-        EGLSurface eglSurface = null;
-        
+        return getGpuRecord().toString();
+    }
+
+    /**
+     * 获取结构化的 GPU 渲染器信息
+     * 优先读取缓存，未命中时由专用 GL 线程探测
+     * @return GPU 信息记录，探测失败时 isFailed() 为 true
+     */
+    @NonNull
+    public GpuRecord getGpuRecord() {
+        Outcome<GpuRecord> outcome = getGpuOutcome();
+        if (outcome.isValue()) {
+            return outcome.getValue();
+        }
+        return GpuRecord.failed(String.valueOf(outcome.getDetail()));
+    }
+
+    /**
+     * 获取结构化的 GPU 渲染器信息（带采集状态）
+     * @return GPU 信息记录；探测超时为 TIMEOUT，EGL 初始化失败为 FAILED
+     */
+    @NonNull
+    public Outcome<GpuRecord> getGpuOutcome() {
+        String cacheKey = buildCacheKey();
+
+        GpuRecord cachedRecord = memoryRecord;
+        if (cachedRecord != null && cacheKey.equals(memoryKey)) {
+            return Outcome.value(cachedRecord);
+        }
+
+        SharedPreferences prefs = getPrefs();
+        if (prefs != null && cacheKey.equals(prefs.getString(PREF_KEY, null))) {
+            String renderer = prefs.getString(PREF_RENDERER, null);
+            if (renderer != null) {
+                GpuRecord cached = GpuRecord.of(renderer,
+                        prefs.getString(PREF_VENDOR, null), prefs.getString(PREF_VERSION, null));
+                remember(cacheKey, cached);
+                return Outcome.value(cached);
+            }
+        }
+
+        Outcome<GpuRecord> outcome = GlProbeThread.probe();
+        if (outcome.isValue()) {
+            // 只缓存成功的探测结果，失败时下次重新探测
+            GpuRecord record = outcome.getValue();
+            remember(cacheKey, record);
+            if (prefs != null) {
+                prefs.edit()
+                        .putString(PREF_KEY, cacheKey)
+                        .putString(PREF_RENDERER, record.getRenderer() != null ? record.getRenderer() : "")
+                        .putString(PREF_VENDOR, record.getVendor())
+                        .putString(PREF_VERSION, record.getVersion())
+                        .apply();
+            }
+        }
+        return outcome;
+    }
+
+    /**
+     * 仅获取渲染器名称 (简化版)
+     * @return 显卡型号字符串
+     */
+    public String getRendererOnly() {
+        GpuRecord record = getGpuRecord();
+        if (!record.isFailed()) {
+            return record.getRenderer() != null ? record.getRenderer() : "Unknown";
+        }
+        return record.toString();
+    }
+
+    private static void remember(String cacheKey, GpuRecord record) {
+        memoryRecord = record;
+        memoryKey = cacheKey;
+    }
+
+    private SharedPreferences getPrefs() {
+        if (context == null) {
+            return null;
+        }
         try {
+            return context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * 缓存键：系统构建指纹 + GPU 驱动包版本（可更新驱动，ro.gfx.driver.0）
+     */
+    private String buildCacheKey() {
+        return Build.FINGERPRINT + "|" + getDriverVersion();
+    }
+
+    private String getDriverVersion() {
+        String driverPackage = getSystemProperty("ro.gfx.driver.0");
+        if (driverPackage == null || driverPackage.isEmpty()) {
+            return "builtin";
+        }
+        if (context == null) {
+            return driverPackage;
+        }
+        try {
+            PackageInfo info = context.getPackageManager().getPackageInfo(driverPackage, 0);
+            return driverPackage + ":" + info.getLongVersionCode();
+        } catch (Exception e) {
+            // 驱动包不存在（NameNotFoundException）等情况只用包名作为键
+            return driverPackage;
+        }
+    }
+
+    private static String getSystemProperty(String key) {
+        try {
+            Class<?> systemProperties = Class.forName("android.os.SystemProperties");
+            Method get = systemProperties.getMethod("get", String.class);
+            return (String) get.invoke(null, key);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * 专用 GL 探测线程
+     * EGL display / context / pbuffer 在该线程上创建一次后常驻，不调用 eglTerminate，
+     * 避免影响进程内其他 GL 使用者
+     */
+    private static final class GlProbeThread {
+        private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "sphunter-gl-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // 以下字段只在探测线程上访问
+        private static EGLDisplay eglDisplay;
+        private static EGLContext eglContext;
+        private static EGLSurface eglSurface;
+
+        private GlProbeThread() {
+        }
+
+        static Outcome<GpuRecord> probe() {
+            Future<Outcome<GpuRecord>> future = EXECUTOR.submit(GlProbeThread::probeOnGlThread);
+            try {
+                return future.get(PROBE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(false);
+                return Outcome.timeout("GL probe timed out after " + PROBE_TIMEOUT_MS + " ms");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Outcome.failed("GL probe interrupted");
+            } catch (Exception e) {
+                return Outcome.failed(e);
+            }
+        }
+
+        private static Outcome<GpuRecord> probeOnGlThread() {
+            String error = ensureContext();
+            if (error != null) {
+                return Outcome.failed(error);
+            }
+
+            // 读取 OpenGL 信息
+            String renderer = GLES20.glGetString(GLES20.GL_RENDERER);    // 显卡型号 (重点)
+            String vendor = GLES20.glGetString(GLES20.GL_VENDOR);        // 显卡厂商
+            String version = GLES20.glGetString(GLES20.GL_VERSION);      // OpenGL 版本
+            return Outcome.value(GpuRecord.of(renderer, vendor, version));
+        }
+
+        /**
+         * 创建并绑定常驻的离屏 EGL 上下文
+         *
+         * @return 失败时返回错误信息，成功返回 null
+         */
+        private static String ensureContext() {
+            if (eglContext != null) {
+                return null;
+            }
+
             // 1. 获取 Display (默认屏幕句柄)
-            eglDisplay = EGL14.eglGetDisplay(EGL14.EGL_DEFAULT_DISPLAY);
-            if (eglDisplay == EGL14.EGL_NO_DISPLAY) {
-                return "Error: Unable to get EGL display";
+            EGLDisplay display = EGL14.eglGetDisplay(EGL14.EGL_DEFAULT_DISPLAY);
+            if (display == EGL14.EGL_NO_DISPLAY) {
+                return "Unable to get EGL display";
             }
-            
+
             // 2. 初始化 EGL (激活连接)
             int[] version = new int[2];
-            if (!EGL14.eglInitialize(eglDisplay, version, 0, version, 1)) {
-                return "Error: Unable to initialize EGL";
+            if (!EGL14.eglInitialize(display, version, 0, version, 1)) {
+                return "Unable to initialize EGL";
             }
-            
+
             // 3. 选择配置 (Config)
             int[] configAttribs = {
                 EGL14.EGL_RENDERABLE_TYPE, EGL14.EGL_OPENGL_ES2_BIT,  // 使用 ES 2.0
@@ -43,98 +260,52 @@ public class glendererCollector {
                 EGL14.EGL_STENCIL_SIZE, 0,
                 EGL14.EGL_NONE
             };
-            
+
             EGLConfig[] configs = new EGLConfig[1];
             int[] numConfigs = new int[1];
-            if (!EGL14.eglChooseConfig(eglDisplay, configAttribs, 0, configs, 0, 1, numConfigs, 0)) {
-                return "Error: Unable to choose EGL config";
+            if (!EGL14.eglChooseConfig(display, configAttribs, 0, configs, 0, 1, numConfigs, 0)) {
+                return "Unable to choose EGL config";
             }
-            
+
             if (numConfigs[0] == 0) {
-                return "Error: No EGL configs found";
+                return "No EGL configs found";
             }
-            
+
             // 4. 创建上下文 (Context)
             int[] contextAttribs = {
                 EGL14.EGL_CONTEXT_CLIENT_VERSION, 2,  // OpenGL ES 2.0
                 EGL14.EGL_NONE
             };
-            
-            eglContext = EGL14.eglCreateContext(eglDisplay, configs[0], EGL14.EGL_NO_CONTEXT, contextAttribs, 0);
-            if (eglContext == EGL14.EGL_NO_CONTEXT) {
-                return "Error: Unable to create EGL context";
+
+            EGLContext context = EGL14.eglCreateContext(display, configs[0], EGL14.EGL_NO_CONTEXT, contextAttribs, 0);
+            if (context == EGL14.EGL_NO_CONTEXT) {
+                return "Unable to create EGL context";
             }
-            
+
             // 5. 创建离屏画布 (PBuffer Surface) - 1x1 像素，用户看不见
             int[] surfaceAttribs = {
                 EGL14.EGL_WIDTH, 1,
                 EGL14.EGL_HEIGHT, 1,
                 EGL14.EGL_NONE
             };
-            
-            eglSurface = EGL14.eglCreatePbufferSurface(eglDisplay, configs[0], surfaceAttribs, 0);
-            if (eglSurface == EGL14.EGL_NO_SURFACE) {
-                return "Error: Unable to create EGL surface";
-            }
-            
-            // 6. 绑定环境到当前线程
-            if (!EGL14.eglMakeCurrent(eglDisplay, eglSurface, eglSurface, eglContext)) {
-                return "Error: Unable to make EGL context current";
-            }
-            
-            // 7. 读取 OpenGL 信息
-            String renderer = GLES20.glGetString(GLES20.GL_RENDERER);    // 显卡型号 (重点)
-            String vendor = GLES20.glGetString(GLES20.GL_VENDOR);        // 显卡厂商
-            String version2 = GLES20.glGetString(GLES20.GL_VERSION);      // OpenGL 版本
-            
-            // 格式化返回结果
-            StringBuilder result = new StringBuilder();
-            result.append("Renderer: ").append(renderer != null ? renderer : "Unknown");
-            result.append(" | Vendor: ").append(vendor != null ? vendor : "Unknown");
-            result.append(" | Version: ").append(version2 != null ? version2 : "Unknown");
-            
-            return result.toString();
-            
-        } catch (Exception e) {
-            return "Error: " + e.getMessage();
-        } finally {
-            // 8. 清理资源 (防止内存泄漏)
-            if (eglDisplay != null) {
-                // 解绑当前上下文
-                EGL14.eglMakeCurrent(eglDisplay, 
-                    EGL14.EGL_NO_SURFACE, 
-                    EGL14.EGL_NO_SURFACE, 
-                    EGL14.EGL_NO_CONTEXT);
-                
-                // 销毁 Surface
-                if (eglSurface != null) {
-                    EGL14.eglDestroySurface(eglDisplay, eglSurface);
-                }
-                
-                // 销毁 Context
-                if (eglContext != null) {
-                    EGL14.eglDestroyContext(eglDisplay, eglContext);
-                }
-                
-                // 终止 EGL
-                EGL14.eglTerminate(eglDisplay);
+
+            EGLSurface surface = EGL14.eglCreatePbufferSurface(display, configs[0], surfaceAttribs, 0);
+            if (surface == EGL14.EGL_NO_SURFACE) {
+                EGL14.eglDestroyContext(display, context);
+                return "Unable to create EGL surface";
             }
-        }
-    }
-    
-    /**
-     * 仅获取渲染器名称 (简化版)
-     * @return 显卡型号字符串
-     */
-    public String getRendererOnly() {
-        String fullInfo = getGlendererInfo();
-        if (fullInfo.startsWith("Renderer: ")) {
-            // 提取 Renderer 部分
-            int endIndex = fullInfo.indexOf(" | Vendor:");
-            if (endIndex > 0) {
-                return fullInfo.substring(10, endIndex);
+
+            // 6. 绑定环境到探测线程，之后不再解绑
+            if (!EGL14.eglMakeCurrent(display, surface, surface, context)) {
+                EGL14.eglDestroySurface(display, surface);
+                EGL14.eglDestroyContext(display, context);
+                return "Unable to make EGL context current";
             }
+
+            eglDisplay = display;
+            eglSurface = surface;
+            eglContext = context;
+            return null;
         }
-        return fullInfo;
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package com.sheep.sphunter.fingerprint.jni;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 /**
  * Native 层指纹采集接口
@@ -26,5 +27,13 @@ public class NativeFingerprint {
      */
     @NonNull
     public native String getMacAddress();
+
+    /**
+     * 注入 Java 层已获取的 Widevine 标识，Native 层不再单独打开 DRM 会话
+     *
+     * @param deviceId      deviceUniqueId 字节
+     * @param securityLevel 安全级别，可为 null
+     */
+    public native void setDrmIdentity(@NonNull byte[] deviceId, @Nullable String securityLevel);
 }
 
@@ -0,0 +1,32 @@
+package com.sheep.sphunter.util;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * 把 core 模块的日志转发到 android.util.Log
+ * CoreLog 的级别与 Log 的优先级常量一致，直接透传
+ */
+public final class AndroidLogSink implements CoreLog.Sink {
+    private static final AndroidLogSink INSTANCE = new AndroidLogSink();
+
+    private AndroidLogSink() {
+    }
+
+    /**
+     * 把 core 模块的日志接入 Logcat，重复调用无副作用
+     */
+    public static void install() {
+        CoreLog.setSink(INSTANCE);
+    }
+
+    @Override
+    public void log(int level, @NonNull String tag, @NonNull String message, @Nullable Throwable error) {
+        if (error != null) {
+            message = message + '\n' + Log.getStackTraceString(error);
+        }
+        Log.println(level, tag, message);
+    }
+}
@@ -0,0 +1,113 @@
+package com.sheep.sphunter.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 进程级反射访问缓存
+ * 每个 hidden 方法只解析一次（getDeclaredMethod + setAccessible），解析结果转换为 MethodHandle 复用；
+ * 同时记录"方法不存在"和"当前权限状态下被拒绝"的负缓存，重复采集时既不重复查找，也不重复抛出异常
+ */
+public final class ReflectiveAccessorCache {
+    private static final ReflectiveAccessorCache INSTANCE = new ReflectiveAccessorCache();
+
+    private final ConcurrentHashMap<String, Accessor> accessors = new ConcurrentHashMap<>();
+
+    private ReflectiveAccessorCache() {
+    }
+
+    @NonNull
+    public static ReflectiveAccessorCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 调用实例方法
+     *
+     * @param owner           声明方法的类
+     * @param receiver        调用对象
+     * @param methodName      方法名
+     * @param permissionState 当前权限状态（授予权限的位掩码），用于判断拒绝记录是否仍然有效
+     * @param paramTypes      参数类型
+     * @param args            参数值
+     * @return 方法返回值；方法不存在、权限被拒绝或调用失败时返回 null
+     */
+    @Nullable
+    public Object invoke(@NonNull Class<?> owner, @NonNull Object receiver, @NonNull String methodName,
+                         int permissionState, @NonNull Class<?>[] paramTypes, Object... args) {
+        Accessor accessor = resolve(owner, methodName, paramTypes);
+        if (accessor.handle == null) {
+            // 方法不存在，永久跳过
+            return null;
+        }
+        if (accessor.deniedPermissionState == permissionState) {
+            // 相同权限状态下已经被拒绝过，不再触发 SecurityException
+            return null;
+        }
+
+        try {
+            return accessor.handle.invokeExact(receiver, args);
+        } catch (SecurityException e) {
+            accessor.deniedPermissionState = permissionState;
+            return null;
+        } catch (Throwable t) {
+            // 其他调用异常不缓存，下次采集仍会重试
+            return null;
+        }
+    }
+
+    private Accessor resolve(Class<?> owner, String methodName, Class<?>[] paramTypes) {
+        String key = buildKey(owner, methodName, paramTypes);
+        Accessor accessor = accessors.get(key);
+        if (accessor == null) {
+            accessor = accessors.computeIfAbsent(key, k -> new Accessor(lookup(owner, methodName, paramTypes)));
+        }
+        return accessor;
+    }
+
+    /**
+     * 查找方法并转换为统一签名 (Object, Object[])Object 的 MethodHandle
+     */
+    private static MethodHandle lookup(Class<?> owner, String methodName, Class<?>[] paramTypes) {
+        try {
+            Method method = owner.getDeclaredMethod(methodName, paramTypes);
+            method.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            return handle.asType(handle.type().generic())
+                    .asSpreader(Object[].class, paramTypes.length);
+        } catch (Exception e) {
+            // NoSuchMethodException / IllegalAccessException 等：记录为不存在
+            return null;
+        }
+    }
+
+    private static String buildKey(Class<?> owner, String methodName, Class<?>[] paramTypes) {
+        StringBuilder key = new StringBuilder(owner.getName()).append('#').append(methodName).append('(');
+        for (int i = 0; i < paramTypes.length; i++) {
+            if (i > 0) {
+                key.append(',');
+            }
+            key.append(paramTypes[i].getName());
+        }
+        return key.append(')').toString();
+    }
+
+    /**
+     * 单个方法的缓存条目
+     */
+    private static final class Accessor {
+        private static final int NOT_DENIED = Integer.MIN_VALUE;
+
+        final MethodHandle handle;
+        volatile int deniedPermissionState = NOT_DENIED;
+
+        Accessor(MethodHandle handle) {
+            this.handle = handle;
+        }
+    }
+}
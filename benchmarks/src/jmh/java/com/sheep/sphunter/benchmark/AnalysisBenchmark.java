@@ -0,0 +1,66 @@
+package com.sheep.sphunter.benchmark;
+
+import com.sheep.sphunter.analyse.HunterAnalysis;
+import com.sheep.sphunter.analyse.NativeHunterAnalysis;
+import com.sheep.sphunter.fingerprint.FingerprintDataCleaner;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HunterAnalysis / NativeHunterAnalysis 对清洗结果评分
+ * 对象入口只测分析本身；字符串入口额外包含一次 JSON 解析，与后端重新评分的路径一致
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AnalysisBenchmark {
+
+    @Param({"SMALL", "TYPICAL", "PATHOLOGICAL"})
+    public Fixtures.Size size;
+
+    private JSONObject cleaned;
+    private String cleanedText;
+    private JSONObject cleanedNative;
+    private String cleanedNativeText;
+
+    @Setup
+    public void setUp() {
+        cleaned = FingerprintDataCleaner.cleanFingerprint(Fixtures.fingerprint(size));
+        cleanedText = cleaned.toString();
+        cleanedNative = cleaned.optJSONObject("native");
+        if (cleanedNative == null) {
+            throw new IllegalStateException("固定输入没有清洗出 native 分区");
+        }
+        cleanedNativeText = cleanedNative.toString();
+    }
+
+    @Benchmark
+    public HunterAnalysis.Result analyze() {
+        return HunterAnalysis.analyze(cleaned);
+    }
+
+    @Benchmark
+    public HunterAnalysis.Result analyzeText() {
+        return HunterAnalysis.analyze(cleanedText);
+    }
+
+    @Benchmark
+    public NativeHunterAnalysis.Result analyzeNative() {
+        return NativeHunterAnalysis.analyze(cleanedNative);
+    }
+
+    @Benchmark
+    public NativeHunterAnalysis.Result analyzeNativeText() {
+        return NativeHunterAnalysis.analyze(cleanedNativeText);
+    }
+}
@@ -0,0 +1,114 @@
+package com.sheep.sphunter.benchmark;
+
+import com.sheep.sphunter.fingerprint.FingerprintDataCleaner;
+import com.sheep.sphunter.fingerprint.NativeFileDataCleaner;
+import com.sheep.sphunter.model.FingerprintResult;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * 清洗路径的内存分配
+ * 用 -prof gc（build.gradle 中默认启用）运行，gc.alloc.rate.norm 即每次清洗分配的字节数；
+ * 稳态下每次调用的分配量固定，不随运行时间增长
+ *
+ * 清洗器在每次调用时都不应编译正则：setUp 在 JFR 分配采样下先跑若干次清洗，采样中出现 Pattern 及其节点类
+ * 即失败。采样按分配字节数命中，每次调用编译一个正则（约 3 KB）时几乎必然被采到；
+ * 只检查编译，不检查 Matcher：String.format 在 JDK 内部用预编译的正则解析格式串，每次调用会分配 Matcher
+ *
+ * 参考值（JDK 17，gc.alloc.rate.norm，字节/次）：
+ * - javaCleaner：SMALL 约 80 K，TYPICAL 约 178 K，PATHOLOGICAL 约 5.9 M
+ * - nativeCleaner：SMALL 约 44 K，TYPICAL 约 106 K，PATHOLOGICAL 约 4.5 M
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CleanerAllocationBenchmark {
+
+    // SMALL 输入上正则占分配量的比例最高，检查固定用 SMALL
+    private static final int CHECK_CALLS = 10_000;
+
+    @Param({"SMALL", "TYPICAL", "PATHOLOGICAL"})
+    public Fixtures.Size size;
+
+    private FingerprintResult result;
+    private String dump;
+
+    @Setup
+    public void setUp() throws IOException {
+        result = Fixtures.fingerprint(size);
+        dump = Fixtures.nativeDump(size);
+
+        FingerprintResult checkResult = Fixtures.fingerprint(Fixtures.Size.SMALL);
+        String checkDump = Fixtures.nativeDump(Fixtures.Size.SMALL);
+        // 先预热，避免把类加载和首次初始化算进去
+        for (int i = 0; i < CHECK_CALLS / 10; i++) {
+            FingerprintDataCleaner.cleanFingerprint(checkResult);
+            NativeFileDataCleaner.cleanNativeFingerprint(checkDump);
+        }
+        Map<String, Integer> regex = sampleRegexAllocations(() -> {
+            for (int i = 0; i < CHECK_CALLS; i++) {
+                FingerprintDataCleaner.cleanFingerprint(checkResult);
+                NativeFileDataCleaner.cleanNativeFingerprint(checkDump);
+            }
+        });
+        if (!regex.isEmpty()) {
+            throw new IllegalStateException("清洗路径每次调用都在编译正则: " + regex);
+        }
+    }
+
+    @Benchmark
+    public JSONObject javaCleaner() {
+        return FingerprintDataCleaner.cleanFingerprint(result);
+    }
+
+    @Benchmark
+    public JSONObject nativeCleaner() {
+        return NativeFileDataCleaner.cleanNativeFingerprint(dump);
+    }
+
+    /**
+     * 在 JFR 分配采样下运行，返回采样到的 Pattern 相关类（Pattern、Pattern$Node 等）及次数
+     */
+    private static Map<String, Integer> sampleRegexAllocations(Runnable body) throws IOException {
+        Path file = Files.createTempFile("cleaner-alloc", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                recording.enable("jdk.ObjectAllocationInNewTLAB").withoutStackTrace();
+                recording.enable("jdk.ObjectAllocationOutsideTLAB").withoutStackTrace();
+                recording.start();
+                body.run();
+                recording.stop();
+                recording.dump(file);
+            }
+            Map<String, Integer> regex = new TreeMap<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                String type = event.getClass("objectClass").getName();
+                if (type.startsWith("java.util.regex.Pattern")) {
+                    regex.merge(type, 1, Integer::sum);
+                }
+            }
+            return regex;
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
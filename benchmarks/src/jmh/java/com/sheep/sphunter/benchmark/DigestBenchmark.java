@@ -0,0 +1,154 @@
+package com.sheep.sphunter.benchmark;
+
+import com.sheep.sphunter.util.FactorDigest;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 设备 ID 摘要：SHA-256 + 十六进制编码
+ * sha256 / joinAndSha256 / hex 是改为 FactorDigest 之前的私有辅助方法和拼接方式，按原样保留作为基线；
+ * factorDigest* / hexTable 是现在分析器和清洗器使用的实现，两者输出的摘要完全相同
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DigestBenchmark {
+
+    /**
+     * 摘要输入：HunterAnalysis 的 5 个因子 / NativeHunterAnalysis 的 7 个因子
+     */
+    @Param({"JAVA_FACTORS", "NATIVE_FACTORS"})
+    public String factors;
+
+    private static final String DRM_ID = "0f3c9a1e5b7d2c4e6f8a0b1c2d3e4f5a6b7c8d9e0f1a2b3c4d5e6f7a8b9c0d1e";
+
+    private boolean nativeFactors;
+    private String input;
+    private byte[] digest;
+
+    @Setup
+    public void setUp() throws Exception {
+        nativeFactors = "NATIVE_FACTORS".equals(factors);
+        input = join();
+        digest = MessageDigest.getInstance("SHA-256").digest(input.getBytes(StandardCharsets.UTF_8));
+        if (!factorDigest().equals(sha256(input))) {
+            throw new IllegalStateException("FactorDigest 与基线摘要不一致");
+        }
+    }
+
+    /**
+     * 基线：只含辅助方法（获取 MessageDigest、编码、摘要、十六进制编码），输入已拼接好
+     */
+    @Benchmark
+    public String sha256() {
+        return sha256(input);
+    }
+
+    /**
+     * 基线：分析器原来的完整路径，拼接因子后调用辅助方法
+     */
+    @Benchmark
+    public String joinAndSha256() {
+        return sha256(join());
+    }
+
+    /**
+     * 因子直接送入线程内复用的摘要
+     */
+    @Benchmark
+    public String factorDigest() {
+        return feed().sha256Hex();
+    }
+
+    /**
+     * 同时计算 64 位快速哈希
+     */
+    @Benchmark
+    public void factorDigestWithFastHash(Blackhole blackhole) {
+        FactorDigest digest = feed();
+        blackhole.consume(digest.fastHash());
+        blackhole.consume(digest.sha256Hex());
+    }
+
+    /**
+     * 基线：逐字节 Integer.toHexString
+     */
+    @Benchmark
+    public String hex() {
+        return toHex(digest);
+    }
+
+    /**
+     * 查表十六进制编码
+     */
+    @Benchmark
+    public String hexTable() {
+        return FactorDigest.toHex(digest);
+    }
+
+    private String join() {
+        if (!nativeFactors) {
+            return DRM_ID + "|" + "Mali-G710 MC10" + "|" + 8 + "|" + 128 + "|"
+                    + "9b1f0c6a4e2d8f7a5c3b1e0d9f8a7c6b5e4d3c2b1a0f9e8d7c6b5a4f3e2d1c0b";
+        }
+        return String.format("%s|%s|%d|%s|%s|%s|%s",
+                DRM_ID,
+                "5d41402abc4b2a76b9719d911017c592a8f0e1d2c3b4a5968778695a4b3c2d1e",
+                7600,
+                "5.10.198-android13-4-00050-g3a6c2b0c8f2e-ab11717962",
+                "arm64-v8a",
+                "google/panther/panther:14/AP2A.240805.005/12025142:user/release-keys",
+                "c1d2e3f4a5b6978877665544332211ffeeddccbbaa99887766554433221100ff");
+    }
+
+    private FactorDigest feed() {
+        if (!nativeFactors) {
+            return FactorDigest.begin()
+                    .add(DRM_ID)
+                    .add("Mali-G710 MC10")
+                    .add(8)
+                    .add(128)
+                    .add("9b1f0c6a4e2d8f7a5c3b1e0d9f8a7c6b5e4d3c2b1a0f9e8d7c6b5a4f3e2d1c0b");
+        }
+        return FactorDigest.begin()
+                .add(DRM_ID)
+                .add("5d41402abc4b2a76b9719d911017c592a8f0e1d2c3b4a5968778695a4b3c2d1e")
+                .add(7600)
+                .add("5.10.198-android13-4-00050-g3a6c2b0c8f2e-ab11717962")
+                .add("arm64-v8a")
+                .add("google/panther/panther:14/AP2A.240805.005/12025142:user/release-keys")
+                .add("c1d2e3f4a5b6978877665544332211ffeeddccbbaa99887766554433221100ff");
+    }
+
+    private static String sha256(String base) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(base.getBytes(StandardCharsets.UTF_8));
+            return toHex(hash);
+        } catch (Exception ex) {
+            return "";
+        }
+    }
+
+    private static String toHex(byte[] hash) {
+        StringBuilder hexString = new StringBuilder();
+        for (byte b : hash) {
+            String hex = Integer.toHexString(0xff & b);
+            if (hex.length() == 1) hexString.append('0');
+            hexString.append(hex);
+        }
+        return hexString.toString();
+    }
+}
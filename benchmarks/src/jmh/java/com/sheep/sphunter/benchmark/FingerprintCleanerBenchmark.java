@@ -0,0 +1,53 @@
+package com.sheep.sphunter.benchmark;
+
+import com.sheep.sphunter.fingerprint.FingerprintDataCleaner;
+import com.sheep.sphunter.model.FingerprintResult;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FingerprintDataCleaner 清洗完整采集结果（包含 Native 转储）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FingerprintCleanerBenchmark {
+
+    @Param({"SMALL", "TYPICAL", "PATHOLOGICAL"})
+    public Fixtures.Size size;
+
+    private FingerprintResult result;
+
+    @Setup
+    public void setUp() {
+        result = Fixtures.fingerprint(size);
+    }
+
+    @Benchmark
+    public JSONObject clean() {
+        return FingerprintDataCleaner.cleanFingerprint(result);
+    }
+
+    @Benchmark
+    public JSONObject cleanParallel() {
+        return FingerprintDataCleaner.cleanFingerprint(result, true);
+    }
+
+    /**
+     * 直接流式输出格式化文本，不构建 JSONObject 树
+     */
+    @Benchmark
+    public String format() {
+        return FingerprintDataCleaner.formatFingerprint(result);
+    }
+}
@@ -0,0 +1,286 @@
+package com.sheep.sphunter.benchmark;
+
+import com.sheep.sphunter.model.BatteryRecord;
+import com.sheep.sphunter.model.BuildPropertiesRecord;
+import com.sheep.sphunter.model.FingerprintResult;
+import com.sheep.sphunter.model.GpuRecord;
+import com.sheep.sphunter.model.MemoryRecord;
+import com.sheep.sphunter.model.Outcome;
+import com.sheep.sphunter.model.SensorRecord;
+import com.sheep.sphunter.model.SettingsRecord;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 基准测试使用的固定输入
+ * 按真实设备上 getCFingerprint 转储和 Java 层采集结果的结构生成，内容由固定种子决定，
+ * 同一规模每次生成的数据完全相同，不同版本之间的结果可以直接比较
+ */
+public final class Fixtures {
+
+    /**
+     * 输入规模
+     */
+    public enum Size {
+        // 精简 ROM / 权限受限：少量属性，单核，几条挂载点，3 个传感器
+        SMALL(12, 1, 8, 3),
+        // 常见手机：约 80 条属性，8 核，约 60 条挂载点，25 个传感器
+        TYPICAL(80, 8, 60, 25),
+        // 极端情况：大量属性，256 核，5000 行 mountinfo，60 个传感器
+        PATHOLOGICAL(2000, 256, 5000, 60);
+
+        final int properties;
+        final int cpus;
+        final int mounts;
+        final int sensors;
+
+        Size(int properties, int cpus, int mounts, int sensors) {
+            this.properties = properties;
+            this.cpus = cpus;
+            this.mounts = mounts;
+            this.sensors = sensors;
+        }
+    }
+
+    private static final long SEED = 0x5eed_5107L;
+
+    private static final String[] CPU_PARTS = {"0xd05", "0xd0d", "0xd41", "0xd44", "0xd46", "0xd47"};
+    private static final String[] SENSOR_VENDORS = {"Bosch", "STMicro", "AKM", "Qualcomm", "Sensortek"};
+
+    private Fixtures() {
+        // 工具类，禁止实例化
+    }
+
+    /**
+     * @return 与 NativeFingerprint.getCFingerprint 输出结构一致的原始转储
+     */
+    public static String nativeDump(Size size) {
+        Random random = new Random(SEED);
+        StringBuilder dump = new StringBuilder(64 * (size.properties + size.mounts + size.cpus * 8));
+
+        dump.append("=== Native Build Info ===\n\n");
+        dump.append("=== USB Config ===\n");
+        property(dump, "sys.usb.config", "mtp");
+        property(dump, "sys.usb.state", "mtp");
+        property(dump, "persist.sys.usb.config", "mtp");
+        dump.append('\n');
+
+        dump.append("=== Security ===\n");
+        property(dump, "ro.secure", "1");
+        property(dump, "ro.debuggable", "0");
+        property(dump, "ro.boot.flash.locked", "1");
+        property(dump, "ro.boot.verifiedbootstate", "green");
+        property(dump, "ro.boot.vbmeta.device_state", "locked");
+        property(dump, "ro.boot.vbmeta.digest", hex(random, 64));
+        property(dump, "init.svc.adbd", "stopped");
+        dump.append('\n');
+
+        dump.append("=== Build ID ===\n");
+        String fingerprint = "google/panther/panther:14/AP2A.240805.005/12025142:user/release-keys";
+        property(dump, "ro.build.id", "AP2A.240805.005");
+        property(dump, "ro.system.build.id", "AP2A.240805.005");
+        property(dump, "ro.vendor.build.id", "AP2A.240805.005");
+        property(dump, "ro.build.fingerprint", fingerprint);
+        property(dump, "ro.system.build.fingerprint", fingerprint);
+        property(dump, "ro.vendor.build.fingerprint", fingerprint);
+        property(dump, "ro.odm.build.fingerprint", fingerprint);
+        dump.append('\n');
+
+        dump.append("=== SDK Version ===\n");
+        property(dump, "ro.build.version.sdk", "34");
+        property(dump, "ro.build.version.security_patch", "2024-08-05");
+        dump.append('\n');
+
+        dump.append("=== Other System Property ===\n");
+        property(dump, "ro.product.board", "panther");
+        property(dump, "ro.product.model", "Pixel 7");
+        property(dump, "ro.build.tags", "release-keys");
+        property(dump, "ro.build.host", "abfarm-release-2004-0123");
+        property(dump, "ro.product.cpu.abi", "arm64-v8a");
+        for (int i = 0; i < size.properties; i++) {
+            property(dump, "persist.vendor.prop" + i, "value_" + Integer.toHexString(random.nextInt()));
+        }
+        dump.append('\n');
+
+        dump.append("=== DRM Info ===\n");
+        dump.append("MediaDrm Device Unique ID (Hex): ").append(hex(random, 64)).append('\n');
+        dump.append("Length: 32 bytes\n\n");
+
+        dump.append("=== 核心硬件与内核特征 (Hardware & Kernel) ===\n\n");
+        StringBuilder cpuinfo = new StringBuilder();
+        for (int cpu = 0; cpu < size.cpus; cpu++) {
+            cpuinfo.append("processor\t: ").append(cpu).append('\n');
+            cpuinfo.append("BogoMIPS\t: 49.15\n");
+            cpuinfo.append("Features\t: fp asimd evtstrm aes pmull sha1 sha2 crc32 atomics fphp asimdhp cpuid\n");
+            cpuinfo.append("CPU implementer\t: 0x41\n");
+            cpuinfo.append("CPU part\t: ").append(CPU_PARTS[cpu * CPU_PARTS.length / size.cpus]).append('\n');
+            cpuinfo.append("CPU revision\t: 0\n\n");
+        }
+        cpuinfo.append("Hardware\t: Google Tensor G2");
+        probe(dump, "/proc/cpuinfo", cpuinfo);
+        StringBuilder meminfo = new StringBuilder();
+        meminfo.append("MemTotal:        7833460 kB\n");
+        meminfo.append("MemFree:          412332 kB\n");
+        meminfo.append("MemAvailable:    3412004 kB\n");
+        meminfo.append("SwapTotal:       4194300 kB");
+        probe(dump, "/proc/meminfo", meminfo);
+        probe(dump, "/sys/devices/system/cpu/possible", "0-" + (size.cpus - 1));
+        dump.append('\n');
+
+        dump.append("=== 环境与安全检测 (Environment & Security) ===\n\n");
+        probe(dump, "/proc/sys/kernel/random/boot_id", uuid(random));
+        // 强制模式下应用无权读取，退出码为 1
+        denied(dump, "/sys/fs/selinux/enforce");
+        missing(dump, "/system/bin/su");
+        missing(dump, "/system/xbin/su");
+        missing(dump, "/sbin/.magisk");
+        dump.append('\n');
+
+        dump.append("=== 挂载点与输入设备 (Mounts & Inputs) ===\n\n");
+        StringBuilder mountinfo = new StringBuilder(size.mounts * 96);
+        for (int i = 0; i < size.mounts; i++) {
+            if (i > 0) {
+                mountinfo.append('\n');
+            }
+            int id = 20 + i;
+            mountinfo.append(id).append(' ').append(i == 0 ? 1 : 20 + random.nextInt(i)).append(" 253:")
+                    .append(random.nextInt(64)).append(" / /mnt/vendor/part").append(i)
+                    .append(" rw,nosuid,nodev,noatime shared:").append(id)
+                    .append(" - ext4 /dev/block/dm-").append(random.nextInt(48)).append(" rw,seclabel");
+        }
+        probe(dump, "/proc/self/mountinfo", mountinfo);
+        dump.append('\n');
+
+        dump.append("=== 内核信息 (Kernel Info via uname) ===\n\n");
+        dump.append("System Name: Linux\n");
+        dump.append("Node Name: localhost\n");
+        dump.append("Release: 5.10.198-android13-4-00050-g3a6c2b0c8f2e-ab11717962\n");
+        dump.append("Version: #1 SMP PREEMPT Mon Apr 15 12:00:00 UTC 2024\n");
+        dump.append("Machine: aarch64\n---\n\n");
+
+        dump.append("=== 系统配置信息 (System Config via sysconf) ===\n\n");
+        dump.append("CPU Cores (Online): ").append(size.cpus).append('\n');
+        dump.append("Page Size: 4096 bytes\n");
+        dump.append("Physical Pages: 1958365\n");
+        dump.append("Total Physical Memory: 7649 MB\n\n");
+
+        dump.append("=== Zygisk 注入检测 (Zygisk Injection Detection) ===\n\n");
+        return dump.toString();
+    }
+
+    /**
+     * @return 带完整 Java 层数据和 Native 转储的采集结果
+     */
+    public static FingerprintResult fingerprint(Size size) {
+        Random random = new Random(SEED);
+        FingerprintResult result = new FingerprintResult();
+        result.setAndroidIdOutcome(Outcome.value(hex(random, 16)));
+        result.setSerialNumberOutcome(Outcome.denied("requires READ_PRIVILEGED_PHONE_STATE"));
+        result.setBluetoothAddressOutcome(Outcome.value("02:00:00:00:00:00"));
+        result.setDrmInfoOutcome(Outcome.value("MediaDrm Device Unique ID: " + hex(random, 64) + "\nLength: 32 bytes"));
+        result.setPhoneInfoOutcome(Outcome.value("SIM State: READY\nNetwork Operator: 46000"));
+        result.setAccountInfoOutcome(Outcome.value("Accounts: 1"));
+        result.setVolumeInfoOutcome(Outcome.value("Music: 7/15\nRing: 5/7"));
+        result.setGpuOutcome(Outcome.value(GpuRecord.of("Mali-G710 MC10", "ARM",
+                "OpenGL ES 3.2 v1.r38p1-01eac0.a5e8e8d5bc4e37b8f0b5dbb64d9b7c1a")));
+        result.setBatteryOutcome(Outcome.value(new BatteryRecord(76, 100, 3, 0, 2, 4012, 298)));
+
+        List<SensorRecord> sensors = new ArrayList<>(size.sensors);
+        for (int i = 0; i < size.sensors; i++) {
+            sensors.add(new SensorRecord("Sensor " + i + " " + hex(random, 6),
+                    SENSOR_VENDORS[i % SENSOR_VENDORS.length], 1 + i % 30, 1 + i % 3,
+                    random.nextFloat() * 100, random.nextFloat(), 5000 * (i % 4), i % 2 == 0 ? 300 : 0));
+        }
+        // 采集顺序与传感器列表顺序无关，打乱后由清洗阶段排序
+        Collections.shuffle(sensors, random);
+        result.setSensorsOutcome(Outcome.value(sensors));
+
+        MemoryRecord memory = new MemoryRecord();
+        memory.setRamTotalBytes(8L << 30);
+        memory.setRamAvailableBytes(3L << 30);
+        memory.setRamUsedBytes(5L << 30);
+        memory.setRamThresholdBytes(216L << 20);
+        memory.setMemoryClassMb(256);
+        memory.setLargeMemoryClassMb(512);
+        memory.setInternalTotalBytes(128L << 30);
+        memory.setInternalAvailableBytes(41L << 30);
+        memory.setInternalUsedBytes(87L << 30);
+        memory.setExternalStorageState("mounted");
+        memory.setHeapMaxBytes(512L << 20);
+        memory.setHeapUsedBytes(14L << 20);
+        memory.setAppUid(10245);
+        result.setMemory(memory);
+
+        BuildPropertiesRecord build = new BuildPropertiesRecord();
+        for (String partition : new String[]{"system", "vendor", "odm", "product"}) {
+            build.beginSection(partition);
+            build.put("ro." + partition + ".build.fingerprint",
+                    "google/panther/panther:14/AP2A.240805.005/12025142:user/release-keys");
+            build.put("ro." + partition + ".build.id", "AP2A.240805.005");
+            build.put("ro." + partition + ".build.date.utc", "1720000000");
+            build.put("ro." + partition + ".build.version.sdk", "34");
+        }
+        build.beginSection("usb");
+        build.put("sys.usb.config", "mtp");
+        build.put("sys.usb.state", "mtp");
+        build.beginSection("security");
+        build.put("ro.secure", "1");
+        build.put("ro.debuggable", "0");
+        build.put("ro.boot.flash.locked", "1");
+        result.setBuildProperties(build);
+
+        SettingsRecord settings = new SettingsRecord();
+        settings.put("adb_enabled", "0");
+        settings.put("development_settings_enabled", "0");
+        settings.put("bluetooth_name", "Pixel 7");
+        result.setSettingsRecord(settings);
+
+        result.setNativeBuildInfo(nativeDump(size));
+        return result;
+    }
+
+    private static void property(StringBuilder dump, String key, String value) {
+        dump.append(key).append(" = ").append(value).append('\n');
+    }
+
+    private static void probe(StringBuilder dump, String path, CharSequence content) {
+        dump.append("Path: ").append(path).append('\n');
+        dump.append("Exit Code: 0\n");
+        dump.append("Accessible: true\n");
+        dump.append("Content: ").append(content).append('\n');
+        dump.append("---\n");
+    }
+
+    private static void denied(StringBuilder dump, String path) {
+        dump.append("Path: ").append(path).append('\n');
+        dump.append("Exit Code: 1\n");
+        dump.append("Accessible: false\n");
+        dump.append("Content: cat: ").append(path).append(": Permission denied\n");
+        dump.append("---\n");
+    }
+
+    private static void missing(StringBuilder dump, String path) {
+        dump.append("Path: ").append(path).append('\n');
+        dump.append("Exit Code: 2\n");
+        dump.append("Accessible: false\n");
+        dump.append("Content: [EMPTY]\n");
+        dump.append("---\n");
+    }
+
+    private static String hex(Random random, int length) {
+        StringBuilder hex = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            hex.append(Character.forDigit(random.nextInt(16), 16));
+        }
+        return hex.toString();
+    }
+
+    private static String uuid(Random random) {
+        String hex = hex(random, 32);
+        return hex.substring(0, 8) + '-' + hex.substring(8, 12) + '-' + hex.substring(12, 16) + '-'
+                + hex.substring(16, 20) + '-' + hex.substring(20);
+    }
+}
@@ -0,0 +1,54 @@
+package com.sheep.sphunter.benchmark;
+
+import com.sheep.sphunter.fingerprint.CleaningCache;
+import com.sheep.sphunter.fingerprint.NativeFileDataCleaner;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NativeFileDataCleaner 清洗原始转储
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class NativeCleanerBenchmark {
+
+    @Param({"SMALL", "TYPICAL", "PATHOLOGICAL"})
+    public Fixtures.Size size;
+
+    private String dump;
+    private CleaningCache cache;
+
+    @Setup
+    public void setUp() {
+        dump = Fixtures.nativeDump(size);
+        // 周期采集场景：缓存中已有上一次的结果，转储内容不变
+        cache = new CleaningCache();
+        NativeFileDataCleaner.cleanNativeFingerprint(dump, false, cache);
+    }
+
+    @Benchmark
+    public JSONObject clean() {
+        return NativeFileDataCleaner.cleanNativeFingerprint(dump);
+    }
+
+    @Benchmark
+    public JSONObject cleanParallel() {
+        return NativeFileDataCleaner.cleanNativeFingerprint(dump, true);
+    }
+
+    @Benchmark
+    public JSONObject cleanCached() {
+        return NativeFileDataCleaner.cleanNativeFingerprint(dump, false, cache);
+    }
+}
@@ -0,0 +1,75 @@
+package com.sheep.sphunter.benchmark;
+
+import com.sheep.sphunter.analyse.DeviceSimilarityIndex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DeviceSimilarityIndex 查询延迟
+ * 索引中的设备按"少量型号 × 大量设备"生成：同型号设备共享 CPU、内存、内核和 Build 指纹，
+ * 只有 drm_id 和 vbmeta_digest 不同；查询模拟一次 OTA（内核、Build 指纹、vbmeta 改变）后的同一设备
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class SimilarityIndexBenchmark {
+
+    private static final int MODELS = 2000;
+    private static final int QUERIES = 1024;
+
+    @Param({"100000", "1000000"})
+    public int devices;
+
+    private DeviceSimilarityIndex index;
+    private List<String>[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void setUp() {
+        Random random = new Random(0x5eed_5107L);
+        index = new DeviceSimilarityIndex();
+        queries = new List[QUERIES];
+        for (int i = 0; i < devices; i++) {
+            int model = random.nextInt(MODELS);
+            String drmId = Long.toHexString(random.nextLong());
+            index.add("device-" + i, factors(drmId, model, 0, Long.toHexString(random.nextLong())));
+            if (i < QUERIES) {
+                queries[i] = factors(drmId, model, 1, Long.toHexString(random.nextLong()));
+            }
+        }
+    }
+
+    private static List<String> factors(String drmId, int model, int build, String vbmeta) {
+        return Arrays.asList(
+                "drm_id=" + drmId,
+                "cpu_structure_hash=cpu-" + model,
+                "total_ram_mb=" + (4 + model % 4) * 2048,
+                "kernel_release=5.10." + (model % 50) + "-build" + build,
+                "cpu_abi=arm64-v8a",
+                "build_fingerprint=vendor/model" + model + ":14/build" + build,
+                "vbmeta_digest=" + vbmeta);
+    }
+
+    @Benchmark
+    public List<DeviceSimilarityIndex.Match> query() {
+        List<String> factors = queries[next];
+        next = (next + 1) & (QUERIES - 1);
+        return index.query(factors, 0.4, 10);
+    }
+}
@@ -0,0 +1,462 @@
+package com.sheep.sphunter.cli;
+
+import androidx.annotation.Nullable;
+
+import com.sheep.sphunter.analyse.DeviceRegistry;
+import com.sheep.sphunter.analyse.HunterAnalysis;
+import com.sheep.sphunter.analyse.NativeHunterAnalysis;
+import com.sheep.sphunter.fingerprint.NativeFileDataCleaner;
+import com.sheep.sphunter.util.JsonSink;
+import com.sheep.sphunter.util.JsonStreamWriter;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 批量重新评分流水线
+ * 读取线程（调用方） → 有界输入队列 → N 个工作线程 → 有界输出队列 → 写出线程
+ *
+ * 记录按批（{@link #BATCH_SIZE} 条）在队列间传递，降低队列竞争，使吞吐随核数近似线性增长；
+ * 两个队列都有界，读取速度超过处理速度时读取线程阻塞，内存占用与语料大小无关
+ *
+ * 输出为 JSONL，每行对应一条输入记录，顺序与输入顺序无关，用 "source" 字段关联
+ * 指定设备登记表时，每个设备 ID 都会登记一次，并输出 "new_device" 表示是否首次出现；
+ * 工作线程处理完一批后用 {@link DeviceRegistry#recordAll} 一次登记整批，登记表每批只加锁一次，失败的记录不登记
+ * 安装了 FingerprintBlocklist 时，可能命中黑名单的因子输出到 "blocklist_candidates"（没有命中时省略）
+ */
+public final class BatchAnalyzer {
+    /**
+     * 每批记录数
+     */
+    static final int BATCH_SIZE = 64;
+
+    // 登记前 "new_device" 先写作 false，登记后把首次出现的改为 true
+    private static final String NOT_NEW = "false";
+
+    // 结束标记
+    private static final Batch END_OF_INPUT = (analyzer, out) -> 0;
+    private static final CharSequence END_OF_OUTPUT = new StringBuilder(0);
+
+    private final BlockingQueue<Batch> input;
+    private final BlockingQueue<CharSequence> output;
+    private final Thread[] workers;
+    private final Thread writerThread;
+    private final Writer writer;
+    @Nullable
+    private final DeviceRegistry registry;
+    private final AtomicLong records = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final long startNanos;
+    private RecordBatch pending = new RecordBatch();
+    private volatile IOException writeError;
+    private volatile Throwable workerError;
+
+    /**
+     * 一批待处理的记录，在工作线程中展开和分析
+     * 批的内容可以是已读入的字符串，也可以是尚未解码的文件区域（见 {@link MappedCorpusReader}）
+     */
+    interface Batch {
+        /**
+         * 逐条调用 {@link #analyze(String, String, boolean, Lines)}
+         *
+         * @return 处理的记录数
+         */
+        int analyzeInto(BatchAnalyzer analyzer, Lines out);
+    }
+
+    /**
+     * 一批记录的输出行，以及其中尚未登记的设备 ID，每个工作线程复用一个
+     */
+    static final class Lines {
+        final StringBuilder text = new StringBuilder(BATCH_SIZE * 512);
+        // 第 i 个待登记的设备 ID、评分，以及它的 "new_device" 取值在 text 中的位置
+        private String[] deviceIds = new String[BATCH_SIZE * 2];
+        private int[] riskScores = new int[BATCH_SIZE * 2];
+        private int[] offsets = new int[BATCH_SIZE * 2];
+        private boolean[] firstSeen = new boolean[BATCH_SIZE * 2];
+        private int pending;
+
+        private void clear() {
+            text.setLength(0);
+            Arrays.fill(deviceIds, 0, pending, null);
+            pending = 0;
+        }
+
+        private void defer(String deviceId, int riskScore, int offset) {
+            if (pending == deviceIds.length) {
+                int capacity = pending * 2;
+                deviceIds = Arrays.copyOf(deviceIds, capacity);
+                riskScores = Arrays.copyOf(riskScores, capacity);
+                offsets = Arrays.copyOf(offsets, capacity);
+                firstSeen = Arrays.copyOf(firstSeen, capacity);
+            }
+            deviceIds[pending] = deviceId;
+            riskScores[pending] = riskScore;
+            offsets[pending] = offset;
+            pending++;
+        }
+
+        /**
+         * 丢弃 text 中 length 之后的行里的待登记设备 ID
+         */
+        private void truncate(int length) {
+            while (pending > 0 && offsets[pending - 1] >= length) {
+                deviceIds[--pending] = null;
+            }
+            text.setLength(length);
+        }
+    }
+
+    /**
+     * 一条待处理记录
+     */
+    private static final class Record {
+        final String source;
+        final String text;
+        // true: 原始 getCFingerprint 转储；false: 清洗后的 JSON 文档
+        final boolean rawDump;
+
+        Record(String source, String text, boolean rawDump) {
+            this.source = source;
+            this.text = text;
+            this.rawDump = rawDump;
+        }
+    }
+
+    /**
+     * 由读取线程逐条提交、凑满 {@link #BATCH_SIZE} 条的一批记录
+     */
+    private static final class RecordBatch implements Batch {
+        final List<Record> records = new ArrayList<>(BATCH_SIZE);
+
+        @Override
+        public int analyzeInto(BatchAnalyzer analyzer, Lines out) {
+            for (Record record : records) {
+                analyzer.analyze(record.source, record.text, record.rawDump, out);
+            }
+            return records.size();
+        }
+    }
+
+    /**
+     * 处理统计
+     */
+    public static final class Stats {
+        public final long records;
+        public final long failures;
+        public final long elapsedNanos;
+        public final int threads;
+
+        Stats(long records, long failures, long elapsedNanos, int threads) {
+            this.records = records;
+            this.failures = failures;
+            this.elapsedNanos = elapsedNanos;
+            this.threads = threads;
+        }
+
+        public double recordsPerSecond() {
+            return elapsedNanos > 0 ? records * 1e9 / elapsedNanos : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("处理 %d 条记录（失败 %d），耗时 %.2f s，%.0f 条/秒，工作线程 %d",
+                    records, failures, elapsedNanos / 1e9, recordsPerSecond(), threads);
+        }
+    }
+
+    /**
+     * 创建并启动流水线
+     *
+     * @param writer        输出目标
+     * @param threads       工作线程数
+     * @param queueCapacity 每个队列容纳的批数
+     */
+    public BatchAnalyzer(Writer writer, int threads, int queueCapacity) {
+        this(writer, threads, queueCapacity, null);
+    }
+
+    /**
+     * 创建并启动流水线，同时把设备 ID 登记到 registry
+     *
+     * @param registry 设备登记表，null 表示不登记
+     */
+    public BatchAnalyzer(Writer writer, int threads, int queueCapacity, @Nullable DeviceRegistry registry) {
+        if (threads < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("线程数和队列容量必须大于 0");
+        }
+        this.writer = writer;
+        this.registry = registry;
+        this.input = new ArrayBlockingQueue<>(queueCapacity);
+        this.output = new ArrayBlockingQueue<>(queueCapacity);
+        this.startNanos = System.nanoTime();
+
+        this.workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Thread(this::work, "sphunter-worker-" + i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+        this.writerThread = new Thread(this::write, "sphunter-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * 提交一条清洗后的 JSON 文档（顶层可包含 "native" 分区）
+     */
+    public void submitCleaned(String source, String json) throws InterruptedException {
+        submit(source, json, false);
+    }
+
+    /**
+     * 提交一份原始 Native 转储
+     */
+    public void submitRawDump(String source, String dump) throws InterruptedException {
+        submit(source, dump, true);
+    }
+
+    /**
+     * 提交一整批记录，由工作线程展开
+     */
+    void submit(Batch batch) throws InterruptedException {
+        flushPending();
+        input.put(batch);
+    }
+
+    private void submit(String source, String text, boolean rawDump) throws InterruptedException {
+        pending.records.add(new Record(source, text, rawDump));
+        if (pending.records.size() == BATCH_SIZE) {
+            flushPending();
+        }
+    }
+
+    private void flushPending() throws InterruptedException {
+        if (!pending.records.isEmpty()) {
+            input.put(pending);
+            pending = new RecordBatch();
+        }
+    }
+
+    /**
+     * 提交结束，等待全部记录处理并写出
+     *
+     * @return 处理统计
+     * @throws IOException 写出失败
+     */
+    public Stats finish() throws InterruptedException, IOException {
+        flushPending();
+        for (int i = 0; i < workers.length; i++) {
+            input.put(END_OF_INPUT);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        output.put(END_OF_OUTPUT);
+        writerThread.join();
+        writer.flush();
+        if (workerError != null) {
+            throw new IllegalStateException("工作线程异常退出", workerError);
+        }
+        if (writeError != null) {
+            throw writeError;
+        }
+        return new Stats(records.get(), failures.get(), System.nanoTime() - startNanos, workers.length);
+    }
+
+    // ==================== 工作线程 ====================
+
+    private void work() {
+        Lines lines = new Lines();
+        try {
+            Batch batch;
+            while ((batch = input.take()) != END_OF_INPUT) {
+                lines.clear();
+                records.addAndGet(batch.analyzeInto(this, lines));
+                register(lines);
+                output.put(lines.text.toString());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException | Error e) {
+            workerError = e;
+            // 继续消费输入，避免读取线程阻塞在满队列上
+            drainInput();
+        }
+    }
+
+    private void drainInput() {
+        try {
+            while (input.take() != END_OF_INPUT) {
+                // 丢弃
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 处理一条记录，向 out 追加一行 JSON，设备 ID 留到整批处理完后由 {@link #register(Lines)} 登记
+     *
+     * @param source  记录来源，原样写入输出
+     * @param text    记录内容
+     * @param rawDump true: 原始 getCFingerprint 转储；false: 清洗后的 JSON 文档
+     */
+    void analyze(String source, String text, boolean rawDump, Lines out) {
+        int lineStart = out.text.length();
+        try {
+            JsonStreamWriter line = new JsonStreamWriter(out.text, 0);
+            line.beginObject(null);
+            line.put("source", source);
+            if (rawDump) {
+                JSONObject cleaned = NativeFileDataCleaner.cleanNativeFingerprint(text);
+                if (cleaned.length() == 0) {
+                    throw new JSONException("Native 转储清洗失败");
+                }
+                writeNative(NativeHunterAnalysis.analyze(cleaned), line, out);
+            } else {
+                JSONObject cleaned = new JSONObject(text);
+                HunterAnalysis.Result result = HunterAnalysis.analyze(cleaned);
+                if (result.deviceId == null) {
+                    throw new JSONException(result.riskReport);
+                }
+                JSONObject nativeSection = cleaned.optJSONObject("native");
+                NativeHunterAnalysis.Result nativeResult = nativeSection != null
+                        ? NativeHunterAnalysis.analyze(nativeSection) : null;
+                line.put("device_id", result.deviceId);
+                if (registry != null) {
+                    // Java 层没有评分，按同一份快照的 Native 评分登记
+                    putNewDevice(result.deviceId,
+                            nativeResult != null ? nativeResult.riskScore : DeviceRegistry.UNKNOWN_RISK, line, out);
+                }
+                line.put("emulator", result.isEmulator);
+                line.put("debug", result.isDebugMode);
+                writeTags(result.riskTags, line);
+                writeCandidates(result.blocklistCandidates, line);
+                if (nativeResult != null) {
+                    writeNative(nativeResult, line, out);
+                }
+            }
+            line.endObject();
+        } catch (JSONException e) {
+            failures.incrementAndGet();
+            out.truncate(lineStart);
+            writeError(source, e, out.text);
+        }
+        out.text.append('\n');
+    }
+
+    private void writeNative(NativeHunterAnalysis.Result result, JsonSink line, Lines out) throws JSONException {
+        if (result.riskScore < 0) {
+            throw new JSONException(result.riskReport);
+        }
+        line.beginObject("native");
+        line.put("device_id", result.nativeDeviceId);
+        if (registry != null) {
+            putNewDevice(result.nativeDeviceId, result.riskScore, line, out);
+        }
+        line.put("risk_score", result.riskScore);
+        line.put("emulator", result.isEmulator);
+        line.put("rooted", result.isRooted);
+        line.put("debug", result.isDebugMode);
+        line.put("zygisk", result.hasZygiskInjection);
+        writeTags(result.riskTags, line);
+        writeCandidates(result.blocklistCandidates, line);
+        line.endObject();
+    }
+
+    /**
+     * 写出 "new_device": false，并记下设备 ID 待整批登记
+     */
+    private static void putNewDevice(String deviceId, int riskScore, JsonSink line, Lines out) throws JSONException {
+        if (!DeviceRegistry.isDigest(deviceId)) {
+            throw new JSONException("设备 ID 格式错误: " + deviceId);
+        }
+        line.put("new_device", false);
+        out.defer(deviceId, riskScore, out.text.length() - NOT_NEW.length());
+    }
+
+    /**
+     * 一次登记整批设备 ID，把首次出现的 "new_device" 改为 true
+     */
+    private void register(Lines lines) {
+        if (lines.pending == 0) {
+            return;
+        }
+        try {
+            registry.recordAll(lines.deviceIds, lines.riskScores, lines.pending, System.currentTimeMillis(),
+                    lines.firstSeen);
+        } catch (IOException e) {
+            throw new UncheckedIOException("设备登记表写入失败", e);
+        }
+        // "true" 比 "false" 短一个字符，改动只移动其后的内容，从后往前改时前面记下的位置仍然有效
+        for (int i = lines.pending - 1; i >= 0; i--) {
+            if (lines.firstSeen[i]) {
+                int offset = lines.offsets[i];
+                lines.text.replace(offset, offset + NOT_NEW.length(), "true");
+            }
+        }
+    }
+
+    private static void writeTags(List<String> tags, JsonSink line) throws JSONException {
+        line.beginArray("risk_tags");
+        for (String tag : tags) {
+            line.add(tag);
+        }
+        line.endArray();
+    }
+
+    private static void writeCandidates(List<String> candidates, JsonSink line) throws JSONException {
+        if (candidates.isEmpty()) {
+            return;
+        }
+        line.beginArray("blocklist_candidates");
+        for (String candidate : candidates) {
+            line.add(candidate);
+        }
+        line.endArray();
+    }
+
+    private static void writeError(String source, Exception error, StringBuilder out) {
+        try {
+            JsonStreamWriter line = new JsonStreamWriter(out, 0);
+            line.beginObject(null);
+            line.put("source", source);
+            line.put("error", String.valueOf(error.getMessage()));
+            line.endObject();
+        } catch (JSONException e) {
+            // 只写入字符串成员，不会失败
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // ==================== 写出线程 ====================
+
+    private void write() {
+        try {
+            CharSequence lines;
+            while ((lines = output.take()) != END_OF_OUTPUT) {
+                if (writeError == null) {
+                    try {
+                        writer.append(lines);
+                    } catch (IOException e) {
+                        // 继续消费输出，避免工作线程阻塞在满队列上
+                        writeError = e;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
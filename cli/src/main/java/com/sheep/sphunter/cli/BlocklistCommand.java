@@ -0,0 +1,100 @@
+package com.sheep.sphunter.cli;
+
+import com.sheep.sphunter.analyse.FingerprintBlocklist;
+import com.sheep.sphunter.util.BloomFilter;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * sphunter-cli blocklist：由文本黑名单构建 {@link FingerprintBlocklist} 文件
+ * 每个黑名单文件每行一个值，空行忽略；同一类别可以指定多个文件
+ */
+final class BlocklistCommand {
+    static final String USAGE = String.join("\n",
+            "用法: sphunter-cli blocklist [选项] <类别>=<file>...",
+            "",
+            "类别: device_id, native_device_id, mounts_hash, cpu_structure_hash, vbmeta_digest",
+            "",
+            "选项:",
+            "  -o, --output <file>    输出文件（必需）",
+            "  -p, --fpp <rate>       目标假阳性率，默认 0.001",
+            "  -h, --help             显示帮助");
+
+    private static final double DEFAULT_FALSE_POSITIVE_RATE = 0.001;
+
+    private BlocklistCommand() {
+        // 工具类，禁止实例化
+    }
+
+    static int run(String[] args) throws IOException {
+        String outputPath = null;
+        double falsePositiveRate = DEFAULT_FALSE_POSITIVE_RATE;
+        Map<FingerprintBlocklist.Kind, List<String>> blocklists = new EnumMap<>(FingerprintBlocklist.Kind.class);
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "-o":
+                case "--output":
+                    outputPath = Main.value(args, ++i, arg);
+                    break;
+                case "-p":
+                case "--fpp":
+                    falsePositiveRate = rate(Main.value(args, ++i, arg), arg);
+                    break;
+                case "-h":
+                case "--help":
+                    System.out.println(USAGE);
+                    return 0;
+                default:
+                    int eq = arg.indexOf('=');
+                    FingerprintBlocklist.Kind kind = eq > 0 ? FingerprintBlocklist.Kind.fromTag(arg.substring(0, eq)) : null;
+                    if (kind == null) {
+                        throw new IllegalArgumentException("无法识别的参数: " + arg);
+                    }
+                    blocklists.computeIfAbsent(kind, k -> new ArrayList<>())
+                            .addAll(Files.readAllLines(Paths.get(arg.substring(eq + 1)), StandardCharsets.UTF_8));
+            }
+        }
+        if (outputPath == null) {
+            throw new IllegalArgumentException("缺少 --output");
+        }
+        if (blocklists.isEmpty()) {
+            throw new IllegalArgumentException("缺少黑名单文件");
+        }
+
+        FingerprintBlocklist blocklist = FingerprintBlocklist.build(blocklists, falsePositiveRate);
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(Paths.get(outputPath)), 1 << 16))) {
+            blocklist.writeTo(out);
+        }
+        for (Map.Entry<FingerprintBlocklist.Kind, BloomFilter> entry : blocklist.filters().entrySet()) {
+            BloomFilter filter = entry.getValue();
+            System.err.println(String.format("%s: %d 条，%d KB，k=%d，估计假阳性率 %.2g",
+                    entry.getKey().tag, filter.count(), filter.bitSize() / 8 / 1024, filter.hashCount(),
+                    filter.expectedFalsePositiveRate()));
+        }
+        return 0;
+    }
+
+    private static double rate(String value, String option) {
+        try {
+            double rate = Double.parseDouble(value);
+            if (rate > 0 && rate < 1) {
+                return rate;
+            }
+        } catch (NumberFormatException e) {
+            // 落到下面统一报错
+        }
+        throw new IllegalArgumentException(option + " 需要 (0, 1) 之间的小数: " + value);
+    }
+}
@@ -0,0 +1,214 @@
+package com.sheep.sphunter.cli;
+
+import com.sheep.sphunter.analyse.DeviceRegistry;
+import com.sheep.sphunter.analyse.FingerprintBlocklist;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 离线批量分析命令行工具
+ * 使用与 App 相同的清洗和评分逻辑，对采集回来的语料重新评分
+ *
+ * 输入：
+ * - JSONL 文件（或 "-" 表示标准输入）：每行一份清洗后的指纹 JSON
+ *   文件通过 {@link MappedCorpusReader} 内存映射读取，来源记为 "文件@字节偏移"；标准输入逐行读取，来源记为 "stdin:行号"
+ * - 目录：递归读取其中每个文件，每个文件是一份原始 getCFingerprint 转储
+ *
+ * 输出为 JSONL（设备 ID、风险评分、风险标签），统计信息输出到标准错误
+ * 指定 --registry 时设备 ID 登记到 {@link DeviceRegistry} 文件，多次运行之间累计
+ * 指定 --blocklist 时用 {@link FingerprintBlocklist} 预筛选，黑名单文件由 blocklist 子命令构建（见 {@link BlocklistCommand}）
+ */
+public final class Main {
+    private static final String USAGE = String.join("\n",
+            "用法: sphunter-cli [选项] <输入>...",
+            "      sphunter-cli blocklist [选项] <类别>=<file>...   构建黑名单文件",
+            "",
+            "输入:",
+            "  <file.jsonl>           每行一份清洗后的指纹 JSON，\"-\" 表示标准输入",
+            "                         来源记为 文件@字节偏移（标准输入为 stdin:行号）",
+            "  <dir>                  递归读取目录中的原始 getCFingerprint 转储，每个文件一份",
+            "",
+            "选项:",
+            "  -o, --output <file>    输出文件，默认标准输出",
+            "  -t, --threads <n>      工作线程数，默认可用核数",
+            "  -q, --queue <n>        每个队列容纳的批数，默认线程数的 4 倍",
+            "  -r, --registry <file>  设备登记表，不存在时创建；输出增加 new_device 字段",
+            "  -b, --blocklist <file> 黑名单文件，可能命中的因子输出到 blocklist_candidates",
+            "  -h, --help             显示帮助");
+
+    /**
+     * 新建设备登记表时的初始容量，之后按需扩容
+     */
+    private static final long REGISTRY_EXPECTED_DEVICES = 1 << 20;
+
+    private Main() {
+        // 工具类，禁止实例化
+    }
+
+    public static void main(String[] args) {
+        boolean blocklistCommand = args.length > 0 && args[0].equals("blocklist");
+        try {
+            System.exit(blocklistCommand ? BlocklistCommand.run(Arrays.copyOfRange(args, 1, args.length)) : run(args));
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(blocklistCommand ? BlocklistCommand.USAGE : USAGE);
+            System.exit(2);
+        } catch (IOException e) {
+            System.err.println("读写失败: " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.exit(130);
+        }
+    }
+
+    static int run(String[] args) throws IOException, InterruptedException {
+        String outputPath = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int queueCapacity = -1;
+        String registryPath = null;
+        List<String> inputs = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "-o":
+                case "--output":
+                    outputPath = value(args, ++i, arg);
+                    break;
+                case "-t":
+                case "--threads":
+                    threads = positive(value(args, ++i, arg), arg);
+                    break;
+                case "-q":
+                case "--queue":
+                    queueCapacity = positive(value(args, ++i, arg), arg);
+                    break;
+                case "-r":
+                case "--registry":
+                    registryPath = value(args, ++i, arg);
+                    break;
+                case "-b":
+                case "--blocklist":
+                    loadBlocklist(value(args, ++i, arg));
+                    break;
+                case "-h":
+                case "--help":
+                    System.out.println(USAGE);
+                    return 0;
+                default:
+                    if (arg.startsWith("-") && !arg.equals("-")) {
+                        throw new IllegalArgumentException("未知选项: " + arg);
+                    }
+                    inputs.add(arg);
+            }
+        }
+        if (inputs.isEmpty()) {
+            throw new IllegalArgumentException("缺少输入");
+        }
+        if (queueCapacity < 0) {
+            queueCapacity = threads * 4;
+        }
+
+        Writer out = outputPath != null
+                ? Files.newBufferedWriter(Paths.get(outputPath), StandardCharsets.UTF_8)
+                : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+        BatchAnalyzer.Stats stats;
+        DeviceRegistry registry = null;
+        try {
+            if (registryPath != null) {
+                registry = DeviceRegistry.open(Paths.get(registryPath), REGISTRY_EXPECTED_DEVICES);
+            }
+            BatchAnalyzer analyzer = new BatchAnalyzer(out, threads, queueCapacity, registry);
+            for (String input : inputs) {
+                submitInput(analyzer, input);
+            }
+            stats = analyzer.finish();
+        } finally {
+            if (registry != null) {
+                registry.close();
+            }
+            if (outputPath != null) {
+                out.close();
+            } else {
+                out.flush();
+            }
+        }
+        System.err.println(stats);
+        return stats.failures == 0 ? 0 : 3;
+    }
+
+    private static void submitInput(BatchAnalyzer analyzer, String input) throws IOException, InterruptedException {
+        if (input.equals("-")) {
+            submitJsonLines(analyzer, "stdin",
+                    new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), 1 << 16));
+            return;
+        }
+        Path path = Paths.get(input);
+        if (Files.isDirectory(path)) {
+            List<Path> files;
+            try (Stream<Path> walk = Files.walk(path)) {
+                files = walk.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+            for (Path file : files) {
+                analyzer.submitRawDump(file.toString(), new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+            }
+        } else {
+            MappedCorpusReader.submit(analyzer, path, input);
+        }
+    }
+
+    private static void submitJsonLines(BatchAnalyzer analyzer, String name, BufferedReader reader)
+            throws IOException, InterruptedException {
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (!line.trim().isEmpty()) {
+                analyzer.submitCleaned(name + ":" + lineNumber, line);
+            }
+        }
+    }
+
+    private static void loadBlocklist(String path) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(Paths.get(path)), 1 << 16))) {
+            FingerprintBlocklist.install(FingerprintBlocklist.readFrom(in));
+        }
+    }
+
+    static String value(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("选项缺少参数: " + option);
+        }
+        return args[index];
+    }
+
+    private static int positive(String value, String option) {
+        try {
+            int number = Integer.parseInt(value);
+            if (number > 0) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // 落到下面统一报错
+        }
+        throw new IllegalArgumentException(option + " 需要正整数: " + value);
+    }
+}
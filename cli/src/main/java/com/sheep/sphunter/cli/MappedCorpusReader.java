@@ -0,0 +1,159 @@
+package com.sheep.sphunter.cli;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 基于内存映射的 JSONL 语料读取
+ *
+ * 文件按 {@link #WINDOW_SIZE} 分窗口映射（单个映射不能超过 2 GB），每个窗口截断在最后一个换行处；
+ * 窗口再按 {@link #REGION_SIZE} 切成以换行对齐的区域，区域只记录映射缓冲区和起止偏移，
+ * 直接作为一批交给工作线程，读取线程不拷贝、不解码，也不逐行扫描
+ *
+ * 工作线程在自己的区域内切分行，并把每行解码成 String（org.json 只接受 String 输入），
+ * 解码和解析因此随工作线程数并行，而不是集中在读取线程上
+ *
+ * 这不是零拷贝：每行先从映射区拷贝到工作线程复用的 byte[]，再解码成 String，每行只分配 String 本身；
+ * 省掉的是读取线程上的拷贝、解码和逐行扫描，以及 BufferedReader 的 char[] 缓冲
+ *
+ * 区域是并行切分的，无法知道行号，记录来源写作 "文件@字节偏移"
+ */
+final class MappedCorpusReader {
+    /**
+     * 单个映射窗口的大小，也是单条记录的长度上限
+     */
+    static final int WINDOW_SIZE = 256 << 20;
+
+    /**
+     * 交给工作线程的区域大小，实际会延伸到下一个换行
+     */
+    static final int REGION_SIZE = 1 << 20;
+
+    private MappedCorpusReader() {
+        // 工具类，禁止实例化
+    }
+
+    /**
+     * 映射整个文件，并把其中的记录按区域提交给流水线
+     *
+     * @param analyzer 批量分析流水线
+     * @param path     JSONL 文件
+     * @param name     记录来源前缀
+     * @throws IOException 读取失败，或存在超过 {@link #WINDOW_SIZE} 的单条记录
+     */
+    static void submit(BatchAnalyzer analyzer, Path path, String name) throws IOException, InterruptedException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long windowStart = 0;
+            while (windowStart < size) {
+                int mapped = (int) Math.min(WINDOW_SIZE, size - windowStart);
+                // 映射在通道关闭后仍然有效，由工作线程处理完后随缓冲区回收
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, mapped);
+                int length = mapped;
+                if (windowStart + mapped < size) {
+                    length = lastNewline(window, mapped) + 1;
+                    if (length == 0) {
+                        throw new IOException(name + "@" + windowStart + " 处的记录超过 " + (WINDOW_SIZE >> 20) + " MB");
+                    }
+                }
+                submitWindow(analyzer, name, window, windowStart, length);
+                windowStart += length;
+            }
+        }
+    }
+
+    /**
+     * 把窗口 [0, length) 切成以换行对齐的区域并提交
+     * 除最后一个窗口外，length 处之前一个字节必为换行，向后查找不会越界
+     */
+    private static void submitWindow(BatchAnalyzer analyzer, String name, ByteBuffer window,
+                                     long windowStart, int length) throws InterruptedException {
+        int from = 0;
+        while (from < length) {
+            int to = from + REGION_SIZE;
+            if (to >= length) {
+                to = length;
+            } else {
+                while (to < length && window.get(to - 1) != '\n') {
+                    to++;
+                }
+            }
+            analyzer.submit(new Region(name, window, windowStart, from, to));
+            from = to;
+        }
+    }
+
+    private static int lastNewline(ByteBuffer buffer, int limit) {
+        for (int i = limit - 1; i >= 0; i--) {
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 映射窗口中的一段，由工作线程切分成行
+     */
+    private static final class Region implements BatchAnalyzer.Batch {
+        private final String name;
+        private final ByteBuffer window;
+        private final long windowStart;
+        private final int from;
+        private final int to;
+
+        Region(String name, ByteBuffer window, long windowStart, int from, int to) {
+            this.name = name;
+            this.window = window;
+            this.windowStart = windowStart;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public int analyzeInto(BatchAnalyzer analyzer, BatchAnalyzer.Lines out) {
+            // 窗口由多个工作线程共享，position 不是线程安全的，只用绝对下标和各自的副本
+            ByteBuffer view = window.duplicate();
+            byte[] line = new byte[256];
+            int count = 0;
+            int lineStart = from;
+            while (lineStart < to) {
+                int lineEnd = lineStart;
+                while (lineEnd < to && view.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+                int next = lineEnd + 1;
+                if (lineEnd > lineStart && view.get(lineEnd - 1) == '\r') {
+                    lineEnd--;
+                }
+                if (!isBlank(view, lineStart, lineEnd)) {
+                    int length = lineEnd - lineStart;
+                    if (line.length < length) {
+                        line = new byte[Math.max(length, line.length * 2)];
+                    }
+                    view.position(lineStart);
+                    view.get(line, 0, length);
+                    analyzer.analyze(name + "@" + (windowStart + lineStart),
+                            new String(line, 0, length, StandardCharsets.UTF_8), false, out);
+                    count++;
+                }
+                lineStart = next;
+            }
+            return count;
+        }
+
+        private static boolean isBlank(ByteBuffer buffer, int start, int end) {
+            for (int i = start; i < end; i++) {
+                if ((buffer.get(i) & 0xFF) > ' ') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
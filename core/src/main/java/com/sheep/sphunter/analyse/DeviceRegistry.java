@@ -0,0 +1,380 @@
+package com.sheep.sphunter.analyse;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.sheep.sphunter.util.Murmur3;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 设备 ID 登记表
+ * 记录 deviceId / nativeDeviceId（SHA-256 十六进制）的首次出现、最近出现时间和风险评分，用于大规模去重
+ *
+ * 存储为内存映射文件中的开放寻址表（线性探测），不占用 Java 堆，进程重启后直接映射即可使用：
+ * - 文件头 64 字节：魔数、版本、槽大小、容量、设备数
+ * - 每个槽 64 字节：摘要 32 字节、首次出现 8 字节、最近出现 8 字节、出现次数 4 字节、最近风险评分 2 字节、最高风险评分 2 字节
+ * - 出现次数为 0 的槽为空槽；整数均为小端序
+ * - 单个映射不能超过 2 GB，槽按 1 GB 分段映射，容量可达数亿台设备
+ * - 设备数超过容量的 3/4 时，在同目录下写出两倍容量的新文件再原子替换，中途崩溃不会损坏原文件
+ *
+ * 每台设备固定 64 字节（按负载折算约 85 到 170 字节），约为 HashMap&lt;String, ...&gt; 方案的 1/3，且完全不经过 GC
+ * 所有方法互斥，可以在多个线程之间共享
+ */
+public final class DeviceRegistry implements Closeable {
+    /**
+     * 风险评分未知
+     */
+    public static final int UNKNOWN_RISK = -1;
+
+    private static final long MAGIC = 0x3130474552485053L;  // "SPHREG01"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int SLOT_BYTES = 64;
+    private static final int SLOT_SHIFT = 6;
+    private static final int SEGMENT_SLOT_SHIFT = 24;  // 每段 2^24 个槽，即 1 GB
+    private static final long MIN_CAPACITY = 1024;
+
+    // 文件头字段偏移
+    private static final int HEADER_MAGIC = 0;
+    private static final int HEADER_VERSION = 8;
+    private static final int HEADER_SLOT_BYTES = 12;
+    private static final int HEADER_CAPACITY = 16;
+    private static final int HEADER_SIZE = 24;
+
+    // 槽内字段偏移
+    private static final int SLOT_DIGEST = 0;
+    private static final int SLOT_FIRST_SEEN = 32;
+    private static final int SLOT_LAST_SEEN = 40;
+    private static final int SLOT_SIGHTINGS = 48;
+    private static final int SLOT_RISK = 52;
+    private static final int SLOT_MAX_RISK = 54;
+
+    /**
+     * 一台设备的登记信息
+     */
+    public static final class Entry {
+        public final long firstSeen;     // 首次出现时间 (毫秒)
+        public final long lastSeen;      // 最近出现时间 (毫秒)
+        public final int sightings;      // 出现次数
+        public final int riskScore;      // 最近一次的风险评分，UNKNOWN_RISK 表示未知
+        public final int maxRiskScore;   // 出现过的最高风险评分
+
+        Entry(long firstSeen, long lastSeen, int sightings, int riskScore, int maxRiskScore) {
+            this.firstSeen = firstSeen;
+            this.lastSeen = lastSeen;
+            this.sightings = sightings;
+            this.riskScore = riskScore;
+            this.maxRiskScore = maxRiskScore;
+        }
+    }
+
+    private final Path path;
+    private FileChannel channel;
+    private MappedByteBuffer header;
+    private MappedByteBuffer[] segments;
+    private long capacity;
+    private long mask;
+    private long size;
+    // 复用的摘要缓冲区，方法互斥，不存在并发使用
+    private final long[] digest = new long[4];
+
+    private DeviceRegistry(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * 打开登记表，文件不存在时按预计设备数创建
+     *
+     * @param path            登记表文件
+     * @param expectedDevices 预计设备数，只在创建时决定初始容量，之后按需扩容
+     * @throws IOException 读写失败或文件格式不符
+     */
+    @NonNull
+    public static DeviceRegistry open(@NonNull Path path, long expectedDevices) throws IOException {
+        DeviceRegistry registry = new DeviceRegistry(path);
+        if (Files.exists(path)) {
+            registry.map(path);
+        } else {
+            create(path, capacityFor(expectedDevices));
+            registry.map(path);
+        }
+        return registry;
+    }
+
+    /**
+     * 登记一次出现
+     *
+     * @param hexDigest 64 位十六进制的 SHA-256 设备 ID
+     * @param timestamp 出现时间 (毫秒)
+     * @param riskScore 本次风险评分，未知时传 UNKNOWN_RISK
+     * @return true 表示首次出现
+     * @throws IllegalArgumentException 设备 ID 不是 64 位十六进制
+     */
+    public synchronized boolean record(@NonNull String hexDigest, long timestamp, int riskScore) throws IOException {
+        parseDigest(hexDigest, digest);
+        return recordParsed(timestamp, riskScore);
+    }
+
+    /**
+     * 一次登记多个设备 ID，整批只加锁一次；多线程批量登记时比逐条调用 record 的竞争小得多
+     * 先校验全部设备 ID，有格式错误时整批都不登记
+     *
+     * @param hexDigests 64 位十六进制的 SHA-256 设备 ID
+     * @param riskScores 对应的风险评分，未知时为 UNKNOWN_RISK
+     * @param count      登记前 count 个
+     * @param timestamp  出现时间 (毫秒)
+     * @param firstSeen  输出，firstSeen[i] 为 true 表示第 i 个设备首次出现
+     * @throws IllegalArgumentException 某个设备 ID 不是 64 位十六进制
+     */
+    public synchronized void recordAll(@NonNull String[] hexDigests, @NonNull int[] riskScores, int count,
+                                       long timestamp, @NonNull boolean[] firstSeen) throws IOException {
+        for (int i = 0; i < count; i++) {
+            parseDigest(hexDigests[i], digest);
+        }
+        for (int i = 0; i < count; i++) {
+            parseDigest(hexDigests[i], digest);
+            firstSeen[i] = recordParsed(timestamp, riskScores[i]);
+        }
+    }
+
+    /**
+     * 登记 digest 中已解析的设备 ID
+     */
+    private boolean recordParsed(long timestamp, int riskScore) throws IOException {
+        long slot = findSlot(digest);
+        MappedByteBuffer segment = segment(slot);
+        int offset = offset(slot);
+        short risk = (short) riskScore;
+        int sightings = segment.getInt(offset + SLOT_SIGHTINGS);
+        if (sightings != 0) {
+            segment.putLong(offset + SLOT_FIRST_SEEN, Math.min(segment.getLong(offset + SLOT_FIRST_SEEN), timestamp));
+            segment.putLong(offset + SLOT_LAST_SEEN, Math.max(segment.getLong(offset + SLOT_LAST_SEEN), timestamp));
+            segment.putInt(offset + SLOT_SIGHTINGS, sightings == Integer.MAX_VALUE ? sightings : sightings + 1);
+            segment.putShort(offset + SLOT_RISK, risk);
+            if (risk > segment.getShort(offset + SLOT_MAX_RISK)) {
+                segment.putShort(offset + SLOT_MAX_RISK, risk);
+            }
+            return false;
+        }
+
+        for (int i = 0; i < 4; i++) {
+            segment.putLong(offset + SLOT_DIGEST + i * 8, digest[i]);
+        }
+        segment.putLong(offset + SLOT_FIRST_SEEN, timestamp);
+        segment.putLong(offset + SLOT_LAST_SEEN, timestamp);
+        segment.putShort(offset + SLOT_RISK, risk);
+        segment.putShort(offset + SLOT_MAX_RISK, risk);
+        // 出现次数最后写入，槽在此之前一直视为空槽
+        segment.putInt(offset + SLOT_SIGHTINGS, 1);
+        header.putLong(HEADER_SIZE, ++size);
+        if (size > capacity / 4 * 3) {
+            grow();
+        }
+        return true;
+    }
+
+    /**
+     * 查询设备登记信息
+     *
+     * @return 未登记时返回 null
+     * @throws IllegalArgumentException 设备 ID 不是 64 位十六进制
+     */
+    @Nullable
+    public synchronized Entry get(@NonNull String hexDigest) {
+        parseDigest(hexDigest, digest);
+        long slot = findSlot(digest);
+        MappedByteBuffer segment = segment(slot);
+        int offset = offset(slot);
+        int sightings = segment.getInt(offset + SLOT_SIGHTINGS);
+        if (sightings == 0) {
+            return null;
+        }
+        return new Entry(segment.getLong(offset + SLOT_FIRST_SEEN), segment.getLong(offset + SLOT_LAST_SEEN),
+                sightings, segment.getShort(offset + SLOT_RISK), segment.getShort(offset + SLOT_MAX_RISK));
+    }
+
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * 把修改写回磁盘；不调用时由操作系统择机写回，进程崩溃不会丢失，系统崩溃可能丢失最近的修改
+     */
+    public synchronized void force() {
+        header.force();
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            force();
+            channel.close();
+            channel = null;
+            header = null;
+            segments = null;
+        }
+    }
+
+    // ==================== 表操作 ====================
+
+    /**
+     * 线性探测查找摘要所在的槽，不存在时返回应插入的空槽
+     */
+    private long findSlot(long[] key) {
+        // 摘要本身均匀分布，取首尾两个 long 混合后作为起始槽
+        long slot = Murmur3.fmix64(key[0] ^ key[3]) & mask;
+        while (true) {
+            MappedByteBuffer segment = segment(slot);
+            int offset = offset(slot);
+            if (segment.getInt(offset + SLOT_SIGHTINGS) == 0
+                    || (segment.getLong(offset + SLOT_DIGEST) == key[0]
+                    && segment.getLong(offset + SLOT_DIGEST + 8) == key[1]
+                    && segment.getLong(offset + SLOT_DIGEST + 16) == key[2]
+                    && segment.getLong(offset + SLOT_DIGEST + 24) == key[3])) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * 写出两倍容量的新文件，逐槽重新插入后原子替换
+     */
+    private void grow() throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".grow");
+        // 上次扩容中途崩溃留下的临时文件
+        Files.deleteIfExists(temp);
+        create(temp, capacity * 2);
+        DeviceRegistry grown = new DeviceRegistry(temp);
+        grown.map(temp);
+        long[] key = new long[4];
+        for (long slot = 0; slot < capacity; slot++) {
+            MappedByteBuffer segment = segment(slot);
+            int offset = offset(slot);
+            if (segment.getInt(offset + SLOT_SIGHTINGS) == 0) {
+                continue;
+            }
+            for (int i = 0; i < 4; i++) {
+                key[i] = segment.getLong(offset + SLOT_DIGEST + i * 8);
+            }
+            long target = grown.findSlot(key);
+            MappedByteBuffer targetSegment = grown.segment(target);
+            int targetOffset = grown.offset(target);
+            for (int i = 0; i < SLOT_BYTES; i += 8) {
+                targetSegment.putLong(targetOffset + i, segment.getLong(offset + i));
+            }
+        }
+        grown.size = size;
+        grown.header.putLong(HEADER_SIZE, size);
+        grown.close();
+
+        channel.close();
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        map(path);
+    }
+
+    // ==================== 文件 ====================
+
+    private static void create(Path file, long slots) throws IOException {
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer head = out.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            head.order(ByteOrder.LITTLE_ENDIAN);
+            head.putLong(HEADER_MAGIC, MAGIC);
+            head.putInt(HEADER_VERSION, VERSION);
+            head.putInt(HEADER_SLOT_BYTES, SLOT_BYTES);
+            head.putLong(HEADER_CAPACITY, slots);
+            head.putLong(HEADER_SIZE, 0);
+            head.force();
+            // 扩展为完整大小，新增部分读出为 0，即全部为空槽
+            out.write(ByteBuffer.allocate(1), HEADER_BYTES + (slots << SLOT_SHIFT) - 1);
+        }
+    }
+
+    private void map(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getLong(HEADER_MAGIC) != MAGIC || header.getInt(HEADER_VERSION) != VERSION
+                || header.getInt(HEADER_SLOT_BYTES) != SLOT_BYTES) {
+            channel.close();
+            throw new IOException("不是设备登记表文件或版本不符: " + file);
+        }
+        capacity = header.getLong(HEADER_CAPACITY);
+        size = header.getLong(HEADER_SIZE);
+        if (Long.bitCount(capacity) != 1 || channel.size() < HEADER_BYTES + (capacity << SLOT_SHIFT)) {
+            channel.close();
+            throw new IOException("设备登记表文件已损坏: " + file);
+        }
+        mask = capacity - 1;
+
+        long segmentSlots = Math.min(capacity, 1L << SEGMENT_SLOT_SHIFT);
+        segments = new MappedByteBuffer[(int) (capacity / segmentSlots)];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = channel.map(FileChannel.MapMode.READ_WRITE,
+                    HEADER_BYTES + ((i * segmentSlots) << SLOT_SHIFT), segmentSlots << SLOT_SHIFT);
+            segments[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    private MappedByteBuffer segment(long slot) {
+        return segments[(int) (slot >>> SEGMENT_SLOT_SHIFT)];
+    }
+
+    private int offset(long slot) {
+        return (int) (slot & ((1L << SEGMENT_SLOT_SHIFT) - 1)) << SLOT_SHIFT;
+    }
+
+    private static long capacityFor(long expectedDevices) {
+        long required = Math.max(MIN_CAPACITY, expectedDevices / 3 * 4 + 1);
+        return Long.highestOneBit(required - 1) << 1;
+    }
+
+    /**
+     * 是否为 64 位十六进制的设备 ID，即 record 能够接受的格式
+     */
+    public static boolean isDigest(@Nullable String hex) {
+        if (hex == null || hex.length() != 64) {
+            return false;
+        }
+        for (int i = 0; i < hex.length(); i++) {
+            if (Character.digit(hex.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 把 64 位十六进制解析为 4 个 long，不分配对象
+     */
+    private static void parseDigest(String hex, long[] out) {
+        if (hex.length() != 64) {
+            throw new IllegalArgumentException("设备 ID 不是 64 位十六进制: " + hex);
+        }
+        for (int i = 0; i < 4; i++) {
+            long value = 0;
+            for (int j = 0; j < 16; j++) {
+                int nibble = Character.digit(hex.charAt(i * 16 + j), 16);
+                if (nibble < 0) {
+                    throw new IllegalArgumentException("设备 ID 不是 64 位十六进制: " + hex);
+                }
+                value = (value << 4) | nibble;
+            }
+            out[i] = value;
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.sheep.sphunter.analyse;
+
+import androidx.annotation.NonNull;
+
+import com.sheep.sphunter.util.Murmur3;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 设备相似度索引（MinHash + LSH）
+ * 设备 ID 是全部因子的 SHA-256，任何一个因子变化（例如 OTA 后内核版本、Build 指纹改变）都会得到无关的 ID；
+ * 本索引按因子集合的 Jaccard 相似度查找"这份快照与哪些已知设备接近"
+ *
+ * - 因子取自分析结果的 deviceFactors（name=value），值为空的因子不参与计算
+ * - 每个因子可以按名称设置权重，权重为 w 的因子按 w 个不同的元素计入集合；
+ *   默认 drm_id 权重为 4，同型号的不同设备共享大部分因子，加权后它们之间的相似度明显低于同一设备的部分变化
+ * - 签名由 bands × rows 个 MinHash 值组成，按 band 分桶；至少一个 band 完全相同的设备才成为候选，
+ *   候选再用完整签名估计相似度。默认 16 × 2，相似度 0.5 的设备成为候选的概率约 99%，0.1 的约 15%
+ * - 每个桶最多检查 bucketScan 个最近加入的设备，热门桶（大量同型号设备）不会拖慢查询，
+ *   单次查询最多比较 bands × bucketScan 个签名，与索引规模无关
+ *
+ * 内存：签名每个值只保留低 16 位，默认每台设备约 400 字节（不含 ID 字符串）；
+ * 签名、链表和 ID 按每页 65536 台设备分页存放，写满后追加新页而不复制已有页，下标也不会随设备数溢出；
+ * 桶表按 3/4 负载扩容，单张表最多 2^30 个槽，因此最多容纳 MAX_DEVICES（约 8 亿）台设备
+ * 非线程安全：add 与 query 之间需要外部同步；构建完成后只做 query 时可以多线程并发
+ */
+public final class DeviceSimilarityIndex {
+    public static final int DEFAULT_BANDS = 16;
+    public static final int DEFAULT_ROWS = 2;
+    public static final int DEFAULT_BUCKET_SCAN = 256;
+    public static final Map<String, Integer> DEFAULT_WEIGHTS = Collections.singletonMap("drm_id", 4);
+
+    /**
+     * 最多容纳的设备数：桶表容量上限 2^30，负载不超过 3/4
+     */
+    public static final int MAX_DEVICES = (1 << 30) / 4 * 3;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MAX_TABLE_CAPACITY = 1 << 30;
+    // 每页的设备数，第一页从 INITIAL_CAPACITY 开始倍增，之后每页直接按整页分配
+    private static final int PAGE_SHIFT = 16;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    // 页内下标 ordinal * hashes 不能溢出 int
+    private static final int MAX_HASHES = Integer.MAX_VALUE / PAGE_SIZE;
+
+    /**
+     * 查询结果
+     */
+    public static final class Match {
+        public final String deviceId;
+        public final double similarity;  // 估计的 Jaccard 相似度 (0-1)
+
+        Match(String deviceId, double similarity) {
+            this.deviceId = deviceId;
+            this.similarity = similarity;
+        }
+
+        @Override
+        public String toString() {
+            return deviceId + " (" + String.format("%.2f", similarity) + ")";
+        }
+    }
+
+    private final int bands;
+    private final int rows;
+    private final int hashes;
+    private final int bucketScan;
+    private final Map<String, Integer> weights;
+    // 第 i 个 MinHash 函数的种子，固定取值，保证同样的因子在任何进程中得到同样的签名
+    private final long[] seeds;
+
+    private int size;
+    // 以下按页存放，设备序号 ordinal 位于第 ordinal >>> PAGE_SHIFT 页的第 ordinal & PAGE_MASK 个位置
+    private String[][] ids = new String[1][];
+    // signatures[page][index * hashes + i]
+    private short[][] signatures = new short[1][];
+    // next[page][index * bands + band]：同一桶中上一个加入的设备序号 + 1，0 表示链尾
+    private int[][] next = new int[1][];
+    // 每个 band 一张开放寻址表：键为 band 内 rows 个值的哈希，值为该桶最近加入的设备序号 + 1，0 表示空槽
+    private int[][] bucketKeys;
+    private int[][] bucketHeads;
+    private int tableMask;
+
+    public DeviceSimilarityIndex() {
+        this(DEFAULT_BANDS, DEFAULT_ROWS, DEFAULT_BUCKET_SCAN, DEFAULT_WEIGHTS);
+    }
+
+    /**
+     * @param bands      band 数，越多召回越高
+     * @param rows       每个 band 的 MinHash 数，越多候选越少
+     * @param bucketScan 每个桶最多检查的设备数
+     * @param weights    因子名称到权重的映射，未列出的因子权重为 1
+     */
+    public DeviceSimilarityIndex(int bands, int rows, int bucketScan, @NonNull Map<String, Integer> weights) {
+        if (bands < 1 || rows < 1 || bucketScan < 1) {
+            throw new IllegalArgumentException("bands、rows、bucketScan 必须大于 0");
+        }
+        if ((long) bands * rows > MAX_HASHES) {
+            throw new IllegalArgumentException("bands × rows 不能超过 " + MAX_HASHES);
+        }
+        this.bands = bands;
+        this.rows = rows;
+        this.hashes = bands * rows;
+        this.bucketScan = bucketScan;
+        this.weights = weights;
+        this.seeds = new long[hashes];
+        for (int i = 0; i < hashes; i++) {
+            seeds[i] = Murmur3.fmix64(0x9E3779B97F4A7C15L * (i + 1));
+        }
+        allocateTables(INITIAL_CAPACITY * 2);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 加入一台设备
+     * 同一 deviceId 重复加入时各自独立保存，查询时可能返回多次
+     *
+     * @param deviceId 设备 ID，查询时原样返回
+     * @param factors  设备因子 (name=value)
+     * @return false 表示因子全部为空，未加入
+     * @throws IllegalStateException 设备数已达到 MAX_DEVICES
+     */
+    public boolean add(@NonNull String deviceId, @NonNull Collection<String> factors) {
+        int[] signature = signature(factors);
+        if (signature == null) {
+            return false;
+        }
+        ensureCapacity(size + 1);
+        int ordinal = size++;
+        int page = ordinal >>> PAGE_SHIFT;
+        int index = ordinal & PAGE_MASK;
+        ids[page][index] = deviceId;
+        short[] pageSignatures = signatures[page];
+        for (int i = 0; i < hashes; i++) {
+            pageSignatures[index * hashes + i] = (short) signature[i];
+        }
+        int[] pageNext = next[page];
+        for (int band = 0; band < bands; band++) {
+            int key = bandKey(signature, band);
+            int[] keys = bucketKeys[band];
+            int[] heads = bucketHeads[band];
+            int slot = findSlot(keys, heads, key);
+            if (heads[slot] == 0) {
+                keys[slot] = key;
+            }
+            pageNext[index * bands + band] = heads[slot];
+            heads[slot] = ordinal + 1;
+        }
+        return true;
+    }
+
+    /**
+     * 查找与给定因子相似的已知设备
+     *
+     * @param factors       设备因子 (name=value)
+     * @param minSimilarity 最低相似度 (0-1)
+     * @param limit         最多返回的条数
+     * @return 按相似度从高到低排列
+     */
+    @NonNull
+    public List<Match> query(@NonNull Collection<String> factors, double minSimilarity, int limit) {
+        int[] signature = signature(factors);
+        if (signature == null || size == 0 || limit < 1) {
+            return Collections.emptyList();
+        }
+
+        // 1. 收集候选：至少一个 band 相同
+        int[] candidates = new int[bands * bucketScan];
+        int count = 0;
+        for (int band = 0; band < bands; band++) {
+            int[] keys = bucketKeys[band];
+            int[] heads = bucketHeads[band];
+            int slot = findSlot(keys, heads, bandKey(signature, band));
+            int entry = heads[slot];
+            for (int scanned = 0; entry != 0 && scanned < bucketScan; scanned++) {
+                int ordinal = entry - 1;
+                candidates[count++] = ordinal;
+                entry = next[ordinal >>> PAGE_SHIFT][(ordinal & PAGE_MASK) * bands + band];
+            }
+        }
+
+        // 2. 去重后用完整签名估计相似度
+        Arrays.sort(candidates, 0, count);
+        short[] probe = new short[hashes];
+        for (int i = 0; i < hashes; i++) {
+            probe[i] = (short) signature[i];
+        }
+        List<Match> matches = new ArrayList<>();
+        for (int c = 0; c < count; c++) {
+            int ordinal = candidates[c];
+            if (c > 0 && candidates[c - 1] == ordinal) {
+                continue;
+            }
+            int equal = 0;
+            short[] pageSignatures = signatures[ordinal >>> PAGE_SHIFT];
+            int base = (ordinal & PAGE_MASK) * hashes;
+            for (int i = 0; i < hashes; i++) {
+                if (pageSignatures[base + i] == probe[i]) {
+                    equal++;
+                }
+            }
+            double similarity = (double) equal / hashes;
+            if (similarity >= minSimilarity) {
+                matches.add(new Match(ids[ordinal >>> PAGE_SHIFT][ordinal & PAGE_MASK], similarity));
+            }
+        }
+        matches.sort((a, b) -> Double.compare(b.similarity, a.similarity));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    // ==================== 签名 ====================
+
+    /**
+     * 计算 MinHash 签名，因子全部为空时返回 null
+     */
+    private int[] signature(Collection<String> factors) {
+        int[] signature = new int[hashes];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        long[] hash = new long[2];
+        boolean any = false;
+        for (String factor : factors) {
+            int eq = factor.indexOf('=');
+            if (eq < 0 || eq == factor.length() - 1) {
+                continue;
+            }
+            any = true;
+            Integer weight = weights.get(factor.substring(0, eq));
+            int copies = weight != null ? Math.max(1, weight) : 1;
+            Murmur3.hash128(factor, 0, factor.length(), 0, hash);
+            for (int copy = 0; copy < copies; copy++) {
+                // 加权因子的各个副本是集合中不同的元素
+                long element = hash[0] + copy * hash[1];
+                for (int i = 0; i < hashes; i++) {
+                    int value = (int) (Murmur3.fmix64(element ^ seeds[i]) >>> 33);
+                    if (value < signature[i]) {
+                        signature[i] = value;
+                    }
+                }
+            }
+        }
+        return any ? signature : null;
+    }
+
+    private int bandKey(int[] signature, int band) {
+        long key = band;
+        for (int r = 0; r < rows; r++) {
+            key = key * 0x100000001B3L + signature[band * rows + r];
+        }
+        return (int) Murmur3.fmix64(key);
+    }
+
+    // ==================== 存储 ====================
+
+    private int findSlot(int[] keys, int[] heads, int key) {
+        int slot = key & tableMask;
+        while (heads[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & tableMask;
+        }
+        return slot;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > MAX_DEVICES) {
+            throw new IllegalStateException("相似度索引已达到容量上限 " + MAX_DEVICES + " 台设备");
+        }
+        int ordinal = required - 1;
+        int page = ordinal >>> PAGE_SHIFT;
+        if (page >= ids.length) {
+            int pages = Math.max(page + 1, ids.length * 2);
+            ids = Arrays.copyOf(ids, pages);
+            signatures = Arrays.copyOf(signatures, pages);
+            next = Arrays.copyOf(next, pages);
+        }
+        int used = (ordinal & PAGE_MASK) + 1;
+        if (ids[page] == null || ids[page].length < used) {
+            // 第一页倍增，小索引不必一次分配整页；之后的页直接分配整页
+            int capacity = ids[page] == null ? (page == 0 ? INITIAL_CAPACITY : PAGE_SIZE) : ids[page].length * 2;
+            ids[page] = ids[page] == null ? new String[capacity] : Arrays.copyOf(ids[page], capacity);
+            signatures[page] = signatures[page] == null
+                    ? new short[capacity * hashes] : Arrays.copyOf(signatures[page], capacity * hashes);
+            next[page] = next[page] == null ? new int[capacity * bands] : Arrays.copyOf(next[page], capacity * bands);
+        }
+        // 每张表的占用不超过设备数，设备数超过表容量的 3/4 时扩容
+        if (required > (tableMask + 1) / 4 * 3 && tableMask + 1 < MAX_TABLE_CAPACITY) {
+            int[][] oldKeys = bucketKeys;
+            int[][] oldHeads = bucketHeads;
+            allocateTables((tableMask + 1) * 2);
+            for (int band = 0; band < bands; band++) {
+                int[] keys = bucketKeys[band];
+                int[] heads = bucketHeads[band];
+                for (int slot = 0; slot < oldHeads[band].length; slot++) {
+                    if (oldHeads[band][slot] != 0) {
+                        int target = findSlot(keys, heads, oldKeys[band][slot]);
+                        keys[target] = oldKeys[band][slot];
+                        heads[target] = oldHeads[band][slot];
+                    }
+                }
+            }
+        }
+    }
+
+    private void allocateTables(int capacity) {
+        bucketKeys = new int[bands][capacity];
+        bucketHeads = new int[bands][capacity];
+        tableMask = capacity - 1;
+    }
+}
@@ -0,0 +1,167 @@
+package com.sheep.sphunter.analyse;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.sheep.sphunter.util.BloomFilter;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 已知黑名单指纹的预筛选（模拟器农场、滥用集群等）
+ * 每类因子一个布隆过滤器，分析器对每份快照只做几次内存内查询；命中只表示"可能在黑名单中"，
+ * 写入分析结果的 blocklistCandidates，由后端对这些因子再做精确查询，未命中的因子一定不在黑名单中
+ *
+ * 分析器使用 {@link #install} 安装的实例，默认为空，不产生任何候选
+ * 文件格式：魔数、版本、过滤器个数，然后每个过滤器依次为类别名 (writeUTF) 和 {@link BloomFilter} 数据
+ */
+public final class FingerprintBlocklist {
+
+    /**
+     * 因子类别，tag 用于文件格式和分析结果
+     */
+    public enum Kind {
+        DEVICE_ID("device_id"),                    // HunterAnalysis 设备 ID
+        NATIVE_DEVICE_ID("native_device_id"),      // NativeHunterAnalysis 设备 ID
+        MOUNTS_HASH("mounts_hash"),                // native_probes.mounts_hash
+        CPU_STRUCTURE_HASH("cpu_structure_hash"),  // native_probes.cpu_structure.cpu_structure_hash
+        VBMETA_DIGEST("vbmeta_digest");            // security_states.vbmeta_digest
+
+        public final String tag;
+
+        Kind(String tag) {
+            this.tag = tag;
+        }
+
+        /**
+         * @return 未知类别返回 null
+         */
+        @Nullable
+        public static Kind fromTag(@NonNull String tag) {
+            for (Kind kind : values()) {
+                if (kind.tag.equals(tag)) {
+                    return kind;
+                }
+            }
+            return null;
+        }
+    }
+
+    public static final FingerprintBlocklist EMPTY = new FingerprintBlocklist(new EnumMap<>(Kind.class));
+
+    private static final int MAGIC = 0x5350424c;  // "SPBL"
+    private static final int VERSION = 1;
+
+    private static volatile FingerprintBlocklist installed = EMPTY;
+
+    private final EnumMap<Kind, BloomFilter> filters;
+
+    private FingerprintBlocklist(EnumMap<Kind, BloomFilter> filters) {
+        this.filters = filters;
+    }
+
+    /**
+     * 安装分析器使用的黑名单
+     *
+     * @param blocklist 黑名单，null 时恢复为空
+     */
+    public static void install(@Nullable FingerprintBlocklist blocklist) {
+        installed = blocklist != null ? blocklist : EMPTY;
+    }
+
+    @NonNull
+    public static FingerprintBlocklist installed() {
+        return installed;
+    }
+
+    /**
+     * 由黑名单构建，每类按实际条数和同一目标假阳性率确定过滤器大小
+     *
+     * @param blocklists        每类因子的黑名单值，空白值忽略
+     * @param falsePositiveRate 目标假阳性率
+     */
+    @NonNull
+    public static FingerprintBlocklist build(@NonNull Map<Kind, ? extends Collection<String>> blocklists,
+                                             double falsePositiveRate) {
+        EnumMap<Kind, BloomFilter> filters = new EnumMap<>(Kind.class);
+        for (Map.Entry<Kind, ? extends Collection<String>> entry : blocklists.entrySet()) {
+            Collection<String> values = entry.getValue();
+            if (values.isEmpty()) {
+                continue;
+            }
+            BloomFilter filter = BloomFilter.create(values.size(), falsePositiveRate);
+            for (String value : values) {
+                String trimmed = value.trim();
+                if (!trimmed.isEmpty()) {
+                    filter.put(trimmed);
+                }
+            }
+            filters.put(entry.getKey(), filter);
+        }
+        return new FingerprintBlocklist(filters);
+    }
+
+    public boolean isEmpty() {
+        return filters.isEmpty();
+    }
+
+    /**
+     * @return false 表示一定不在黑名单中；空值和没有黑名单的类别总是 false
+     */
+    public boolean mightContain(@NonNull Kind kind, @Nullable String value) {
+        if (value == null || value.isEmpty()) {
+            return false;
+        }
+        BloomFilter filter = filters.get(kind);
+        return filter != null && filter.mightContain(value);
+    }
+
+    /**
+     * @return 各类别的过滤器，只读
+     */
+    @NonNull
+    public Map<Kind, BloomFilter> filters() {
+        return Collections.unmodifiableMap(filters);
+    }
+
+    // ==================== 序列化 ====================
+
+    public void writeTo(@NonNull DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(filters.size());
+        for (Map.Entry<Kind, BloomFilter> entry : filters.entrySet()) {
+            out.writeUTF(entry.getKey().tag);
+            entry.getValue().writeTo(out);
+        }
+    }
+
+    /**
+     * 读取 writeTo 写出的黑名单
+     *
+     * @throws IOException 读取失败、格式不符或包含未知类别
+     */
+    @NonNull
+    public static FingerprintBlocklist readFrom(@NonNull DataInput in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("不是指纹黑名单数据或版本不符");
+        }
+        int count = in.readInt();
+        EnumMap<Kind, BloomFilter> filters = new EnumMap<>(Kind.class);
+        for (int i = 0; i < count; i++) {
+            String tag = in.readUTF();
+            Kind kind = Kind.fromTag(tag);
+            if (kind == null) {
+                throw new IOException("未知的黑名单类别: " + tag);
+            }
+            filters.put(kind, BloomFilter.readFrom(in));
+        }
+        return new FingerprintBlocklist(filters);
+    }
+}
@@ -0,0 +1,162 @@
+package com.sheep.sphunter.analyse;
+
+import com.sheep.sphunter.analyse.RiskRule.Condition;
+import com.sheep.sphunter.util.FactorDigest;
+import com.sheep.sphunter.util.JsonPath;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class HunterAnalysis {
+
+    public static class Result {
+        public String deviceId;
+        public long deviceHash;  // 设备 ID 因子的 64 位快速哈希，只用于内存索引
+        public String riskReport;
+        public boolean isEmulator;
+        public boolean isDebugMode;
+        public List<String> riskTags = Collections.emptyList();  // 命中的风险规则标签
+        public List<String> deviceFactors = Collections.emptyList();  // 设备 ID 的因子 (name=value)，见 DeviceSimilarityIndex
+        public List<String> blocklistCandidates = Collections.emptyList();  // 可能在黑名单中的因子，需精确复核，见 FingerprintBlocklist
+    }
+
+    // 预编译的字段路径，中间层级缺失时取默认值
+    private static final JsonPath DRM_ID = JsonPath.of("identity", "drm_device_id");
+    private static final JsonPath GPU_RENDERER = JsonPath.of("hardware", "gpu", "renderer");
+    private static final JsonPath RAM_TOTAL_GB = JsonPath.of("hardware", "memory", "ram", "total_gb");
+    private static final JsonPath ROM_TOTAL_GB = JsonPath.of("hardware", "memory", "internal_storage", "total_gb");
+    private static final JsonPath SENSORS = JsonPath.of("sensors");
+    private static final JsonPath SENSOR_COUNT = JsonPath.of("sensors", "sensor_count");
+    private static final JsonPath SENSOR_LIST = JsonPath.of("sensors", "sensor_list");
+    private static final JsonPath USB_CONFIG = JsonPath.of("system", "build_properties", "usb", "sys.usb.config");
+    private static final JsonPath BATTERY_PLUGGED = JsonPath.of("hardware", "battery", "plugged");
+    private static final JsonPath FLASH_LOCKED = JsonPath.of("system", "build_properties", "security", "ro.boot.flash.locked");
+
+    /**
+     * 风险规则，报告按此顺序输出
+     */
+    private static final RiskRulePlan RISK_PLAN = RiskRulePlan.compile(Arrays.asList(
+            // --- A. 调试检测 ---
+            RiskRule.rule(RiskRule.Category.DEBUG, "debug.usb_adb")
+                    .when(Condition.field(USB_CONFIG).containsAny("adb"))
+                    .when(Condition.field(BATTERY_PLUGGED).equalsIgnoreCase("USB"))
+                    .weight(1)
+                    .message("[高危] 检测到 USB 调试模式已开启且连接电脑\n")
+                    .build(),
+
+            // --- B. 模拟器检测 ---
+            RiskRule.rule(RiskRule.Category.EMULATOR, "emulator.gpu_renderer")
+                    .when(Condition.field(GPU_RENDERER).containsAny("Goldfish", "llvmpipe", "Ranchu"))
+                    .weight(1)
+                    .message("[高危] GPU 渲染器显示为模拟器特征: {value}\n")
+                    .build(),
+            // 检查 Sensor 数量 (模拟器通常很少)
+            RiskRule.rule(RiskRule.Category.EMULATOR, "emulator.sensor_count")
+                    .when(Condition.field(SENSOR_COUNT, SENSOR_LIST).orElse(0).atMost(4))
+                    .weight(1)
+                    .message("[疑点] 传感器数量过少 ({value}), 疑似模拟器\n")
+                    .build(),
+
+            // --- C. Root/解锁检测 ---
+            RiskRule.rule(RiskRule.Category.ROOT, "root.flash_unlocked")
+                    .when(Condition.field(FLASH_LOCKED).orElse("1").notEqualsTo("1"))
+                    .weight(1)
+                    .message("[中危] Bootloader 未锁定，可能已 Root\n")
+                    .build()
+    ));
+
+    /**
+     * 核心方法：传入清洗后的 JSON 字符串，返回分析结果
+     * 已持有清洗结果对象时使用 {@link #analyze(JSONObject)}，省去一次序列化和解析
+     */
+    public static Result analyze(String jsonString) {
+        try {
+            return analyze(new JSONObject(jsonString));
+        } catch (Exception e) {
+            e.printStackTrace();
+            Result result = new Result();
+            result.riskReport = "分析失败: " + e.getMessage();
+            return result;
+        }
+    }
+
+    /**
+     * 核心方法：传入清洗后的指纹数据对象，返回分析结果
+     */
+    public static Result analyze(JSONObject data) {
+        Result result = new Result();
+
+        try {
+            // ==========================================
+            // 1. 生成唯一设备 ID (Stable Device ID)
+            // ==========================================
+            String drmId = DRM_ID.optString(data, "");
+            String gpuRenderer = GPU_RENDERER.optString(data, "");
+
+            // 内存和存储取整 (防止系统小更新导致小数位变化)
+            double ramGb = RAM_TOTAL_GB.optDouble(data, 0);
+            double romGb = ROM_TOTAL_GB.optDouble(data, 0);
+            int ramInt = (int) Math.round(ramGb);
+            int romInt = (int) Math.round(romGb);
+
+            // 传感器列表哈希 (防止篡改)，清洗阶段已预先计算排序后名称的摘要
+            JSONObject sensorsObj = SENSORS.optObject(data);
+            JSONArray sensors = sensorsObj != null ? sensorsObj.optJSONArray("sensor_list") : null;
+            int sensorCount = sensorsObj != null
+                    ? sensorsObj.optInt("sensor_count", sensors != null ? sensors.length() : 0) : 0;
+            String sensorDigest = sensorsObj != null ? sensorsObj.optString("sensor_names_digest", "") : "";
+            if (sensorDigest.isEmpty()) {
+                // 旧数据没有摘要时回退为自行排序计算
+                List<String> sensorNames = new ArrayList<>();
+                if (sensors != null) {
+                    for (int i = 0; i < sensors.length(); i++) {
+                        sensorNames.add(sensors.optJSONObject(i).optString("name"));
+                    }
+                }
+                Collections.sort(sensorNames); // 排序保证顺序一致
+                sensorDigest = FactorDigest.begin().addList(sensorNames).sha256Hex();
+            }
+
+            // 指纹因子按 drmId|gpu|ram|rom|sensors 直接送入 SHA-256
+            FactorDigest digest = FactorDigest.begin()
+                    .add(drmId).add(gpuRenderer).add(ramInt).add(romInt).add(sensorDigest);
+            result.deviceHash = digest.fastHash();
+            result.deviceId = digest.sha256Hex();
+            result.deviceFactors = Arrays.asList(
+                    "drm_id=" + drmId,
+                    "gpu_renderer=" + gpuRenderer,
+                    "ram_gb=" + ramInt,
+                    "rom_gb=" + romInt,
+                    "sensors=" + sensorDigest);
+            if (FingerprintBlocklist.installed().mightContain(FingerprintBlocklist.Kind.DEVICE_ID, result.deviceId)) {
+                result.blocklistCandidates = Collections.singletonList(FingerprintBlocklist.Kind.DEVICE_ID.tag);
+            }
+
+            // ==========================================
+            // 2. 风险环境检测 (Risk Detection)
+            // ==========================================
+
+            RiskRulePlan.Evaluation evaluation = RISK_PLAN.evaluate(data);
+            result.isDebugMode = evaluation.isFlagged(RiskRule.Category.DEBUG);
+            result.isEmulator = evaluation.isFlagged(RiskRule.Category.EMULATOR);
+            result.riskTags = evaluation.getFiredTags();
+            String riskLog = evaluation.getReport();
+
+            if (riskLog.isEmpty()) {
+                result.riskReport = "✅ 设备环境安全";
+            } else {
+                result.riskReport = "⚠️ 发现风险:\n" + riskLog;
+            }
+
+        } catch (Exception e) {
+            e.printStackTrace();
+            result.riskReport = "分析失败: " + e.getMessage();
+        }
+
+        return result;
+    }
+}
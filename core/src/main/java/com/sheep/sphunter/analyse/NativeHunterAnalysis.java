@@ -0,0 +1,337 @@
+package com.sheep.sphunter.analyse;
+
+import com.sheep.sphunter.analyse.RiskRule.Condition;
+import com.sheep.sphunter.util.FactorDigest;
+import com.sheep.sphunter.util.JsonPath;
+
+import org.json.JSONObject;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Native 层指纹分析器
+ * 负责分析清洗后的 Native 层指纹数据，生成设备唯一标识和风险报告
+ */
+public class NativeHunterAnalysis {
+
+    public static class Result {
+        public String nativeDeviceId;        // Native 层设备唯一标识
+        public long nativeDeviceHash;        // 设备 ID 因子的 64 位快速哈希，只用于内存索引
+        public String riskReport;            // 风险分析报告
+        public boolean isEmulator;           // 是否为模拟器
+        public boolean isRooted;             // 是否已 Root
+        public boolean isDebugMode;          // 是否处于调试模式
+        public boolean hasZygiskInjection;   // 是否检测到 Zygisk 注入
+        public int riskScore;                // 风险评分 (0-100)
+        public List<String> riskTags = Collections.emptyList();  // 命中的风险规则标签
+        public List<String> deviceFactors = Collections.emptyList();  // 设备 ID 的因子 (name=value)，见 DeviceSimilarityIndex
+        public List<String> blocklistCandidates = Collections.emptyList();  // 可能在黑名单中的因子，需精确复核，见 FingerprintBlocklist
+    }
+
+    // 预编译的字段路径，中间层级缺失时取默认值
+    private static final JsonPath DRM_ID = JsonPath.of("device_identity", "drm_device_id");
+    private static final JsonPath CPU_STRUCTURE_HASH = JsonPath.of("native_probes", "cpu_structure", "cpu_structure_hash");
+    private static final JsonPath TOTAL_RAM_MB = JsonPath.of("native_probes", "memory_structure", "total_ram_mb");
+    private static final JsonPath KERNEL_RELEASE = JsonPath.of("kernel_props", "uname_release");
+    private static final JsonPath CPU_ABI = JsonPath.of("device_identity", "cpu_abi");
+    private static final JsonPath BUILD_FINGERPRINT = JsonPath.of("device_identity", "fingerprint_string");
+    private static final JsonPath VBMETA_DIGEST = JsonPath.of("security_states", "vbmeta_digest");
+    private static final JsonPath MOUNTS_HASH = JsonPath.of("native_probes", "mounts_hash");
+
+    // 规则引用的字段
+    private static final JsonPath NATIVE_PROBES = JsonPath.of("native_probes");
+    private static final JsonPath KERNEL_PROPS = JsonPath.of("kernel_props");
+    private static final JsonPath DEVICE_IDENTITY = JsonPath.of("device_identity");
+    private static final JsonPath CPU_HARDWARE = JsonPath.of("native_probes", "cpu_structure", "hardware");
+    private static final JsonPath CPU_PARTS = JsonPath.of("native_probes", "cpu_structure", "cpu_parts");
+    private static final JsonPath BUILD_TAGS = JsonPath.of("device_identity", "build_tags");
+    private static final JsonPath BUILD_HOST = JsonPath.of("device_identity", "build_host");
+    private static final JsonPath RISK_TAGS = JsonPath.of("risk_tags");
+
+    // 注入相关的风险标签关键字
+    private static final String[] INJECTION_TAGS = {"ZYGISK", "MAGISK", "SUSPICIOUS_LIB"};
+
+    // 各类别命中时的评分
+    private static final int EMULATOR_WEIGHT = 40;  // 模拟器高危
+    private static final int ROOT_WEIGHT = 30;      // Root 中危
+    private static final int DEBUG_WEIGHT = 20;     // 调试模式中危
+    private static final int ZYGISK_WEIGHT = 50;    // Zygisk 注入高危
+    private static final int OTHER_WEIGHT = 10;
+
+    /**
+     * 风险规则，报告按此顺序输出
+     */
+    private static final RiskRulePlan RISK_PLAN = RiskRulePlan.compile(buildRules());
+
+    private static List<RiskRule> buildRules() {
+        List<RiskRule> rules = new ArrayList<>();
+
+        // --- A. 模拟器检测 (Emulator Detection) ---
+        // 1. CPU 特征：模拟器常见 Hardware 特征
+        rules.add(emulatorRule("emulator.cpu_hardware")
+                .when(Condition.field(CPU_HARDWARE).containsAnyIgnoreCase("goldfish", "ranchu", "vbox", "virtual"))
+                .message("[高危] CPU Hardware 显示为模拟器特征: {value}\n")
+                .build());
+        // CPU parts 数量异常（模拟器通常只有 1-2 个核心）
+        rules.add(emulatorRule("emulator.cpu_parts")
+                .when(Condition.field(CPU_PARTS).atMost(1))
+                .message("[疑点] CPU parts 数量异常 ({value}), 疑似模拟器\n")
+                .build());
+        // 2. 内核版本检测（模拟器通常使用旧内核或特殊内核）
+        rules.add(emulatorRule("emulator.kernel_release")
+                .when(Condition.field(KERNEL_RELEASE).containsAny("-generic", "ranchu"))
+                .message("[疑点] 内核版本包含模拟器特征: {value}\n")
+                .build());
+        // 3. Build 标签检测
+        rules.add(emulatorRule("emulator.test_keys")
+                .when(Condition.field(BUILD_TAGS).containsAny("test-keys"))
+                .message("[疑点] Build 使用 test-keys 签名，疑似模拟器或定制 ROM\n")
+                .build());
+        // 4. 文件访问模式检测（模拟器某些系统文件可能不存在）
+        rules.add(emulatorRule("emulator.missing_files")
+                .when(Condition.countOf("NOT_FOUND",
+                        fileAccess("/proc/cpuinfo"),
+                        fileAccess("/proc/meminfo"),
+                        fileAccess("/sys/devices/system/cpu/possible")).atLeast(2))
+                .message("[疑点] 多个关键系统文件不存在 ({value}), 疑似模拟器\n")
+                .build());
+        // 5. Build Host 检测（模拟器通常有特定的构建主机名），只作补充说明
+        rules.add(emulatorRule("emulator.build_host")
+                .when(Condition.field(BUILD_HOST).containsAnyIgnoreCase("ubuntu", "localhost", "android-build"))
+                .weight(0)
+                .message("[低危] Build Host 显示为常见模拟器构建环境: {value}\n")
+                .build());
+
+        // --- B. Root/解锁检测 (Root Detection) ---
+        rules.add(securityRule(RiskRule.Category.ROOT, ROOT_WEIGHT, "bootloader_locked")
+                .when(Condition.field(securityState("bootloader_locked")).equalsIgnoreCase("false"))
+                .message("[高危] Bootloader 未锁定，设备可能已 Root\n")
+                .build());
+        rules.add(securityRule(RiskRule.Category.ROOT, ROOT_WEIGHT, "vb_state")
+                .when(Condition.field(securityState("vb_state")).notEqualsTo(""))
+                .when(Condition.field(securityState("vb_state")).notEqualsIgnoreCase("green"))
+                .message("[高危] Verified Boot 状态异常: {value} (正常应为 green)\n")
+                .build());
+        rules.add(securityRule(RiskRule.Category.ROOT, ROOT_WEIGHT, "vbmeta_device_state")
+                .when(Condition.field(securityState("vbmeta_device_state")).equalsIgnoreCase("unlocked"))
+                .message("[高危] VBMeta Device State 为 unlocked，设备已解锁\n")
+                .build());
+        rules.add(securityRule(RiskRule.Category.ROOT, ROOT_WEIGHT, "ro_secure")
+                .when(Condition.field(securityState("ro_secure")).equalsIgnoreCase("false"))
+                .message("[中危] ro.secure = 0，系统安全模式已关闭\n")
+                .build());
+        rules.add(securityRule(RiskRule.Category.ROOT, ROOT_WEIGHT, "selinux_enforcing")
+                .when(Condition.field(securityState("selinux_enforcing")).equalsIgnoreCase("false"))
+                .message("[中危] SELinux 未处于强制模式，可能已被篡改\n")
+                .build());
+        rules.add(securityRule(RiskRule.Category.ROOT, 0, "oem_unlock_allowed")
+                .when(Condition.field(securityState("oem_unlock_allowed")).equalsIgnoreCase("true"))
+                .message("[低危] OEM 解锁已允许，设备可能即将被解锁\n")
+                .build());
+
+        // --- C. 调试模式检测 (Debug Detection) ---
+        rules.add(securityRule(RiskRule.Category.DEBUG, DEBUG_WEIGHT, "adb_enabled")
+                .when(Condition.field(securityState("adb_enabled")).equalsIgnoreCase("true"))
+                .message("[高危] USB 调试模式已开启 (ADB Enabled)\n")
+                .build());
+        rules.add(securityRule(RiskRule.Category.DEBUG, DEBUG_WEIGHT, "debuggable")
+                .when(Condition.field(securityState("debuggable")).equalsIgnoreCase("true"))
+                .message("[高危] 系统可调试 (ro.debuggable = 1)，这是非正式版本\n")
+                .build());
+        rules.add(securityRule(RiskRule.Category.DEBUG, DEBUG_WEIGHT, "adbd_service_status")
+                .when(Condition.field(securityState("adbd_service_status")).equalsIgnoreCase("running"))
+                .message("[中危] ADBD 服务正在运行\n")
+                .build());
+        rules.add(securityRule(RiskRule.Category.DEBUG, 0, "usb_state")
+                .when(Condition.field(securityState("usb_state")).containsAny("adb"))
+                .message("[中危] USB 状态包含 ADB: {value}\n")
+                .build());
+
+        // --- D. Zygisk 注入检测 (Zygisk Injection) ---
+        rules.add(RiskRule.rule(RiskRule.Category.ZYGISK, "zygisk.risk_tag")
+                .when(Condition.field(RISK_TAGS).eachElement().containsAny(INJECTION_TAGS))
+                .weight(ZYGISK_WEIGHT)
+                .message("[高危] 检测到可疑注入: {value}\n")
+                .build());
+        // 能访问 Magisk/Zygisk 相关路径
+        for (String path : new String[]{"/sbin/.magisk", "/system/xbin/su", "/system/bin/su"}) {
+            rules.add(RiskRule.rule(RiskRule.Category.ZYGISK, "zygisk.file:" + path)
+                    .when(Condition.field(fileAccess(path)).equalsTo("OK"))
+                    .weight(ZYGISK_WEIGHT)
+                    .message("[高危] 检测到可疑文件: " + path + "\n")
+                    .build());
+        }
+
+        // --- E. 其他风险标签 ---
+        rules.add(RiskRule.rule(RiskRule.Category.OTHER, "other.risk_tag")
+                .when(Condition.field(RISK_TAGS).eachElement().containsNone(INJECTION_TAGS))
+                .weight(OTHER_WEIGHT)
+                .message("[提示] 风险标签: {value}\n")
+                .build());
+
+        return rules;
+    }
+
+    /**
+     * 模拟器规则只在三个基础分区都存在时求值
+     */
+    private static RiskRule.Builder emulatorRule(String tag) {
+        return RiskRule.rule(RiskRule.Category.EMULATOR, tag)
+                .requires(NATIVE_PROBES, KERNEL_PROPS, DEVICE_IDENTITY)
+                .weight(EMULATOR_WEIGHT);
+    }
+
+    private static RiskRule.Builder securityRule(RiskRule.Category category, int weight, String key) {
+        return RiskRule.rule(category, category.name().toLowerCase(Locale.ROOT) + "." + key)
+                .weight(weight);
+    }
+
+    private static JsonPath securityState(String key) {
+        return JsonPath.of("security_states", key);
+    }
+
+    private static JsonPath fileAccess(String path) {
+        return JsonPath.of("native_probes", "file_access_map", path);
+    }
+
+    /**
+     * 核心分析方法：传入清洗后的 Native 层 JSON 字符串，返回分析结果
+     * 已持有清洗结果对象时使用 {@link #analyze(JSONObject)}，省去一次序列化和解析
+     */
+    public static Result analyze(String jsonString) {
+        try {
+            return analyze(new JSONObject(jsonString));
+        } catch (Exception e) {
+            e.printStackTrace();
+            Result result = new Result();
+            result.riskReport = "Native 层分析失败: " + e.getMessage();
+            result.riskScore = -1;
+            return result;
+        }
+    }
+
+    /**
+     * 核心分析方法：传入清洗后的 Native 层数据对象，返回分析结果
+     */
+    public static Result analyze(JSONObject data) {
+        Result result = new Result();
+
+        try {
+            // ==========================================
+            // 1. 生成 Native 层唯一设备 ID
+            // ==========================================
+            result.nativeDeviceId = generateNativeDeviceId(data, result);
+            result.blocklistCandidates = blocklistCandidates(data, result.nativeDeviceId);
+
+            // ==========================================
+            // 2. 风险环境检测 (Risk Detection)
+            // ==========================================
+            RiskRulePlan.Evaluation evaluation = RISK_PLAN.evaluate(data);
+            result.isEmulator = evaluation.isFlagged(RiskRule.Category.EMULATOR);
+            result.isRooted = evaluation.isFlagged(RiskRule.Category.ROOT);
+            result.isDebugMode = evaluation.isFlagged(RiskRule.Category.DEBUG);
+            result.hasZygiskInjection = evaluation.isFlagged(RiskRule.Category.ZYGISK);
+            result.riskTags = evaluation.getFiredTags();
+            String riskLog = evaluation.getReport();
+
+            // 限制风险评分在 0-100 之间
+            result.riskScore = Math.min(100, evaluation.getScore());
+
+            // 生成最终报告
+            if (riskLog.isEmpty()) {
+                result.riskReport = "✅ Native 层环境安全 (风险评分: " + result.riskScore + "/100)";
+            } else {
+                result.riskReport = "⚠️ Native 层发现风险 (风险评分: " + result.riskScore + "/100):\n" + riskLog;
+            }
+
+        } catch (Exception e) {
+            e.printStackTrace();
+            result.riskReport = "Native 层分析失败: " + e.getMessage();
+            result.riskScore = -1;
+        }
+
+        return result;
+    }
+
+    /**
+     * 生成 Native 层设备唯一标识，同时把各因子写入 result.deviceFactors
+     */
+    private static String generateNativeDeviceId(JSONObject data, Result result) {
+        try {
+            // 1. DRM Device ID (最稳定的硬件标识)
+            String drmId = DRM_ID.optString(data, "");
+
+            // 2. CPU 结构哈希 (硬件特征)
+            String cpuStructureHash = CPU_STRUCTURE_HASH.optString(data, "");
+
+            // 3. 内存信息 (取整防止小波动)
+            int totalRamMb = (int) Math.round(TOTAL_RAM_MB.optDouble(data, 0) / 100.0) * 100;
+
+            // 4. 内核版本 (系统特征)
+            String kernelRelease = KERNEL_RELEASE.optString(data, "");
+
+            // 5. CPU 架构
+            String cpuAbi = CPU_ABI.optString(data, "");
+
+            // 6. Build Fingerprint (厂商定制信息)
+            String buildFingerprint = BUILD_FINGERPRINT.optString(data, "");
+
+            // 7. VBMeta Digest (设备启动验证摘要，每台设备唯一)
+            String vbmetaDigest = VBMETA_DIGEST.optString(data, "");
+
+            result.deviceFactors = Arrays.asList(
+                "drm_id=" + drmId,
+                "cpu_structure_hash=" + cpuStructureHash,
+                "total_ram_mb=" + totalRamMb,
+                "kernel_release=" + kernelRelease,
+                "cpu_abi=" + cpuAbi,
+                "build_fingerprint=" + buildFingerprint,
+                "vbmeta_digest=" + vbmetaDigest
+            );
+
+            // 指纹因子按 drm|cpu|ram|kernel|abi|fingerprint|vbmeta 直接送入 SHA-256
+            FactorDigest digest = FactorDigest.begin()
+                .add(drmId)
+                .add(cpuStructureHash)
+                .add(totalRamMb)
+                .add(kernelRelease)
+                .add(cpuAbi)
+                .add(buildFingerprint)
+                .add(vbmetaDigest);
+            result.nativeDeviceHash = digest.fastHash();
+            return digest.sha256Hex();
+
+        } catch (Exception e) {
+            e.printStackTrace();
+            return "";
+        }
+    }
+
+    /**
+     * 用已安装的黑名单预筛选设备 ID 和三个硬件/启动摘要，返回可能命中的因子类别
+     */
+    private static List<String> blocklistCandidates(JSONObject data, String nativeDeviceId) {
+        FingerprintBlocklist blocklist = FingerprintBlocklist.installed();
+        if (blocklist.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> candidates = new ArrayList<>();
+        checkBlocklist(blocklist, FingerprintBlocklist.Kind.NATIVE_DEVICE_ID, nativeDeviceId, candidates);
+        checkBlocklist(blocklist, FingerprintBlocklist.Kind.MOUNTS_HASH, MOUNTS_HASH.optString(data, ""), candidates);
+        checkBlocklist(blocklist, FingerprintBlocklist.Kind.CPU_STRUCTURE_HASH,
+                CPU_STRUCTURE_HASH.optString(data, ""), candidates);
+        checkBlocklist(blocklist, FingerprintBlocklist.Kind.VBMETA_DIGEST, VBMETA_DIGEST.optString(data, ""), candidates);
+        return candidates.isEmpty() ? Collections.emptyList() : candidates;
+    }
+
+    private static void checkBlocklist(FingerprintBlocklist blocklist, FingerprintBlocklist.Kind kind, String value,
+                                       List<String> candidates) {
+        if (blocklist.mightContain(kind, value)) {
+            candidates.add(kind.tag);
+        }
+    }
+}
+
@@ -0,0 +1,312 @@
+package com.sheep.sphunter.analyse;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.sheep.sphunter.util.JsonPath;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 声明式风险规则
+ * 一条规则由若干条件（全部成立时命中）、所属类别、权重、标签和报告文本组成，
+ * 本身只是数据，由 {@link RiskRulePlan#compile(List)} 编译后求值
+ *
+ * 同一类别中命中规则的最大权重即该类别的得分，权重大于 0 的规则命中时该类别判定为成立；
+ * 权重为 0 的规则只作为补充说明，不影响判定和评分，并且只在同类别已判定成立时输出到报告
+ */
+public final class RiskRule {
+
+    /**
+     * 规则类别
+     */
+    public enum Category {
+        EMULATOR,
+        ROOT,
+        DEBUG,
+        ZYGISK,
+        OTHER
+    }
+
+    private final String tag;
+    private final Category category;
+    private final List<Condition> conditions;
+    private final List<JsonPath> requires;
+    private final int weight;
+    private final String message;
+
+    private RiskRule(Builder builder) {
+        this.tag = builder.tag;
+        this.category = builder.category;
+        this.conditions = Collections.unmodifiableList(new ArrayList<>(builder.conditions));
+        this.requires = Collections.unmodifiableList(new ArrayList<>(builder.requires));
+        this.weight = builder.weight;
+        this.message = builder.message;
+    }
+
+    /**
+     * 开始定义一条规则
+     *
+     * @param category 类别
+     * @param tag      规则标签，命中时出现在 {@link RiskRulePlan.Evaluation#getFiredTags()} 中
+     */
+    @NonNull
+    public static Builder rule(@NonNull Category category, @NonNull String tag) {
+        return new Builder(category, tag);
+    }
+
+    @NonNull
+    public String getTag() {
+        return tag;
+    }
+
+    @NonNull
+    public Category getCategory() {
+        return category;
+    }
+
+    @NonNull
+    public List<Condition> getConditions() {
+        return conditions;
+    }
+
+    /**
+     * @return 求值前必须存在的字段，任一缺失时规则不参与求值
+     */
+    @NonNull
+    public List<JsonPath> getRequires() {
+        return requires;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * @return 报告文本，"{value}" 替换为第一个条件取到的值
+     */
+    @NonNull
+    public String getMessage() {
+        return message;
+    }
+
+    public static final class Builder {
+        private final Category category;
+        private final String tag;
+        private final List<Condition> conditions = new ArrayList<>();
+        private final List<JsonPath> requires = new ArrayList<>();
+        private int weight;
+        private String message = "";
+
+        private Builder(Category category, String tag) {
+            this.category = category;
+            this.tag = tag;
+        }
+
+        /**
+         * 追加一个条件，多个条件之间为"与"关系
+         */
+        @NonNull
+        public Builder when(@NonNull Condition condition) {
+            conditions.add(condition);
+            return this;
+        }
+
+        @NonNull
+        public Builder requires(@NonNull JsonPath... paths) {
+            Collections.addAll(requires, paths);
+            return this;
+        }
+
+        @NonNull
+        public Builder weight(int weight) {
+            this.weight = weight;
+            return this;
+        }
+
+        @NonNull
+        public Builder message(@NonNull String message) {
+            this.message = message;
+            return this;
+        }
+
+        @NonNull
+        public RiskRule build() {
+            if (conditions.isEmpty()) {
+                throw new IllegalArgumentException("规则没有条件: " + tag);
+            }
+            return new RiskRule(this);
+        }
+    }
+
+    /**
+     * 规则条件：取值来源 + 运算符
+     */
+    public static final class Condition {
+
+        public enum Operator {
+            EQUALS,
+            NOT_EQUALS,
+            CONTAINS_ANY,
+            NOT_CONTAINS_ANY,
+            REGEX,
+            RANGE
+        }
+
+        final JsonPath[] paths;
+        // 非 null 时取值为 paths 中取值等于该字符串的个数
+        final String countOf;
+        final boolean eachElement;
+        final Object defaultValue;
+        final Operator operator;
+        final String[] operands;
+        final boolean ignoreCase;
+        final double min;
+        final double max;
+
+        private Condition(Source source, Operator operator, String[] operands, boolean ignoreCase,
+                          double min, double max) {
+            this.paths = source.paths;
+            this.countOf = source.countOf;
+            this.eachElement = source.eachElement;
+            this.defaultValue = source.defaultValue;
+            this.operator = operator;
+            this.operands = operands;
+            this.ignoreCase = ignoreCase;
+            this.min = min;
+            this.max = max;
+        }
+
+        /**
+         * 取第一个存在的字段的值
+         *
+         * @param paths 字段路径，按顺序回退
+         */
+        @NonNull
+        public static Source field(@NonNull JsonPath... paths) {
+            return new Source(paths, null);
+        }
+
+        /**
+         * 取值为各字段中取值等于 expected 的个数
+         */
+        @NonNull
+        public static Source countOf(@NonNull String expected, @NonNull JsonPath... paths) {
+            return new Source(paths, expected);
+        }
+
+        @NonNull
+        public Operator getOperator() {
+            return operator;
+        }
+    }
+
+    /**
+     * 条件的取值来源
+     * 字符串运算符按字段值的字符串形式比较；RANGE 按数值比较，数组取其长度
+     */
+    public static final class Source {
+        final JsonPath[] paths;
+        final String countOf;
+        boolean eachElement;
+        Object defaultValue;
+
+        private Source(JsonPath[] paths, String countOf) {
+            if (paths.length == 0) {
+                throw new IllegalArgumentException("条件没有字段");
+            }
+            this.paths = paths.clone();
+            this.countOf = countOf;
+        }
+
+        /**
+         * 字段为数组时对每个元素分别求值，每个命中的元素各输出一条报告
+         */
+        @NonNull
+        public Source eachElement() {
+            this.eachElement = true;
+            return this;
+        }
+
+        /**
+         * 字段都不存在时使用的值
+         */
+        @NonNull
+        public Source orElse(@Nullable Object value) {
+            this.defaultValue = value;
+            return this;
+        }
+
+        @NonNull
+        public Condition equalsTo(@NonNull String value) {
+            return new Condition(this, Condition.Operator.EQUALS, new String[]{value}, false, 0, 0);
+        }
+
+        @NonNull
+        public Condition equalsIgnoreCase(@NonNull String value) {
+            return new Condition(this, Condition.Operator.EQUALS, new String[]{value}, true, 0, 0);
+        }
+
+        /**
+         * 字段存在，并且不等于 value
+         */
+        @NonNull
+        public Condition notEqualsTo(@NonNull String value) {
+            return new Condition(this, Condition.Operator.NOT_EQUALS, new String[]{value}, false, 0, 0);
+        }
+
+        /**
+         * 字段存在，并且忽略大小写后不等于 value
+         */
+        @NonNull
+        public Condition notEqualsIgnoreCase(@NonNull String value) {
+            return new Condition(this, Condition.Operator.NOT_EQUALS, new String[]{value}, true, 0, 0);
+        }
+
+        @NonNull
+        public Condition containsAny(@NonNull String... keywords) {
+            return new Condition(this, Condition.Operator.CONTAINS_ANY, keywords.clone(), false, 0, 0);
+        }
+
+        @NonNull
+        public Condition containsAnyIgnoreCase(@NonNull String... keywords) {
+            return new Condition(this, Condition.Operator.CONTAINS_ANY, keywords.clone(), true, 0, 0);
+        }
+
+        /**
+         * 字段存在，并且不包含任何一个关键字
+         */
+        @NonNull
+        public Condition containsNone(@NonNull String... keywords) {
+            return new Condition(this, Condition.Operator.NOT_CONTAINS_ANY, keywords.clone(), false, 0, 0);
+        }
+
+        /**
+         * 字段存在，并且包含与正则匹配的子串
+         */
+        @NonNull
+        public Condition matches(@NonNull String regex) {
+            return new Condition(this, Condition.Operator.REGEX, new String[]{regex}, false, 0, 0);
+        }
+
+        /**
+         * 字段存在，并且数值（数组取长度）在 [min, max] 之间
+         */
+        @NonNull
+        public Condition inRange(double min, double max) {
+            return new Condition(this, Condition.Operator.RANGE, new String[0], false, min, max);
+        }
+
+        @NonNull
+        public Condition atMost(double max) {
+            return inRange(Double.NEGATIVE_INFINITY, max);
+        }
+
+        @NonNull
+        public Condition atLeast(double min) {
+            return inRange(min, Double.POSITIVE_INFINITY);
+        }
+    }
+}
@@ -0,0 +1,511 @@
+package com.sheep.sphunter.analyse;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.sheep.sphunter.util.JsonPath;
+import com.sheep.sphunter.util.KeywordAutomaton;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 风险规则的求值计划
+ * 编译时：
+ * 1. 所有规则引用的字段合并为一棵路径树，求值时每个字段只查找一次，公共前缀只走一遍
+ * 2. 同一字段上所有 contains 条件的关键字合并为一个 Aho-Corasick 自动机，
+ *    每个字段值只扫描一次，各条件只检查自己关键字的位图
+ * 3. 正则和报告模板预先编译
+ * 规则数量增长时，求值开销主要随字段数量增长，而不是随规则数量增长
+ *
+ * 编译结果不可变，可以在多个线程之间共享
+ */
+public final class RiskRulePlan {
+    private static final String VALUE_PLACEHOLDER = "{value}";
+
+    private final PathNode root = new PathNode(null);
+    private int slotCount;
+    private final List<KeywordGroup> groups = new ArrayList<>();
+    private final CompiledRule[] rules;
+
+    private RiskRulePlan(List<RiskRule> source) {
+        Map<String, KeywordGroup> groupIndex = new LinkedHashMap<>();
+        Map<String, List<String>> groupKeywords = new LinkedHashMap<>();
+        List<CompiledRule> compiled = new ArrayList<>(source.size());
+        for (RiskRule rule : source) {
+            compiled.add(new CompiledRule(rule, groupIndex, groupKeywords));
+        }
+        // 所有规则登记完关键字后再构建自动机
+        for (Map.Entry<String, KeywordGroup> entry : groupIndex.entrySet()) {
+            entry.getValue().build(groupKeywords.get(entry.getKey()));
+        }
+        this.rules = compiled.toArray(new CompiledRule[0]);
+    }
+
+    /**
+     * 编译规则
+     *
+     * @param rules 规则列表，报告按列表顺序输出
+     * @throws IllegalArgumentException 规则定义无效（例如正则无法编译）
+     */
+    @NonNull
+    public static RiskRulePlan compile(@NonNull List<RiskRule> rules) {
+        return new RiskRulePlan(rules);
+    }
+
+    /**
+     * @return 规则数量
+     */
+    public int size() {
+        return rules.length;
+    }
+
+    /**
+     * 对清洗后的数据求值
+     *
+     * @param data 清洗后的数据对象
+     * @return 求值结果
+     */
+    @NonNull
+    public Evaluation evaluate(@Nullable JSONObject data) {
+        Object[] values = new Object[slotCount];
+        if (data != null) {
+            resolve(root, data, values);
+        }
+        Evaluation evaluation = new Evaluation(values, groups.size());
+        for (CompiledRule rule : rules) {
+            rule.evaluate(evaluation);
+        }
+        return evaluation;
+    }
+
+    /**
+     * 沿路径树取出所有字段的值
+     */
+    private static void resolve(PathNode node, JSONObject object, Object[] values) {
+        for (PathNode child : node.children.values()) {
+            Object value = object.opt(child.name);
+            if (value == null || value == JSONObject.NULL) {
+                continue;
+            }
+            if (child.slot >= 0) {
+                values[child.slot] = value;
+            }
+            if (!child.children.isEmpty() && value instanceof JSONObject) {
+                resolve(child, (JSONObject) value, values);
+            }
+        }
+    }
+
+    /**
+     * 字段路径对应的取值槽位，相同路径共用一个槽位
+     */
+    private int slot(JsonPath path) {
+        PathNode node = root;
+        for (int i = 0; i < path.depth(); i++) {
+            String name = path.segment(i);
+            PathNode child = node.children.get(name);
+            if (child == null) {
+                child = new PathNode(name);
+                node.children.put(name, child);
+            }
+            node = child;
+        }
+        if (node.slot < 0) {
+            node.slot = slotCount++;
+        }
+        return node.slot;
+    }
+
+    // ==================== 求值结果 ====================
+
+    /**
+     * 一次求值的结果
+     */
+    public static final class Evaluation {
+        private final Object[] values;
+        // 关键字扫描结果，按字段值懒计算，同一字段上的多个条件共用
+        private final long[][] scalarMasks;
+        private final long[][][] elementMasks;
+        private final List<Finding> findings = new ArrayList<>();
+        private final int[] categoryWeights = new int[RiskRule.Category.values().length];
+
+        private Evaluation(Object[] values, int groupCount) {
+            this.values = values;
+            this.scalarMasks = new long[groupCount][];
+            this.elementMasks = new long[groupCount][][];
+        }
+
+        /**
+         * @return 按规则顺序拼接的报告文本，没有命中时为空字符串
+         * 权重为 0 的规则只在同类别已判定成立时输出
+         */
+        @NonNull
+        public String getReport() {
+            StringBuilder report = new StringBuilder();
+            for (Finding finding : findings) {
+                if (finding.weight > 0 || categoryWeights[finding.category] > 0) {
+                    report.append(finding.text);
+                }
+            }
+            return report.toString();
+        }
+
+        /**
+         * @return 该类别中是否有权重大于 0 的规则命中
+         */
+        public boolean isFlagged(@NonNull RiskRule.Category category) {
+            return categoryWeights[category.ordinal()] > 0;
+        }
+
+        /**
+         * @return 该类别命中规则的最大权重
+         */
+        public int getCategoryScore(@NonNull RiskRule.Category category) {
+            return categoryWeights[category.ordinal()];
+        }
+
+        /**
+         * @return 各类别得分之和
+         */
+        public int getScore() {
+            int score = 0;
+            for (int weight : categoryWeights) {
+                score += weight;
+            }
+            return score;
+        }
+
+        /**
+         * @return 命中的规则标签，按规则顺序去重；与报告一致，不包含未输出的权重为 0 的规则
+         */
+        @NonNull
+        public List<String> getFiredTags() {
+            List<String> tags = new ArrayList<>();
+            for (Finding finding : findings) {
+                if ((finding.weight > 0 || categoryWeights[finding.category] > 0) && !tags.contains(finding.tag)) {
+                    tags.add(finding.tag);
+                }
+            }
+            return Collections.unmodifiableList(tags);
+        }
+    }
+
+    /**
+     * 一条规则的一次命中
+     */
+    private static final class Finding {
+        final String tag;
+        final int category;
+        final int weight;
+        final String text;
+
+        Finding(String tag, int category, int weight, String text) {
+            this.tag = tag;
+            this.category = category;
+            this.weight = weight;
+            this.text = text;
+        }
+    }
+
+    // ==================== 编译结果 ====================
+
+    private static final class PathNode {
+        final String name;
+        final Map<String, PathNode> children = new LinkedHashMap<>();
+        int slot = -1;
+
+        PathNode(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * 同一取值来源、同一大小写模式的关键字集合
+     */
+    private static final class KeywordGroup {
+        final int index;
+        final boolean ignoreCase;
+        KeywordAutomaton automaton;
+
+        KeywordGroup(int index, boolean ignoreCase) {
+            this.index = index;
+            this.ignoreCase = ignoreCase;
+        }
+
+        void build(List<String> keywords) {
+            automaton = new KeywordAutomaton(keywords, ignoreCase);
+        }
+
+        long[] scalarMask(Evaluation evaluation, String text) {
+            long[] mask = evaluation.scalarMasks[index];
+            if (mask == null) {
+                mask = new long[automaton.maskLength()];
+                automaton.match(text, mask);
+                evaluation.scalarMasks[index] = mask;
+            }
+            return mask;
+        }
+
+        long[] elementMask(Evaluation evaluation, JSONArray array, int element) {
+            long[][] masks = evaluation.elementMasks[index];
+            if (masks == null) {
+                masks = new long[array.length()][];
+                evaluation.elementMasks[index] = masks;
+            }
+            if (masks[element] == null) {
+                masks[element] = new long[automaton.maskLength()];
+                automaton.match(elementText(array, element), masks[element]);
+            }
+            return masks[element];
+        }
+    }
+
+    private final class CompiledRule {
+        final String tag;
+        final int category;
+        final int weight;
+        final int[] requires;
+        final CompiledCondition[] conditions;
+        final String[] messageParts;
+
+        CompiledRule(RiskRule rule, Map<String, KeywordGroup> groupIndex, Map<String, List<String>> groupKeywords) {
+            this.tag = rule.getTag();
+            this.category = rule.getCategory().ordinal();
+            this.weight = rule.getWeight();
+            this.requires = new int[rule.getRequires().size()];
+            for (int i = 0; i < requires.length; i++) {
+                requires[i] = slot(rule.getRequires().get(i));
+            }
+            List<RiskRule.Condition> source = rule.getConditions();
+            this.conditions = new CompiledCondition[source.size()];
+            for (int i = 0; i < conditions.length; i++) {
+                conditions[i] = new CompiledCondition(source.get(i), groupIndex, groupKeywords);
+            }
+            if (conditions[0].eachElement && conditions.length > 1) {
+                throw new IllegalArgumentException("逐元素求值的规则只能有一个条件: " + tag);
+            }
+            this.messageParts = rule.getMessage().split(Pattern.quote(VALUE_PLACEHOLDER), -1);
+        }
+
+        void evaluate(Evaluation evaluation) {
+            for (int slot : requires) {
+                if (evaluation.values[slot] == null) {
+                    return;
+                }
+            }
+
+            CompiledCondition first = conditions[0];
+            if (first.eachElement) {
+                Object value = first.value(evaluation);
+                if (!(value instanceof JSONArray)) {
+                    return;
+                }
+                JSONArray array = (JSONArray) value;
+                for (int i = 0; i < array.length(); i++) {
+                    int index = i;
+                    String element = elementText(array, index);
+                    if (first.test(evaluation, element, element,
+                            () -> first.group.elementMask(evaluation, array, index))) {
+                        fire(evaluation, element);
+                    }
+                }
+                return;
+            }
+
+            String display = null;
+            for (int i = 0; i < conditions.length; i++) {
+                CompiledCondition condition = conditions[i];
+                Object value = condition.value(evaluation);
+                if (value == null) {
+                    return;
+                }
+                String text = text(value);
+                if (!condition.test(evaluation, value, text,
+                        () -> condition.group.scalarMask(evaluation, text))) {
+                    return;
+                }
+                if (i == 0) {
+                    display = value instanceof JSONArray ? String.valueOf(((JSONArray) value).length()) : text;
+                }
+            }
+            fire(evaluation, display);
+        }
+
+        private void fire(Evaluation evaluation, String value) {
+            String text = messageParts[0];
+            if (messageParts.length > 1) {
+                StringBuilder message = new StringBuilder(messageParts[0]);
+                for (int i = 1; i < messageParts.length; i++) {
+                    message.append(value).append(messageParts[i]);
+                }
+                text = message.toString();
+            }
+            evaluation.findings.add(new Finding(tag, category, weight, text));
+            if (weight > evaluation.categoryWeights[category]) {
+                evaluation.categoryWeights[category] = weight;
+            }
+        }
+    }
+
+    private interface MaskSupplier {
+        long[] get();
+    }
+
+    private final class CompiledCondition {
+        final int[] slots;
+        final String countOf;
+        final boolean eachElement;
+        final Object defaultValue;
+        final RiskRule.Condition.Operator operator;
+        final String operand;
+        final boolean ignoreCase;
+        final double min;
+        final double max;
+        final Pattern pattern;
+        final KeywordGroup group;
+        final long[] keywordMask;
+
+        CompiledCondition(RiskRule.Condition condition, Map<String, KeywordGroup> groupIndex,
+                          Map<String, List<String>> groupKeywords) {
+            this.slots = new int[condition.paths.length];
+            for (int i = 0; i < slots.length; i++) {
+                slots[i] = slot(condition.paths[i]);
+            }
+            this.countOf = condition.countOf;
+            this.eachElement = condition.eachElement;
+            this.defaultValue = condition.defaultValue;
+            this.operator = condition.operator;
+            this.operand = condition.operands.length > 0 ? condition.operands[0] : null;
+            this.ignoreCase = condition.ignoreCase;
+            this.min = condition.min;
+            this.max = condition.max;
+            this.pattern = operator == RiskRule.Condition.Operator.REGEX ? Pattern.compile(operand) : null;
+
+            if (operator == RiskRule.Condition.Operator.CONTAINS_ANY
+                    || operator == RiskRule.Condition.Operator.NOT_CONTAINS_ANY) {
+                // 同一取值来源、同一大小写模式的关键字进入同一个自动机
+                String key = Arrays.toString(slots) + (countOf != null ? "#" + countOf : "") + (ignoreCase ? "/i" : "");
+                KeywordGroup keywordGroup = groupIndex.get(key);
+                if (keywordGroup == null) {
+                    keywordGroup = new KeywordGroup(groups.size(), ignoreCase);
+                    groups.add(keywordGroup);
+                    groupIndex.put(key, keywordGroup);
+                    groupKeywords.put(key, new ArrayList<>());
+                }
+                List<String> keywords = groupKeywords.get(key);
+                List<Integer> ids = new ArrayList<>();
+                for (String keyword : condition.operands) {
+                    int id = keywords.indexOf(keyword);
+                    if (id < 0) {
+                        id = keywords.size();
+                        keywords.add(keyword);
+                    }
+                    ids.add(id);
+                }
+                this.group = keywordGroup;
+                this.keywordMask = new long[(keywords.size() + 63) >>> 6];
+                for (int id : ids) {
+                    keywordMask[id >>> 6] |= 1L << id;
+                }
+            } else {
+                this.group = null;
+                this.keywordMask = null;
+            }
+        }
+
+        /**
+         * @return 条件的取值，字段都不存在且没有默认值时返回 null
+         */
+        Object value(Evaluation evaluation) {
+            if (countOf != null) {
+                int count = 0;
+                for (int slot : slots) {
+                    Object value = evaluation.values[slot];
+                    if (value != null && countOf.equals(text(value))) {
+                        count++;
+                    }
+                }
+                return count;
+            }
+            for (int slot : slots) {
+                Object value = evaluation.values[slot];
+                if (value != null) {
+                    return value;
+                }
+            }
+            return defaultValue;
+        }
+
+        boolean test(Evaluation evaluation, Object value, String text, MaskSupplier mask) {
+            switch (operator) {
+                case EQUALS:
+                    return ignoreCase ? text.equalsIgnoreCase(operand) : text.equals(operand);
+                case NOT_EQUALS:
+                    return !(ignoreCase ? text.equalsIgnoreCase(operand) : text.equals(operand));
+                case CONTAINS_ANY:
+                    return intersects(mask.get(), keywordMask);
+                case NOT_CONTAINS_ANY:
+                    return !intersects(mask.get(), keywordMask);
+                case REGEX:
+                    return pattern.matcher(text).find();
+                case RANGE:
+                    double number = number(value);
+                    return number >= min && number <= max;
+                default:
+                    return false;
+            }
+        }
+    }
+
+    // ==================== 取值工具 ====================
+
+    /**
+     * 字段值的字符串形式，与 optString 一致
+     */
+    private static String text(Object value) {
+        return value instanceof String ? (String) value : String.valueOf(value);
+    }
+
+    private static String elementText(JSONArray array, int index) {
+        Object value = array.opt(index);
+        return value == null || value == JSONObject.NULL ? "" : text(value);
+    }
+
+    /**
+     * 字段值的数值形式：数字取其值，数组取长度，字符串尝试解析，其余为 NaN
+     */
+    private static double number(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        if (value instanceof JSONArray) {
+            return ((JSONArray) value).length();
+        }
+        if (value instanceof String) {
+            try {
+                return Double.parseDouble(((String) value).trim());
+            } catch (NumberFormatException e) {
+                return Double.NaN;
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static boolean intersects(long[] found, long[] wanted) {
+        for (int w = 0; w < wanted.length && w < found.length; w++) {
+            if ((found[w] & wanted[w]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
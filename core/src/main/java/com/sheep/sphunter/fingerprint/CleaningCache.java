@@ -0,0 +1,122 @@
+package com.sheep.sphunter.fingerprint;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 增量清洗缓存
+ * 保存上一次清洗的中间结果，按键和来源标记（原始 section 的哈希或来源对象）判断是否可以复用；
+ * 周期采集时大多数 section 与上次完全相同，只有发生变化的部分需要重新解析和清洗
+ *
+ * 一个周期采集任务持有一个实例，跨多次清洗复用。
+ * 同一时间只有一次清洗使用缓存：另一次清洗仍在进行时，后开始的清洗不使用缓存、全部重新计算，
+ * 不会淘汰对方刚写入的条目，也不会清零对方的统计
+ * 复用的值会同时出现在多次清洗结果中，调用方不能修改清洗结果中的 JSONObject
+ */
+public final class CleaningCache {
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // 是否有清洗正在使用缓存
+    private final AtomicBoolean running = new AtomicBoolean();
+    // 每次清洗递增，清洗结束时移除本次未使用的条目
+    private volatile int generation;
+    private volatile int hits;
+    private volatile int misses;
+
+    /**
+     * 开始一次清洗，不阻塞
+     *
+     * @return false 表示另一次清洗正在使用缓存，本次清洗不能使用缓存，也不能调用 endRun
+     */
+    boolean beginRun() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        generation++;
+        hits = 0;
+        misses = 0;
+        return true;
+    }
+
+    /**
+     * 结束一次清洗，移除本次没有用到的条目，缓存大小随原始数据的 section 数量有界
+     * 只能由 beginRun 返回 true 的清洗调用
+     */
+    void endRun() {
+        int current = generation;
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().generation != current) {
+                iterator.remove();
+            }
+        }
+        running.set(false);
+    }
+
+    /**
+     * 取出可复用的值
+     *
+     * @param key    条目键
+     * @param source 来源对象（例如原始文本），按 equals 比较，不需要时传 null
+     * @param hash1  来源标记低 64 位
+     * @param hash2  来源标记高 64 位
+     * @return 来源未变化时返回上次的值，否则返回 null
+     */
+    @Nullable
+    Object get(@NonNull String key, @Nullable Object source, long hash1, long hash2) {
+        Entry entry = entries.get(key);
+        if (entry == null || entry.hash1 != hash1 || entry.hash2 != hash2
+                || !Objects.equals(entry.source, source)) {
+            misses++;
+            return null;
+        }
+        entry.generation = generation;
+        hits++;
+        return entry.value;
+    }
+
+    void put(@NonNull String key, @Nullable Object source, long hash1, long hash2, @NonNull Object value) {
+        entries.put(key, new Entry(source, hash1, hash2, value, generation));
+    }
+
+    /**
+     * @return 本次清洗复用的条目数（并行清洗时为近似值）
+     */
+    public int getHits() {
+        return hits;
+    }
+
+    /**
+     * @return 本次清洗重新计算的条目数（并行清洗时为近似值）
+     */
+    public int getMisses() {
+        return misses;
+    }
+
+    /**
+     * 清空缓存，下次清洗全部重新计算；不要在清洗进行中调用
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    private static final class Entry {
+        final Object source;
+        final long hash1;
+        final long hash2;
+        final Object value;
+        volatile int generation;
+
+        Entry(Object source, long hash1, long hash2, Object value, int generation) {
+            this.source = source;
+            this.hash1 = hash1;
+            this.hash2 = hash2;
+            this.value = value;
+            this.generation = generation;
+        }
+    }
+}
@@ -0,0 +1,1027 @@
+package com.sheep.sphunter.fingerprint;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.sheep.sphunter.model.BatteryRecord;
+import com.sheep.sphunter.model.BuildPartitionTable;
+import com.sheep.sphunter.model.BuildPropertiesRecord;
+import com.sheep.sphunter.model.FingerprintResult;
+import com.sheep.sphunter.model.GpuRecord;
+import com.sheep.sphunter.model.MemoryRecord;
+import com.sheep.sphunter.model.Outcome;
+import com.sheep.sphunter.model.SensorRecord;
+import com.sheep.sphunter.model.SettingsRecord;
+
+import com.sheep.sphunter.util.CoreLog;
+import com.sheep.sphunter.util.FactorDigest;
+import com.sheep.sphunter.util.JsonSink;
+import com.sheep.sphunter.util.JsonStreamWriter;
+import com.sheep.sphunter.util.JsonTreeBuilder;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 指纹数据清洗器
+ * 负责对采集的指纹信息进行去噪、归一化和结构化处理
+ */
+public class FingerprintDataCleaner {
+    private static final String TAG = "FingerprintDataCleaner";
+    private static final String DRM_ID_PREFIX = "MediaDrm Device Unique ID:";
+
+    /**
+     * 清洗并结构化指纹数据（顺序执行）
+     * @param rawResult 原始指纹结果
+     * @return 清洗后的结构化 JSON 数据
+     */
+    @NonNull
+    public static JSONObject cleanFingerprint(@NonNull FingerprintResult rawResult) {
+        return cleanFingerprint(rawResult, false);
+    }
+
+    /**
+     * 清洗并结构化指纹数据
+     * 各分段互不依赖，parallel 为 true 且 Native 数据达到阈值时在 fork/join 池中并行清洗，
+     * 结果按固定顺序合并，与顺序执行的输出完全一致
+     * @param rawResult 原始指纹结果
+     * @param parallel 是否允许并行清洗
+     * @return 清洗后的结构化 JSON 数据
+     */
+    @NonNull
+    public static JSONObject cleanFingerprint(@NonNull FingerprintResult rawResult, boolean parallel) {
+        return cleanFingerprint(rawResult, parallel, null);
+    }
+
+    /**
+     * 清洗并结构化指纹数据，Native 部分增量清洗
+     * Java 层各分段直接由结构化记录生成，开销很小，每次都重新生成；
+     * Native 原始数据按 section 哈希复用上次的解析和清洗结果
+     * @param rawResult 原始指纹结果
+     * @param parallel 是否允许并行清洗
+     * @param cache 上一次清洗的缓存，为 null 时全部重新计算
+     * @return 清洗后的结构化 JSON 数据（复用的子对象与上次结果共享，不能修改）
+     */
+    @NonNull
+    public static JSONObject cleanFingerprint(@NonNull FingerprintResult rawResult, boolean parallel,
+                                              @Nullable CleaningCache cache) {
+        try {
+            String nativeInfo = rawResult.getNativeBuildInfo();
+            boolean hasNative = nativeInfo != null && !nativeInfo.trim().isEmpty();
+            // Native 清洗是最重的分段，以其数据量决定是否值得并行
+            SectionRunner runner = SectionRunner.create(parallel, hasNative ? nativeInfo.length() : 0);
+            
+            // 每个分段使用自己的字段状态，合并时保持原有的字段顺序
+            FieldStatus identityStatus = new FieldStatus();
+            FieldStatus hardwareStatus = new FieldStatus();
+            FieldStatus systemStatus = new FieldStatus();
+            FieldStatus mediaStatus = new FieldStatus();
+            FieldStatus sensorsStatus = new FieldStatus();
+            FieldStatus accountStatus = new FieldStatus();
+            
+            // 各分段与流式输出共用同一套写入逻辑，这里写入 JSONObject 树
+            SectionRunner.Result<JSONObject> nativeSection = hasNative
+                    ? runner.submit(() -> NativeFileDataCleaner.cleanNativeFingerprint(nativeInfo, parallel, cache))
+                    : null;
+            SectionRunner.Result<JSONObject> identity = runner.submit(() -> JsonTreeBuilder.buildObject(
+                    sink -> writeIdentitySection(rawResult, identityStatus, sink)));
+            SectionRunner.Result<JSONObject> hardware = runner.submit(() -> JsonTreeBuilder.buildObject(
+                    sink -> writeHardwareSection(rawResult, hardwareStatus, sink)));
+            SectionRunner.Result<JSONObject> system = runner.submit(() -> JsonTreeBuilder.buildObject(
+                    sink -> writeSystemSection(rawResult, systemStatus, sink)));
+            SectionRunner.Result<JSONObject> media = runner.submit(() -> JsonTreeBuilder.buildObject(
+                    sink -> writeMediaSection(rawResult, mediaStatus, sink)));
+            SectionRunner.Result<JSONObject> sensors = runner.submit(() -> JsonTreeBuilder.buildObject(
+                    sink -> writeSensorsSection(rawResult, sensorsStatus, sink)));
+            SectionRunner.Result<JSONObject> account = runner.submit(() -> JsonTreeBuilder.buildObject(
+                    sink -> writeAccountSection(rawResult, accountStatus, sink)));
+            
+            JSONObject cleaned = new JSONObject();
+            cleaned.put("identity", identity.get());
+            cleaned.put("hardware", hardware.get());
+            cleaned.put("system", system.get());
+            cleaned.put("media", media.get());
+            cleaned.put("sensors", sensors.get());
+            cleaned.put("account", account.get());
+            
+            // 7. Collection - 各字段采集状态，以及采集计划跳过的字段及原因
+            FieldStatus status = new FieldStatus();
+            status.merge(identityStatus);
+            status.merge(hardwareStatus);
+            status.merge(systemStatus);
+            status.merge(mediaStatus);
+            status.merge(sensorsStatus);
+            status.merge(accountStatus);
+            cleaned.put("collection", JsonTreeBuilder.buildObject(
+                    sink -> writeCollectionSection(rawResult, status, sink)));
+            
+            // 8. Native - Native 层指纹信息（清洗后的结构化数据）
+            if (nativeSection != null) {
+                JSONObject nativeFingerprint = nativeSection.get();
+                if (nativeFingerprint.length() > 0) {
+                    cleaned.put("native", nativeFingerprint);
+                }
+            }
+            
+            return cleaned;
+            
+        } catch (JSONException e) {
+            CoreLog.e(TAG, "清洗指纹数据失败", e);
+            return new JSONObject();
+        }
+    }
+
+    /**
+     * 清洗指纹数据并直接写入流式输出，不构建 JSONObject 树（顺序执行，不使用增量缓存）
+     * 输出与 cleanFingerprint(rawResult).toString() 内容等价（Android 上逐字节一致，JVM 上键顺序可能不同）；
+     * 写入途中失败时已写入的部分无法撤回，调用方应丢弃输出
+     * @param rawResult 原始指纹结果
+     * @param sink 输出目标，写入一个完整的根对象
+     */
+    public static void writeFingerprint(@NonNull FingerprintResult rawResult, @NonNull JsonSink sink)
+            throws JSONException {
+        // 顺序写入时所有分段共用一个字段状态，字段顺序与合并后的结果相同
+        FieldStatus status = new FieldStatus();
+        sink.beginObject(null);
+        
+        sink.beginObject("identity");
+        writeIdentitySection(rawResult, status, sink);
+        sink.endObject();
+        
+        sink.beginObject("hardware");
+        writeHardwareSection(rawResult, status, sink);
+        sink.endObject();
+        
+        sink.beginObject("system");
+        writeSystemSection(rawResult, status, sink);
+        sink.endObject();
+        
+        sink.beginObject("media");
+        writeMediaSection(rawResult, status, sink);
+        sink.endObject();
+        
+        sink.beginObject("sensors");
+        writeSensorsSection(rawResult, status, sink);
+        sink.endObject();
+        
+        sink.beginObject("account");
+        writeAccountSection(rawResult, status, sink);
+        sink.endObject();
+        
+        sink.beginObject("collection");
+        writeCollectionSection(rawResult, status, sink);
+        sink.endObject();
+        
+        String nativeInfo = rawResult.getNativeBuildInfo();
+        if (nativeInfo != null && !nativeInfo.trim().isEmpty()) {
+            sink.beginObject("native");
+            NativeFileDataCleaner.writeNativeSections(nativeInfo, sink);
+            sink.endObject();
+        }
+        
+        sink.endObject();
+    }
+
+    /**
+     * 清洗指纹数据并以 JSON 文本写入 out（例如 StringBuilder 或包装 OutputStream 的 Writer）
+     * @param rawResult 原始指纹结果
+     * @param out 输出目标
+     * @param indent 缩进空格数，0 表示紧凑格式
+     * @throws IOException 写入 out 失败，或清洗失败（cause 为 JSONException）
+     */
+    public static void writeFingerprint(@NonNull FingerprintResult rawResult, @NonNull Appendable out,
+                                        int indent) throws IOException {
+        try {
+            writeFingerprint(rawResult, new JsonStreamWriter(out, indent));
+        } catch (JSONException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("清洗指纹数据失败", e);
+        }
+    }
+
+    /**
+     * 清洗指纹数据并格式化为易读的 JSON 文本，不构建 JSONObject 树
+     * 输出与 formatCleanedData(cleanFingerprint(rawResult)) 内容等价（Android 上逐字节一致，JVM 上键顺序可能不同）
+     * @param rawResult 原始指纹结果
+     * @return 格式化的字符串，清洗失败时返回 "{}"
+     */
+    @NonNull
+    public static String formatFingerprint(@NonNull FingerprintResult rawResult) {
+        StringBuilder out = new StringBuilder(8192);
+        try {
+            writeFingerprint(rawResult, new JsonStreamWriter(out, 2)); // 缩进2个空格
+            return out.toString();
+        } catch (JSONException e) {
+            CoreLog.e(TAG, "清洗指纹数据失败", e);
+            return "{}";
+        }
+    }
+
+    /**
+     * 1. Identity - 身份标识信息
+     */
+    private static void writeIdentitySection(FingerprintResult rawResult, FieldStatus status,
+                                             JsonSink sink) throws JSONException {
+        sink.put("android_id", text(status, "identity.android_id", rawResult.getAndroidIdOutcome()));
+        sink.put("serial_number", text(status, "identity.serial_number", rawResult.getSerialNumberOutcome()));
+        sink.put("bluetooth_address", text(status, "identity.bluetooth_address", rawResult.getBluetoothAddressOutcome()));
+        // 提取 DRM ID（最重要的设备标识符，刷机后不变）
+        String drmInfo = text(status, "media.drm_info", rawResult.getDrmInfoOutcome());
+        sink.put("drm_device_id", extractDrmDeviceId(drmInfo));
+    }
+
+    /**
+     * 2. Hardware - 硬件信息
+     */
+    private static void writeHardwareSection(FingerprintResult rawResult, FieldStatus status,
+                                             JsonSink sink) throws JSONException {
+        sink.beginObject("gpu");
+        writeGpuInfo(status.track("hardware.gpu", rawResult.getGpuOutcome()), sink);
+        sink.endObject();
+        sink.beginObject("memory");
+        writeMemoryInfo(rawResult.getMemory(), sink);
+        sink.endObject();
+        sink.beginObject("battery");
+        writeBatteryInfo(status.track("hardware.battery", rawResult.getBatteryOutcome()), sink);
+        sink.endObject();
+    }
+
+    /**
+     * 3. System - 系统信息（结构化 Build 信息）
+     */
+    private static void writeSystemSection(FingerprintResult rawResult, FieldStatus status,
+                                           JsonSink sink) throws JSONException {
+        sink.beginObject("build_properties");
+        writeBuildInfo(rawResult.getBuildProperties(), sink);
+        sink.endObject();
+        sink.put("phone_info", text(status, "system.phone_info", rawResult.getPhoneInfoOutcome()));
+        sink.beginObject("settings");
+        writeSettings(rawResult.getSettingsRecord(), sink);
+        sink.endObject();
+    }
+
+    /**
+     * 4. Media - 多媒体信息
+     * drm_info 的采集状态已在 Identity 分段中记录
+     */
+    private static void writeMediaSection(FingerprintResult rawResult, FieldStatus status,
+                                          JsonSink sink) throws JSONException {
+        sink.put("volume_info", text(status, "media.volume_info", rawResult.getVolumeInfoOutcome()));
+        Outcome<String> drmInfo = rawResult.getDrmInfoOutcome();
+        sink.put("drm_info", drmInfo != null ? trimToNull(drmInfo.getValue()) : null);
+    }
+
+    /**
+     * 5. Sensors - 传感器信息（结构化为数组）
+     */
+    private static void writeSensorsSection(FingerprintResult rawResult, FieldStatus status,
+                                            JsonSink sink) throws JSONException {
+        List<SensorRecord> sensorRecords = status.track("sensors.sensor_list", rawResult.getSensorsOutcome());
+        if (sensorRecords == null) {
+            sensorRecords = Collections.emptyList();
+        }
+        sink.beginArray("sensor_list");
+        writeSensorInfo(sensorRecords, sink);
+        sink.endArray();
+        sink.put("sensor_count", sensorRecords.size());
+        sink.put("sensor_names_digest", sensorNamesDigest(sensorRecords));
+    }
+
+    /**
+     * 6. Account - 账户信息
+     */
+    private static void writeAccountSection(FingerprintResult rawResult, FieldStatus status,
+                                            JsonSink sink) throws JSONException {
+        sink.put("account_info", text(status, "account.account_info", rawResult.getAccountInfoOutcome()));
+    }
+
+    /**
+     * 7. Collection - 各字段采集状态，以及采集计划跳过的字段及原因
+     */
+    private static void writeCollectionSection(FingerprintResult rawResult, FieldStatus status,
+                                               JsonSink sink) throws JSONException {
+        status.writeTo(sink);
+        if (!rawResult.getSkippedFields().isEmpty()) {
+            sink.beginObject("skipped_fields");
+            writeStringMap(rawResult.getSkippedFields(), sink);
+            sink.endObject();
+        }
+    }
+
+    /**
+     * 写入字符串映射，与 new JSONObject(map) 一致：值为 null 时写为 JSON null
+     */
+    private static void writeStringMap(Map<String, String> values, JsonSink sink) throws JSONException {
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            String value = entry.getValue();
+            sink.put(entry.getKey(), value != null ? value : JSONObject.NULL);
+        }
+    }
+
+    /**
+     * 提取 DRM Device ID（最重要的设备标识符）
+     * @param raw 原始 DRM 信息字符串
+     * @return DRM Device ID，失败返回 null
+     */
+    private static String extractDrmDeviceId(String raw) {
+        if (raw == null || raw.trim().isEmpty()) {
+            return null;
+        }
+        
+        // 格式: "MediaDrm Device Unique ID: <hex_string>\nLength: <bytes> bytes"
+        int from = 0;
+        int index;
+        while ((index = raw.indexOf(DRM_ID_PREFIX, from)) >= 0) {
+            int start = skipSpaces(raw, index + DRM_ID_PREFIX.length());
+            int end = start;
+            while (end < raw.length() && isAsciiHexDigit(raw.charAt(end))) {
+                end++;
+            }
+            if (end > start) {
+                return raw.substring(start, end).toLowerCase(Locale.ROOT); // 统一转为小写
+            }
+            from = index + 1;
+        }
+        
+        return null;
+    }
+
+    /**
+     * 取出字符串结果的值并记录采集状态
+     * @param status 字段状态统计
+     * @param field 字段路径
+     * @param outcome 采集结果
+     * @return 去除首尾空白后的值，非 VALUE 或为空时返回 null
+     */
+    private static String text(FieldStatus status, String field, Outcome<String> outcome) {
+        return trimToNull(status.track(field, outcome));
+    }
+
+    /**
+     * 去除首尾空白，空字符串归一化为 null
+     * @param raw 原始字符串
+     * @return 清洗后的字符串
+     */
+    private static String trimToNull(String raw) {
+        if (raw == null) {
+            return null;
+        }
+        String trimmed = raw.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    /**
+     * 清洗 GPU 信息 - 提取显卡型号，去除驱动版本号
+     * @param record GPU 信息记录（Renderer 例如 "Mali-G78"，Version 例如 "OpenGL ES 3.2 v1.r32p1-01eac0.ab5309d622697df1444e83f8b7c2e5f7"）
+     * @param sink 输出目标（已打开的 gpu 对象）
+     */
+    private static void writeGpuInfo(GpuRecord record, JsonSink sink) throws JSONException {
+        if (record == null) {
+            return;
+        }
+        
+        // Renderer (显卡型号)：只保留型号，去除驱动版本号
+        // 例如: "Mali-G78" 保留，"Mali-G78 MP12 r32p1" 只保留 "Mali-G78"
+        sink.put("renderer", trimToNull(extractGpuModel(record.getRenderer())));
+        
+        // Vendor (厂商)
+        sink.put("vendor", trimToNull(record.getVendor()));
+    }
+
+    /**
+     * 提取 GPU 型号（去除驱动版本号）
+     * @param fullRenderer 完整的渲染器字符串
+     * @return 纯净的 GPU 型号
+     */
+    private static String extractGpuModel(String fullRenderer) {
+        if (fullRenderer == null) {
+            return null;
+        }
+        
+        // 常见模式:
+        // "Mali-G78 MP12 r32p1" -> "Mali-G78"
+        // "Adreno (TM) 650" -> "Adreno 650"
+        // "PowerVR Rogue GE8320" -> "PowerVR GE8320"
+        
+        String cleaned = fullRenderer.trim();
+        
+        // Mali 系列: 保留 Mali-Gxx 或 Mali-Txx
+        String mali = matchMali(cleaned);
+        if (mali != null) {
+            return mali;
+        }
+        
+        // Adreno 系列: 保留 Adreno + 数字
+        String adreno = matchAdreno(cleaned);
+        if (adreno != null) {
+            return "Adreno " + adreno;
+        }
+        
+        // PowerVR 系列: 保留 PowerVR + 型号
+        String powerVr = matchPowerVr(cleaned);
+        if (powerVr != null) {
+            return "PowerVR " + powerVr;
+        }
+        
+        // 如果没有匹配到特定模式，返回前两个单词
+        int firstEnd = skipNonSpaces(cleaned, 0);
+        int secondStart = skipSpaces(cleaned, firstEnd);
+        if (secondStart < cleaned.length()) {
+            return cleaned.substring(0, firstEnd) + " " + cleaned.substring(secondStart, skipNonSpaces(cleaned, secondStart));
+        }
+        
+        return cleaned;
+    }
+
+    // ==================== GPU 型号分词（单次扫描，不使用正则） ====================
+
+    /**
+     * 等价于 find("(Mali-[GT]\\d+)")
+     */
+    private static String matchMali(String s) {
+        int from = 0;
+        int index;
+        while ((index = s.indexOf("Mali-", from)) >= 0) {
+            int series = index + 5;
+            if (series < s.length() && (s.charAt(series) == 'G' || s.charAt(series) == 'T')) {
+                int end = skipDigits(s, series + 1);
+                if (end > series + 1) {
+                    return s.substring(index, end);
+                }
+            }
+            from = index + 1;
+        }
+        return null;
+    }
+
+    /**
+     * 等价于 find("Adreno\\s*(?:\\(TM\\))?\\s*(\\d+)")，返回数字部分
+     */
+    private static String matchAdreno(String s) {
+        int from = 0;
+        int index;
+        while ((index = s.indexOf("Adreno", from)) >= 0) {
+            int pos = skipSpaces(s, index + 6);
+            if (s.startsWith("(TM)", pos)) {
+                int afterTm = skipSpaces(s, pos + 4);
+                int end = skipDigits(s, afterTm);
+                if (end > afterTm) {
+                    return s.substring(afterTm, end);
+                }
+            }
+            int end = skipDigits(s, pos);
+            if (end > pos) {
+                return s.substring(pos, end);
+            }
+            from = index + 1;
+        }
+        return null;
+    }
+
+    /**
+     * 等价于 find("PowerVR\\s+(?:\\w+\\s+)?(\\w+\\d+)")，返回型号部分
+     */
+    private static String matchPowerVr(String s) {
+        int from = 0;
+        int index;
+        while ((index = s.indexOf("PowerVR", from)) >= 0) {
+            int firstStart = index + 7;
+            int firstWordStart = skipSpaces(s, firstStart);
+            if (firstWordStart > firstStart) {
+                int firstWordEnd = skipWordChars(s, firstWordStart);
+                // 可选的系列名优先匹配（如 "Rogue"），型号取其后的单词
+                int secondWordStart = skipSpaces(s, firstWordEnd);
+                if (firstWordEnd > firstWordStart && secondWordStart > firstWordEnd) {
+                    String model = modelPrefix(s, secondWordStart, skipWordChars(s, secondWordStart));
+                    if (model != null) {
+                        return model;
+                    }
+                }
+                String model = modelPrefix(s, firstWordStart, firstWordEnd);
+                if (model != null) {
+                    return model;
+                }
+            }
+            from = index + 1;
+        }
+        return null;
+    }
+
+    /**
+     * 单词中以数字结尾的最长前缀（\\w+\\d+ 的匹配结果），至少两个字符
+     */
+    private static String modelPrefix(String s, int start, int end) {
+        for (int i = end - 1; i > start; i--) {
+            if (isAsciiDigit(s.charAt(i))) {
+                return s.substring(start, i + 1);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * 与正则 [a-fA-F0-9] 一致，不接受全角等非 ASCII 数字
+     */
+    private static boolean isAsciiHexDigit(char c) {
+        return isAsciiDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    /**
+     * 与正则 \\s 一致的空白字符
+     */
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /**
+     * 与正则 \\w 一致的单词字符
+     */
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || isAsciiDigit(c) || c == '_';
+    }
+
+    private static int skipSpaces(String s, int pos) {
+        while (pos < s.length() && isSpace(s.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int skipNonSpaces(String s, int pos) {
+        while (pos < s.length() && !isSpace(s.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int skipDigits(String s, int pos) {
+        while (pos < s.length() && isAsciiDigit(s.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int skipWordChars(String s, int pos) {
+        while (pos < s.length() && isWordChar(s.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * 清洗内存信息 - 转换为 GB 并归一化，包含 hidden API 字段
+     * 流式输出不能撤回已写入的成员，可选的子对象先判断是否有内容再写入
+     * @param record 内存信息记录
+     * @param sink 输出目标（已打开的 memory 对象）
+     */
+    private static void writeMemoryInfo(MemoryRecord record, JsonSink sink) throws JSONException {
+        if (record == null) {
+            CoreLog.w(TAG, "内存信息为空或无效");
+            return;
+        }
+        
+        // ==================== 1. RAM 基础信息 ====================
+        long ramTotal = record.getRamTotalBytes();
+        
+        if (ramTotal > 0) {
+            sink.beginObject("ram");
+            // 转换为 GB（保留两位小数）
+            sink.put("total_gb", bytesToGB(ramTotal));
+            sink.put("available_gb", bytesToGB(record.getRamAvailableBytes()));
+            sink.put("used_gb", bytesToGB(record.getRamUsedBytes()));
+            sink.put("usage_percent", percentage(record.getRamUsedBytes(), ramTotal));
+            
+            // 低内存标志
+            sink.put("low_memory", record.isRamLowMemory());
+            sink.put("threshold_gb", bytesToGB(record.getRamThresholdBytes()));
+            
+            // Hidden 字段 - 隐藏应用阈值
+            if (record.getHiddenAppThresholdBytes() > 0) {
+                sink.put("hidden_app_threshold_gb", bytesToGB(record.getHiddenAppThresholdBytes()));
+            }
+            
+            // Hidden 字段 - 二级服务器阈值
+            if (record.getSecondaryServerThresholdBytes() > 0) {
+                sink.put("secondary_server_threshold_gb", bytesToGB(record.getSecondaryServerThresholdBytes()));
+            }
+            
+            sink.endObject();
+        } else {
+            CoreLog.w(TAG, "RAM 信息无效: ramTotal = " + ramTotal);
+        }
+        
+        // ==================== 2. Memory Class 信息 ====================
+        if (record.getMemoryClassMb() > 0 || record.getLargeMemoryClassMb() > 0) {
+            sink.beginObject("memory_class");
+            if (record.getMemoryClassMb() > 0) {
+                sink.put("standard_mb", record.getMemoryClassMb());
+            }
+            if (record.getLargeMemoryClassMb() > 0) {
+                sink.put("large_mb", record.getLargeMemoryClassMb());
+            }
+            sink.endObject();
+        }
+        
+        // ==================== 3. 内部存储信息 ====================
+        long internalTotal = record.getInternalTotalBytes();
+        if (internalTotal > 0) {
+            sink.beginObject("internal_storage");
+            // 转换为 GB
+            sink.put("total_gb", bytesToGB(internalTotal));
+            sink.put("available_gb", bytesToGB(record.getInternalAvailableBytes()));
+            sink.put("used_gb", bytesToGB(record.getInternalUsedBytes()));
+            sink.put("usage_percent", percentage(record.getInternalUsedBytes(), internalTotal));
+            sink.endObject();
+        }
+        
+        // ==================== 4. 外部存储信息 ====================
+        long externalTotal = record.getExternalTotalBytes();
+        String externalState = record.getExternalStorageState();
+        
+        if (externalTotal > 0) {
+            sink.beginObject("external_storage");
+            sink.put("total_gb", bytesToGB(externalTotal));
+            sink.put("available_gb", bytesToGB(record.getExternalAvailableBytes()));
+            sink.put("used_gb", bytesToGB(record.getExternalUsedBytes()));
+            sink.put("usage_percent", percentage(record.getExternalUsedBytes(), externalTotal));
+            
+            if (externalState != null && !externalState.equals("mounted")) {
+                sink.put("state", externalState);
+            }
+            sink.endObject();
+        } else if (externalState != null) {
+            // 外部存储不可用，记录状态
+            sink.beginObject("external_storage");
+            sink.put("state", externalState);
+            sink.endObject();
+        }
+        
+        // ==================== 5. 应用堆内存信息（Java Heap）====================
+        long appHeapMax = record.getHeapMaxBytes();
+        if (appHeapMax > 0) {
+            sink.beginObject("app_heap");
+            // 转换为 MB（堆内存通常用 MB 表示更直观）
+            sink.put("max_mb", bytesToMB(appHeapMax));
+            sink.put("allocated_mb", bytesToMB(record.getHeapTotalBytes()));
+            sink.put("free_mb", bytesToMB(record.getHeapFreeBytes()));
+            sink.put("used_mb", bytesToMB(record.getHeapUsedBytes()));
+            sink.put("usage_percent", percentage(record.getHeapUsedBytes(), appHeapMax));
+            sink.endObject();
+        }
+        
+        // ==================== 6. 应用级别信息 ====================
+        // 应用 UID，以及应用特定内存信息（如果 getMemoryInfo(int uid) 成功）
+        boolean hasUid = record.getAppUid() > 0;
+        boolean hasAppMemory = record.getAppMemoryTotalBytes() > 0;
+        if (hasUid || hasAppMemory) {
+            sink.beginObject("app_info");
+            if (hasUid) {
+                sink.put("uid", record.getAppUid());
+            }
+            if (hasAppMemory) {
+                sink.put("memory_total_gb", bytesToGB(record.getAppMemoryTotalBytes()));
+                sink.put("memory_available_gb", bytesToGB(record.getAppMemoryAvailableBytes()));
+            }
+            sink.endObject();
+        }
+    }
+
+    /**
+     * 字节转 MB (保留两位小数)
+     * @param bytes 字节数
+     * @return MB 字符串
+     */
+    private static String bytesToMB(long bytes) {
+        if (bytes <= 0) {
+            return null;
+        }
+        double mb = bytes / (1024.0 * 1024.0);
+        return String.format("%.2f", mb);
+    }
+
+    /**
+     * 清洗电池信息
+     * @param record 电池信息记录
+     * @param sink 输出目标（已打开的 battery 对象）
+     */
+    private static void writeBatteryInfo(BatteryRecord record, JsonSink sink) throws JSONException {
+        if (record == null) {
+            return;
+        }
+        
+        // 电量百分比（保留一位小数）
+        float levelPercent = record.getLevelPercent();
+        if (levelPercent >= 0) {
+            sink.put("level_percent", Math.round(levelPercent * 10) / 10.0);
+        }
+        
+        // 充电状态、插拔状态、健康状态（未知取值为 null，不写入）
+        sink.put("status", record.getStatusName());
+        sink.put("plugged", record.getPluggedName());
+        sink.put("health", record.getHealthName());
+        
+        // 电压 (mV -> V)
+        if (record.getVoltageMv() >= 0) {
+            sink.put("voltage_v", String.format("%.2f", record.getVoltageMv() / 1000.0));
+        }
+        
+        // 温度（0.1°C -> °C）
+        if (record.getTemperatureTenths() != -1) {
+            sink.put("temperature_celsius", record.getTemperatureTenths() / 10.0);
+        }
+    }
+
+    /**
+     * 字节转 GB (保留两位小数)
+     * @param bytes 字节数
+     * @return GB 字符串
+     */
+    private static String bytesToGB(long bytes) {
+        if (bytes <= 0) {
+            return null;
+        }
+        double gb = bytes / (1024.0 * 1024.0 * 1024.0);
+        return String.format("%.2f", gb);
+    }
+
+    /**
+     * 计算百分比（保留两位小数）
+     * @param part 部分值
+     * @param total 总值
+     * @return 百分比数值 (如 45.67)，总值无效时返回 null
+     */
+    private static Double percentage(long part, long total) {
+        if (total <= 0 || part < 0) {
+            return null;
+        }
+        return Math.round((double) part / total * 10000) / 100.0;
+    }
+
+    /**
+     * 清洗传感器信息 - 直接由结构化记录生成数组元素
+     * 取值不是有限数的传感器无法写入 JSON，整条跳过
+     * @param records 传感器记录
+     * @param sink 输出目标（已打开的 sensor_list 数组）
+     */
+    private static void writeSensorInfo(List<SensorRecord> records, JsonSink sink) throws JSONException {
+        for (SensorRecord record : records) {
+            // float 按其十进制表示转换，与原先解析 toString() 的结果一致
+            double maxRange = Double.parseDouble(Float.toString(record.getMaxRange()));
+            double power = Double.parseDouble(Float.toString(record.getPower()));
+            if (!isFinite(maxRange) || !isFinite(power)) {
+                CoreLog.e(TAG, "清洗传感器信息失败: " + record.getName() + " (取值不是有限数)");
+                continue;
+            }
+            sink.beginObject(null);
+            sink.put("name", record.getName());
+            sink.put("vendor", record.getVendor());
+            sink.put("type", record.getType());
+            sink.put("version", record.getVersion());
+            sink.put("max_range", maxRange);
+            sink.put("power", power);
+            sink.put("min_delay", record.getMinDelay());
+            sink.put("fifo_max_event_count", record.getFifoMaxEventCount());
+            sink.endObject();
+        }
+    }
+
+    private static boolean isFinite(double value) {
+        return !Double.isNaN(value) && !Double.isInfinite(value);
+    }
+
+    /**
+     * 计算排序后传感器名称列表的摘要，供设备 ID 计算直接使用
+     * @param records 传感器记录
+     * @return SHA-256 十六进制字符串
+     */
+    private static String sensorNamesDigest(List<SensorRecord> records) {
+        List<String> names = new ArrayList<>(records.size());
+        for (SensorRecord record : records) {
+            names.add(record.getName());
+        }
+        Collections.sort(names); // 排序保证顺序一致
+        // 与 names.toString() 的字节序列相同
+        return FactorDigest.begin().addList(names).sha256Hex();
+    }
+
+    /**
+     * 清洗 Build 信息 - 结构化为键值对对象
+     * 先按分类收集非空的值，只写入非空的分类
+     * @param record Build 属性记录
+     * @param sink 输出目标（已打开的 build_properties 对象）
+     */
+    private static void writeBuildInfo(BuildPropertiesRecord record, JsonSink sink) throws JSONException {
+        if (record == null) {
+            return;
+        }
+        
+        // 核心字段分类
+        Map<String, Object> security = new LinkedHashMap<>();
+        Map<String, Object> usb = new LinkedHashMap<>();
+        Map<String, Object> version = new LinkedHashMap<>();
+        Map<String, Object> fingerprints = new LinkedHashMap<>();
+        Map<String, Object> buildIds = new LinkedHashMap<>();
+        Map<String, Object> dates = new LinkedHashMap<>();
+        Map<String, Object> other = new LinkedHashMap<>();
+        
+        for (Map.Entry<String, String> entry : record.getProperties().entrySet()) {
+            String key = entry.getKey();
+            // 未获取到的属性值为 null，不写入
+            String value = trimToNull(entry.getValue());
+            if (value == null) {
+                continue;
+            }
+            
+            // 分类存储
+            if (key.contains("usb")) {
+                usb.put(key, value);
+            } else if (key.contains("secure") || key.contains("debuggable") || 
+                       key.contains("adbd") || key.contains("unlock") || 
+                       key.contains("flash.locked")) {
+                security.put(key, value);
+            } else if (key.contains("fingerprint")) {
+                fingerprints.put(key, value);
+            } else if (key.contains("build.id") && !key.contains("display")) {
+                buildIds.put(key, value);
+            } else if (key.contains("date.utc")) {
+                // 日期转换为时间戳（如果是数字）
+                Long timestamp = parseLong(value);
+                if (timestamp != null) {
+                    dates.put(key, timestamp);
+                }
+            } else if (key.contains("version")) {
+                version.put(key, value);
+            } else {
+                // 其他重要字段
+                if (key.equals("ro.build.description") || 
+                    key.equals("ro.build.display.id") ||
+                    key.equals("ro.build.host") ||
+                    key.equals("ro.build.user") ||
+                    key.contains("baseband") ||
+                    key.contains("security_patch")) {
+                    other.put(key, value);
+                }
+            }
+        }
+        
+        // 只添加非空的分类
+        writeCategory("security", security, sink);
+        writeCategory("usb", usb, sink);
+        writeCategory("version", version, sink);
+        writeCategory("fingerprints", fingerprints, sink);
+        writeCategory("build_ids", buildIds, sink);
+        writeCategory("build_dates", dates, sink);
+        writeCategory("other", other, sink);
+        
+        // 分区一致性（值已在值池中去重，比较为引用比较）
+        BuildPartitionTable partitions = record.getPartitionTable();
+        sink.beginObject("partition_consistency");
+        for (int attr = 0; attr < BuildPartitionTable.ATTRIBUTES.length; attr++) {
+            sink.put(BuildPartitionTable.ATTRIBUTES[attr].replace('.', '_'),
+                    partitions.allPartitionsAgree(attr));
+        }
+        sink.endObject();
+        sink.put("all_partitions_agree", partitions.allPartitionsAgree());
+    }
+
+    private static void writeCategory(String name, Map<String, Object> values, JsonSink sink) throws JSONException {
+        if (values.isEmpty()) {
+            return;
+        }
+        sink.beginObject(name);
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            sink.put(entry.getKey(), entry.getValue());
+        }
+        sink.endObject();
+    }
+
+    /**
+     * 清洗 Settings 信息 - 只保留有效字段
+     * @param record Settings 字段记录
+     * @param sink 输出目标（已打开的 settings 对象）
+     */
+    private static void writeSettings(SettingsRecord record, JsonSink sink) throws JSONException {
+        if (record == null) {
+            return;
+        }
+        
+        for (Map.Entry<String, String> entry : record.getValues().entrySet()) {
+            String value = trimToNull(entry.getValue());
+            if (value != null) {
+                sink.put(entry.getKey(), value);
+            }
+        }
+    }
+
+    /**
+     * 解析长整数
+     * @param str 字符串
+     * @return 长整数，失败返回 null
+     */
+    private static Long parseLong(String str) {
+        if (str == null || str.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(str.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 字段采集状态统计
+     * 按字段记录 Outcome 类型，输出到 collection 段，便于按字段统计失败原因
+     */
+    private static final class FieldStatus {
+        private final Map<String, Outcome.Kind> kinds = new LinkedHashMap<>();
+        private final Map<String, String> details = new LinkedHashMap<>();
+        private final int[] counts = new int[Outcome.Kind.values().length];
+
+        /**
+         * 记录字段状态
+         * @param field 字段路径
+         * @param outcome 采集结果，null 表示未采集
+         * @return 结果值，非 VALUE 时返回 null
+         */
+        <T> T track(String field, Outcome<T> outcome) {
+            if (outcome == null) {
+                return null;
+            }
+            Outcome.Kind kind = outcome.getKind();
+            kinds.put(field, kind);
+            counts[kind.ordinal()]++;
+            if (kind != Outcome.Kind.VALUE) {
+                details.put(field, outcome.getDetail());
+            }
+            return outcome.getValue();
+        }
+
+        /**
+         * 按顺序追加另一个分段的字段状态
+         */
+        void merge(FieldStatus other) {
+            kinds.putAll(other.kinds);
+            details.putAll(other.details);
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other.counts[i];
+            }
+        }
+
+        /**
+         * 写入 field_status / status_counts / field_errors 三个成员
+         */
+        void writeTo(JsonSink sink) throws JSONException {
+            sink.beginObject("field_status");
+            for (Map.Entry<String, Outcome.Kind> entry : kinds.entrySet()) {
+                sink.put(entry.getKey(), kindName(entry.getValue()));
+            }
+            sink.endObject();
+            sink.beginObject("status_counts");
+            for (Outcome.Kind kind : Outcome.Kind.values()) {
+                if (counts[kind.ordinal()] > 0) {
+                    sink.put(kindName(kind), counts[kind.ordinal()]);
+                }
+            }
+            sink.endObject();
+            if (!details.isEmpty()) {
+                sink.beginObject("field_errors");
+                writeStringMap(details, sink);
+                sink.endObject();
+            }
+        }
+
+        private static String kindName(Outcome.Kind kind) {
+            return kind.name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * 格式化输出清洗后的指纹数据为易读格式
+     * @param cleanedData 清洗后的 JSON 数据
+     * @return 格式化的字符串
+     */
+    @NonNull
+    public static String formatCleanedData(@NonNull JSONObject cleanedData) {
+        try {
+            return cleanedData.toString(2); // 缩进2个空格
+        } catch (JSONException e) {
+            return cleanedData.toString();
+        }
+    }
+}
+
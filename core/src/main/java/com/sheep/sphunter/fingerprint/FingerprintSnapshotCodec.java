@@ -0,0 +1,469 @@
+package com.sheep.sphunter.fingerprint;
+
+import androidx.annotation.NonNull;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 清洗后指纹快照的二进制编解码器
+ * 用于本地存储和批量上报，替代 JSONObject.toString() 的文本格式
+ *
+ * 格式（所有整数均为 varint）：
+ * <pre>
+ * magic "SPFP" | version | 字符串表数量 | 字符串表（长度 + UTF-8 字节）... | 根对象
+ * </pre>
+ * 值以一个类型字节开头；对象的键引用为 (字段 ID &lt;&lt; 1) 或 (字符串表下标 &lt;&lt; 1 | 1)，
+ * 常用键使用 {@link #FIELDS} 中的稳定字段 ID，其余键和所有字符串值进入每个快照自己的字符串表（去重）
+ */
+public final class FingerprintSnapshotCodec {
+    // 当前格式版本，格式不兼容变化时递增
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIC = {'S', 'P', 'F', 'P'};
+    // 嵌套深度上限，防止损坏数据导致栈溢出
+    private static final int MAX_DEPTH = 64;
+
+    // 值类型
+    private static final int TYPE_NULL = 0;
+    private static final int TYPE_FALSE = 1;
+    private static final int TYPE_TRUE = 2;
+    private static final int TYPE_INT = 3;           // zigzag varint
+    private static final int TYPE_DOUBLE = 4;        // 8 字节 IEEE 754（小端）
+    private static final int TYPE_INTEGRAL_DOUBLE = 5; // 整数值的 double，zigzag varint
+    private static final int TYPE_STRING = 6;        // 字符串表下标
+    private static final int TYPE_OBJECT = 7;        // 成员数 + (键引用, 值)...
+    private static final int TYPE_ARRAY = 8;         // 元素数 + 值...
+
+    /**
+     * 稳定字段 ID（数组下标即 ID）
+     * 只能在末尾追加，不能修改、删除或调整已有条目的顺序，否则旧快照无法正确解码
+     */
+    private static final String[] FIELDS = {
+            // 顶层分组
+            "identity", "hardware", "system", "media", "sensors", "account", "collection", "native",
+            // identity
+            "android_id", "serial_number", "bluetooth_address", "drm_device_id",
+            // hardware
+            "gpu", "renderer", "vendor", "memory", "battery",
+            "ram", "total_gb", "available_gb", "used_gb", "usage_percent", "low_memory", "threshold_gb",
+            "hidden_app_threshold_gb", "secondary_server_threshold_gb",
+            "memory_class", "standard_mb", "large_mb",
+            "internal_storage", "external_storage", "state",
+            "app_heap", "max_mb", "allocated_mb", "free_mb", "used_mb",
+            "app_info", "uid", "memory_total_gb", "memory_available_gb",
+            "level_percent", "status", "plugged", "health", "voltage_v", "temperature_celsius",
+            // system
+            "build_properties", "security", "usb", "version", "fingerprints", "build_ids", "build_dates", "other",
+            "phone_info", "settings",
+            // media / account
+            "volume_info", "drm_info", "account_info",
+            // sensors
+            "sensor_list", "sensor_count", "sensor_names_digest",
+            "name", "type", "max_range", "power", "min_delay", "fifo_max_event_count",
+            // collection
+            "skipped_fields", "field_status", "status_counts", "field_errors",
+            // native
+            "device_identity", "security_states", "kernel_props", "memory_structure", "cpu_structure",
+            "native_probes", "file_access_map", "risk_tags",
+            "model", "board", "product", "fingerprint_string", "display_id", "incremental",
+            "build_id", "build_date_utc", "build_host", "build_user", "build_tags", "build_description",
+            "security_patch", "sdk_version", "baseband", "cpu_abi",
+            "debuggable", "ro_secure", "adb_enabled", "adbd_service_status", "usb_state",
+            "bootloader_locked", "oem_unlock_allowed", "vb_state", "vbmeta_device_state", "vbmeta_digest",
+            "selinux_enforcing", "treble_enabled",
+            "uname_release", "machine", "boot_id_format", "page_size", "phys_pages", "total_ram_mb", "has_swap",
+            "cpu_cores", "cpu_parts", "cpu_structure_hash", "features_hash", "mounts_hash",
+            "entropy_level", "field_count",
+            // 分区一致性
+            "partition_consistency", "all_partitions_agree", "id", "tags", "fingerprint", "date_utc",
+            "version_incremental",
+    };
+
+    private static final Map<String, Integer> FIELD_IDS = new HashMap<>();
+
+    static {
+        for (int i = 0; i < FIELDS.length; i++) {
+            FIELD_IDS.put(FIELDS[i], i);
+        }
+    }
+
+    private FingerprintSnapshotCodec() {
+    }
+
+    /**
+     * 将清洗后的指纹数据编码为二进制快照
+     *
+     * @param snapshot 清洗后的指纹 JSON 对象
+     * @return 二进制快照
+     */
+    @NonNull
+    public static byte[] encode(@NonNull JSONObject snapshot) {
+        // 1. 单次遍历写入值，同时建立字符串表（按首次出现顺序去重）
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        ByteWriter body = new ByteWriter(1024);
+        writeValue(body, snapshot, strings);
+
+        // 2. 写入头部和字符串表，再拼接值
+        ByteWriter out = new ByteWriter(body.size + 256);
+        out.writeBytes(MAGIC);
+        out.writeVarint(VERSION);
+        out.writeVarint(strings.size());
+        for (String value : strings.keySet()) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            out.writeVarint(utf8.length);
+            out.writeBytes(utf8);
+        }
+        out.writeBytes(body.buffer, body.size);
+        return out.toByteArray();
+    }
+
+    /**
+     * 将二进制快照解码为清洗后的指纹数据
+     *
+     * @param data 二进制快照
+     * @return 清洗后的指纹 JSON 对象
+     * @throws IOException 数据损坏、被截断或版本不受支持
+     */
+    @NonNull
+    public static JSONObject decode(@NonNull byte[] data) throws IOException {
+        ByteReader in = new ByteReader(data);
+        byte[] magic = in.readBytes(MAGIC.length);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a fingerprint snapshot");
+        }
+        int version = in.readCount();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported snapshot version: " + version);
+        }
+
+        String[] strings = new String[in.readCount()];
+        for (int i = 0; i < strings.length; i++) {
+            int length = in.readCount();
+            strings[i] = new String(in.data, in.take(length), length, StandardCharsets.UTF_8);
+        }
+
+        try {
+            Object root = readValue(in, strings, 0);
+            if (!(root instanceof JSONObject)) {
+                throw new IOException("Snapshot root is not an object");
+            }
+            if (in.pos != data.length) {
+                throw new IOException("Trailing bytes after snapshot");
+            }
+            return (JSONObject) root;
+        } catch (JSONException e) {
+            throw new IOException("Invalid snapshot value: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 判断数据是否以快照 magic 开头
+     *
+     * @param data 数据
+     * @return true 表示是二进制快照
+     */
+    public static boolean isSnapshot(@NonNull byte[] data) {
+        if (data.length < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (data[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ==================== 编码 ====================
+
+    /**
+     * 返回字符串在字符串表中的下标，不存在时追加
+     */
+    private static int intern(String value, Map<String, Integer> strings) {
+        Integer index = strings.get(value);
+        if (index == null) {
+            index = strings.size();
+            strings.put(value, index);
+        }
+        return index;
+    }
+
+    private static int typeOf(Object value) {
+        if (value == null || value == JSONObject.NULL) {
+            return TYPE_NULL;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value ? TYPE_TRUE : TYPE_FALSE;
+        }
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return TYPE_INT;
+        }
+        if (value instanceof Number) {
+            double d = ((Number) value).doubleValue();
+            // -0.0 和超出 long 范围的值按原始 double 保存
+            if (d == Math.rint(d) && Math.abs(d) < 0x1p62
+                    && Double.doubleToRawLongBits(d) != Double.doubleToRawLongBits(-0.0)) {
+                return TYPE_INTEGRAL_DOUBLE;
+            }
+            return TYPE_DOUBLE;
+        }
+        if (value instanceof JSONObject) {
+            return TYPE_OBJECT;
+        }
+        if (value instanceof JSONArray) {
+            return TYPE_ARRAY;
+        }
+        return TYPE_STRING;
+    }
+
+    private static void writeValue(ByteWriter out, Object value, Map<String, Integer> strings) {
+        int type = typeOf(value);
+        out.writeByte(type);
+        switch (type) {
+            case TYPE_INT:
+                out.writeVarint(zigzag(((Number) value).longValue()));
+                break;
+            case TYPE_INTEGRAL_DOUBLE:
+                out.writeVarint(zigzag((long) ((Number) value).doubleValue()));
+                break;
+            case TYPE_DOUBLE:
+                out.writeLongLE(Double.doubleToRawLongBits(((Number) value).doubleValue()));
+                break;
+            case TYPE_STRING:
+                out.writeVarint(intern(String.valueOf(value), strings));
+                break;
+            case TYPE_OBJECT: {
+                JSONObject object = (JSONObject) value;
+                out.writeVarint(object.length());
+                JSONArray names = object.names();
+                for (int i = 0; names != null && i < names.length(); i++) {
+                    String key = names.optString(i);
+                    Integer fieldId = FIELD_IDS.get(key);
+                    if (fieldId != null) {
+                        out.writeVarint((long) fieldId << 1);
+                    } else {
+                        out.writeVarint(((long) intern(key, strings) << 1) | 1);
+                    }
+                    writeValue(out, object.opt(key), strings);
+                }
+                break;
+            }
+            case TYPE_ARRAY: {
+                JSONArray array = (JSONArray) value;
+                out.writeVarint(array.length());
+                for (int i = 0; i < array.length(); i++) {
+                    writeValue(out, array.opt(i), strings);
+                }
+                break;
+            }
+            default:
+                // NULL / TRUE / FALSE 只有类型字节
+                break;
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    // ==================== 解码 ====================
+
+    private static Object readValue(ByteReader in, String[] strings, int depth) throws IOException, JSONException {
+        if (depth > MAX_DEPTH) {
+            throw new IOException("Snapshot nesting too deep");
+        }
+        int type = in.readByte();
+        switch (type) {
+            case TYPE_NULL:
+                return JSONObject.NULL;
+            case TYPE_FALSE:
+                return Boolean.FALSE;
+            case TYPE_TRUE:
+                return Boolean.TRUE;
+            case TYPE_INT: {
+                long value = unzigzag(in.readVarint());
+                if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                    return (int) value;
+                }
+                return value;
+            }
+            case TYPE_INTEGRAL_DOUBLE:
+                return (double) unzigzag(in.readVarint());
+            case TYPE_DOUBLE:
+                return Double.longBitsToDouble(in.readLongLE());
+            case TYPE_STRING:
+                return string(strings, in.readVarint());
+            case TYPE_OBJECT: {
+                int count = in.readCount();
+                JSONObject object = new JSONObject();
+                for (int i = 0; i < count; i++) {
+                    long ref = in.readVarint();
+                    String key;
+                    if ((ref & 1) == 0) {
+                        long fieldId = ref >>> 1;
+                        if (fieldId >= FIELDS.length) {
+                            throw new IOException("Unknown field id: " + fieldId);
+                        }
+                        key = FIELDS[(int) fieldId];
+                    } else {
+                        key = string(strings, ref >>> 1);
+                    }
+                    object.put(key, readValue(in, strings, depth + 1));
+                }
+                return object;
+            }
+            case TYPE_ARRAY: {
+                int count = in.readCount();
+                JSONArray array = new JSONArray();
+                for (int i = 0; i < count; i++) {
+                    array.put(readValue(in, strings, depth + 1));
+                }
+                return array;
+            }
+            default:
+                throw new IOException("Unknown value type: " + type);
+        }
+    }
+
+    private static String string(String[] strings, long index) throws IOException {
+        if (index < 0 || index >= strings.length) {
+            throw new IOException("String index out of range: " + index);
+        }
+        return strings[(int) index];
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * 可扩容字节缓冲区（非同步，替代 ByteArrayOutputStream）
+     */
+    private static final class ByteWriter {
+        private byte[] buffer;
+        private int size;
+
+        ByteWriter(int capacity) {
+            buffer = new byte[capacity];
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            buffer[size++] = (byte) value;
+        }
+
+        void writeBytes(byte[] bytes) {
+            writeBytes(bytes, bytes.length);
+        }
+
+        void writeBytes(byte[] bytes, int length) {
+            ensure(length);
+            System.arraycopy(bytes, 0, buffer, size, length);
+            size += length;
+        }
+
+        void writeVarint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void writeLongLE(long value) {
+            ensure(8);
+            for (int i = 0; i < 8; i++) {
+                buffer[size++] = (byte) (value >>> (i * 8));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+
+    /**
+     * 带边界检查的字节读取器
+     */
+    private static final class ByteReader {
+        final byte[] data;
+        int pos;
+
+        ByteReader(byte[] data) {
+            this.data = data;
+        }
+
+        int readByte() throws IOException {
+            if (pos >= data.length) {
+                throw new EOFException("Truncated snapshot");
+            }
+            return data[pos++] & 0xFF;
+        }
+
+        /**
+         * 跳过 length 个字节，返回起始位置
+         */
+        int take(int length) throws IOException {
+            if (length > data.length - pos) {
+                throw new EOFException("Truncated snapshot");
+            }
+            int start = pos;
+            pos += length;
+            return start;
+        }
+
+        byte[] readBytes(int length) throws IOException {
+            int start = take(length);
+            return Arrays.copyOfRange(data, start, start + length);
+        }
+
+        long readVarint() throws IOException {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        /**
+         * 读取数量/长度，每个元素至少占 1 字节，因此不能超过剩余字节数
+         */
+        int readCount() throws IOException {
+            long count = readVarint();
+            if (count < 0 || count > data.length - pos) {
+                throw new IOException("Invalid count: " + count);
+            }
+            return (int) count;
+        }
+
+        long readLongLE() throws IOException {
+            int start = take(8);
+            long value = 0;
+            for (int i = 7; i >= 0; i--) {
+                value = (value << 8) | (data[start + i] & 0xFF);
+            }
+            return value;
+        }
+    }
+}
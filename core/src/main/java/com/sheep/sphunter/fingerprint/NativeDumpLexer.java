@@ -0,0 +1,305 @@
+package com.sheep.sphunter.fingerprint;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Native 原始转储文本的单次扫描词法分析器（拉取式）
+ * 直接在原始 CharSequence 上按行扫描，事件只记录偏移量，不切分字符串、不使用正则；
+ * 调用方只在需要保留的值上通过 getXxx() 取子串
+ *
+ * 行的分类（按顺序判断，判断前去除首尾空白）：
+ * <pre>
+ * === 标题 ===                         SECTION
+ * Path: / Exit Code: / Accessible:     PROBE_PATH / PROBE_EXIT_CODE / PROBE_ACCESSIBLE
+ * Content: / Content (truncated):      PROBE_CONTENT
+ * ---                                  PROBE_END
+ * key = value                          PROPERTY
+ * 其他（包括空行）                      TEXT
+ * </pre>
+ */
+public final class NativeDumpLexer {
+    public static final int END = 0;
+    public static final int SECTION = 1;
+    public static final int PROBE_PATH = 2;
+    public static final int PROBE_EXIT_CODE = 3;
+    public static final int PROBE_ACCESSIBLE = 4;
+    public static final int PROBE_CONTENT = 5;
+    public static final int PROBE_END = 6;
+    public static final int PROPERTY = 7;
+    public static final int TEXT = 8;
+
+    private static final String HEADER_MARK = "===";
+    private static final String PROPERTY_SEPARATOR = " = ";
+
+    private final CharSequence input;
+    // 扫描范围的结束位置（不含）
+    private final int limit;
+    private int pos;
+
+    // 当前行：原始范围（不含换行符）和去除首尾空白后的范围
+    private int rawStart;
+    private int rawEnd;
+    private int lineStart;
+    private int lineEnd;
+    // SECTION 为标题，PROPERTY 为键，其余事件不使用
+    private int keyStart;
+    private int keyEnd;
+    // SECTION 不使用，PROPERTY 为值，探针事件为冒号之后的内容
+    private int valueStart;
+    private int valueEnd;
+
+    public NativeDumpLexer(@NonNull CharSequence input) {
+        this(input, 0, input.length());
+    }
+
+    /**
+     * 只扫描 input[start, end)，偏移量仍相对于整个 input
+     */
+    public NativeDumpLexer(@NonNull CharSequence input, int start, int end) {
+        this.input = input;
+        this.limit = end;
+        this.pos = start;
+    }
+
+    /**
+     * 读取下一行
+     *
+     * @return 事件类型，输入结束时返回 END
+     */
+    public int next() {
+        if (!readLine()) {
+            return END;
+        }
+        return classify();
+    }
+
+    /**
+     * 跳到下一个 section 标题，中间的行不做分类
+     * 返回 SECTION 后 {@link #getRawStart()} 为标题行的起始位置，{@link #getPosition()} 为 section 内容的起始位置
+     *
+     * @return SECTION，没有更多标题时返回 END
+     */
+    public int nextSection() {
+        while (readLine()) {
+            if (isHeader()) {
+                readTitle();
+                return SECTION;
+            }
+        }
+        return END;
+    }
+
+    /**
+     * @return 下一行的起始位置
+     */
+    public int getPosition() {
+        return Math.min(pos, limit);
+    }
+
+    private boolean readLine() {
+        if (pos >= limit) {
+            return false;
+        }
+        rawStart = pos;
+        int newline = indexOf('\n', pos);
+        rawEnd = newline < 0 ? limit : newline;
+        pos = rawEnd + 1;
+
+        lineStart = rawStart;
+        lineEnd = rawEnd;
+        while (lineStart < lineEnd && input.charAt(lineStart) <= ' ') {
+            lineStart++;
+        }
+        while (lineEnd > lineStart && input.charAt(lineEnd - 1) <= ' ') {
+            lineEnd--;
+        }
+        return true;
+    }
+
+    private boolean isHeader() {
+        return lineStartsWith(HEADER_MARK) && regionEndsWith(lineStart, lineEnd, HEADER_MARK);
+    }
+
+    private void readTitle() {
+        // 等价于 replaceAll("^===\\s*", "").replaceAll("\\s*===$", "").trim()
+        int start = lineStart + HEADER_MARK.length();
+        while (start < lineEnd && isRegexSpace(input.charAt(start))) {
+            start++;
+        }
+        int end = lineEnd;
+        if (end - start >= HEADER_MARK.length() && regionEndsWith(start, end, HEADER_MARK)) {
+            end -= HEADER_MARK.length();
+            while (end > start && isRegexSpace(input.charAt(end - 1))) {
+                end--;
+            }
+        }
+        setKey(start, end);
+    }
+
+    private int classify() {
+        if (isHeader()) {
+            readTitle();
+            return SECTION;
+        }
+        if (lineStartsWith("Path:")) {
+            setValue(lineStart + 5);
+            return PROBE_PATH;
+        }
+        if (lineStartsWith("Exit Code:")) {
+            setValue(lineStart + 10);
+            return PROBE_EXIT_CODE;
+        }
+        if (lineStartsWith("Accessible:")) {
+            setValue(lineStart + 11);
+            return PROBE_ACCESSIBLE;
+        }
+        if (lineStartsWith("Content:") || lineStartsWith("Content (truncated):")) {
+            setValue(indexOf(':', lineStart) + 1);
+            return PROBE_CONTENT;
+        }
+        if (lineEnd - lineStart == 3 && lineStartsWith("---")) {
+            return PROBE_END;
+        }
+        int separator = indexOf(PROPERTY_SEPARATOR, lineStart, lineEnd);
+        if (separator > lineStart) {
+            setKey(lineStart, separator);
+            setValue(separator + PROPERTY_SEPARATOR.length());
+            return PROPERTY;
+        }
+        return TEXT;
+    }
+
+    // ==================== 当前行 ====================
+
+    /**
+     * 当前行（去除首尾空白后）是否以 prefix 开头
+     */
+    public boolean lineStartsWith(@NonNull String prefix) {
+        return lineEnd - lineStart >= prefix.length() && regionMatches(lineStart, prefix);
+    }
+
+    /**
+     * 当前行 prefix 之后的内容（去除首尾空白），用于 "Label: value" 格式
+     * 调用前应先用 {@link #lineStartsWith(String)} 判断
+     */
+    @NonNull
+    public String getFieldValue(@NonNull String prefix) {
+        int start = Math.min(lineStart + prefix.length(), lineEnd);
+        int end = lineEnd;
+        while (start < end && input.charAt(start) <= ' ') {
+            start++;
+        }
+        return input.subSequence(start, end).toString();
+    }
+
+    /**
+     * 当前行的原始文本（保留首尾空白，不含换行符）
+     */
+    public int getRawStart() {
+        return rawStart;
+    }
+
+    public int getRawEnd() {
+        return rawEnd;
+    }
+
+    @NonNull
+    public CharSequence getInput() {
+        return input;
+    }
+
+    // ==================== 事件数据 ====================
+
+    /**
+     * @return SECTION 的标题
+     */
+    @NonNull
+    public String getTitle() {
+        return input.subSequence(keyStart, keyEnd).toString();
+    }
+
+    /**
+     * @return PROPERTY 的键（去除首尾空白）
+     */
+    @NonNull
+    public String getKey() {
+        return input.subSequence(keyStart, keyEnd).toString();
+    }
+
+    /**
+     * @return PROPERTY 的值或探针事件冒号之后的内容（去除首尾空白）
+     */
+    @NonNull
+    public String getValue() {
+        return input.subSequence(valueStart, valueEnd).toString();
+    }
+
+    public boolean valueEquals(@NonNull String text) {
+        return valueEnd - valueStart == text.length() && regionMatches(valueStart, text);
+    }
+
+    public boolean valueContains(@NonNull String text) {
+        return indexOf(text, valueStart, valueEnd) >= 0;
+    }
+
+    // ==================== 内部工具 ====================
+
+    private void setKey(int start, int end) {
+        while (start < end && input.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        keyStart = start;
+        keyEnd = end;
+    }
+
+    private void setValue(int start) {
+        // lineEnd 已去除尾部空白，只需跳过开头空白
+        while (start < lineEnd && input.charAt(start) <= ' ') {
+            start++;
+        }
+        valueStart = start;
+        valueEnd = lineEnd;
+    }
+
+    private int indexOf(char c, int from) {
+        for (int i = from; i < limit; i++) {
+            if (input.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int indexOf(String text, int from, int to) {
+        int last = to - text.length();
+        for (int i = from; i <= last; i++) {
+            if (regionMatches(i, text)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean regionMatches(int offset, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (input.charAt(offset + i) != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean regionEndsWith(int start, int end, String suffix) {
+        return end - start >= suffix.length() && regionMatches(end - suffix.length(), suffix);
+    }
+
+    /**
+     * 与正则 \s 一致的空白字符
+     */
+    private static boolean isRegexSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
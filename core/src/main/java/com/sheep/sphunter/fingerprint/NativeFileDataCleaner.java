@@ -0,0 +1,1231 @@
+package com.sheep.sphunter.fingerprint;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.sheep.sphunter.model.BuildPartitionTable;
+import com.sheep.sphunter.util.CoreLog;
+import com.sheep.sphunter.util.FactorDigest;
+import com.sheep.sphunter.util.JsonSink;
+import com.sheep.sphunter.util.JsonTreeBuilder;
+import com.sheep.sphunter.util.MultisetHash;
+import com.sheep.sphunter.util.Murmur3;
+import com.sheep.sphunter.util.ValuePool;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Native 文件数据清洗器
+ * 负责对采集的 Native 层文件指纹信息进行去噪、归一化和结构化处理
+ * 实现标准化的指纹数据清洗与特征提取流程
+ */
+public class NativeFileDataCleaner {
+    private static final String TAG = "NativeFileDataCleaner";
+
+    // 状态码枚举
+    private static final String STATUS_OK = "OK";
+    private static final String STATUS_PERM_DENIED = "PERM_DENIED";
+    private static final String STATUS_NOT_FOUND = "NOT_FOUND";
+    private static final String STATUS_ERROR = "ERROR";
+
+    // section 处理器（位掩码）
+    private static final int HANDLE_PROPERTIES = 1;
+    private static final int HANDLE_DRM = 1 << 1;
+    private static final int HANDLE_PROBES = 1 << 2;
+    private static final int HANDLE_KERNEL = 1 << 3;
+    private static final int HANDLE_SYSTEM_CONFIG = 1 << 4;
+    private static final int HANDLER_COUNT = 5;
+
+    // 各输出分段读取的数据来自哪些处理器，依赖的 section 都未变化时输出可以直接复用
+    private static final int DEPENDS_DEVICE_IDENTITY = HANDLE_PROPERTIES | HANDLE_DRM;
+    private static final int DEPENDS_SECURITY_STATES = HANDLE_PROPERTIES | HANDLE_PROBES;
+    private static final int DEPENDS_NATIVE_PROBES = HANDLE_PROBES | HANDLE_SYSTEM_CONFIG;
+    private static final int DEPENDS_KERNEL_PROPS = HANDLE_KERNEL | HANDLE_SYSTEM_CONFIG | HANDLE_PROBES;
+    private static final int DEPENDS_RISK_TAGS = HANDLE_PROPERTIES;
+
+    // section 标题 -> 处理器，首次出现时解析后缓存
+    private static final Map<String, Integer> SECTION_HANDLERS = new ConcurrentHashMap<>();
+    private static final int MAX_CACHED_SECTIONS = 64;
+
+    // mounts_hash 的固定种子，修改后所有设备的挂载哈希都会变化
+    private static final long MOUNTS_HASH_SEED = 0x5350484d4f554e54L;
+
+    /**
+     * 清洗并结构化 Native 文件指纹数据（顺序执行）
+     * @param rawNativeInfo 原始 Native 文件信息字符串
+     * @return 清洗后的结构化 JSON 数据
+     */
+    @NonNull
+    public static JSONObject cleanNativeFingerprint(@NonNull String rawNativeInfo) {
+        return cleanNativeFingerprint(rawNativeInfo, false);
+    }
+
+    /**
+     * 清洗并结构化 Native 文件指纹数据
+     * 解析完成后各分段只读取解析结果，parallel 为 true 且数据达到阈值时在 fork/join 池中并行构建，
+     * 结果按固定顺序合并
+     * @param rawNativeInfo 原始 Native 文件信息字符串
+     * @param parallel 是否允许并行清洗
+     * @return 清洗后的结构化 JSON 数据
+     */
+    @NonNull
+    public static JSONObject cleanNativeFingerprint(@NonNull String rawNativeInfo, boolean parallel) {
+        return cleanNativeFingerprint(rawNativeInfo, parallel, null);
+    }
+
+    /**
+     * 增量清洗 Native 文件指纹数据
+     * 每个原始 section 按内容哈希，未变化的 section 复用上次的解析结果；
+     * 输出的各个分段按其依赖的 section 哈希复用，CPU / 挂载 / 内存结构按探针内容复用
+     * @param rawNativeInfo 原始 Native 文件信息字符串
+     * @param parallel 是否允许并行清洗
+     * @param cache 上一次清洗的缓存，为 null 时全部重新计算
+     * @return 清洗后的结构化 JSON 数据（复用的子对象与上次结果共享，不能修改）
+     */
+    @NonNull
+    public static JSONObject cleanNativeFingerprint(@NonNull String rawNativeInfo, boolean parallel,
+                                                    @Nullable CleaningCache cache) {
+        if (cache == null) {
+            return cleanNativeFingerprintWith(rawNativeInfo, parallel, null);
+        }
+        if (!cache.beginRun()) {
+            // 另一次清洗正在使用缓存，本次全部重新计算
+            CoreLog.d(TAG, "增量清洗缓存正在使用，本次不复用");
+            return cleanNativeFingerprintWith(rawNativeInfo, parallel, null);
+        }
+        try {
+            return cleanNativeFingerprintWith(rawNativeInfo, parallel, cache);
+        } finally {
+            cache.endRun();
+        }
+    }
+
+    /**
+     * @param cache 已由 beginRun 占用的缓存，为 null 时全部重新计算
+     */
+    private static JSONObject cleanNativeFingerprintWith(@NonNull String rawNativeInfo, boolean parallel,
+                                                         @Nullable CleaningCache cache) {
+        try {
+            JSONObject cleaned = new JSONObject();
+            
+            // 解析原始数据
+            ParsedNativeData parsed = parseRawNativeData(rawNativeInfo, cache);
+            SectionRunner runner = SectionRunner.create(parallel, rawNativeInfo.length());
+            
+            // 各分段与流式输出共用同一套写入逻辑，这里写入 JSONObject 树
+            // Native Probes 包含 CPU / 挂载信息哈希，是最重的分段，最先提交
+            SectionRunner.Result<JSONObject> nativeProbes = runner.submit(() -> reuse(cache, "native_probes",
+                    parsed.dependencyHash(DEPENDS_NATIVE_PROBES),
+                    () -> JsonTreeBuilder.buildObject(sink -> writeNativeProbes(parsed, cache, sink))));
+            SectionRunner.Result<JSONObject> deviceIdentity = runner.submit(() -> reuse(cache, "device_identity",
+                    parsed.dependencyHash(DEPENDS_DEVICE_IDENTITY),
+                    () -> JsonTreeBuilder.buildObject(sink -> writeDeviceIdentity(parsed, sink))));
+            SectionRunner.Result<JSONObject> securityStates = runner.submit(() -> reuse(cache, "security_states",
+                    parsed.dependencyHash(DEPENDS_SECURITY_STATES),
+                    () -> JsonTreeBuilder.buildObject(sink -> writeSecurityStates(parsed, sink))));
+            SectionRunner.Result<JSONObject> kernelProps = runner.submit(() -> reuse(cache, "kernel_props",
+                    parsed.dependencyHash(DEPENDS_KERNEL_PROPS),
+                    () -> JsonTreeBuilder.buildObject(sink -> writeKernelProperties(parsed, sink))));
+            SectionRunner.Result<List<String>> riskTags = runner.submit(() -> reuse(cache, "risk_tags",
+                    parsed.dependencyHash(DEPENDS_RISK_TAGS), () -> buildRiskTags(parsed)));
+            
+            // 1. Device Identity - 设备身份信息
+            cleaned.put("device_identity", deviceIdentity.get());
+            
+            // 2. Security States - 安全状态
+            cleaned.put("security_states", securityStates.get());
+            
+            // 3. Native Probes - Native 层探针结果
+            cleaned.put("native_probes", nativeProbes.get());
+            
+            // 4. Kernel Properties - 内核属性
+            cleaned.put("kernel_props", kernelProps.get());
+            
+            // 5. Risk Tags - 风险标签
+            List<String> tags = riskTags.get();
+            if (!tags.isEmpty()) {
+                cleaned.put("risk_tags", new JSONArray(tags));
+            }
+            
+            if (cache != null) {
+                CoreLog.d(TAG, "增量清洗: 复用=" + cache.getHits() + ", 重新计算=" + cache.getMisses());
+            }
+            return cleaned;
+            
+        } catch (JSONException e) {
+            CoreLog.e(TAG, "清洗 Native 指纹数据失败", e);
+            return new JSONObject();
+        }
+    }
+
+    /**
+     * 清洗 Native 文件指纹数据并直接写入流式输出，不构建 JSONObject 树（顺序执行，不使用增量缓存）
+     * 输出与 cleanNativeFingerprint(rawNativeInfo).toString() 内容等价（Android 上逐字节一致，JVM 上键顺序可能不同）；
+     * 写入途中失败时已写入的部分无法撤回，调用方应丢弃输出
+     * @param rawNativeInfo 原始 Native 文件信息字符串
+     * @param sink 输出目标，写入一个完整的根对象
+     */
+    public static void writeNativeFingerprint(@NonNull String rawNativeInfo, @NonNull JsonSink sink)
+            throws JSONException {
+        sink.beginObject(null);
+        writeNativeSections(rawNativeInfo, sink);
+        sink.endObject();
+    }
+
+    /**
+     * 把清洗后的各分段写入已打开的对象
+     */
+    static void writeNativeSections(@NonNull String rawNativeInfo, @NonNull JsonSink sink) throws JSONException {
+        ParsedNativeData parsed = parseRawNativeData(rawNativeInfo, null);
+        
+        sink.beginObject("device_identity");
+        writeDeviceIdentity(parsed, sink);
+        sink.endObject();
+        
+        sink.beginObject("security_states");
+        writeSecurityStates(parsed, sink);
+        sink.endObject();
+        
+        sink.beginObject("native_probes");
+        writeNativeProbes(parsed, null, sink);
+        sink.endObject();
+        
+        sink.beginObject("kernel_props");
+        writeKernelProperties(parsed, sink);
+        sink.endObject();
+        
+        List<String> tags = buildRiskTags(parsed);
+        if (!tags.isEmpty()) {
+            sink.beginArray("risk_tags");
+            for (String tag : tags) {
+                sink.add(tag);
+            }
+            sink.endArray();
+        }
+    }
+
+    /**
+     * 来源未变化时复用缓存中的值，否则重新计算并写入缓存
+     * @param cache 缓存，为 null 时直接计算
+     * @param key 缓存键
+     * @param hash 来源的 128 位哈希（低 64 位, 高 64 位）
+     * @param compute 计算逻辑
+     */
+    private static <T> T reuse(CleaningCache cache, String key, long[] hash,
+                               SectionRunner.Section<T> compute) throws JSONException {
+        return reuse(cache, key, null, hash[0], hash[1], compute);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T reuse(CleaningCache cache, String key, Object source, long hash1, long hash2,
+                               SectionRunner.Section<T> compute) throws JSONException {
+        if (cache == null) {
+            return compute.clean();
+        }
+        Object cached = cache.get(key, source, hash1, hash2);
+        if (cached != null) {
+            return (T) cached;
+        }
+        T value = compute.clean();
+        if (value != null) {
+            cache.put(key, source, hash1, hash2, value);
+        }
+        return value;
+    }
+
+    /**
+     * 解析原始 Native 数据字符串
+     * 先按标题切分 section，再用 NativeDumpLexer 单次扫描每个 section，按标题分派到各行处理器；
+     * 有缓存时内容哈希未变化的 section 直接复用上次的解析结果
+     */
+    private static ParsedNativeData parseRawNativeData(String raw, CleaningCache cache) {
+        ParsedNativeData parsed = new ParsedNativeData();
+        
+        if (raw == null || raw.trim().isEmpty()) {
+            return parsed;
+        }
+        
+        NativeDumpLexer sections = new NativeDumpLexer(raw);
+        // 第一个标题之前的内容不属于任何 section，不处理
+        String title = null;
+        int bodyStart = 0;
+        int index = 0;
+        while (true) {
+            int event = sections.nextSection();
+            int bodyEnd = event == NativeDumpLexer.END ? raw.length() : sections.getRawStart();
+            if (title != null) {
+                parseSection(raw, title, index++, bodyStart, bodyEnd, parsed, cache);
+            }
+            if (event == NativeDumpLexer.END) {
+                break;
+            }
+            title = sections.getTitle();
+            bodyStart = sections.getPosition();
+        }
+        
+        CoreLog.d(TAG, "解析完成: 系统属性=" + parsed.systemProperties.size() + 
+                   ", 文件探针=" + parsed.fileProbes.size());
+        
+        return parsed;
+    }
+
+    /**
+     * 解析单个 section 的内容 raw[start, end)，结果按顺序合并到 parsed
+     */
+    private static void parseSection(String raw, String title, int index, int start, int end,
+                                     ParsedNativeData parsed, CleaningCache cache) {
+        int handlers = sectionHandlers(title);
+        if (handlers == 0) {
+            return;
+        }
+        
+        SectionData data = null;
+        long[] hash = null;
+        String key = null;
+        if (cache != null) {
+            // 种子包含标题，标题不同的 section 即使内容相同也不会共用结果
+            hash = new long[2];
+            Murmur3.hash128(raw, start, end, title.hashCode(), hash);
+            key = "section:" + index + ":" + title;
+            data = (SectionData) cache.get(key, null, hash[0], hash[1]);
+        }
+        if (data == null) {
+            CoreLog.d(TAG, "处理 Section: " + title);
+            data = parseSectionData(raw, start, end, handlers);
+            if (cache != null) {
+                cache.put(key, null, hash[0], hash[1], data);
+            }
+        }
+        parsed.merge(data, handlers, hash);
+    }
+
+    /**
+     * 扫描 section 内容，各行处理器的结果写入独立的 SectionData
+     */
+    private static SectionData parseSectionData(String raw, int start, int end, int handlers) {
+        SectionData data = new SectionData();
+        NativeDumpLexer lexer = new NativeDumpLexer(raw, start, end);
+        ProbeParser probes = new ProbeParser();
+        int event;
+        while ((event = lexer.next()) != NativeDumpLexer.END) {
+            if ((handlers & HANDLE_PROPERTIES) != 0 && event == NativeDumpLexer.PROPERTY) {
+                parseSystemProperty(lexer, data);
+            }
+            if ((handlers & HANDLE_DRM) != 0) {
+                parseDrmLine(lexer, data);
+            }
+            if ((handlers & HANDLE_PROBES) != 0) {
+                probes.accept(event, lexer, data);
+            }
+            if ((handlers & HANDLE_KERNEL) != 0) {
+                parseKernelLine(lexer, data);
+            }
+            if ((handlers & HANDLE_SYSTEM_CONFIG) != 0) {
+                parseSystemConfigLine(lexer, data);
+            }
+        }
+        // 探针不跨 section，保存最后一个文件
+        probes.finish(data);
+        return data;
+    }
+    
+    /**
+     * 查询 section 标题对应的处理器（位掩码）
+     * 标题集合很小且固定，首次出现时按关键字解析一次，之后直接查表
+     */
+    private static int sectionHandlers(String title) {
+        Integer handlers = SECTION_HANDLERS.get(title);
+        if (handlers == null) {
+            handlers = resolveSectionHandlers(title);
+            if (SECTION_HANDLERS.size() < MAX_CACHED_SECTIONS) {
+                SECTION_HANDLERS.put(title, handlers);
+            }
+        }
+        return handlers;
+    }
+
+    /**
+     * 按标题关键字确定 section 的处理器，一个 section 可以对应多个处理器
+     */
+    private static int resolveSectionHandlers(String title) {
+        if (title.isEmpty()) {
+            return 0;
+        }
+        int handlers = 0;
+        
+        // 解析系统属性相关的 section
+        if (title.contains("Native Build Info") || title.contains("USB Config") || 
+            title.contains("Security") || title.contains("Build ID") ||
+            title.contains("SDK Version") || title.contains("Security Patch") ||
+            title.contains("Other System") || title.contains("Display ID") ||
+            title.contains("Build Host") || title.contains("Build Version") ||
+            title.contains("Build Description") || title.contains("Build Fingerprint") ||
+            title.contains("Other System Property")) {
+            handlers |= HANDLE_PROPERTIES;
+        }
+        
+        // 解析 DRM 信息
+        if (title.contains("DRM Info")) {
+            handlers |= HANDLE_DRM;
+        }
+        
+        // 解析硬件、环境、挂载信息（文件探针格式相同）
+        if (title.contains("核心硬件与内核特征") || title.contains("Hardware & Kernel") ||
+            title.contains("环境与安全检测") || title.contains("Environment & Security") ||
+            title.contains("挂载点与输入设备") || title.contains("Mounts & Inputs")) {
+            handlers |= HANDLE_PROBES;
+        }
+        
+        // 解析内核信息
+        if (title.contains("内核信息") || title.contains("Kernel Info")) {
+            handlers |= HANDLE_KERNEL;
+        }
+        
+        // 解析系统配置信息
+        if (title.contains("系统配置信息") || title.contains("System Config")) {
+            handlers |= HANDLE_SYSTEM_CONFIG;
+        }
+        return handlers;
+    }
+
+    /**
+     * 解析系统属性（key = value）
+     */
+    private static void parseSystemProperty(NativeDumpLexer lexer, SectionData data) {
+        if (lexer.lineStartsWith("===")
+                || lexer.valueEquals("null") || lexer.valueContains("SecurityException")) {
+            return;
+        }
+        data.systemProperties.put(lexer.getKey(), lexer.getValue());
+    }
+
+    /**
+     * 文件探针解析状态（包括 /proc/cpuinfo, /proc/meminfo 等）
+     * 格式: Path / Exit Code / Accessible / Content（可跨多行）/ ---
+     */
+    private static final class ProbeParser {
+        // 多行内容按原始行追加，所有探针复用同一个缓冲区
+        private final StringBuilder content = new StringBuilder();
+        private String path;
+        private int exitCode = -1;
+        private boolean accessible;
+        private boolean inContent;
+
+        void accept(int event, NativeDumpLexer lexer, SectionData data) {
+            switch (event) {
+                case NativeDumpLexer.PROBE_PATH:
+                    // 保存上一个文件的数据，开始新文件
+                    finish(data);
+                    path = lexer.getValue();
+                    break;
+                case NativeDumpLexer.PROBE_EXIT_CODE:
+                    try {
+                        exitCode = Integer.parseInt(lexer.getValue());
+                    } catch (NumberFormatException e) {
+                        exitCode = -1;
+                    }
+                    inContent = false;
+                    break;
+                case NativeDumpLexer.PROBE_ACCESSIBLE:
+                    accessible = lexer.valueContains("true");
+                    inContent = false;
+                    break;
+                case NativeDumpLexer.PROBE_CONTENT:
+                    inContent = true;
+                    if (!lexer.valueEquals("[EMPTY]")) {
+                        appendLine(lexer.getValue());
+                    }
+                    break;
+                case NativeDumpLexer.PROBE_END:
+                    // 文件结束标记
+                    inContent = false;
+                    break;
+                default:
+                    if (inContent && path != null) {
+                        // 继续读取内容（保留原始行的格式）
+                        CharSequence input = lexer.getInput();
+                        if (content.length() > 0) {
+                            content.append('\n');
+                        }
+                        content.append(input, lexer.getRawStart(), lexer.getRawEnd());
+                    }
+                    break;
+            }
+        }
+
+        private void appendLine(String line) {
+            if (content.length() > 0) {
+                content.append('\n');
+            }
+            content.append(line);
+        }
+
+        /**
+         * 保存当前文件（如果有）并重置状态
+         */
+        void finish(SectionData data) {
+            if (path != null) {
+                FileProbe probe = new FileProbe();
+                probe.path = path;
+                probe.content = trimmed(content);
+                probe.exitCode = exitCode;
+                probe.accessible = accessible;
+                data.fileProbes.put(path, probe);
+            }
+            content.setLength(0);
+            path = null;
+            exitCode = -1;
+            accessible = false;
+            inContent = false;
+        }
+
+        private static String trimmed(StringBuilder text) {
+            int start = 0;
+            int end = text.length();
+            while (start < end && text.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && text.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            return text.substring(start, end);
+        }
+    }
+
+    /**
+     * 解析内核信息（uname）
+     */
+    private static void parseKernelLine(NativeDumpLexer lexer, SectionData data) {
+        if (lexer.lineStartsWith("Release:")) {
+            data.kernelRelease = lexer.getFieldValue("Release:");
+        } else if (lexer.lineStartsWith("Machine:")) {
+            data.kernelMachine = lexer.getFieldValue("Machine:");
+        } else if (lexer.lineStartsWith("System Name:")) {
+            putUnameProperty("uname.sysname", lexer.getFieldValue("System Name:"), data);
+        } else if (lexer.lineStartsWith("Node Name:")) {
+            putUnameProperty("uname.nodename", lexer.getFieldValue("Node Name:"), data);
+        } else if (lexer.lineStartsWith("Version:")) {
+            putUnameProperty("uname.version", lexer.getFieldValue("Version:"), data);
+        } else if (lexer.lineStartsWith("Domain Name:")) {
+            putUnameProperty("uname.domainname", lexer.getFieldValue("Domain Name:"), data);
+        }
+    }
+
+    private static void putUnameProperty(String key, String value, SectionData data) {
+        if (!value.equals("null") && !value.isEmpty()) {
+            data.systemProperties.put(key, value);
+        }
+    }
+
+    /**
+     * 解析系统配置信息（sysconf）
+     */
+    private static void parseSystemConfigLine(NativeDumpLexer lexer, SectionData data) {
+        try {
+            if (lexer.lineStartsWith("Page Size:")) {
+                String value = lexer.getFieldValue("Page Size:").replace(" bytes", "").trim();
+                data.pageSize = Long.parseLong(value);
+            } else if (lexer.lineStartsWith("Physical Pages:")) {
+                data.physPages = Long.parseLong(lexer.getFieldValue("Physical Pages:"));
+            } else if (lexer.lineStartsWith("Total Physical Memory:")) {
+                String value = lexer.getFieldValue("Total Physical Memory:").replace(" MB", "").trim();
+                data.totalRamMb = Long.parseLong(value);
+            } else if (lexer.lineStartsWith("CPU Cores (Online):")) {
+                data.cpuCores = Integer.parseInt(lexer.getFieldValue("CPU Cores (Online):"));
+            }
+        } catch (NumberFormatException e) {
+            // 忽略
+        }
+    }
+
+    /**
+     * 解析 DRM 信息
+     */
+    private static void parseDrmLine(NativeDumpLexer lexer, SectionData data) {
+        if (lexer.lineStartsWith("MediaDrm Device Unique ID (Hex):")) {
+            String value = lexer.getFieldValue("MediaDrm Device Unique ID (Hex):");
+            if (!value.isEmpty() && !value.equals("null")) {
+                data.drmDeviceId = value;
+            }
+        }
+    }
+
+    /**
+     * 构建设备身份信息
+     */
+    private static void writeDeviceIdentity(ParsedNativeData parsed, JsonSink sink) throws JSONException {
+        // Board / Platform
+        String board = parsed.systemProperties.get("ro.board.platform");
+        if (board != null && !board.equals("null")) {
+            sink.put("board", board);
+        }
+        
+        // Product Name
+        String product = parsed.systemProperties.get("ro.product.name");
+        if (product == null || product.equals("null")) {
+            product = parsed.systemProperties.get("ro.product.device");
+        }
+        if (product != null && !product.equals("null")) {
+            sink.put("product", product);
+        }
+        
+        // Model
+        String model = parsed.systemProperties.get("ro.product.model");
+        if (model != null && !model.equals("null")) {
+            sink.put("model", model);
+        }
+        
+        // Build Fingerprint
+        String fingerprint = parsed.systemProperties.get("ro.build.fingerprint");
+        if (fingerprint == null || fingerprint.equals("null")) {
+            fingerprint = parsed.systemProperties.get("ro.build.build.fingerprint");
+        }
+        if (fingerprint != null && !fingerprint.equals("null")) {
+            sink.put("fingerprint_string", fingerprint);
+        }
+        
+        // Build ID
+        String buildId = parsed.systemProperties.get("ro.build.id");
+        if (buildId != null && !buildId.equals("null")) {
+            sink.put("build_id", buildId);
+        }
+        
+        // Build Display ID
+        String displayId = parsed.systemProperties.get("ro.build.display.id");
+        if (displayId != null && !displayId.equals("null")) {
+            sink.put("display_id", displayId);
+        }
+        
+        // Build Tags
+        String tags = parsed.systemProperties.get("ro.build.tags");
+        if (tags != null && !tags.equals("null")) {
+            sink.put("build_tags", tags);
+        }
+        
+        // Build Description
+        String description = parsed.systemProperties.get("ro.build.description");
+        if (description != null && !description.equals("null")) {
+            sink.put("build_description", description);
+        }
+        
+        // Security Patch
+        String securityPatch = parsed.systemProperties.get("ro.build.version.security_patch");
+        if (securityPatch != null && !securityPatch.equals("null")) {
+            sink.put("security_patch", securityPatch);
+        }
+        
+        // SDK Version
+        String sdk = parsed.systemProperties.get("ro.build.version.sdk");
+        if (sdk != null && !sdk.equals("null")) {
+            try {
+                sink.put("sdk_version", Integer.parseInt(sdk));
+            } catch (NumberFormatException e) {
+                sink.put("sdk_version", sdk);
+            }
+        }
+        
+        // Build Incremental
+        String incremental = parsed.systemProperties.get("ro.build.version.incremental");
+        if (incremental != null && !incremental.equals("null")) {
+            sink.put("incremental", incremental);
+        }
+        
+        // CPU ABI
+        String cpuAbi = parsed.systemProperties.get("ro.product.cpu.abi");
+        if (cpuAbi != null && !cpuAbi.equals("null")) {
+            sink.put("cpu_abi", cpuAbi);
+        }
+        
+        // Baseband Version
+        String baseband = parsed.systemProperties.get("gsm.version.baseband");
+        if (baseband != null && !baseband.equals("null")) {
+            sink.put("baseband", baseband);
+        }
+        
+        // DRM Device ID
+        if (parsed.drmDeviceId != null && !parsed.drmDeviceId.isEmpty()) {
+            sink.put("drm_device_id", parsed.drmDeviceId);
+        }
+        
+        // Build Host & User
+        String buildHost = parsed.systemProperties.get("ro.build.host");
+        if (buildHost != null && !buildHost.equals("null")) {
+            sink.put("build_host", buildHost);
+        }
+        
+        String buildUser = parsed.systemProperties.get("ro.build.user");
+        if (buildUser != null && !buildUser.equals("null")) {
+            sink.put("build_user", buildUser);
+        }
+        
+        // Build Date UTC
+        String buildDateUtc = parsed.systemProperties.get("ro.build.date.utc");
+        if (buildDateUtc != null && !buildDateUtc.equals("null")) {
+            try {
+                sink.put("build_date_utc", Long.parseLong(buildDateUtc));
+            } catch (NumberFormatException e) {
+                sink.put("build_date_utc", buildDateUtc);
+            }
+        }
+        
+        // 分区 Build 属性一致性（值池引用比较）
+        sink.put("all_partitions_agree", parsed.getPartitionTable().allPartitionsAgree());
+    }
+
+    /**
+     * 构建安全状态
+     */
+    private static void writeSecurityStates(ParsedNativeData parsed, JsonSink sink) throws JSONException {
+        // Bootloader 锁定状态
+        String flashLocked = parsed.systemProperties.get("ro.boot.flash.locked");
+        if (flashLocked != null && !flashLocked.equals("null")) {
+            sink.put("bootloader_locked", flashLocked.equals("1"));
+        }
+        
+        // OEM Unlock 允许状态
+        String oemUnlock = parsed.systemProperties.get("sys.oem_unlock_allowed");
+        if (oemUnlock != null && !oemUnlock.equals("null")) {
+            sink.put("oem_unlock_allowed", oemUnlock.equals("1"));
+        }
+        
+        // Verified Boot 状态
+        String vbState = parsed.systemProperties.get("ro.boot.verifiedbootstate");
+        if (vbState != null && !vbState.equals("null")) {
+            sink.put("vb_state", vbState);
+        }
+        
+        // VBMeta Device State
+        String vbmetaDeviceState = parsed.systemProperties.get("ro.boot.vbmeta.device_state");
+        if (vbmetaDeviceState != null && !vbmetaDeviceState.equals("null")) {
+            sink.put("vbmeta_device_state", vbmetaDeviceState);
+        }
+        
+        // VBMeta Digest
+        String vbmetaDigest = parsed.systemProperties.get("ro.boot.vbmeta.digest");
+        if (vbmetaDigest != null && !vbmetaDigest.equals("null")) {
+            sink.put("vbmeta_digest", vbmetaDigest);
+        }
+        
+        // ro.secure
+        String roSecure = parsed.systemProperties.get("ro.secure");
+        if (roSecure != null && !roSecure.equals("null")) {
+            sink.put("ro_secure", roSecure.equals("1"));
+        }
+        
+        // ro.debuggable
+        String debuggable = parsed.systemProperties.get("ro.debuggable");
+        if (debuggable != null && !debuggable.equals("null")) {
+            sink.put("debuggable", debuggable.equals("1"));
+        }
+        
+        // ADB 启用状态
+        String usbConfig = parsed.systemProperties.get("sys.usb.config");
+        boolean adbEnabled = usbConfig != null && usbConfig.contains("adb");
+        sink.put("adb_enabled", adbEnabled);
+        
+        // ADB 服务状态
+        String adbdService = parsed.systemProperties.get("init.svc.adbd");
+        if (adbdService != null && !adbdService.equals("null")) {
+            sink.put("adbd_service_status", adbdService);
+        }
+        
+        // USB 状态
+        String usbState = parsed.systemProperties.get("sys.usb.state");
+        if (usbState != null && !usbState.equals("null")) {
+            sink.put("usb_state", usbState);
+        }
+        
+        // SELinux 强制模式（通过文件访问推断）
+        FileProbe selinuxProbe = parsed.fileProbes.get("/sys/fs/selinux/enforce");
+        boolean selinuxEnforcing = false;
+        if (selinuxProbe != null && !selinuxProbe.accessible) {
+            // 如果无法读取，可能是强制模式（权限拒绝）
+            selinuxEnforcing = selinuxProbe.exitCode == 1;
+        }
+        sink.put("selinux_enforcing", selinuxEnforcing);
+        
+        // Treble 支持
+        String trebleEnabled = parsed.systemProperties.get("ro.treble.enabled");
+        if (trebleEnabled != null && !trebleEnabled.equals("null")) {
+            sink.put("treble_enabled", trebleEnabled.equals("true"));
+        }
+    }
+
+    /**
+     * 构建 Native 探针结果
+     */
+    private static void writeNativeProbes(ParsedNativeData parsed, CleaningCache cache,
+                                          JsonSink sink) throws JSONException {
+        // CPU / 挂载 / 内存结构按探针内容复用：所在 section 含有每次都变化的文件时，
+        // 这些文件本身的内容通常仍然不变
+        // 1. CPU 结构哈希
+        FileProbe cpuinfoProbe = parsed.fileProbes.get("/proc/cpuinfo");
+        if (cpuinfoProbe != null && cpuinfoProbe.accessible) {
+            writeReusedObject(sink, "cpu_structure", cache, cpuinfoProbe.content, 0,
+                    cpuInfo -> writeCpuInfo(cpuinfoProbe.content, cpuInfo));
+        }
+        
+        // 2. 挂载信息哈希
+        FileProbe mountinfoProbe = parsed.fileProbes.get("/proc/self/mountinfo");
+        if (mountinfoProbe != null && mountinfoProbe.accessible) {
+            String mountsHash = reuse(cache, "mounts_hash", mountinfoProbe.content, 0, 0,
+                    () -> cleanMountInfo(mountinfoProbe.content));
+            sink.put("mounts_hash", mountsHash);
+        }
+        
+        // 3. 文件访问映射
+        sink.beginObject("file_access_map");
+        for (String path : parsed.fileProbes.keySet()) {
+            FileProbe probe = parsed.fileProbes.get(path);
+            if (probe != null) {
+                String status = mapProbeStatus(probe);
+                sink.put(path, status);
+            }
+        }
+        sink.endObject();
+        
+        // 4. 内存信息
+        FileProbe meminfoProbe = parsed.fileProbes.get("/proc/meminfo");
+        if (meminfoProbe != null && meminfoProbe.accessible) {
+            writeReusedObject(sink, "memory_structure", cache, meminfoProbe.content, parsed.totalRamMb,
+                    memInfo -> writeMemInfo(meminfoProbe.content, parsed, memInfo));
+        }
+    }
+
+    /**
+     * 写入一个子对象；有缓存时按来源复用上次构建的对象，没有缓存时直接写入
+     * @param name 成员名，同时作为缓存键
+     * @param source 来源内容
+     * @param hash1 来源之外的附加标记
+     * @param members 子对象的写入逻辑
+     */
+    private static void writeReusedObject(JsonSink sink, String name, CleaningCache cache, Object source,
+                                          long hash1, JsonTreeBuilder.Members members) throws JSONException {
+        if (cache == null) {
+            sink.beginObject(name);
+            members.writeTo(sink);
+            sink.endObject();
+            return;
+        }
+        sink.put(name, reuse(cache, name, source, hash1, 0, () -> JsonTreeBuilder.buildObject(members)));
+    }
+
+    /**
+     * 清洗 CPU 信息
+     */
+    private static void writeCpuInfo(String rawCpuinfo, JsonSink sink) throws JSONException {
+        Set<String> cpuParts = new HashSet<>();
+        String features = "";
+        String hardware = "";
+        
+        String[] lines = rawCpuinfo.split("\n");
+        for (String line : lines) {
+            line = line.trim();
+            if (line.isEmpty()) continue;
+            
+            // 提取 CPU part
+            if (line.startsWith("CPU part")) {
+                String part = line.substring(line.indexOf(":") + 1).trim();
+                if (!part.isEmpty()) {
+                    cpuParts.add(part);
+                }
+            }
+            
+            // 提取 Features（只取第一个）
+            if (line.startsWith("Features") && features.isEmpty()) {
+                features = line.substring(line.indexOf(":") + 1).trim();
+            }
+            
+            // 提取 Hardware
+            if (line.startsWith("Hardware")) {
+                hardware = line.substring(line.indexOf(":") + 1).trim();
+            }
+        }
+        
+        // 排序 CPU parts
+        List<String> sortedParts = new ArrayList<>(cpuParts);
+        Collections.sort(sortedParts);
+        sink.beginArray("cpu_parts");
+        for (String part : sortedParts) {
+            sink.add(part);
+        }
+        sink.endArray();
+        
+        // Features 哈希
+        if (!features.isEmpty()) {
+            sink.put("features_hash", sha256Hash(features));
+        }
+        
+        // Hardware
+        if (!hardware.isEmpty()) {
+            sink.put("hardware", hardware);
+        }
+        
+        // CPU 结构哈希（用于整体匹配），即 sortedParts.toString() + "|" + features
+        sink.put("cpu_structure_hash", FactorDigest.begin().addList(sortedParts).add(features).sha256Hex());
+    }
+
+    /**
+     * 清洗挂载信息
+     * 逐行去除行首的动态 ID 后单独哈希，再用多重集合哈希合并：
+     * 结果与行的顺序无关，不需要排序，也不需要保留整个行列表
+     */
+    private static String cleanMountInfo(String rawMountinfo) {
+        if (rawMountinfo == null || rawMountinfo.trim().isEmpty()) {
+            return "";
+        }
+        
+        MultisetHash digest = new MultisetHash(MOUNTS_HASH_SEED);
+        int length = rawMountinfo.length();
+        int lineStart = 0;
+        while (lineStart < length) {
+            int lineEnd = rawMountinfo.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = length;
+            }
+            
+            int start = lineStart;
+            int end = lineEnd;
+            while (start < end && rawMountinfo.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && rawMountinfo.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            if (start < end) {
+                // 去除行首的动态ID: "数字 数字 数字:数字 "
+                digest.add(rawMountinfo, skipMountIds(rawMountinfo, start, end), end);
+            }
+            lineStart = lineEnd + 1;
+        }
+        
+        return digest.toHex();
+    }
+
+    /**
+     * 跳过 mountinfo 行首的 "mount ID, parent ID, major:minor" 三个字段
+     * 等价于 ^\\d+\\s+\\d+\\s+\\d+:\\d+\\s+，格式不符时返回 start（保留整行）
+     */
+    private static int skipMountIds(String line, int start, int end) {
+        int pos = skipDigits(line, start, end);
+        if (pos == start) return start;
+        int next = skipSpaces(line, pos, end);
+        if (next == pos) return start;
+        pos = skipDigits(line, next, end);
+        if (pos == next) return start;
+        next = skipSpaces(line, pos, end);
+        if (next == pos) return start;
+        pos = skipDigits(line, next, end);
+        if (pos == next || pos >= end || line.charAt(pos) != ':') return start;
+        next = skipDigits(line, pos + 1, end);
+        if (next == pos + 1) return start;
+        pos = skipSpaces(line, next, end);
+        if (pos == next) return start;
+        return pos;
+    }
+
+    private static int skipDigits(String text, int pos, int end) {
+        while (pos < end && text.charAt(pos) >= '0' && text.charAt(pos) <= '9') {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int skipSpaces(String text, int pos, int end) {
+        while (pos < end && isRegexSpace(text.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * 与正则 \\s 一致的空白字符
+     */
+    private static boolean isRegexSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /**
+     * 清洗内存信息
+     */
+    private static void writeMemInfo(String rawMeminfo, ParsedNativeData parsed, JsonSink sink) throws JSONException {
+        // 使用 sysconf 获取的总内存（更准确）
+        if (parsed.totalRamMb > 0) {
+            // 向下取整到最近的 100MB
+            long roundedRam = (parsed.totalRamMb / 100) * 100;
+            sink.put("total_ram_mb", roundedRam);
+        } else {
+            // 从 meminfo 解析 MemTotal
+            String[] lines = rawMeminfo.split("\n");
+            for (String line : lines) {
+                if (line.startsWith("MemTotal:")) {
+                    try {
+                        String value = line.substring(9).trim().replace("kB", "").trim();
+                        long memTotalKb = Long.parseLong(value);
+                        long memTotalMb = memTotalKb / 1024;
+                        long roundedRam = (memTotalMb / 100) * 100;
+                        sink.put("total_ram_mb", roundedRam);
+                        break;
+                    } catch (NumberFormatException e) {
+                        // 忽略
+                    }
+                }
+            }
+        }
+        
+        // 检查是否有 Swap
+        boolean hasSwap = rawMeminfo.contains("SwapTotal:") && 
+                         !rawMeminfo.contains("SwapTotal: 0 kB");
+        sink.put("has_swap", hasSwap);
+        
+        // 字段计数（用于检测裁剪过的内核）
+        int fieldCount = 0;
+        String[] lines = rawMeminfo.split("\n");
+        for (String line : lines) {
+            if (line.contains(":") && !line.trim().isEmpty()) {
+                fieldCount++;
+            }
+        }
+        sink.put("field_count", fieldCount);
+    }
+
+    /**
+     * 映射探针状态
+     */
+    private static String mapProbeStatus(FileProbe probe) {
+        if (probe.accessible && probe.exitCode == 0) {
+            return STATUS_OK;
+        } else if (probe.exitCode == 1) {
+            // Permission Denied
+            return STATUS_PERM_DENIED;
+        } else if (probe.exitCode > 0) {
+            // File not found 或其他错误
+            return STATUS_NOT_FOUND;
+        } else {
+            return STATUS_ERROR;
+        }
+    }
+
+    /**
+     * 构建内核属性
+     */
+    private static void writeKernelProperties(ParsedNativeData parsed, JsonSink sink) throws JSONException {
+        // 内核版本
+        if (parsed.kernelRelease != null && !parsed.kernelRelease.isEmpty()) {
+            sink.put("uname_release", parsed.kernelRelease);
+        }
+        
+        // 机器架构
+        if (parsed.kernelMachine != null && !parsed.kernelMachine.isEmpty()) {
+            sink.put("machine", parsed.kernelMachine);
+        }
+        
+        // 页面大小
+        if (parsed.pageSize > 0) {
+            sink.put("page_size", parsed.pageSize);
+        }
+        
+        // 物理页数
+        if (parsed.physPages > 0) {
+            sink.put("phys_pages", parsed.physPages);
+        }
+        
+        // CPU 核心数
+        if (parsed.cpuCores > 0) {
+            sink.put("cpu_cores", parsed.cpuCores);
+        }
+        
+        // Boot ID（系统启动后的唯一标识）
+        FileProbe bootIdProbe = parsed.fileProbes.get("/proc/sys/kernel/random/boot_id");
+        if (bootIdProbe != null && bootIdProbe.accessible) {
+            String bootId = bootIdProbe.content.trim();
+            if (!bootId.isEmpty()) {
+                // Boot ID 是动态的，只记录格式是否正常
+                sink.put("boot_id_format", isLowerHexUuid(bootId) ? "UUID" : "NON_UUID");
+            }
+        }
+        
+        // 熵可用性
+        FileProbe entropyProbe = parsed.fileProbes.get("/proc/sys/kernel/random/entropy_avail");
+        if (entropyProbe != null && entropyProbe.accessible) {
+            try {
+                int entropy = Integer.parseInt(entropyProbe.content.trim());
+                // 记录熵的范围而不是精确值
+                String entropyLevel;
+                if (entropy < 100) {
+                    entropyLevel = "LOW";
+                } else if (entropy < 1000) {
+                    entropyLevel = "MEDIUM";
+                } else {
+                    entropyLevel = "HIGH";
+                }
+                sink.put("entropy_level", entropyLevel);
+            } catch (NumberFormatException e) {
+                // 忽略
+            }
+        }
+    }
+
+    /**
+     * 等价于 matches("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}")，逐字符检查，不编译正则
+     */
+    private static boolean isLowerHexUuid(String s) {
+        if (s.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = s.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 构建风险标签
+     */
+    private static List<String> buildRiskTags(ParsedNativeData parsed) {
+        List<String> riskTags = new ArrayList<>();
+        
+        // USB Debug 启用
+        String usbConfig = parsed.systemProperties.get("sys.usb.config");
+        if (usbConfig != null && usbConfig.contains("adb")) {
+            riskTags.add("USB_DEBUG_ENABLED");
+        }
+        
+        // Bootloader 解锁
+        String flashLocked = parsed.systemProperties.get("ro.boot.flash.locked");
+        if (flashLocked != null && !flashLocked.equals("1")) {
+            riskTags.add("BOOTLOADER_UNLOCKED");
+        }
+        
+        // 检测可疑库（从 Zygisk 检测结果推断）
+        // 这里可以扩展，检查是否有可疑的挂载点或文件
+        
+        return riskTags;
+    }
+
+    /**
+     * SHA256 哈希
+     */
+    private static String sha256Hash(String input) {
+        if (input == null || input.isEmpty()) {
+            return "";
+        }
+        return FactorDigest.sha256Hex(input);
+    }
+
+    /**
+     * 单个 section 的解析结果
+     * 只包含该 section 自己的内容，解析完成后不再修改，可以在多次清洗之间复用
+     */
+    private static class SectionData {
+        final java.util.Map<String, String> systemProperties = new java.util.LinkedHashMap<>();
+        final java.util.Map<String, FileProbe> fileProbes = new java.util.LinkedHashMap<>();
+        // 以下字段为 null 表示该 section 没有设置
+        String kernelRelease;
+        String kernelMachine;
+        Long pageSize;
+        Long physPages;
+        Long totalRamMb;
+        Integer cpuCores;
+        String drmDeviceId;
+    }
+
+    /**
+     * 解析后的 Native 数据结构
+     */
+    private static class ParsedNativeData {
+        // 快照值池：各分区相同的属性值只保存一份
+        final ValuePool valuePool = new ValuePool();
+        java.util.Map<String, String> systemProperties = new java.util.HashMap<>();
+        java.util.Map<String, FileProbe> fileProbes = new java.util.HashMap<>();
+        String kernelRelease = "";
+        String kernelMachine = "";
+        long pageSize = 0;
+        long physPages = 0;
+        long totalRamMb = 0;
+        int cpuCores = 0;
+        String drmDeviceId = "";
+        private BuildPartitionTable partitionTable;
+        // 每类处理器对应的 section 哈希，按 section 顺序累积（下标为处理器位序号）
+        private final long[][] handlerHashes = new long[HANDLER_COUNT][2];
+
+        /**
+         * 按 section 顺序合并，后出现的值覆盖先出现的值
+         * @param hash section 内容哈希，没有缓存时为 null
+         */
+        void merge(SectionData data, int handlers, long[] hash) {
+            for (java.util.Map.Entry<String, String> entry : data.systemProperties.entrySet()) {
+                systemProperties.put(entry.getKey(), valuePool.intern(entry.getValue()));
+            }
+            fileProbes.putAll(data.fileProbes);
+            if (data.kernelRelease != null) kernelRelease = data.kernelRelease;
+            if (data.kernelMachine != null) kernelMachine = data.kernelMachine;
+            if (data.pageSize != null) pageSize = data.pageSize;
+            if (data.physPages != null) physPages = data.physPages;
+            if (data.totalRamMb != null) totalRamMb = data.totalRamMb;
+            if (data.cpuCores != null) cpuCores = data.cpuCores;
+            if (data.drmDeviceId != null) drmDeviceId = data.drmDeviceId;
+            
+            if (hash != null) {
+                for (int i = 0; i < HANDLER_COUNT; i++) {
+                    if ((handlers & (1 << i)) != 0) {
+                        long[] combined = handlerHashes[i];
+                        combined[0] = Murmur3.fmix64(combined[0] ^ hash[0]) + 31;
+                        combined[1] = Murmur3.fmix64(combined[1] ^ hash[1]) + 37;
+                    }
+                }
+            }
+        }
+
+        /**
+         * 依赖指定处理器的所有 section 的组合哈希，用于判断某个输出分段能否复用
+         * @param dependencies 处理器位掩码
+         */
+        long[] dependencyHash(int dependencies) {
+            long[] hash = new long[2];
+            for (int i = 0; i < HANDLER_COUNT; i++) {
+                if ((dependencies & (1 << i)) != 0) {
+                    hash[0] = Murmur3.fmix64(hash[0] ^ handlerHashes[i][0]) + i;
+                    hash[1] = Murmur3.fmix64(hash[1] ^ handlerHashes[i][1]) + i;
+                }
+            }
+            return hash;
+        }
+
+        // 并行清洗时多个分段可能同时首次访问
+        synchronized BuildPartitionTable getPartitionTable() {
+            if (partitionTable == null) {
+                partitionTable = BuildPartitionTable.from(systemProperties, valuePool);
+            }
+            return partitionTable;
+        }
+    }
+
+    /**
+     * 文件探针结构
+     */
+    private static class FileProbe {
+        String path;
+        String content;
+        int exitCode;
+        boolean accessible;
+    }
+}
+
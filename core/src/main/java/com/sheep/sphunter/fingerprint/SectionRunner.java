@@ -0,0 +1,135 @@
+package com.sheep.sphunter.fingerprint;
+
+import androidx.annotation.NonNull;
+
+import org.json.JSONException;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 清洗分段执行器
+ * 并行模式下每个分段作为 fork/join 任务提交到公共池，顺序模式下在调用线程上立即执行；
+ * 调用方按固定顺序调用 {@link Result#get()} 合并结果，两种模式的输出完全一致
+ */
+public final class SectionRunner {
+    /**
+     * 输入小于该字符数时保持顺序执行，避免小数据承担任务调度开销
+     */
+    public static final int PARALLEL_THRESHOLD_CHARS = 8 * 1024;
+
+    private static final SectionRunner SEQUENTIAL = new SectionRunner(null);
+
+    private final ForkJoinPool pool;
+
+    private SectionRunner(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * @param parallel  是否允许并行
+     * @param inputSize 待清洗数据的大小（字符数）
+     * @return 并行被允许且输入达到阈值时返回并行执行器，否则返回顺序执行器
+     */
+    @NonNull
+    public static SectionRunner create(boolean parallel, int inputSize) {
+        if (!parallel || inputSize < PARALLEL_THRESHOLD_CHARS
+                || ForkJoinPool.getCommonPoolParallelism() < 2) {
+            return SEQUENTIAL;
+        }
+        return new SectionRunner(ForkJoinPool.commonPool());
+    }
+
+    public boolean isParallel() {
+        return pool != null;
+    }
+
+    /**
+     * 提交一个分段
+     *
+     * @param section 分段清洗逻辑，只能读取共享数据，写入自己创建的对象
+     * @return 分段结果
+     */
+    @NonNull
+    public <T> Result<T> submit(@NonNull Section<T> section) {
+        if (pool == null) {
+            try {
+                return new Result<>(section.clean(), null, null);
+            } catch (JSONException e) {
+                return new Result<>(null, e, null);
+            }
+        }
+        SectionTask<T> task = new SectionTask<>(section);
+        if (ForkJoinTask.inForkJoinPool()) {
+            // 嵌套调用（例如 Native 分段内部再拆分）时在当前工作线程中 fork
+            task.fork();
+        } else {
+            pool.execute(task);
+        }
+        return new Result<>(null, null, task);
+    }
+
+    /**
+     * 分段清洗逻辑
+     */
+    public interface Section<T> {
+        T clean() throws JSONException;
+    }
+
+    /**
+     * 分段结果
+     */
+    public static final class Result<T> {
+        private final T value;
+        private final JSONException error;
+        private final SectionTask<T> task;
+
+        private Result(T value, JSONException error, SectionTask<T> task) {
+            this.value = value;
+            this.error = error;
+            this.task = task;
+        }
+
+        /**
+         * 等待分段完成并取出结果
+         *
+         * @throws JSONException 分段清洗失败
+         */
+        public T get() throws JSONException {
+            if (task == null) {
+                if (error != null) {
+                    throw error;
+                }
+                return value;
+            }
+            T result = task.join();
+            if (task.error != null) {
+                throw task.error;
+            }
+            return result;
+        }
+    }
+
+    private static final class SectionTask<T> extends RecursiveTask<T> {
+        private static final long serialVersionUID = 1L;
+
+        private final Section<T> section;
+        private JSONException error;
+
+        SectionTask(Section<T> section) {
+            this.section = section;
+        }
+
+        @Override
+        protected T compute() {
+            try {
+                return section.clean();
+            } catch (JSONException e) {
+                // join() 建立 happens-before，调用线程可以安全读取
+                error = e;
+                return null;
+            }
+        }
+    }
+}
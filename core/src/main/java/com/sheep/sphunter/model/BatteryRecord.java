@@ -0,0 +1,206 @@
+package com.sheep.sphunter.model;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * 电池信息数据模型
+ * 直接保存 ACTION_BATTERY_CHANGED 粘性广播中的原始数值，-1 表示未获取到
+ */
+public final class BatteryRecord {
+    // 与 BatteryManager 常量取值一致
+    private static final int STATUS_CHARGING = 2;
+    private static final int STATUS_DISCHARGING = 3;
+    private static final int STATUS_NOT_CHARGING = 4;
+    private static final int STATUS_FULL = 5;
+    private static final int PLUGGED_AC = 1;
+    private static final int PLUGGED_USB = 2;
+    private static final int PLUGGED_WIRELESS = 4;
+    private static final int HEALTH_GOOD = 2;
+    private static final int HEALTH_OVERHEAT = 3;
+    private static final int HEALTH_DEAD = 4;
+    private static final int HEALTH_OVER_VOLTAGE = 5;
+    private static final int HEALTH_UNSPECIFIED_FAILURE = 6;
+    private static final int HEALTH_COLD = 7;
+
+    private final int level;
+    private final int scale;
+    private final int status;
+    private final int plugged;
+    private final int health;
+    private final int voltageMv;
+    private final int temperatureTenths;
+
+    public BatteryRecord(int level, int scale, int status, int plugged, int health,
+                         int voltageMv, int temperatureTenths) {
+        this.level = level;
+        this.scale = scale;
+        this.status = status;
+        this.plugged = plugged;
+        this.health = health;
+        this.voltageMv = voltageMv;
+        this.temperatureTenths = temperatureTenths;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    /**
+     * @return 电量百分比，无法计算时返回 -1
+     */
+    public float getLevelPercent() {
+        if (level != -1 && scale != -1) {
+            return (level * 100f) / scale;
+        }
+        return -1;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public int getPlugged() {
+        return plugged;
+    }
+
+    public int getHealth() {
+        return health;
+    }
+
+    /**
+     * @return 电压（毫伏），-1 表示未获取到
+     */
+    public int getVoltageMv() {
+        return voltageMv;
+    }
+
+    /**
+     * @return 温度（0.1 摄氏度），-1 表示未获取到
+     */
+    public int getTemperatureTenths() {
+        return temperatureTenths;
+    }
+
+    /**
+     * 获取充电状态描述
+     */
+    @NonNull
+    public String getStatusString() {
+        String name = getStatusName();
+        return name != null ? name : "Unknown";
+    }
+
+    /**
+     * 获取充电状态名称，未知取值返回 null
+     */
+    @Nullable
+    public String getStatusName() {
+        switch (status) {
+            case STATUS_CHARGING:
+                return "Charging";
+            case STATUS_DISCHARGING:
+                return "Discharging";
+            case STATUS_FULL:
+                return "Full";
+            case STATUS_NOT_CHARGING:
+                return "Not Charging";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 获取插拔状态描述
+     */
+    @NonNull
+    public String getPluggedString() {
+        String name = getPluggedName();
+        return name != null ? name : "Unknown";
+    }
+
+    /**
+     * 获取插拔状态名称，未知取值返回 null
+     */
+    @Nullable
+    public String getPluggedName() {
+        switch (plugged) {
+            case PLUGGED_AC:
+                return "AC Adapter";
+            case PLUGGED_USB:
+                return "USB";
+            case PLUGGED_WIRELESS:
+                return "Wireless";
+            case 0:
+                return "Unplugged";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 获取健康状态描述
+     */
+    @NonNull
+    public String getHealthString() {
+        String name = getHealthName();
+        return name != null ? name : "Unknown";
+    }
+
+    /**
+     * 获取健康状态名称，未知取值返回 null
+     */
+    @Nullable
+    public String getHealthName() {
+        switch (health) {
+            case HEALTH_GOOD:
+                return "Good";
+            case HEALTH_OVERHEAT:
+                return "Overheat";
+            case HEALTH_DEAD:
+                return "Dead";
+            case HEALTH_OVER_VOLTAGE:
+                return "Over Voltage";
+            case HEALTH_UNSPECIFIED_FAILURE:
+                return "Unspecified Failure";
+            case HEALTH_COLD:
+                return "Cold";
+            default:
+                return null;
+        }
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        result.append("Battery Level: ").append(String.format("%.1f%%", getLevelPercent()))
+                .append(" (").append(level).append("/").append(scale).append(")");
+
+        // 充电状态
+        result.append("\nStatus: ").append(getStatusString());
+
+        // 插拔状态
+        result.append("\nPlugged: ").append(getPluggedString());
+
+        // 健康状态
+        result.append("\nHealth: ").append(getHealthString());
+
+        // 电压
+        if (voltageMv != -1) {
+            result.append("\nVoltage: ").append(voltageMv).append(" mV");
+        }
+
+        // 温度
+        if (temperatureTenths != -1) {
+            float tempCelsius = temperatureTenths / 10f;
+            result.append("\nTemperature: ").append(String.format("%.1f°C", tempCelsius));
+        }
+
+        return result.toString();
+    }
+}
@@ -0,0 +1,105 @@
+package com.sheep.sphunter.model;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.sheep.sphunter.util.ValuePool;
+
+import java.util.Map;
+
+/**
+ * 分区 Build 属性表
+ * ro.{build,bootimage,odm,product,system_ext,system,vendor}.build.{id,tags,fingerprint,date.utc,version.incremental}
+ * 每个分区的值都是值池中的引用，正常设备上大多数分区值相同，只保存一份；
+ * "所有分区一致"在构造时通过引用比较算出
+ */
+public final class BuildPartitionTable {
+    /**
+     * 分区名，"" 表示 ro.build.*，"build" 表示 ro.build.build.*
+     */
+    public static final String[] PARTITIONS = {
+            "", "build", "bootimage", "odm", "product", "system_ext", "system", "vendor"
+    };
+
+    public static final String[] ATTRIBUTES = {
+            "id", "tags", "fingerprint", "date.utc", "version.incremental"
+    };
+
+    public static final int ATTR_ID = 0;
+    public static final int ATTR_TAGS = 1;
+    public static final int ATTR_FINGERPRINT = 2;
+    public static final int ATTR_DATE_UTC = 3;
+    public static final int ATTR_VERSION_INCREMENTAL = 4;
+
+    // [属性][分区] -> 值池引用，未获取到时为 null
+    private final String[][] values = new String[ATTRIBUTES.length][PARTITIONS.length];
+    private final boolean[] agree = new boolean[ATTRIBUTES.length];
+    private final boolean allAgree;
+
+    private BuildPartitionTable(Map<String, String> properties, ValuePool pool) {
+        boolean all = true;
+        for (int attr = 0; attr < ATTRIBUTES.length; attr++) {
+            String first = null;
+            boolean same = true;
+            for (int partition = 0; partition < PARTITIONS.length; partition++) {
+                String value = pool.intern(properties.get(key(partition, attr)));
+                values[attr][partition] = value;
+                if (value == null) {
+                    continue;
+                }
+                if (first == null) {
+                    first = value;
+                } else if (value != first) {
+                    // 同一个值池中的值，内容相同即为同一引用
+                    same = false;
+                }
+            }
+            agree[attr] = same;
+            all &= same;
+        }
+        allAgree = all;
+    }
+
+    /**
+     * 从属性键值构建分区表
+     *
+     * @param properties 属性键值（未获取到的属性不存在或值为 null）
+     * @param pool       快照值池，属性值已在池中时不会重复保存
+     * @return 分区属性表
+     */
+    @NonNull
+    public static BuildPartitionTable from(@NonNull Map<String, String> properties, @NonNull ValuePool pool) {
+        return new BuildPartitionTable(properties, pool);
+    }
+
+    /**
+     * 属性键名，例如 key(6, ATTR_ID) = "ro.system.build.id"
+     */
+    @NonNull
+    public static String key(int partition, int attribute) {
+        String name = PARTITIONS[partition];
+        if (name.isEmpty()) {
+            return "ro.build." + ATTRIBUTES[attribute];
+        }
+        return "ro." + name + ".build." + ATTRIBUTES[attribute];
+    }
+
+    @Nullable
+    public String getValue(int attribute, int partition) {
+        return values[attribute][partition];
+    }
+
+    /**
+     * 某个属性在所有分区是否一致（未获取到的分区不参与比较）
+     */
+    public boolean allPartitionsAgree(int attribute) {
+        return agree[attribute];
+    }
+
+    /**
+     * 所有属性在所有分区是否一致
+     */
+    public boolean allPartitionsAgree() {
+        return allAgree;
+    }
+}
@@ -0,0 +1,98 @@
+package com.sheep.sphunter.model;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.sheep.sphunter.util.ValuePool;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Build 系统属性数据模型
+ * 按分组保存属性键值（保持采集顺序），值为 null 表示未获取到；
+ * 属性值经过快照值池去重，多个分区的相同值只保存一份
+ */
+public final class BuildPropertiesRecord {
+    private final Map<String, Map<String, String>> sections = new LinkedHashMap<>();
+    private final ValuePool pool = new ValuePool();
+    private Map<String, String> current;
+    private BuildPartitionTable partitionTable;
+
+    public BuildPropertiesRecord() {
+    }
+
+    /**
+     * 开始新的属性分组，之后 put 的属性归入该分组
+     *
+     * @param title 分组标题
+     */
+    public void beginSection(@NonNull String title) {
+        current = sections.get(title);
+        if (current == null) {
+            current = new LinkedHashMap<>();
+            sections.put(title, current);
+        }
+    }
+
+    public void put(@NonNull String key, @Nullable String value) {
+        if (current == null) {
+            beginSection("");
+        }
+        current.put(key, pool.intern(value));
+        partitionTable = null;
+    }
+
+    /**
+     * @return 分区 Build 属性表（按需构建，之后复用）
+     */
+    @NonNull
+    public BuildPartitionTable getPartitionTable() {
+        if (partitionTable == null) {
+            partitionTable = BuildPartitionTable.from(getProperties(), pool);
+        }
+        return partitionTable;
+    }
+
+    /**
+     * @return 分组标题 -> 属性键值（只读）
+     */
+    @NonNull
+    public Map<String, Map<String, String>> getSections() {
+        return Collections.unmodifiableMap(sections);
+    }
+
+    /**
+     * @return 所有分组合并后的属性键值（按采集顺序）
+     */
+    @NonNull
+    public Map<String, String> getProperties() {
+        Map<String, String> all = new LinkedHashMap<>();
+        for (Map<String, String> section : sections.values()) {
+            all.putAll(section);
+        }
+        return all;
+    }
+
+    /**
+     * @return 与原 BuildInfoCollector 文本一致的 "=== 分组 ===" + "key = value" 格式
+     */
+    @NonNull
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        boolean first = true;
+        for (Map.Entry<String, Map<String, String>> section : sections.entrySet()) {
+            if (!first) {
+                result.append("\n");
+            }
+            first = false;
+            result.append("=== ").append(section.getKey()).append(" ===\n");
+            for (Map.Entry<String, String> entry : section.getValue().entrySet()) {
+                result.append(entry.getKey()).append(" = ").append(entry.getValue()).append("\n");
+            }
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,398 @@
+package com.sheep.sphunter.model;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 指纹采集结果数据模型
+ */
+public class FingerprintResult {
+    private String settings;
+    private Outcome<String> androidId;
+    private Outcome<String> bluetoothAddress;
+    private Outcome<String> serialNumber;
+    private Outcome<String> phoneInfo;
+    private String buildInfo;
+    private Outcome<String> accountInfo;
+    private Outcome<String> volumeInfo;
+    private String sensorInfo;
+    private Outcome<List<SensorRecord>> sensors;
+    private Outcome<String> drmInfo;
+    private String nativeBuildInfo;
+    private String nativeDrmInfo;
+    private String glendererInfo;
+    private String batteryInfo;
+    private String memoryInfo;
+    private SettingsRecord settingsRecord;
+    private BuildPropertiesRecord buildProperties;
+    private Outcome<GpuRecord> gpu;
+    private Outcome<BatteryRecord> battery;
+    private MemoryRecord memory;
+    private Map<String, String> skippedFields = Collections.emptyMap();
+
+    public FingerprintResult() {
+    }
+
+    public String getSettings() {
+        return settings;
+    }
+
+    public void setSettings(String settings) {
+        this.settings = settings;
+    }
+
+    public String getAndroidId() {
+        return androidId != null ? androidId.toString() : null;
+    }
+
+    public void setAndroidId(String androidId) {
+        this.androidId = androidId != null ? Outcome.value(androidId) : null;
+    }
+
+    @Nullable
+    public Outcome<String> getAndroidIdOutcome() {
+        return androidId;
+    }
+
+    public void setAndroidIdOutcome(Outcome<String> androidId) {
+        this.androidId = androidId;
+    }
+
+    public String getBluetoothAddress() {
+        return bluetoothAddress != null ? bluetoothAddress.toString() : null;
+    }
+
+    public void setBluetoothAddress(String bluetoothAddress) {
+        this.bluetoothAddress = bluetoothAddress != null ? Outcome.value(bluetoothAddress) : null;
+    }
+
+    @Nullable
+    public Outcome<String> getBluetoothAddressOutcome() {
+        return bluetoothAddress;
+    }
+
+    public void setBluetoothAddressOutcome(Outcome<String> bluetoothAddress) {
+        this.bluetoothAddress = bluetoothAddress;
+    }
+
+    public String getSerialNumber() {
+        return serialNumber != null ? serialNumber.toString() : null;
+    }
+
+    public void setSerialNumber(String serialNumber) {
+        this.serialNumber = serialNumber != null ? Outcome.value(serialNumber) : null;
+    }
+
+    @Nullable
+    public Outcome<String> getSerialNumberOutcome() {
+        return serialNumber;
+    }
+
+    public void setSerialNumberOutcome(Outcome<String> serialNumber) {
+        this.serialNumber = serialNumber;
+    }
+
+    public String getPhoneInfo() {
+        return phoneInfo != null ? phoneInfo.toString() : null;
+    }
+
+    public void setPhoneInfo(String phoneInfo) {
+        this.phoneInfo = phoneInfo != null ? Outcome.value(phoneInfo) : null;
+    }
+
+    @Nullable
+    public Outcome<String> getPhoneInfoOutcome() {
+        return phoneInfo;
+    }
+
+    public void setPhoneInfoOutcome(Outcome<String> phoneInfo) {
+        this.phoneInfo = phoneInfo;
+    }
+
+    public String getBuildInfo() {
+        return buildInfo;
+    }
+
+    public void setBuildInfo(String buildInfo) {
+        this.buildInfo = buildInfo;
+    }
+
+    public String getAccountInfo() {
+        return accountInfo != null ? accountInfo.toString() : null;
+    }
+
+    public void setAccountInfo(String accountInfo) {
+        this.accountInfo = accountInfo != null ? Outcome.value(accountInfo) : null;
+    }
+
+    @Nullable
+    public Outcome<String> getAccountInfoOutcome() {
+        return accountInfo;
+    }
+
+    public void setAccountInfoOutcome(Outcome<String> accountInfo) {
+        this.accountInfo = accountInfo;
+    }
+
+    public String getVolumeInfo() {
+        return volumeInfo != null ? volumeInfo.toString() : null;
+    }
+
+    public void setVolumeInfo(String volumeInfo) {
+        this.volumeInfo = volumeInfo != null ? Outcome.value(volumeInfo) : null;
+    }
+
+    @Nullable
+    public Outcome<String> getVolumeInfoOutcome() {
+        return volumeInfo;
+    }
+
+    public void setVolumeInfoOutcome(Outcome<String> volumeInfo) {
+        this.volumeInfo = volumeInfo;
+    }
+
+    public String getSensorInfo() {
+        return sensorInfo;
+    }
+
+    public void setSensorInfo(String sensorInfo) {
+        this.sensorInfo = sensorInfo;
+    }
+
+    /**
+     * 结构化传感器信息
+     */
+    @NonNull
+    public List<SensorRecord> getSensorRecords() {
+        List<SensorRecord> records = sensors != null ? sensors.getValue() : null;
+        return records != null ? records : Collections.emptyList();
+    }
+
+    public void setSensorRecords(List<SensorRecord> sensorRecords) {
+        this.sensors = Outcome.value(sensorRecords != null ? sensorRecords : Collections.emptyList());
+    }
+
+    @Nullable
+    public Outcome<List<SensorRecord>> getSensorsOutcome() {
+        return sensors;
+    }
+
+    public void setSensorsOutcome(Outcome<List<SensorRecord>> sensors) {
+        this.sensors = sensors;
+    }
+
+    public String getDrmInfo() {
+        return drmInfo != null ? drmInfo.toString() : null;
+    }
+
+    public void setDrmInfo(String drmInfo) {
+        this.drmInfo = drmInfo != null ? Outcome.value(drmInfo) : null;
+    }
+
+    @Nullable
+    public Outcome<String> getDrmInfoOutcome() {
+        return drmInfo;
+    }
+
+    public void setDrmInfoOutcome(Outcome<String> drmInfo) {
+        this.drmInfo = drmInfo;
+    }
+
+    public String getNativeBuildInfo() {
+        return nativeBuildInfo;
+    }
+
+    public void setNativeBuildInfo(String nativeBuildInfo) {
+        this.nativeBuildInfo = nativeBuildInfo;
+    }
+
+    public String getNativeDrmInfo() {
+        return nativeDrmInfo;
+    }
+
+    public void setNativeDrmInfo(String nativeDrmInfo) {
+        this.nativeDrmInfo = nativeDrmInfo;
+    }
+
+    public String getglendererInfo() {
+        return glendererInfo;
+    }
+
+    public void setGlendererInfo(String glendererInfo) {
+        this.glendererInfo = glendererInfo;
+    }
+
+    public String getBatteryInfo() {
+        return batteryInfo;
+    }
+
+    public void setBatteryInfo(String batteryInfo) {
+        this.batteryInfo = batteryInfo;
+    }
+
+    public void setMemoryInfo(String memoryInfo) {
+        this.memoryInfo = memoryInfo;
+    }
+
+    public String getMemoryInfo() {
+        return this.memoryInfo;
+    }
+
+    /**
+     * 结构化 Settings 信息
+     */
+    @Nullable
+    public SettingsRecord getSettingsRecord() {
+        return settingsRecord;
+    }
+
+    public void setSettingsRecord(SettingsRecord settingsRecord) {
+        this.settingsRecord = settingsRecord;
+    }
+
+    /**
+     * 结构化 Build 属性
+     */
+    @Nullable
+    public BuildPropertiesRecord getBuildProperties() {
+        return buildProperties;
+    }
+
+    public void setBuildProperties(BuildPropertiesRecord buildProperties) {
+        this.buildProperties = buildProperties;
+    }
+
+    /**
+     * 结构化 GPU 信息
+     */
+    @Nullable
+    public GpuRecord getGpu() {
+        return gpu != null ? gpu.getValue() : null;
+    }
+
+    public void setGpu(GpuRecord gpu) {
+        this.gpu = Outcome.value(gpu);
+    }
+
+    @Nullable
+    public Outcome<GpuRecord> getGpuOutcome() {
+        return gpu;
+    }
+
+    public void setGpuOutcome(Outcome<GpuRecord> gpu) {
+        this.gpu = gpu;
+    }
+
+    /**
+     * 结构化电池信息，无法获取时为 null
+     */
+    @Nullable
+    public BatteryRecord getBattery() {
+        return battery != null ? battery.getValue() : null;
+    }
+
+    public void setBattery(BatteryRecord battery) {
+        this.battery = Outcome.value(battery);
+    }
+
+    @Nullable
+    public Outcome<BatteryRecord> getBatteryOutcome() {
+        return battery;
+    }
+
+    public void setBatteryOutcome(Outcome<BatteryRecord> battery) {
+        this.battery = battery;
+    }
+
+    /**
+     * 结构化内存和存储信息
+     */
+    @Nullable
+    public MemoryRecord getMemory() {
+        return memory;
+    }
+
+    public void setMemory(MemoryRecord memory) {
+        this.memory = memory;
+    }
+
+    /**
+     * 采集计划跳过的字段及原因
+     */
+    @NonNull
+    public Map<String, String> getSkippedFields() {
+        return skippedFields;
+    }
+
+    public void setSkippedFields(Map<String, String> skippedFields) {
+        this.skippedFields = skippedFields != null ? skippedFields : Collections.emptyMap();
+    }
+    /**
+     * 将结果格式化为字符串
+     */
+    @NonNull
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        if (settings != null) {
+            result.append(settings);
+        }
+        if (androidId != null) {
+            result.append("\nlevel3_Android: ").append(androidId);
+        }
+        if (bluetoothAddress != null) {
+            result.append("\nbluetoothAddress: ").append(bluetoothAddress);
+        }
+        if (serialNumber != null) {
+            result.append("\nserialNumber: ").append(serialNumber);
+        }
+        if (phoneInfo != null) {
+            result.append("\nPhoneInfo: ").append(phoneInfo);
+        }
+        if (buildInfo != null) {
+            result.append("\nBuildInfo: ").append(buildInfo);
+        }
+        if (accountInfo != null) {
+            result.append("\nAccountInfo: ").append(accountInfo);
+        }
+        if (volumeInfo != null) {
+            result.append("\nVolumeInfo: ").append(volumeInfo);
+        }
+        if (sensorInfo != null) {
+            result.append("\nSensorInfo: ").append(sensorInfo);
+        }
+        if (drmInfo != null) {
+            result.append("\nDRMInfo: ").append(drmInfo);
+        }
+        if (glendererInfo != null) {
+            result.append("\n\nGlendererInfo: ").append(glendererInfo);
+        }
+        if (batteryInfo != null) {
+            result.append("\n\nBatteryInfo: ").append(batteryInfo);
+        }
+        if (memoryInfo != null) {
+            result.append("\n\nMemoryInfo: ").append(memoryInfo);
+        }
+        return result.toString();
+    }
+
+    /**
+     * 获取Native层结果字符串
+     */
+    public String toNativeString() {
+        StringBuilder result = new StringBuilder();
+        if (nativeBuildInfo != null) {
+            result.append(nativeBuildInfo);
+        }
+        if (nativeDrmInfo != null) {
+            result.append(nativeDrmInfo);
+        }
+        return result.toString();
+    }
+
+}
+
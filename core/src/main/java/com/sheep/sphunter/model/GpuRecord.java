@@ -0,0 +1,82 @@
+package com.sheep.sphunter.model;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * GPU 渲染器信息数据模型
+ * 探测失败时只携带错误信息
+ */
+public final class GpuRecord {
+    private final String renderer;
+    private final String vendor;
+    private final String version;
+    private final String error;
+
+    private GpuRecord(String renderer, String vendor, String version, String error) {
+        this.renderer = renderer;
+        this.vendor = vendor;
+        this.version = version;
+        this.error = error;
+    }
+
+    @NonNull
+    public static GpuRecord of(@Nullable String renderer, @Nullable String vendor, @Nullable String version) {
+        return new GpuRecord(renderer, vendor, version, null);
+    }
+
+    @NonNull
+    public static GpuRecord failed(@NonNull String error) {
+        return new GpuRecord(null, null, null, error);
+    }
+
+    /**
+     * @return GL_RENDERER，未获取到时返回 null
+     */
+    @Nullable
+    public String getRenderer() {
+        return renderer;
+    }
+
+    /**
+     * @return GL_VENDOR，未获取到时返回 null
+     */
+    @Nullable
+    public String getVendor() {
+        return vendor;
+    }
+
+    /**
+     * @return GL_VERSION，未获取到时返回 null
+     */
+    @Nullable
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * @return 探测失败时的错误信息，成功时为 null
+     */
+    @Nullable
+    public String getError() {
+        return error;
+    }
+
+    public boolean isFailed() {
+        return error != null;
+    }
+
+    /**
+     * @return 格式: "Renderer: xxx | Vendor: xxx | Version: xxx"，失败时为 "Error: xxx"
+     */
+    @NonNull
+    @Override
+    public String toString() {
+        if (error != null) {
+            return error.startsWith("Error") ? error : "Error: " + error;
+        }
+        return "Renderer: " + (renderer != null ? renderer : "Unknown") +
+                " | Vendor: " + (vendor != null ? vendor : "Unknown") +
+                " | Version: " + (version != null ? version : "Unknown");
+    }
+}
@@ -0,0 +1,264 @@
+package com.sheep.sphunter.model;
+
+import androidx.annotation.NonNull;
+
+/**
+ * 内存与存储信息数据模型
+ * 由 MemoryCollector 直接填充，清洗时不再经过 JSON 字符串
+ * 数值字段为 -1 表示未获取到
+ */
+public class MemoryRecord {
+    private long ramTotalBytes = -1;
+    private long ramAvailableBytes = -1;
+    private long ramUsedBytes = -1;
+    private boolean ramLowMemory;
+    private long ramThresholdBytes = -1;
+    private long hiddenAppThresholdBytes = -1;
+    private long secondaryServerThresholdBytes = -1;
+    private int memoryClassMb = -1;
+    private int largeMemoryClassMb = -1;
+    private int appUid = -1;
+    private long appMemoryTotalBytes = -1;
+    private long appMemoryAvailableBytes = -1;
+    private long heapMaxBytes = -1;
+    private long heapTotalBytes = -1;
+    private long heapFreeBytes = -1;
+    private long heapUsedBytes = -1;
+    private long internalTotalBytes = -1;
+    private long internalAvailableBytes = -1;
+    private long internalUsedBytes = -1;
+    private long externalTotalBytes = -1;
+    private long externalAvailableBytes = -1;
+    private long externalUsedBytes = -1;
+    private String externalStorageState;
+
+    public MemoryRecord() {
+    }
+
+    public long getRamTotalBytes() {
+        return ramTotalBytes;
+    }
+
+    public void setRamTotalBytes(long ramTotalBytes) {
+        this.ramTotalBytes = ramTotalBytes;
+    }
+
+    public long getRamAvailableBytes() {
+        return ramAvailableBytes;
+    }
+
+    public void setRamAvailableBytes(long ramAvailableBytes) {
+        this.ramAvailableBytes = ramAvailableBytes;
+    }
+
+    public long getRamUsedBytes() {
+        return ramUsedBytes;
+    }
+
+    public void setRamUsedBytes(long ramUsedBytes) {
+        this.ramUsedBytes = ramUsedBytes;
+    }
+
+    public boolean isRamLowMemory() {
+        return ramLowMemory;
+    }
+
+    public void setRamLowMemory(boolean ramLowMemory) {
+        this.ramLowMemory = ramLowMemory;
+    }
+
+    public long getRamThresholdBytes() {
+        return ramThresholdBytes;
+    }
+
+    public void setRamThresholdBytes(long ramThresholdBytes) {
+        this.ramThresholdBytes = ramThresholdBytes;
+    }
+
+    public long getHiddenAppThresholdBytes() {
+        return hiddenAppThresholdBytes;
+    }
+
+    public void setHiddenAppThresholdBytes(long hiddenAppThresholdBytes) {
+        this.hiddenAppThresholdBytes = hiddenAppThresholdBytes;
+    }
+
+    public long getSecondaryServerThresholdBytes() {
+        return secondaryServerThresholdBytes;
+    }
+
+    public void setSecondaryServerThresholdBytes(long secondaryServerThresholdBytes) {
+        this.secondaryServerThresholdBytes = secondaryServerThresholdBytes;
+    }
+
+    public int getMemoryClassMb() {
+        return memoryClassMb;
+    }
+
+    public void setMemoryClassMb(int memoryClassMb) {
+        this.memoryClassMb = memoryClassMb;
+    }
+
+    public int getLargeMemoryClassMb() {
+        return largeMemoryClassMb;
+    }
+
+    public void setLargeMemoryClassMb(int largeMemoryClassMb) {
+        this.largeMemoryClassMb = largeMemoryClassMb;
+    }
+
+    public int getAppUid() {
+        return appUid;
+    }
+
+    public void setAppUid(int appUid) {
+        this.appUid = appUid;
+    }
+
+    public long getAppMemoryTotalBytes() {
+        return appMemoryTotalBytes;
+    }
+
+    public void setAppMemoryTotalBytes(long appMemoryTotalBytes) {
+        this.appMemoryTotalBytes = appMemoryTotalBytes;
+    }
+
+    public long getAppMemoryAvailableBytes() {
+        return appMemoryAvailableBytes;
+    }
+
+    public void setAppMemoryAvailableBytes(long appMemoryAvailableBytes) {
+        this.appMemoryAvailableBytes = appMemoryAvailableBytes;
+    }
+
+    public long getHeapMaxBytes() {
+        return heapMaxBytes;
+    }
+
+    public void setHeapMaxBytes(long heapMaxBytes) {
+        this.heapMaxBytes = heapMaxBytes;
+    }
+
+    public long getHeapTotalBytes() {
+        return heapTotalBytes;
+    }
+
+    public void setHeapTotalBytes(long heapTotalBytes) {
+        this.heapTotalBytes = heapTotalBytes;
+    }
+
+    public long getHeapFreeBytes() {
+        return heapFreeBytes;
+    }
+
+    public void setHeapFreeBytes(long heapFreeBytes) {
+        this.heapFreeBytes = heapFreeBytes;
+    }
+
+    public long getHeapUsedBytes() {
+        return heapUsedBytes;
+    }
+
+    public void setHeapUsedBytes(long heapUsedBytes) {
+        this.heapUsedBytes = heapUsedBytes;
+    }
+
+    public long getInternalTotalBytes() {
+        return internalTotalBytes;
+    }
+
+    public void setInternalTotalBytes(long internalTotalBytes) {
+        this.internalTotalBytes = internalTotalBytes;
+    }
+
+    public long getInternalAvailableBytes() {
+        return internalAvailableBytes;
+    }
+
+    public void setInternalAvailableBytes(long internalAvailableBytes) {
+        this.internalAvailableBytes = internalAvailableBytes;
+    }
+
+    public long getInternalUsedBytes() {
+        return internalUsedBytes;
+    }
+
+    public void setInternalUsedBytes(long internalUsedBytes) {
+        this.internalUsedBytes = internalUsedBytes;
+    }
+
+    public long getExternalTotalBytes() {
+        return externalTotalBytes;
+    }
+
+    public void setExternalTotalBytes(long externalTotalBytes) {
+        this.externalTotalBytes = externalTotalBytes;
+    }
+
+    public long getExternalAvailableBytes() {
+        return externalAvailableBytes;
+    }
+
+    public void setExternalAvailableBytes(long externalAvailableBytes) {
+        this.externalAvailableBytes = externalAvailableBytes;
+    }
+
+    public long getExternalUsedBytes() {
+        return externalUsedBytes;
+    }
+
+    public void setExternalUsedBytes(long externalUsedBytes) {
+        this.externalUsedBytes = externalUsedBytes;
+    }
+
+    public String getExternalStorageState() {
+        return externalStorageState;
+    }
+
+    public void setExternalStorageState(String externalStorageState) {
+        this.externalStorageState = externalStorageState;
+    }
+
+    /**
+     * 格式化字节大小为可读格式
+     * @param bytes 字节数
+     * @return 格式化后的字符串 (如 "2.5 GB", "512 MB")
+     */
+    @NonNull
+    public static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        
+        int exp = (int) (Math.log(bytes) / Math.log(1024));
+        char unit = "KMGTPE".charAt(exp - 1);
+        
+        double value = bytes / Math.pow(1024, exp);
+        return String.format("%.2f %sB", value, unit);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        if (ramTotalBytes > 0) {
+            result.append("RAM: ").append(formatBytes(ramTotalBytes))
+                    .append(" (available ").append(formatBytes(ramAvailableBytes)).append(")");
+        }
+        if (heapMaxBytes > 0) {
+            result.append("\nJava Heap: ").append(formatBytes(heapUsedBytes))
+                    .append(" / ").append(formatBytes(heapMaxBytes));
+        }
+        if (internalTotalBytes > 0) {
+            result.append("\nInternal Storage: ").append(formatBytes(internalTotalBytes))
+                    .append(" (available ").append(formatBytes(internalAvailableBytes)).append(")");
+        }
+        if (externalTotalBytes > 0) {
+            result.append("\nExternal Storage: ").append(formatBytes(externalTotalBytes))
+                    .append(" (available ").append(formatBytes(externalAvailableBytes)).append(")");
+        } else if (externalStorageState != null) {
+            result.append("\nExternal Storage: ").append(externalStorageState);
+        }
+        return result.toString();
+    }
+}
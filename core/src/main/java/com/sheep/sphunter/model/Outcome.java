@@ -0,0 +1,127 @@
+package com.sheep.sphunter.model;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * 单个字段的采集结果
+ * 采集器用类型区分"取到值 / 无权限 / 设备不支持 / 超时 / 失败"，
+ * 清洗时按类型分支，不再靠扫描 "Error:"、"SecurityException" 等字符串判断失败
+ *
+ * @param <T> 值类型
+ */
+public final class Outcome<T> {
+
+    /**
+     * 结果类型，name().toLowerCase() 作为清洗结果中的状态名
+     */
+    public enum Kind {
+        VALUE,
+        DENIED,
+        UNSUPPORTED,
+        TIMEOUT,
+        FAILED
+    }
+
+    private final Kind kind;
+    private final T value;
+    private final String detail;
+
+    private Outcome(Kind kind, T value, String detail) {
+        this.kind = kind;
+        this.value = value;
+        this.detail = detail;
+    }
+
+    /**
+     * 取到值；value 为 null 时视为设备不支持
+     */
+    @NonNull
+    public static <T> Outcome<T> value(@Nullable T value) {
+        if (value == null) {
+            return new Outcome<>(Kind.UNSUPPORTED, null, "value is null");
+        }
+        return new Outcome<>(Kind.VALUE, value, null);
+    }
+
+    /**
+     * 缺少权限或被系统限制
+     */
+    @NonNull
+    public static <T> Outcome<T> denied(@NonNull String reason) {
+        return new Outcome<>(Kind.DENIED, null, reason);
+    }
+
+    /**
+     * 设备或系统版本不提供该字段
+     */
+    @NonNull
+    public static <T> Outcome<T> unsupported(@NonNull String reason) {
+        return new Outcome<>(Kind.UNSUPPORTED, null, reason);
+    }
+
+    /**
+     * 等待超时
+     */
+    @NonNull
+    public static <T> Outcome<T> timeout(@NonNull String reason) {
+        return new Outcome<>(Kind.TIMEOUT, null, reason);
+    }
+
+    /**
+     * 采集过程出错
+     */
+    @NonNull
+    public static <T> Outcome<T> failed(@NonNull String cause) {
+        return new Outcome<>(Kind.FAILED, null, cause);
+    }
+
+    /**
+     * 由异常生成结果：SecurityException 归为 DENIED，其余归为 FAILED
+     */
+    @NonNull
+    public static <T> Outcome<T> failed(@NonNull Throwable cause) {
+        String detail = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        if (cause instanceof SecurityException) {
+            return new Outcome<>(Kind.DENIED, null, detail);
+        }
+        return new Outcome<>(Kind.FAILED, null, detail);
+    }
+
+    @NonNull
+    public Kind getKind() {
+        return kind;
+    }
+
+    public boolean isValue() {
+        return kind == Kind.VALUE;
+    }
+
+    /**
+     * @return 值，非 VALUE 类型时返回 null
+     */
+    @Nullable
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * @return 非 VALUE 类型时的原因，VALUE 类型返回 null
+     */
+    @Nullable
+    public String getDetail() {
+        return detail;
+    }
+
+    /**
+     * 展示用文本：有值时为值本身，否则为 "类型: 原因"
+     */
+    @NonNull
+    @Override
+    public String toString() {
+        if (kind == Kind.VALUE) {
+            return String.valueOf(value);
+        }
+        return kind.name() + ": " + detail;
+    }
+}
@@ -0,0 +1,72 @@
+package com.sheep.sphunter.model;
+
+import androidx.annotation.NonNull;
+
+/**
+ * 传感器信息数据模型
+ * 直接由 Sensor 的 getter 构造，清洗时无需再解析 Sensor.toString()
+ */
+public final class SensorRecord {
+    private final String name;
+    private final String vendor;
+    private final int type;
+    private final int version;
+    private final float maxRange;
+    private final float power;
+    private final int minDelay;
+    private final int fifoMaxEventCount;
+
+    public SensorRecord(@NonNull String name, @NonNull String vendor, int type, int version,
+                        float maxRange, float power, int minDelay, int fifoMaxEventCount) {
+        this.name = name;
+        this.vendor = vendor;
+        this.type = type;
+        this.version = version;
+        this.maxRange = maxRange;
+        this.power = power;
+        this.minDelay = minDelay;
+        this.fifoMaxEventCount = fifoMaxEventCount;
+    }
+
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    @NonNull
+    public String getVendor() {
+        return vendor;
+    }
+
+    public int getType() {
+        return type;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public float getMaxRange() {
+        return maxRange;
+    }
+
+    public float getPower() {
+        return power;
+    }
+
+    public int getMinDelay() {
+        return minDelay;
+    }
+
+    public int getFifoMaxEventCount() {
+        return fifoMaxEventCount;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "{Sensor name=\"" + name + "\", vendor=\"" + vendor + "\", version=" + version
+                + ", type=" + type + ", maxRange=" + maxRange + ", power=" + power
+                + ", minDelay=" + minDelay + ", fifoMaxEventCount=" + fifoMaxEventCount + "}";
+    }
+}
@@ -0,0 +1,51 @@
+package com.sheep.sphunter.model;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings 字段数据模型
+ * 键为 Settings 键名，值为 null 表示未获取到
+ */
+public final class SettingsRecord {
+    private final Map<String, String> values = new LinkedHashMap<>();
+
+    public SettingsRecord() {
+    }
+
+    public void put(@NonNull String key, @Nullable String value) {
+        values.put(key, value);
+    }
+
+    @Nullable
+    public String get(@NonNull String key) {
+        return values.get(key);
+    }
+
+    /**
+     * @return 所有字段（按采集顺序，只读）
+     */
+    @NonNull
+    public Map<String, String> getValues() {
+        return Collections.unmodifiableMap(values);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("{");
+        boolean first = true;
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            if (!first) {
+                result.append(", ");
+            }
+            first = false;
+            result.append(entry.getKey()).append("=").append(entry.getValue() != null ? entry.getValue() : "null");
+        }
+        return result.append("}").toString();
+    }
+}
@@ -0,0 +1,89 @@
+package com.sheep.sphunter.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.PrintStream;
+
+/**
+ * core 模块的日志入口
+ * core 不依赖 android.util.Log，日志统一交给可替换的 Sink：
+ * Android 端在 Application 中接入 android.util.Log，JVM 端默认输出到 System.err
+ *
+ * 级别取值与 android.util.Log 的优先级常量一致，Android 端可以直接透传
+ */
+public final class CoreLog {
+    public static final int DEBUG = 3;
+    public static final int INFO = 4;
+    public static final int WARN = 5;
+    public static final int ERROR = 6;
+
+    /**
+     * 日志输出目标
+     */
+    public interface Sink {
+        void log(int level, @NonNull String tag, @NonNull String message, @Nullable Throwable error);
+    }
+
+    /**
+     * JVM 默认输出：只输出 WARN 及以上级别，避免清洗过程的调试日志刷屏
+     */
+    private static final Sink STDERR = (level, tag, message, error) -> {
+        if (level < WARN) {
+            return;
+        }
+        PrintStream out = System.err;
+        out.println(levelName(level) + "/" + tag + ": " + message);
+        if (error != null) {
+            error.printStackTrace(out);
+        }
+    };
+
+    private static volatile Sink sink = STDERR;
+
+    private CoreLog() {
+        // 工具类，禁止实例化
+    }
+
+    /**
+     * 替换日志输出目标
+     *
+     * @param newSink 输出目标，null 时恢复默认输出
+     */
+    public static void setSink(@Nullable Sink newSink) {
+        sink = newSink != null ? newSink : STDERR;
+    }
+
+    public static void d(@NonNull String tag, @NonNull String message) {
+        sink.log(DEBUG, tag, message, null);
+    }
+
+    public static void i(@NonNull String tag, @NonNull String message) {
+        sink.log(INFO, tag, message, null);
+    }
+
+    public static void w(@NonNull String tag, @NonNull String message) {
+        sink.log(WARN, tag, message, null);
+    }
+
+    public static void e(@NonNull String tag, @NonNull String message) {
+        sink.log(ERROR, tag, message, null);
+    }
+
+    public static void e(@NonNull String tag, @NonNull String message, @Nullable Throwable error) {
+        sink.log(ERROR, tag, message, error);
+    }
+
+    private static String levelName(int level) {
+        switch (level) {
+            case DEBUG:
+                return "D";
+            case INFO:
+                return "I";
+            case WARN:
+                return "W";
+            default:
+                return "E";
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.sheep.sphunter.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+
+/**
+ * 设备因子摘要（SHA-256 + 十六进制）
+ * 每个线程复用一个 MessageDigest 和 UTF-8 编码缓冲区；因子逐个编码进缓冲区，不拼接临时字符串，
+ * 十六进制按查表编码
+ *
+ * 字节序列与改造前完全一致，已发放的设备 ID 保持不变：
+ * - 因子之间写入 '|'，即原来的 a + "|" + b + ...
+ * - 字符串按 String.getBytes(UTF_8) 编码，孤立的代理字符编码为 '?'
+ * - 整数按 ASCII 十进制编码
+ *
+ * 可选的 64 位快速哈希（Murmur3）逐因子链式计算，因子长度参与每一步，
+ * "a|b" + "c" 与 "a" + "b|c" 得到不同的结果；只用于内存索引，不持久化时可以随版本变化
+ *
+ * 用法：FactorDigest.begin().add(a).add(b).sha256Hex()
+ * begin 返回当前线程的实例，在取得结果之前不能再次调用 begin
+ */
+public final class FactorDigest {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final long FAST_SEED = 0x5eed_d16eL;
+    private static final ThreadLocal<FactorDigest> LOCAL = ThreadLocal.withInitial(FactorDigest::new);
+
+    private final MessageDigest sha256;
+    private final long[] hash = new long[2];
+    private byte[] buffer = new byte[256];
+    private int length;
+    private int factors;
+    // 当前因子在缓冲区中的起始位置，用于快速哈希
+    private int factorStart;
+    private long fast;
+
+    private FactorDigest() {
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Java 平台要求必须提供 SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 开始一次摘要，返回当前线程的实例
+     */
+    @NonNull
+    public static FactorDigest begin() {
+        FactorDigest digest = LOCAL.get();
+        digest.length = 0;
+        digest.factors = 0;
+        digest.factorStart = 0;
+        digest.fast = FAST_SEED;
+        return digest;
+    }
+
+    /**
+     * 单个字符串的 SHA-256 十六进制摘要，等价于 begin().add(text).sha256Hex()
+     */
+    @NonNull
+    public static String sha256Hex(@NonNull CharSequence text) {
+        return begin().add(text).sha256Hex();
+    }
+
+    /**
+     * 追加一个字符串因子，null 按 "null" 编码（与字符串拼接一致）
+     */
+    @NonNull
+    public FactorDigest add(@Nullable CharSequence factor) {
+        startFactor();
+        appendUtf8(factor != null ? factor : "null");
+        return this;
+    }
+
+    /**
+     * 追加一个整数因子
+     */
+    @NonNull
+    public FactorDigest add(long factor) {
+        startFactor();
+        appendDecimal(factor);
+        return this;
+    }
+
+    /**
+     * 追加一个列表因子，字节序列与 List.toString() 相同，即 "[a, b, c]"
+     */
+    @NonNull
+    public FactorDigest addList(@NonNull Collection<?> factor) {
+        startFactor();
+        ensure(1);
+        buffer[length++] = '[';
+        boolean first = true;
+        for (Object element : factor) {
+            if (!first) {
+                ensure(2);
+                buffer[length++] = ',';
+                buffer[length++] = ' ';
+            }
+            first = false;
+            appendUtf8(String.valueOf(element));
+        }
+        ensure(1);
+        buffer[length++] = ']';
+        return this;
+    }
+
+    /**
+     * 64 位快速哈希，不影响之后调用 sha256Hex
+     */
+    public long fastHash() {
+        return Murmur3.fmix64(chainFast() ^ factors);
+    }
+
+    /**
+     * 结束本次摘要
+     *
+     * @return 64 位小写十六进制 SHA-256
+     */
+    @NonNull
+    public String sha256Hex() {
+        sha256.update(buffer, 0, length);
+        return toHex(sha256.digest());
+    }
+
+    /**
+     * 查表十六进制编码
+     */
+    @NonNull
+    public static String toHex(@NonNull byte[] bytes) {
+        char[] out = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            out[i * 2] = HEX[(bytes[i] >> 4) & 0xf];
+            out[i * 2 + 1] = HEX[bytes[i] & 0xf];
+        }
+        return new String(out);
+    }
+
+    // ==================== 编码 ====================
+
+    private void startFactor() {
+        if (factors > 0) {
+            fast = chainFast();
+            ensure(1);
+            buffer[length++] = '|';
+        }
+        factors++;
+        factorStart = length;
+    }
+
+    /**
+     * 把当前因子并入快速哈希链：种子包含上一步结果和因子长度
+     */
+    private long chainFast() {
+        int size = length - factorStart;
+        Murmur3.hash128(buffer, factorStart, size, Murmur3.fmix64(fast + size), hash);
+        return hash[0];
+    }
+
+    private void appendDecimal(long value) {
+        if (value == Long.MIN_VALUE) {
+            appendUtf8("-9223372036854775808");
+            return;
+        }
+        ensure(20);
+        if (value < 0) {
+            buffer[length++] = '-';
+            value = -value;
+        }
+        int end = length + digits(value);
+        for (int i = end - 1; i >= length; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        length = end;
+    }
+
+    private static int digits(long value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    private void appendUtf8(CharSequence text) {
+        int end = text.length();
+        ensure(end);
+        int i = 0;
+        // ASCII 快速路径
+        while (i < end) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                break;
+            }
+            buffer[length++] = (byte) c;
+            i++;
+        }
+        for (; i < end; i++) {
+            char c = text.charAt(i);
+            ensure(4);
+            if (c < 0x80) {
+                buffer[length++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[length++] = (byte) (0xc0 | (c >> 6));
+                buffer[length++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                buffer[length++] = (byte) (0xf0 | (codePoint >> 18));
+                buffer[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                buffer[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                buffer[length++] = (byte) (0x80 | (codePoint & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                // 与 String.getBytes(UTF_8) 一致：孤立的代理字符替换为 '?'
+                buffer[length++] = '?';
+            } else {
+                buffer[length++] = (byte) (0xe0 | (c >> 12));
+                buffer[length++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                buffer[length++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+    }
+
+    private void ensure(int extra) {
+        if (buffer.length - length < extra) {
+            byte[] grown = new byte[Math.max(buffer.length * 2, length + extra)];
+            System.arraycopy(buffer, 0, grown, 0, length);
+            buffer = grown;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.sheep.sphunter.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * 预编译的 JSON 字段路径
+ * 路径在类加载时构建一次，访问时逐级查找；中间任一级缺失或类型不符时返回默认值，
+ * 不需要在调用方写 optJSONObject 链和逐级判空
+ *
+ * 各级按成员名给出，成员名本身可以包含 "."（例如 "ro.boot.flash.locked"）
+ */
+public final class JsonPath {
+    private final String[] parents;
+    private final String leaf;
+
+    private JsonPath(String[] segments) {
+        this.parents = new String[segments.length - 1];
+        System.arraycopy(segments, 0, parents, 0, parents.length);
+        this.leaf = segments[segments.length - 1];
+    }
+
+    /**
+     * @param segments 各级成员名，至少一级
+     */
+    @NonNull
+    public static JsonPath of(@NonNull String... segments) {
+        if (segments.length == 0) {
+            throw new IllegalArgumentException("空路径");
+        }
+        return new JsonPath(segments.clone());
+    }
+
+    /**
+     * @return 路径级数
+     */
+    public int depth() {
+        return parents.length + 1;
+    }
+
+    /**
+     * @param index 第几级，从 0 开始
+     * @return 该级的成员名
+     */
+    @NonNull
+    public String segment(int index) {
+        return index == parents.length ? leaf : parents[index];
+    }
+
+    @Nullable
+    public JSONObject optObject(@Nullable JSONObject root) {
+        JSONObject parent = parent(root);
+        return parent != null ? parent.optJSONObject(leaf) : null;
+    }
+
+    @Nullable
+    public JSONArray optArray(@Nullable JSONObject root) {
+        JSONObject parent = parent(root);
+        return parent != null ? parent.optJSONArray(leaf) : null;
+    }
+
+    @NonNull
+    public String optString(@Nullable JSONObject root, @NonNull String fallback) {
+        JSONObject parent = parent(root);
+        return parent != null ? parent.optString(leaf, fallback) : fallback;
+    }
+
+    public double optDouble(@Nullable JSONObject root, double fallback) {
+        JSONObject parent = parent(root);
+        return parent != null ? parent.optDouble(leaf, fallback) : fallback;
+    }
+
+    public int optInt(@Nullable JSONObject root, int fallback) {
+        JSONObject parent = parent(root);
+        return parent != null ? parent.optInt(leaf, fallback) : fallback;
+    }
+
+    public boolean optBoolean(@Nullable JSONObject root, boolean fallback) {
+        JSONObject parent = parent(root);
+        return parent != null ? parent.optBoolean(leaf, fallback) : fallback;
+    }
+
+    /**
+     * @return 最后一级成员所在的对象，任一级缺失时返回 null
+     */
+    @Nullable
+    private JSONObject parent(@Nullable JSONObject root) {
+        JSONObject current = root;
+        for (int i = 0; i < parents.length && current != null; i++) {
+            current = current.optJSONObject(parents[i]);
+        }
+        return current;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        StringBuilder path = new StringBuilder();
+        for (String parent : parents) {
+            path.append(parent).append('/');
+        }
+        return path.append(leaf).toString();
+    }
+}
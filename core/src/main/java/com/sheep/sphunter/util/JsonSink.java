@@ -0,0 +1,67 @@
+package com.sheep.sphunter.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.json.JSONException;
+
+/**
+ * JSON 输出目标
+ * 清洗器按顺序写入成员，由实现决定是直接流式输出文本（{@link JsonStreamWriter}）
+ * 还是构建 JSONObject 树（{@link JsonTreeBuilder}）
+ *
+ * 成员值为 null 时不写入，与 JSONObject.put(name, null) 的语义一致；
+ * 流式输出无法撤回已写入的成员，调用方需要先判断再写入，不能依赖"写入后再删除"
+ */
+public interface JsonSink {
+
+    /**
+     * 开始一个对象
+     *
+     * @param name 成员名；根对象或数组元素传 null
+     */
+    @NonNull
+    JsonSink beginObject(@Nullable String name) throws JSONException;
+
+    @NonNull
+    JsonSink endObject() throws JSONException;
+
+    /**
+     * 开始一个数组
+     *
+     * @param name 成员名；根数组或数组元素传 null
+     */
+    @NonNull
+    JsonSink beginArray(@Nullable String name) throws JSONException;
+
+    @NonNull
+    JsonSink endArray() throws JSONException;
+
+    @NonNull
+    JsonSink put(@NonNull String name, @Nullable String value) throws JSONException;
+
+    @NonNull
+    JsonSink put(@NonNull String name, long value) throws JSONException;
+
+    /**
+     * @throws JSONException value 为 NaN 或无穷大
+     */
+    @NonNull
+    JsonSink put(@NonNull String name, double value) throws JSONException;
+
+    @NonNull
+    JsonSink put(@NonNull String name, boolean value) throws JSONException;
+
+    /**
+     * 写入任意值：String / Number / Boolean / JSONObject / JSONArray
+     * 已有的 JSONObject 子树（例如缓存复用的结果）按原样展开写入
+     */
+    @NonNull
+    JsonSink put(@NonNull String name, @Nullable Object value) throws JSONException;
+
+    /**
+     * 追加数组元素，null 写为 JSON null（与 JSONArray.put(null) 一致）
+     */
+    @NonNull
+    JsonSink add(@Nullable Object value) throws JSONException;
+}
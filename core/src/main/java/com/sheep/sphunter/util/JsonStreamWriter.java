@@ -0,0 +1,344 @@
+package com.sheep.sphunter.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+
+/**
+ * 流式 JSON 输出
+ * 直接写入 Appendable（StringBuilder、Writer 等），不构建中间对象；
+ * 数字格式、字符串转义（包括 "\/"）和缩进与 JSONObject.toString() / toString(indent) 相同，两种输出路径内容等价：
+ * 流式写入时成员按写入顺序输出，Android 上的 JSONObject 同样保持插入顺序，结果逐字节一致；
+ * JVM 上的 org.json 按 HashMap 顺序输出键，只有键顺序不同
+ *
+ * 写入 Appendable 时的 IOException 包装为 JSONException（cause 为原始异常）
+ */
+public final class JsonStreamWriter implements JsonSink {
+    private static final int MAX_DEPTH = 64;
+
+    private final Appendable out;
+    private final int indent;
+    // 每层是否已有成员；下标 0 为顶层
+    private final boolean[] hasMembers = new boolean[MAX_DEPTH + 1];
+    private final boolean[] isArray = new boolean[MAX_DEPTH + 1];
+    private int depth;
+
+    /**
+     * @param out    输出目标
+     * @param indent 缩进空格数，0 表示紧凑格式
+     */
+    public JsonStreamWriter(@NonNull Appendable out, int indent) {
+        this.out = out;
+        this.indent = indent;
+    }
+
+    @NonNull
+    @Override
+    public JsonSink beginObject(@Nullable String name) throws JSONException {
+        return open(name, '{', false);
+    }
+
+    @NonNull
+    @Override
+    public JsonSink endObject() throws JSONException {
+        return close('}', false);
+    }
+
+    @NonNull
+    @Override
+    public JsonSink beginArray(@Nullable String name) throws JSONException {
+        return open(name, '[', true);
+    }
+
+    @NonNull
+    @Override
+    public JsonSink endArray() throws JSONException {
+        return close(']', true);
+    }
+
+    @NonNull
+    @Override
+    public JsonSink put(@NonNull String name, @Nullable String value) throws JSONException {
+        if (value != null) {
+            member(name);
+            string(value);
+        }
+        return this;
+    }
+
+    @NonNull
+    @Override
+    public JsonSink put(@NonNull String name, long value) throws JSONException {
+        member(name);
+        append(Long.toString(value));
+        return this;
+    }
+
+    @NonNull
+    @Override
+    public JsonSink put(@NonNull String name, double value) throws JSONException {
+        checkDouble(value);
+        member(name);
+        append(numberToString(value));
+        return this;
+    }
+
+    @NonNull
+    @Override
+    public JsonSink put(@NonNull String name, boolean value) throws JSONException {
+        member(name);
+        append(value ? "true" : "false");
+        return this;
+    }
+
+    @NonNull
+    @Override
+    public JsonSink put(@NonNull String name, @Nullable Object value) throws JSONException {
+        if (value != null) {
+            if (value instanceof Number) {
+                checkDouble(((Number) value).doubleValue());
+            }
+            member(name);
+            value(value);
+        }
+        return this;
+    }
+
+    @NonNull
+    @Override
+    public JsonSink add(@Nullable Object value) throws JSONException {
+        element();
+        value(value);
+        return this;
+    }
+
+    // ==================== 结构 ====================
+
+    private JsonSink open(String name, char bracket, boolean array) throws JSONException {
+        if (name != null) {
+            member(name);
+        } else if (depth > 0) {
+            element();
+        }
+        push(bracket, array);
+        return this;
+    }
+
+    /**
+     * 写入左括号并进入下一层，成员前缀已由调用方写入
+     */
+    private void push(char bracket, boolean array) throws JSONException {
+        if (depth == MAX_DEPTH) {
+            throw new JSONException("Nesting too deep");
+        }
+        append(bracket);
+        depth++;
+        hasMembers[depth] = false;
+        isArray[depth] = array;
+    }
+
+    private JsonSink close(char bracket, boolean array) throws JSONException {
+        if (depth == 0 || isArray[depth] != array) {
+            throw new JSONException("Nesting problem");
+        }
+        if (hasMembers[depth]) {
+            newline(depth - 1);
+        }
+        depth--;
+        append(bracket);
+        return this;
+    }
+
+    /**
+     * 对象成员前缀：分隔符、换行缩进、键名
+     */
+    private void member(String name) throws JSONException {
+        if (depth == 0 || isArray[depth]) {
+            throw new JSONException("Nesting problem");
+        }
+        separator();
+        string(name);
+        append(indent > 0 ? ": " : ":");
+    }
+
+    /**
+     * 数组元素前缀：分隔符、换行缩进
+     */
+    private void element() throws JSONException {
+        if (depth == 0 || !isArray[depth]) {
+            throw new JSONException("Nesting problem");
+        }
+        separator();
+    }
+
+    private void separator() throws JSONException {
+        if (hasMembers[depth]) {
+            append(',');
+        }
+        hasMembers[depth] = true;
+        newline(depth);
+    }
+
+    private void newline(int level) throws JSONException {
+        if (indent <= 0) {
+            return;
+        }
+        append('\n');
+        for (int i = 0; i < indent * level; i++) {
+            append(' ');
+        }
+    }
+
+    // ==================== 值 ====================
+
+    private void value(Object value) throws JSONException {
+        if (value == null || value == JSONObject.NULL) {
+            append("null");
+        } else if (value instanceof String) {
+            string((String) value);
+        } else if (value instanceof Boolean) {
+            append(value.toString());
+        } else if (value instanceof Number) {
+            append(numberToString((Number) value));
+        } else if (value instanceof JSONObject) {
+            JSONObject object = (JSONObject) value;
+            push('{', false);
+            JSONArray names = object.names();
+            for (int i = 0; names != null && i < names.length(); i++) {
+                String key = names.optString(i);
+                member(key);
+                value(object.opt(key));
+            }
+            close('}', false);
+        } else if (value instanceof JSONArray) {
+            JSONArray array = (JSONArray) value;
+            push('[', true);
+            for (int i = 0; i < array.length(); i++) {
+                element();
+                value(array.opt(i));
+            }
+            close(']', true);
+        } else {
+            string(value.toString());
+        }
+    }
+
+    /**
+     * 与 JSONObject.numberToString 一致：整数值不带小数部分，-0.0 输出 "-0"
+     */
+    private static String numberToString(Number number) {
+        double doubleValue = number.doubleValue();
+        if (number.equals(-0d)) {
+            return "-0";
+        }
+        long longValue = number.longValue();
+        if (doubleValue == (double) longValue) {
+            return Long.toString(longValue);
+        }
+        return number.toString();
+    }
+
+    private static String numberToString(double value) {
+        return numberToString((Number) value);
+    }
+
+    private static void checkDouble(double value) throws JSONException {
+        if (Double.isInfinite(value) || Double.isNaN(value)) {
+            throw new JSONException("Forbidden numeric value: " + value);
+        }
+    }
+
+    /**
+     * 与 JSONStringer 一致的字符串转义
+     */
+    private void string(String value) throws JSONException {
+        append('"');
+        int length = value.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            String escape;
+            switch (c) {
+                case '"':
+                    escape = "\\\"";
+                    break;
+                case '\\':
+                    escape = "\\\\";
+                    break;
+                case '/':
+                    escape = "\\/";
+                    break;
+                case '\t':
+                    escape = "\\t";
+                    break;
+                case '\b':
+                    escape = "\\b";
+                    break;
+                case '\n':
+                    escape = "\\n";
+                    break;
+                case '\r':
+                    escape = "\\r";
+                    break;
+                case '\f':
+                    escape = "\\f";
+                    break;
+                default:
+                    if (c > 0x1f) {
+                        continue;
+                    }
+                    escape = String.format("\\u%04x", (int) c);
+                    break;
+            }
+            // 连续的普通字符整段写入
+            append(value, start, i);
+            append(escape);
+            start = i + 1;
+        }
+        append(value, start, length);
+        append('"');
+    }
+
+    // ==================== 输出 ====================
+
+    /**
+     * 包装写入失败；JVM 上的 org.json 实现没有带 cause 的构造方法
+     */
+    private static JSONException writeFailed(IOException e) {
+        JSONException exception = new JSONException("写入失败");
+        exception.initCause(e);
+        return exception;
+    }
+
+    private void append(char c) throws JSONException {
+        try {
+            out.append(c);
+        } catch (IOException e) {
+            throw writeFailed(e);
+        }
+    }
+
+    private void append(CharSequence text) throws JSONException {
+        try {
+            out.append(text);
+        } catch (IOException e) {
+            throw writeFailed(e);
+        }
+    }
+
+    private void append(CharSequence text, int start, int end) throws JSONException {
+        if (start == end) {
+            return;
+        }
+        try {
+            out.append(text, start, end);
+        } catch (IOException e) {
+            throw writeFailed(e);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.sheep.sphunter.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 构建 JSONObject 树的 JsonSink
+ * 只给需要随机访问结果的调用方使用；只需要文本时使用 {@link JsonStreamWriter}
+ */
+public final class JsonTreeBuilder implements JsonSink {
+    // 当前打开的容器（JSONObject 或 JSONArray）
+    private final List<Object> stack = new ArrayList<>();
+    private Object root;
+
+    /**
+     * 对象成员的写入逻辑，流式输出和树形输出共用
+     */
+    public interface Members {
+        void writeTo(@NonNull JsonSink sink) throws JSONException;
+    }
+
+    /**
+     * 把一组成员写入新的 JSONObject
+     *
+     * @param members 成员写入逻辑
+     * @return 构建的对象
+     */
+    @NonNull
+    public static JSONObject buildObject(@NonNull Members members) throws JSONException {
+        JsonTreeBuilder builder = new JsonTreeBuilder();
+        builder.beginObject(null);
+        members.writeTo(builder);
+        builder.endObject();
+        return builder.getRoot();
+    }
+
+    /**
+     * @return 根对象；没有写入根对象或根不是对象时返回空对象
+     */
+    @NonNull
+    public JSONObject getRoot() {
+        return root instanceof JSONObject ? (JSONObject) root : new JSONObject();
+    }
+
+    /**
+     * @return 根数组；没有写入根数组或根不是数组时返回空数组
+     */
+    @NonNull
+    public JSONArray getRootArray() {
+        return root instanceof JSONArray ? (JSONArray) root : new JSONArray();
+    }
+
+    @NonNull
+    @Override
+    public JsonSink beginObject(@Nullable String name) throws JSONException {
+        return open(name, new JSONObject());
+    }
+
+    @NonNull
+    @Override
+    public JsonSink endObject() throws JSONException {
+        return close(JSONObject.class);
+    }
+
+    @NonNull
+    @Override
+    public JsonSink beginArray(@Nullable String name) throws JSONException {
+        return open(name, new JSONArray());
+    }
+
+    @NonNull
+    @Override
+    public JsonSink endArray() throws JSONException {
+        return close(JSONArray.class);
+    }
+
+    @NonNull
+    @Override
+    public JsonSink put(@NonNull String name, @Nullable String value) throws JSONException {
+        currentObject().put(name, value);
+        return this;
+    }
+
+    @NonNull
+    @Override
+    public JsonSink put(@NonNull String name, long value) throws JSONException {
+        currentObject().put(name, value);
+        return this;
+    }
+
+    @NonNull
+    @Override
+    public JsonSink put(@NonNull String name, double value) throws JSONException {
+        currentObject().put(name, value);
+        return this;
+    }
+
+    @NonNull
+    @Override
+    public JsonSink put(@NonNull String name, boolean value) throws JSONException {
+        currentObject().put(name, value);
+        return this;
+    }
+
+    @NonNull
+    @Override
+    public JsonSink put(@NonNull String name, @Nullable Object value) throws JSONException {
+        currentObject().put(name, value);
+        return this;
+    }
+
+    @NonNull
+    @Override
+    public JsonSink add(@Nullable Object value) throws JSONException {
+        currentArray().put(value);
+        return this;
+    }
+
+    private JsonSink open(String name, Object container) throws JSONException {
+        if (stack.isEmpty()) {
+            if (root != null || name != null) {
+                throw new JSONException("Nesting problem");
+            }
+            root = container;
+        } else if (name != null) {
+            currentObject().put(name, container);
+        } else {
+            currentArray().put(container);
+        }
+        stack.add(container);
+        return this;
+    }
+
+    private JsonSink close(Class<?> type) throws JSONException {
+        if (stack.isEmpty() || !type.isInstance(stack.get(stack.size() - 1))) {
+            throw new JSONException("Nesting problem");
+        }
+        stack.remove(stack.size() - 1);
+        return this;
+    }
+
+    private JSONObject currentObject() throws JSONException {
+        Object current = stack.isEmpty() ? null : stack.get(stack.size() - 1);
+        if (!(current instanceof JSONObject)) {
+            throw new JSONException("Nesting problem");
+        }
+        return (JSONObject) current;
+    }
+
+    private JSONArray currentArray() throws JSONException {
+        Object current = stack.isEmpty() ? null : stack.get(stack.size() - 1);
+        if (!(current instanceof JSONArray)) {
+            throw new JSONException("Nesting problem");
+        }
+        return (JSONArray) current;
+    }
+}
@@ -0,0 +1,195 @@
+package com.sheep.sphunter.util;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 多关键字匹配自动机（Aho-Corasick）
+ * 构建时把所有关键字编译为一张确定状态转移表，匹配时对输入只扫描一次，
+ * 一次得到所有出现过的关键字，开销与关键字数量无关
+ *
+ * 忽略大小写时关键字和输入都按 Character.toLowerCase 逐字符折叠，不复制输入
+ * 构建完成后不可变，可以在多个线程之间共享
+ */
+public final class KeywordAutomaton {
+    private final boolean ignoreCase;
+    private final int keywordCount;
+    // 字符到字母表下标：ASCII 查表，其余字符查映射；不在字母表中的字符一律回到根状态
+    private final int[] asciiIndex = new int[128];
+    private final Map<Character, Integer> otherIndex = new HashMap<>();
+    private final int alphabetSize;
+    // transitions[state * alphabetSize + symbol]，已包含失败转移
+    private final int[] transitions;
+    // 每个状态命中的关键字位图（已沿失败链合并），没有命中时为 null
+    private final long[][] outputs;
+
+    /**
+     * @param keywords   关键字列表，下标即关键字编号
+     * @param ignoreCase 是否忽略大小写
+     */
+    public KeywordAutomaton(@NonNull List<String> keywords, boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
+        this.keywordCount = keywords.size();
+
+        // 1. 字母表
+        Arrays.fill(asciiIndex, -1);
+        int symbols = 0;
+        for (String keyword : keywords) {
+            if (keyword.isEmpty()) {
+                throw new IllegalArgumentException("关键字不能为空");
+            }
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = fold(keyword.charAt(i));
+                if (c < 128) {
+                    if (asciiIndex[c] < 0) {
+                        asciiIndex[c] = symbols++;
+                    }
+                } else if (!otherIndex.containsKey(c)) {
+                    otherIndex.put(c, symbols++);
+                }
+            }
+        }
+        this.alphabetSize = Math.max(symbols, 1);
+
+        // 2. 前缀树
+        List<int[]> trie = new ArrayList<>();
+        List<long[]> output = new ArrayList<>();
+        trie.add(newRow());
+        output.add(null);
+        for (int id = 0; id < keywords.size(); id++) {
+            String keyword = keywords.get(id);
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                int symbol = symbol(fold(keyword.charAt(i)));
+                int next = trie.get(state)[symbol];
+                if (next < 0) {
+                    next = trie.size();
+                    trie.get(state)[symbol] = next;
+                    trie.add(newRow());
+                    output.add(null);
+                }
+                state = next;
+            }
+            output.set(state, addBit(output.get(state), id));
+        }
+
+        // 3. 广度优先计算失败转移，直接写入转移表
+        int stateCount = trie.size();
+        int[] fail = new int[stateCount];
+        transitions = new int[stateCount * alphabetSize];
+        outputs = new long[stateCount][];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        int[] root = trie.get(0);
+        for (int symbol = 0; symbol < alphabetSize; symbol++) {
+            int next = root[symbol];
+            if (next < 0) {
+                transitions[symbol] = 0;
+            } else {
+                transitions[symbol] = next;
+                fail[next] = 0;
+                queue.add(next);
+            }
+        }
+        outputs[0] = output.get(0);
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs[state] = merge(output.get(state), outputs[fail[state]]);
+            int[] row = trie.get(state);
+            for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                int next = row[symbol];
+                int fallback = transitions[fail[state] * alphabetSize + symbol];
+                if (next < 0) {
+                    transitions[state * alphabetSize + symbol] = fallback;
+                } else {
+                    transitions[state * alphabetSize + symbol] = next;
+                    fail[next] = fallback;
+                    queue.add(next);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return 关键字数量
+     */
+    public int size() {
+        return keywordCount;
+    }
+
+    /**
+     * @return 存放全部关键字位图所需的 long 个数
+     */
+    public int maskLength() {
+        return (keywordCount + 63) >>> 6;
+    }
+
+    /**
+     * 扫描 text，把出现过的关键字编号并入 out 位图（第 id 位）
+     *
+     * @param text 输入
+     * @param out  位图，长度至少为 {@link #maskLength()}
+     */
+    public void match(@NonNull CharSequence text, @NonNull long[] out) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            int symbol = symbol(fold(text.charAt(i)));
+            if (symbol < 0) {
+                state = 0;
+                continue;
+            }
+            state = transitions[state * alphabetSize + symbol];
+            long[] hit = outputs[state];
+            if (hit != null) {
+                for (int w = 0; w < hit.length; w++) {
+                    out[w] |= hit[w];
+                }
+            }
+        }
+    }
+
+    private char fold(char c) {
+        return ignoreCase ? Character.toLowerCase(c) : c;
+    }
+
+    private int symbol(char c) {
+        if (c < 128) {
+            return asciiIndex[c];
+        }
+        Integer index = otherIndex.get(c);
+        return index != null ? index : -1;
+    }
+
+    private int[] newRow() {
+        int[] row = new int[alphabetSize];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    private long[] addBit(long[] bits, int id) {
+        if (bits == null) {
+            bits = new long[maskLength()];
+        }
+        bits[id >>> 6] |= 1L << id;
+        return bits;
+    }
+
+    private static long[] merge(long[] own, long[] inherited) {
+        if (own == null) {
+            return inherited;
+        }
+        if (inherited == null) {
+            return own;
+        }
+        long[] merged = own.clone();
+        for (int w = 0; w < merged.length; w++) {
+            merged[w] |= inherited[w];
+        }
+        return merged;
+    }
+}
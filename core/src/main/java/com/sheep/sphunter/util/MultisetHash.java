@@ -0,0 +1,99 @@
+package com.sheep.sphunter.util;
+
+import androidx.annotation.NonNull;
+
+/**
+ * 与顺序无关的多重集合哈希
+ * 每个元素单独计算 128 位 Murmur3 哈希，再按 128 位整数相加（模 2^128）；
+ * 加法满足交换律，元素顺序不影响结果，重复元素会被重复计入，不需要在内存中保留元素列表
+ */
+public final class MultisetHash {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final long seed;
+    private final long[] hash = new long[2];
+    // UTF-8 编码缓冲区，所有元素复用
+    private byte[] buffer = new byte[256];
+    private long low;
+    private long high;
+    private int count;
+
+    public MultisetHash(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * 加入 text[start, end) 对应的元素（按 UTF-8 编码计算哈希）
+     */
+    public void add(@NonNull CharSequence text, int start, int end) {
+        int length = encodeUtf8(text, start, end);
+        Murmur3.hash128(buffer, 0, length, seed, hash);
+        long sum = low + hash[0];
+        // 低 64 位无符号溢出时向高位进位
+        long carry = Long.compareUnsigned(sum, low) < 0 ? 1 : 0;
+        low = sum;
+        high += hash[1] + carry;
+        count++;
+    }
+
+    /**
+     * @return 已加入的元素数量
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @return 32 位十六进制摘要（高 64 位在前）；没有元素时返回空字符串
+     */
+    @NonNull
+    public String toHex() {
+        if (count == 0) {
+            return "";
+        }
+        char[] out = new char[32];
+        writeHex(high, out, 0);
+        writeHex(low, out, 16);
+        return new String(out);
+    }
+
+    private static void writeHex(long value, char[] out, int offset) {
+        for (int i = 15; i >= 0; i--) {
+            out[offset + i] = HEX[(int) (value & 0xf)];
+            value >>>= 4;
+        }
+    }
+
+    private int encodeUtf8(CharSequence text, int start, int end) {
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            if (buffer.length - length < 4) {
+                byte[] grown = new byte[buffer.length * 2];
+                System.arraycopy(buffer, 0, grown, 0, length);
+                buffer = grown;
+            }
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                buffer[length++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[length++] = (byte) (0xc0 | (c >> 6));
+                buffer[length++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i + 1 < end
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                buffer[length++] = (byte) (0xf0 | (codePoint >> 18));
+                buffer[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                buffer[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                buffer[length++] = (byte) (0x80 | (codePoint & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                // 不成对的代理字符，与 String.getBytes(UTF_8) 一致替换为 '?'
+                buffer[length++] = '?';
+            } else {
+                buffer[length++] = (byte) (0xe0 | (c >> 12));
+                buffer[length++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                buffer[length++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+        return length;
+    }
+}
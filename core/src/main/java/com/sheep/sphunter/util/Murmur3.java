@@ -0,0 +1,201 @@
+package com.sheep.sphunter.util;
+
+import androidx.annotation.NonNull;
+
+/**
+ * MurmurHash3 x64 128 位哈希
+ * 非加密哈希，只用于指纹内容的快速摘要；同样的输入和种子在所有平台上结果一致
+ */
+public final class Murmur3 {
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private Murmur3() {
+    }
+
+    /**
+     * 计算 data[offset, offset + length) 的 128 位哈希
+     *
+     * @param data   输入数据
+     * @param offset 起始位置
+     * @param length 字节数
+     * @param seed   种子
+     * @param out    输出，out[0] 为低 64 位，out[1] 为高 64 位
+     */
+    public static void hash128(@NonNull byte[] data, int offset, int length, long seed, @NonNull long[] out) {
+        long h1 = seed;
+        long h2 = seed;
+        int blocks = length >>> 4;
+
+        for (int i = 0; i < blocks; i++) {
+            int index = offset + (i << 4);
+            long k1 = getLong(data, index);
+            long k2 = getLong(data, index + 8);
+
+            k1 *= C1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= C2;
+            h1 ^= k1;
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+
+            k2 *= C2;
+            k2 = Long.rotateLeft(k2, 33);
+            k2 *= C1;
+            h2 ^= k2;
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        // 剩余不足 16 字节的部分
+        int tail = offset + (blocks << 4);
+        int remaining = length & 15;
+        long k1 = 0;
+        long k2 = 0;
+        for (int i = remaining - 1; i >= 8; i--) {
+            k2 ^= (data[tail + i] & 0xffL) << ((i - 8) << 3);
+        }
+        if (remaining > 8) {
+            k2 *= C2;
+            k2 = Long.rotateLeft(k2, 33);
+            k2 *= C1;
+            h2 ^= k2;
+        }
+        for (int i = Math.min(remaining, 8) - 1; i >= 0; i--) {
+            k1 ^= (data[tail + i] & 0xffL) << (i << 3);
+        }
+        if (remaining > 0) {
+            k1 *= C1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= C2;
+            h1 ^= k1;
+        }
+
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+        h1 += h2;
+        h2 += h1;
+
+        out[0] = h1;
+        out[1] = h2;
+    }
+
+    /**
+     * 计算 text[start, end) 的 128 位哈希，按 UTF-16LE 字节计算，不做编码转换
+     * 结果与对同一文本的 UTF-16LE 字节数组调用 {@link #hash128(byte[], int, int, long, long[])} 相同
+     *
+     * @param text  输入文本
+     * @param start 起始位置
+     * @param end   结束位置（不含）
+     * @param seed  种子
+     * @param out   输出，out[0] 为低 64 位，out[1] 为高 64 位
+     */
+    public static void hash128(@NonNull CharSequence text, int start, int end, long seed, @NonNull long[] out) {
+        long h1 = seed;
+        long h2 = seed;
+        int length = (end - start) << 1;
+        int blocks = length >>> 4;
+
+        for (int i = 0; i < blocks; i++) {
+            int index = start + (i << 3);
+            long k1 = getLong(text, index);
+            long k2 = getLong(text, index + 4);
+
+            k1 *= C1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= C2;
+            h1 ^= k1;
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+
+            k2 *= C2;
+            k2 = Long.rotateLeft(k2, 33);
+            k2 *= C1;
+            h2 ^= k2;
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        // 剩余不足 16 字节（8 个字符）的部分
+        int tail = start + (blocks << 3);
+        int remaining = length & 15;
+        long k1 = 0;
+        long k2 = 0;
+        for (int i = remaining - 1; i >= 8; i--) {
+            k2 ^= (long) byteAt(text, tail, i) << ((i - 8) << 3);
+        }
+        if (remaining > 8) {
+            k2 *= C2;
+            k2 = Long.rotateLeft(k2, 33);
+            k2 *= C1;
+            h2 ^= k2;
+        }
+        for (int i = Math.min(remaining, 8) - 1; i >= 0; i--) {
+            k1 ^= (long) byteAt(text, tail, i) << (i << 3);
+        }
+        if (remaining > 0) {
+            k1 *= C1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= C2;
+            h1 ^= k1;
+        }
+
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+        h1 += h2;
+        h2 += h1;
+
+        out[0] = h1;
+        out[1] = h2;
+    }
+
+    /**
+     * 64 位终结混合函数
+     */
+    public static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    // 小端读取 8 字节
+    private static long getLong(byte[] data, int index) {
+        return (data[index] & 0xffL)
+                | (data[index + 1] & 0xffL) << 8
+                | (data[index + 2] & 0xffL) << 16
+                | (data[index + 3] & 0xffL) << 24
+                | (data[index + 4] & 0xffL) << 32
+                | (data[index + 5] & 0xffL) << 40
+                | (data[index + 6] & 0xffL) << 48
+                | (data[index + 7] & 0xffL) << 56;
+    }
+
+    // 小端读取 4 个字符（8 字节）
+    private static long getLong(CharSequence text, int index) {
+        return (long) text.charAt(index)
+                | (long) text.charAt(index + 1) << 16
+                | (long) text.charAt(index + 2) << 32
+                | (long) text.charAt(index + 3) << 48;
+    }
+
+    // 从 offset 开始的第 i 个 UTF-16LE 字节
+    private static int byteAt(CharSequence text, int offset, int i) {
+        char c = text.charAt(offset + (i >> 1));
+        return (i & 1) == 0 ? c & 0xff : c >>> 8;
+    }
+}
@@ -0,0 +1,41 @@
+package com.sheep.sphunter.util;
+
+import androidx.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 单个快照内的字符串值池
+ * 相同内容的值只保留一个实例，池内的值可以直接用 == 比较；
+ * 生命周期跟随快照，不使用 String.intern() 的全局常量池
+ */
+public final class ValuePool {
+    private final Map<String, String> values = new HashMap<>();
+
+    /**
+     * 返回与 value 内容相同的池内实例，首次出现时加入池中
+     *
+     * @param value 原始值
+     * @return 池内实例，value 为 null 时返回 null
+     */
+    @Nullable
+    public String intern(@Nullable String value) {
+        if (value == null) {
+            return null;
+        }
+        String pooled = values.get(value);
+        if (pooled == null) {
+            values.put(value, value);
+            pooled = value;
+        }
+        return pooled;
+    }
+
+    /**
+     * @return 池中不同值的数量
+     */
+    public int size() {
+        return values.size();
+    }
+}
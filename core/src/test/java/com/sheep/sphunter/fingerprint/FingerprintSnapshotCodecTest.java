@@ -0,0 +1,301 @@
+package com.sheep.sphunter.fingerprint;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.sheep.sphunter.model.BatteryRecord;
+import com.sheep.sphunter.model.BuildPropertiesRecord;
+import com.sheep.sphunter.model.FingerprintResult;
+import com.sheep.sphunter.model.GpuRecord;
+import com.sheep.sphunter.model.MemoryRecord;
+import com.sheep.sphunter.model.Outcome;
+import com.sheep.sphunter.model.SensorRecord;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * FingerprintSnapshotCodec：与 JSON 形式的往返一致性，以及损坏数据只抛出 IOException
+ */
+public class FingerprintSnapshotCodecTest {
+
+    private static final String NATIVE_DUMP = String.join("\n",
+            "=== Security ===",
+            "ro.secure = 1",
+            "ro.debuggable = 0",
+            "ro.boot.flash.locked = 1",
+            "ro.boot.verifiedbootstate = green",
+            "",
+            "=== Build ID ===",
+            "ro.build.id = AP2A.240805.005",
+            "ro.build.fingerprint = google/panther/panther:14/AP2A.240805.005/12025142:user/release-keys",
+            "ro.vendor.build.fingerprint = google/panther/panther:14/AP2A.240805.005/12025142:user/release-keys",
+            "",
+            "=== Other System Property ===",
+            "ro.product.model = 测试机 Ünïcödé 😀",
+            "ro.product.board = panther",
+            "",
+            "=== DRM Info ===",
+            "MediaDrm Device Unique ID (Hex): 0f3c9a1e5b7d2c4e6f8a0b1c2d3e4f5a6b7c8d9e0f1a2b3c4d5e6f7a8b9c0d1e",
+            "Length: 32 bytes",
+            "",
+            "=== 核心硬件与内核特征 (Hardware & Kernel) ===",
+            "",
+            "Path: /proc/meminfo",
+            "Exit Code: 0",
+            "Accessible: true",
+            "Content: MemTotal:        7833460 kB",
+            "MemAvailable:    3412004 kB",
+            "---",
+            "Path: /proc/sys/kernel/random/boot_id",
+            "Exit Code: 0",
+            "Accessible: true",
+            "Content: 3f2b8c1d-4e5f-4a6b-9c7d-8e9f0a1b2c3d",
+            "---",
+            "Path: /system/bin/su",
+            "Exit Code: 2",
+            "Accessible: false",
+            "Content: [EMPTY]",
+            "---",
+            "",
+            "=== 系统配置信息 (System Config via sysconf) ===",
+            "",
+            "CPU Cores (Online): 8",
+            "Page Size: 4096 bytes",
+            "");
+
+    // ==================== 往返 ====================
+
+    @Test
+    public void roundTripsCleanedFingerprint() throws Exception {
+        assertRoundTrip(FingerprintDataCleaner.cleanFingerprint(sampleResult()));
+    }
+
+    @Test
+    public void roundTripsCleanedNativeFingerprint() throws Exception {
+        assertRoundTrip(NativeFileDataCleaner.cleanNativeFingerprint(NATIVE_DUMP));
+    }
+
+    @Test
+    public void roundTripsEdgeValues() throws Exception {
+        JSONObject snapshot = new JSONObject();
+        snapshot.put("identity", new JSONObject()
+                .put("android_id", "")
+                .put("serial_number", JSONObject.NULL)
+                .put("drm_device_id", "中文值 Ünïcödé 😀 \u0000 end"));
+        snapshot.put("未登记的键", "值");
+        snapshot.put("ints", new JSONArray()
+                .put(0).put(-1).put(1).put(Integer.MIN_VALUE).put(Integer.MAX_VALUE)
+                .put(Long.MIN_VALUE).put(Long.MAX_VALUE).put((long) Integer.MAX_VALUE + 1));
+        snapshot.put("doubles", new JSONArray()
+                .put(0.1).put(-0.0).put(3.0).put(-3.0).put(1.5e300).put(-Double.MAX_VALUE)
+                .put(Double.MIN_VALUE).put(0x1p62).put(0x1p62 - 512).put(-0x1p63).put(0x1p63));
+        snapshot.put("nested", new JSONArray()
+                .put(new JSONArray())
+                .put(new JSONObject())
+                .put(new JSONArray().put(JSONObject.NULL).put(true).put(false)
+                        .put(new JSONArray().put(new JSONObject().put("risk_tags", new JSONArray().put("a"))))));
+        // 重复的字符串值只进字符串表一次
+        snapshot.put("repeated", new JSONArray().put("same").put("same").put("same"));
+        assertRoundTrip(snapshot);
+    }
+
+    @Test
+    public void roundTripsDeepestAllowedNesting() throws Exception {
+        JSONObject snapshot = new JSONObject();
+        JSONArray inner = new JSONArray().put("leaf");
+        for (int i = 0; i < 62; i++) {
+            inner = new JSONArray().put(inner);
+        }
+        snapshot.put("deep", inner);
+        assertRoundTrip(snapshot);
+    }
+
+    // ==================== 损坏数据 ====================
+
+    @Test
+    public void rejectsEveryTruncation() throws Exception {
+        byte[] data = FingerprintSnapshotCodec.encode(FingerprintDataCleaner.cleanFingerprint(sampleResult()));
+        for (int length = 0; length < data.length; length++) {
+            byte[] truncated = Arrays.copyOf(data, length);
+            assertThrows("长度 " + length, IOException.class, () -> FingerprintSnapshotCodec.decode(truncated));
+        }
+    }
+
+    @Test
+    public void rejectsTrailingBytes() throws Exception {
+        byte[] data = FingerprintSnapshotCodec.encode(new JSONObject().put("a", 1));
+        byte[] padded = Arrays.copyOf(data, data.length + 1);
+        assertThrows(IOException.class, () -> FingerprintSnapshotCodec.decode(padded));
+    }
+
+    @Test
+    public void rejectsBadMagic() throws Exception {
+        byte[] data = FingerprintSnapshotCodec.encode(new JSONObject().put("a", 1));
+        data[0] = 'X';
+        assertThrows(IOException.class, () -> FingerprintSnapshotCodec.decode(data));
+    }
+
+    @Test
+    public void rejectsUnsupportedVersion() throws Exception {
+        byte[] data = FingerprintSnapshotCodec.encode(new JSONObject().put("a", 1));
+        // magic 之后的单字节 varint 即版本
+        for (int version : new int[]{0, FingerprintSnapshotCodec.VERSION + 1, 0x7f}) {
+            byte[] copy = data.clone();
+            copy[4] = (byte) version;
+            assertThrows("版本 " + version, IOException.class, () -> FingerprintSnapshotCodec.decode(copy));
+        }
+        byte[] unterminated = data.clone();
+        unterminated[4] = (byte) 0x81;
+        assertThrows(IOException.class, () -> FingerprintSnapshotCodec.decode(unterminated));
+    }
+
+    @Test
+    public void rejectsExcessiveNesting() throws Exception {
+        JSONArray inner = new JSONArray();
+        for (int i = 0; i < 200; i++) {
+            inner = new JSONArray().put(inner);
+        }
+        byte[] data = FingerprintSnapshotCodec.encode(new JSONObject().put("deep", inner));
+        assertThrows(IOException.class, () -> FingerprintSnapshotCodec.decode(data));
+    }
+
+    @Test
+    public void rejectsNonObjectRoot() throws Exception {
+        byte[] data = FingerprintSnapshotCodec.encode(new JSONObject());
+        // 空对象编码的最后两个字节是类型和成员数 0，把类型改成 null 并去掉成员数
+        data[data.length - 2] = 0;
+        byte[] nullRoot = Arrays.copyOf(data, data.length - 1);
+        assertThrows(IOException.class, () -> FingerprintSnapshotCodec.decode(nullRoot));
+    }
+
+    @Test
+    public void corruptInputOnlyThrowsIOException() throws Exception {
+        byte[] data = FingerprintSnapshotCodec.encode(FingerprintDataCleaner.cleanFingerprint(sampleResult()));
+        Random random = new Random(0x5eed_c0deL);
+        for (int round = 0; round < 20_000; round++) {
+            byte[] corrupt = data.clone();
+            int flips = 1 + random.nextInt(4);
+            for (int i = 0; i < flips; i++) {
+                // 跳过 magic 和版本，否则几乎都在头部校验处被拒绝
+                corrupt[5 + random.nextInt(corrupt.length - 5)] = (byte) random.nextInt(256);
+            }
+            decodeExpectingOnlyIOException(corrupt);
+        }
+        // 头部正确、其余为随机字节
+        for (int round = 0; round < 20_000; round++) {
+            byte[] garbage = new byte[5 + random.nextInt(64)];
+            random.nextBytes(garbage);
+            System.arraycopy(data, 0, garbage, 0, 5);
+            decodeExpectingOnlyIOException(garbage);
+        }
+    }
+
+    // ==================== 辅助方法 ====================
+
+    /**
+     * 解码成功或抛出 IOException 均可，其他异常（运行时异常、栈溢出等）直接让测试失败
+     */
+    private static void decodeExpectingOnlyIOException(byte[] data) {
+        try {
+            FingerprintSnapshotCodec.decode(data);
+        } catch (IOException expected) {
+            // 预期的失败方式
+        }
+    }
+
+    private static void assertRoundTrip(JSONObject snapshot) throws Exception {
+        byte[] data = FingerprintSnapshotCodec.encode(snapshot);
+        assertTrue(FingerprintSnapshotCodec.isSnapshot(data));
+        JSONObject decoded = FingerprintSnapshotCodec.decode(data);
+        assertEquals(snapshot.toString(), decoded.toString());
+        assertJsonEquals("$", snapshot, decoded);
+        // 解码结果再编码应得到相同的字节
+        assertArrayEquals(data, FingerprintSnapshotCodec.encode(decoded));
+    }
+
+    /**
+     * 逐值比较：键顺序、类型和数值（double 按位比较，区分 -0.0）
+     */
+    private static void assertJsonEquals(String path, Object expected, Object actual) throws JSONException {
+        if (expected == null || expected == JSONObject.NULL) {
+            assertEquals(path, JSONObject.NULL, actual);
+        } else if (expected instanceof JSONObject) {
+            assertTrue(path, actual instanceof JSONObject);
+            JSONObject expectedObject = (JSONObject) expected;
+            JSONObject actualObject = (JSONObject) actual;
+            assertEquals(path, expectedObject.length(), actualObject.length());
+            JSONArray expectedNames = expectedObject.names();
+            JSONArray actualNames = actualObject.names();
+            for (int i = 0; i < expectedObject.length(); i++) {
+                String key = expectedNames.getString(i);
+                assertEquals(path, key, actualNames.getString(i));
+                assertJsonEquals(path + "." + key, expectedObject.opt(key), actualObject.opt(key));
+            }
+        } else if (expected instanceof JSONArray) {
+            assertTrue(path, actual instanceof JSONArray);
+            JSONArray expectedArray = (JSONArray) expected;
+            JSONArray actualArray = (JSONArray) actual;
+            assertEquals(path, expectedArray.length(), actualArray.length());
+            for (int i = 0; i < expectedArray.length(); i++) {
+                assertJsonEquals(path + "[" + i + "]", expectedArray.opt(i), actualArray.opt(i));
+            }
+        } else if (expected instanceof Boolean) {
+            assertEquals(path, expected, actual);
+        } else if (expected instanceof Integer || expected instanceof Long
+                || expected instanceof Short || expected instanceof Byte) {
+            assertTrue(path, actual instanceof Integer || actual instanceof Long);
+            assertEquals(path, ((Number) expected).longValue(), ((Number) actual).longValue());
+        } else if (expected instanceof Number) {
+            assertTrue(path, actual instanceof Double);
+            assertEquals(path, Double.doubleToRawLongBits(((Number) expected).doubleValue()),
+                    Double.doubleToRawLongBits((Double) actual));
+        } else {
+            assertEquals(path, String.valueOf(expected), actual);
+        }
+    }
+
+    private static FingerprintResult sampleResult() {
+        FingerprintResult result = new FingerprintResult();
+        result.setAndroidIdOutcome(Outcome.value("9774d56d682e549c"));
+        result.setSerialNumberOutcome(Outcome.denied("requires READ_PRIVILEGED_PHONE_STATE"));
+        result.setBluetoothAddressOutcome(Outcome.value("02:00:00:00:00:00"));
+        result.setDrmInfoOutcome(Outcome.value(
+                "MediaDrm Device Unique ID: 0F3C9A1E5B7D2C4E6F8A0B1C2D3E4F5A6B7C8D9E0F1A2B3C4D5E6F7A8B9C0D1E\n"
+                        + "Length: 32 bytes"));
+        result.setAccountInfoOutcome(Outcome.value("账户: 1"));
+        result.setGpuOutcome(Outcome.value(GpuRecord.of("Mali-G710 MC10", "ARM", "OpenGL ES 3.2 v1.r38p1")));
+        result.setBatteryOutcome(Outcome.value(new BatteryRecord(76, 100, 3, 0, 2, 4012, 298)));
+        result.setSensorsOutcome(Outcome.value(Arrays.asList(
+                new SensorRecord("BMI260 加速度计", "Bosch", 1, 1, 78.4532f, 0.18f, 2500, 300),
+                new SensorRecord("AK09918 磁力计", "AKM", 2, 1, 4912.0f, 1.1f, 10000, 0))));
+
+        MemoryRecord memory = new MemoryRecord();
+        memory.setRamTotalBytes(8L << 30);
+        memory.setRamAvailableBytes(3L << 30);
+        memory.setRamUsedBytes(5L << 30);
+        memory.setHeapMaxBytes(512L << 20);
+        memory.setAppUid(10245);
+        result.setMemory(memory);
+
+        BuildPropertiesRecord build = new BuildPropertiesRecord();
+        for (String partition : new String[]{"system", "vendor"}) {
+            build.beginSection(partition);
+            build.put("ro." + partition + ".build.fingerprint",
+                    "google/panther/panther:14/AP2A.240805.005/12025142:user/release-keys");
+            build.put("ro." + partition + ".build.date.utc", "1720000000");
+        }
+        result.setBuildProperties(build);
+
+        result.setNativeBuildInfo(NATIVE_DUMP);
+        return result;
+    }
+}